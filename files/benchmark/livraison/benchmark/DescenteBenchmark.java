@@ -0,0 +1,88 @@
+package livraison.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark d'une descente dans l'arbre de recherche : jouer un chemin de coups depuis la
+ * racine puis revenir à la racine, soit par copie du plateau (nouvelle copie ou recopie dans
+ * un plateau de travail), soit par coups joués puis annulés sur un même plateau.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescenteBenchmark {
+
+    @Param({"7", "11", "14"})
+    public int taille;
+
+    /** Longueur du chemin joué à chaque descente. */
+    @Param({"4", "12"})
+    public int profondeur;
+
+    private PlateauBitboard racine;
+    private PlateauBitboard travail;
+    private int[] chemin;
+
+    @Setup
+    public void preparer() {
+        racine = EtatsBenchmark.grilleAleatoire(taille, 0.3, 42).getPlateau().copie();
+        travail = racine.copie();
+        chemin = new int[profondeur];
+        PlateauBitboard tirage = racine.copie();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < profondeur; i++) {
+            chemin[i] = tirage.caseLibreAleatoire(random);
+            tirage.poser(chemin[i], couleur(i));
+        }
+    }
+
+    @Benchmark
+    public boolean copie() {
+        PlateauBitboard plateau = racine.copie();
+        for (int i = 0; i < chemin.length; i++) {
+            plateau.poser(chemin[i], couleur(i));
+        }
+        return plateau.verifierVictoire(EtatCase.BLEU);
+    }
+
+    @Benchmark
+    public boolean recopie() {
+        travail.copierDepuis(racine);
+        for (int i = 0; i < chemin.length; i++) {
+            travail.poser(chemin[i], couleur(i));
+        }
+        return travail.verifierVictoire(EtatCase.BLEU);
+    }
+
+    @Benchmark
+    public boolean jouerAnnuler() {
+        for (int i = 0; i < chemin.length; i++) {
+            travail.jouer(chemin[i], couleur(i));
+        }
+        boolean victoire = travail.verifierVictoire(EtatCase.BLEU);
+        travail.annulerJusqua(0);
+        return victoire;
+    }
+
+    private static EtatCase couleur(int i) {
+        return (i & 1) == 0 ? EtatCase.BLEU : EtatCase.ROUGE;
+    }
+}
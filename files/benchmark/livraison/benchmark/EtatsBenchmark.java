@@ -0,0 +1,60 @@
+package livraison.benchmark;
+
+import java.util.SplittableRandom;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.player.HumanStrategy;
+import model.player.Player;
+import utils.strategyMessage.ConsoleMessageHandler;
+
+/**
+ * Fabrique des grilles utilisées par les benchmarks. Les grilles sont tirées avec une
+ * graine fixe pour que deux versions du projet soient mesurées sur les mêmes positions.
+ */
+final class EtatsBenchmark {
+
+    private static final ConsoleMessageHandler HANDLER = new ConsoleMessageHandler(true);
+
+    private EtatsBenchmark() {
+    }
+
+    /**
+     * Crée une grille vide.
+     *
+     * @param taille la taille de la grille.
+     * @return la grille.
+     */
+    static Grille grilleVide(int taille) {
+        Player bleu = new Player("Bleu", EtatCase.BLEU, new HumanStrategy(), HANDLER);
+        Player rouge = new Player("Rouge", EtatCase.ROUGE, new HumanStrategy(), HANDLER);
+        return new Grille(taille, bleu, rouge);
+    }
+
+    /**
+     * Crée une grille dont une proportion des cases est occupée, en alternant les couleurs.
+     *
+     * @param taille la taille de la grille.
+     * @param remplissage la proportion de cases occupées, entre 0 et 1.
+     * @param graine la graine du tirage.
+     * @return la grille.
+     */
+    static Grille grilleAleatoire(int taille, double remplissage, long graine) {
+        Grille grille = grilleVide(taille);
+        SplittableRandom random = new SplittableRandom(graine);
+        int cellules = taille * taille;
+        int[] ordre = new int[cellules];
+        for (int i = 0; i < cellules; i++) ordre[i] = i;
+        for (int i = cellules - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = ordre[i]; ordre[i] = ordre[j]; ordre[j] = t;
+        }
+        int pierres = (int) Math.round(cellules * remplissage);
+        for (int i = 0; i < pierres; i++) {
+            int x = ordre[i] / taille;
+            int y = ordre[i] % taille + x;
+            grille.getCase(x, y).setOccupe(i % 2 == 0 ? EtatCase.BLEU : EtatCase.ROUGE);
+        }
+        return grille;
+    }
+}
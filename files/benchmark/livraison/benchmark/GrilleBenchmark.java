@@ -0,0 +1,68 @@
+package livraison.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks des opérations de base sur la grille : copie, énumération des cases libres
+ * et détection de victoire sur des grilles pleines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrilleBenchmark {
+
+    /** Nombre de grilles pleines parcourues, pour ne pas mesurer toujours la même position. */
+    private static final int GRILLES_PLEINES = 64;
+
+    @Param({"5", "7", "9", "11", "14"})
+    public int taille;
+
+    private Grille grille;
+    private Grille[] pleines;
+    private int suivante;
+
+    @Setup
+    public void preparer() {
+        grille = EtatsBenchmark.grilleAleatoire(taille, 0.5, 42);
+        pleines = new Grille[GRILLES_PLEINES];
+        for (int i = 0; i < GRILLES_PLEINES; i++) {
+            pleines[i] = EtatsBenchmark.grilleAleatoire(taille, 1.0, i);
+        }
+    }
+
+    @Benchmark
+    public Grille copie() {
+        return grille.copy();
+    }
+
+    @Benchmark
+    public Map<Integer, Position> casesDisponibles() {
+        return grille.genererCasesDisponibles();
+    }
+
+    @Benchmark
+    public boolean victoireGrillePleine() {
+        Grille pleine = pleines[suivante];
+        suivante = (suivante + 1) % GRILLES_PLEINES;
+        return pleine.verifierVictoire(EtatCase.BLEU);
+    }
+}
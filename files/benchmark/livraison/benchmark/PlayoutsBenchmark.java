@@ -0,0 +1,57 @@
+package livraison.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.mcts.MCTS;
+import model.mcts.RAVE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit de simulations d'une recherche MCTS ou RAVE, en simulations par seconde : chaque
+ * appel est une recherche de {@link #ITERATIONS} itérations (une simulation chacune) depuis
+ * une grille vide, sélection, développement et mise à jour des statistiques compris.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayoutsBenchmark {
+
+    static final int ITERATIONS = 2000;
+
+    @Param({"mcts", "rave"})
+    public String algorithme;
+
+    @Param({"7", "11", "14"})
+    public int taille;
+
+    private Grille grille;
+
+    @Setup
+    public void preparer() {
+        grille = EtatsBenchmark.grilleVide(taille);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public Position simulations() {
+        MCTS recherche = "rave".equals(algorithme) ? new RAVE(ITERATIONS, true) : new MCTS(ITERATIONS, true);
+        return recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+    }
+}
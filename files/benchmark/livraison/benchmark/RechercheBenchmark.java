@@ -0,0 +1,55 @@
+package livraison.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.mcts.MCTS;
+import model.mcts.RAVE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark d'une recherche complète ({@code trouverMeilleurCoup}) à budget fixe, depuis une
+ * grille vide, pour MCTS et RAVE. Chaque appel part d'un arbre neuf.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RechercheBenchmark {
+
+    @Param({"mcts", "rave"})
+    public String algorithme;
+
+    @Param({"5", "7", "9", "11", "14"})
+    public int taille;
+
+    @Param({"1000", "5000"})
+    public int budget;
+
+    private Grille grille;
+
+    @Setup
+    public void preparer() {
+        grille = EtatsBenchmark.grilleVide(taille);
+    }
+
+    @Benchmark
+    public Position trouverMeilleurCoup() {
+        MCTS recherche = "rave".equals(algorithme) ? new RAVE(budget, true) : new MCTS(budget, true);
+        return recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+    }
+}
@@ -0,0 +1,64 @@
+package livraison.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.mcts.ArbreCompact;
+import model.mcts.MCTS;
+import model.plateau.PlateauBitboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark d'une simulation aléatoire ({@code MCTS.simuler}) depuis une grille vide.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"5", "7", "9", "11", "14"})
+    public int taille;
+
+    private MCTSExpose mcts;
+    private ArbreCompact arbre;
+    private PlateauBitboard plateau;
+
+    @Setup
+    public void preparer() {
+        Grille grille = EtatsBenchmark.grilleVide(taille);
+        mcts = new MCTSExpose();
+        arbre = new ArbreCompact(grille, EtatCase.BLEU);
+        plateau = grille.getPlateau().copie();
+    }
+
+    @Benchmark
+    public double simuler() {
+        return mcts.simuler(arbre, arbre.getRacine(), plateau, EtatCase.BLEU);
+    }
+
+    // Sous-classe pour exposer la méthode protected
+    static final class MCTSExpose extends MCTS {
+        MCTSExpose() {
+            super(true);
+        }
+
+        @Override
+        public double simuler(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+            return super.simuler(arbre, noeud, plateau, joueurOriginal);
+        }
+    }
+}
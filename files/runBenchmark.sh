@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Définition des variables
+SRC_DIR="src"
+BENCHMARK_DIR="benchmark/"
+BUILD_DIR="build"
+BUILD_BENCHMARK_DIR="build-benchmark"
+LIB_GSON="lib/gson-2.10.1.jar"
+LIB_JMH_DIR="lib/jmh"
+RESULTS_DIR="experimentation/results"
+MAVEN_CENTRAL="https://repo1.maven.org/maven2"
+
+# Dépendances de JMH (non versionnées : téléchargées au premier lancement)
+JMH_JARS=(
+    "org/openjdk/jmh/jmh-core/1.37/jmh-core-1.37.jar"
+    "org/openjdk/jmh/jmh-generator-annprocess/1.37/jmh-generator-annprocess-1.37.jar"
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar"
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar"
+)
+
+# Télécharge les jars de JMH manquants
+installer_jmh() {
+    mkdir -p "$LIB_JMH_DIR"
+    for jar in "${JMH_JARS[@]}"; do
+        local fichier="$LIB_JMH_DIR/$(basename "$jar")"
+        if [ ! -f "$fichier" ]; then
+            echo "🔹 Téléchargement de $(basename "$jar")..."
+            curl -sfL -o "$fichier" "$MAVEN_CENTRAL/$jar" || { echo "❌ Téléchargement impossible : $jar"; rm -f "$fichier"; exit 1; }
+        fi
+    done
+}
+
+# Compile le projet puis les benchmarks (le processeur d'annotations de JMH génère le code des mesures)
+compiler_benchmarks() {
+    echo "🔹 Compilation du projet et des benchmarks..."
+    local cp_jmh
+    cp_jmh=$(ls "$LIB_JMH_DIR"/*.jar | tr '\n' ':')
+    rm -rf "$BUILD_BENCHMARK_DIR"
+    mkdir -p "$BUILD_DIR" "$BUILD_BENCHMARK_DIR"
+    javac -encoding UTF-8 -d "$BUILD_DIR" -cp "$LIB_GSON" $(find "$SRC_DIR" -name "*.java") || exit 1
+    javac -encoding UTF-8 -d "$BUILD_BENCHMARK_DIR" -cp "$cp_jmh$BUILD_DIR:$LIB_GSON" \
+          -processor org.openjdk.jmh.generators.BenchmarkProcessor \
+          $(find "$BENCHMARK_DIR" -name "*.java") || exit 1
+    echo "✅ Compilation réussie !"
+}
+
+# Lance JMH ; les arguments sont transmis tels quels (ex. "GrilleBenchmark" ou "-p taille=11")
+executer_benchmarks() {
+    local cp_jmh
+    cp_jmh=$(ls "$LIB_JMH_DIR"/*.jar | tr '\n' ':')
+    mkdir -p "$RESULTS_DIR"
+    local resultat="$RESULTS_DIR/benchmark_$(date +%Y%m%d_%H%M%S).json"
+    echo "🚀 Exécution des benchmarks..."
+    java -cp "$cp_jmh$BUILD_BENCHMARK_DIR:$BUILD_DIR:$LIB_GSON" org.openjdk.jmh.Main \
+         -rf json -rff "$resultat" "$@" || exit 1
+    echo "📦 Résultats JSON : $resultat"
+}
+
+installer_jmh
+compiler_benchmarks
+executer_benchmarks "$@"
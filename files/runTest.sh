@@ -16,7 +16,24 @@ TEST_CLASSES=(
     "livraison.testUnitaire.model.player.PlayerFactoryTest"
     "livraison.testUnitaire.model.player.RandomStrategyTest"
     "livraison.testUnitaire.model.player.MonteCarloStrategyTest"
+    "livraison.testUnitaire.model.player.RootParallelStrategyTest"
     "livraison.testUnitaire.controller.ControllerTest"
+    "livraison.testUnitaire.model.plateau.PlateauBitboardTest"
+    "livraison.testUnitaire.model.plateau.UnionFindTest"
+    "livraison.testUnitaire.model.plateau.CasesLibresTest"
+    "livraison.testUnitaire.model.mcts.MoteurSimulationTest"
+    "livraison.testUnitaire.model.mcts.ArbreCompactTest"
+    "livraison.testUnitaire.model.mcts.MCTSParalleleTest"
+    "livraison.testUnitaire.model.mcts.MCTSArbrePartageTest"
+    "livraison.testUnitaire.model.mcts.GestionTempsTest"
+    "livraison.testUnitaire.model.mcts.TableTranspositionTest"
+    "livraison.testUnitaire.model.mcts.SolveurExactTest"
+    "livraison.testUnitaire.model.experimentation.PlanificateurExperiencesTest"
+    "livraison.testUnitaire.model.experimentation.JournalCampagneTest"
+    "livraison.testUnitaire.model.experimentation.ArretSequentielTest"
+    "livraison.testUnitaire.model.enregistrement.EnregistrementPartiesTest"
+    "livraison.testUnitaire.model.ouvertures.LivreOuverturesTest"
+    "livraison.testUnitaire.model.aleatoire.AleatoireTest"
     
 )
 
@@ -5,6 +5,13 @@ public class Constants {
     public static final int ITERATION_BUDGET = 2000;
     public static int GRID_SIZE = 9;
     public static final double EPLOITATION_EXPLORATION_CONSTANT = Math.sqrt(2); // constante pour la formule UCT
+    public static final int NB_THREADS = Runtime.getRuntime().availableProcessors(); // threads des recherches parallèles
+    public static final int TAILLE_TABLE_TRANSPOSITION = 1 << 16; // entrées de la table de transposition de chaque arbre
+    public static final int SEUIL_SOLVEUR_CASES_LIBRES = 14; // cases libres à partir desquelles le solveur exact est essayé
+    public static final int TAILLE_MAX_SOLVEUR = 6; // grilles sur lesquelles le solveur exact est essayé plus tôt
+    public static final int SEUIL_SOLVEUR_PETITES_GRILLES = 16; // cases libres à partir desquelles il l'est sur ces grilles
+    public static final int BUDGET_SOLVEUR_POSITIONS = 100_000; // positions examinées au plus par résolution exacte
+    public static final int TAILLE_TABLE_SOLVEUR = 1 << 18; // entrées de la table de transposition du solveur exact
     public static void setGridSize(int newGridSize){
         GRID_SIZE = newGridSize;
     }
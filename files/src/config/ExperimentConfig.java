@@ -36,7 +36,8 @@ public class ExperimentConfig {
     
     
     /**
-     * Liste des Strategie (RAVE/MCTS).
+     * Liste des Strategie (RAVE/MCTS). RAVE-PARTAGE et MCTS-PARTAGE font développer un seul
+     * arbre par les nb_threads threads de la recherche, au lieu d'un arbre par thread.
      */
     private List<String> strategie;
 
@@ -45,6 +46,74 @@ public class ExperimentConfig {
      */
     private int nb_games;
 
+    /**
+     * Nombre de threads (et d'arbres) utilisés par chaque recherche MCTS/RAVE.
+     * Absent ou inférieur à 2 : recherche séquentielle.
+     */
+    private int nb_threads;
+
+    /**
+     * Liste des nombres de simulations par feuille à comparer (1 = recherche séquentielle).
+     */
+    private List<Integer> playouts_par_feuille;
+
+    /**
+     * Liste des temps de réflexion (en millisecondes) à comparer pour le Joueur 1.
+     * 0 ou absent : recherche limitée par le budget d'itérations.
+     */
+    private List<Long> time_ms_j1;
+
+    /**
+     * Liste des temps de réflexion (en millisecondes) à comparer pour le Joueur 2.
+     * 0 ou absent : recherche limitée par le budget d'itérations.
+     */
+    private List<Long> time_ms_j2;
+
+    /**
+     * true si time_ms_j1 / time_ms_j2 sont des temps pour toute la partie (pendule),
+     * false s'ils sont accordés à chaque coup.
+     */
+    private boolean temps_par_partie;
+
+    /**
+     * Nombre de parties jouées simultanément.
+     * Absent ou inférieur à 1 : autant que de processeurs disponibles pour nb_threads threads par recherche.
+     */
+    private int nb_workers;
+
+    /**
+     * Graine de la campagne, dont sont dérivées les graines de chaque partie.
+     */
+    private long graine;
+
+    /**
+     * Algorithme des générateurs aléatoires des joueurs (par exemple SplittableRandom,
+     * Xoroshiro128PlusPlus). Absent : SplittableRandom.
+     */
+    private String generateur;
+
+    /**
+     * Demi-largeur visée de l'intervalle de confiance du taux de victoire (arrêt séquentiel).
+     * 0 ou absent : chaque configuration joue exactement nb_games parties.
+     */
+    private double precision_arret;
+
+    /**
+     * Niveau de confiance des intervalles du taux de victoire (0.95 si absent).
+     */
+    private double confiance;
+
+    /**
+     * Nombre minimal de parties avant un arrêt séquentiel (10 si absent).
+     */
+    private int nb_games_min;
+
+    /**
+     * Dossier des livres d'ouvertures (livre_&lt;taille&gt;.hexb) consultés par MCTS et RAVE.
+     * Absent : aucun livre n'est consulté.
+     */
+    private String livres_ouvertures;
+
     /**
      * Méthode statique permettant de charger une configuration depuis un fichier JSON.
      * 
@@ -178,6 +247,238 @@ public class ExperimentConfig {
         this.nb_games = nb_games;
     }
 
+    /**
+     * Récupère le nombre de threads utilisés par chaque recherche MCTS/RAVE.
+     * 
+     * @return Le nombre de threads (nb_threads), au moins 1.
+     */
+    public int getNb_threads() {
+        return Math.max(1, nb_threads);
+    }
+
+    /**
+     * Définir le nombre de threads utilisés par chaque recherche MCTS/RAVE.
+     * 
+     * @param nb_threads Nouveau nombre de threads.
+     */
+    public void setNb_threads(int nb_threads) {
+        this.nb_threads = nb_threads;
+    }
+
+    /**
+     * Récupère la liste des nombres de simulations par feuille à comparer.
+     * 
+     * @return La liste (playouts_par_feuille), [1] si absente du fichier.
+     */
+    public List<Integer> getPlayouts_par_feuille() {
+        if (playouts_par_feuille == null || playouts_par_feuille.isEmpty()) {
+            return List.of(1);
+        }
+        return playouts_par_feuille;
+    }
+
+    /**
+     * Définir la liste des nombres de simulations par feuille à comparer.
+     * 
+     * @param playouts_par_feuille Nouvelle liste de nombres de simulations par feuille.
+     */
+    public void setPlayouts_par_feuille(List<Integer> playouts_par_feuille) {
+        this.playouts_par_feuille = playouts_par_feuille;
+    }
+
+    /**
+     * Récupère la liste des temps de réflexion à comparer pour le Joueur 1.
+     * 
+     * @return La liste (time_ms_j1), [0] si absente du fichier.
+     */
+    public List<Long> getTime_ms_j1() {
+        if (time_ms_j1 == null || time_ms_j1.isEmpty()) {
+            return List.of(0L);
+        }
+        return time_ms_j1;
+    }
+
+    /**
+     * Définir la liste des temps de réflexion pour le Joueur 1.
+     * 
+     * @param time_ms_j1 Nouvelle liste de temps, en millisecondes.
+     */
+    public void setTime_ms_j1(List<Long> time_ms_j1) {
+        this.time_ms_j1 = time_ms_j1;
+    }
+
+    /**
+     * Récupère la liste des temps de réflexion à comparer pour le Joueur 2.
+     * 
+     * @return La liste (time_ms_j2), [0] si absente du fichier.
+     */
+    public List<Long> getTime_ms_j2() {
+        if (time_ms_j2 == null || time_ms_j2.isEmpty()) {
+            return List.of(0L);
+        }
+        return time_ms_j2;
+    }
+
+    /**
+     * Définir la liste des temps de réflexion pour le Joueur 2.
+     * 
+     * @param time_ms_j2 Nouvelle liste de temps, en millisecondes.
+     */
+    public void setTime_ms_j2(List<Long> time_ms_j2) {
+        this.time_ms_j2 = time_ms_j2;
+    }
+
+    /**
+     * Indique si les temps de réflexion valent pour toute la partie.
+     * 
+     * @return true pour une pendule de partie, false pour un temps par coup.
+     */
+    public boolean isTemps_par_partie() {
+        return temps_par_partie;
+    }
+
+    /**
+     * Définir si les temps de réflexion valent pour toute la partie.
+     * 
+     * @param temps_par_partie true pour une pendule de partie, false pour un temps par coup.
+     */
+    public void setTemps_par_partie(boolean temps_par_partie) {
+        this.temps_par_partie = temps_par_partie;
+    }
+
+    /**
+     * Récupère le nombre de parties jouées simultanément.
+     * 
+     * @return Le nombre de workers (nb_workers), ou par défaut le nombre de processeurs
+     *         divisé par le nombre de threads de chaque recherche, au moins 1.
+     */
+    public int getNb_workers() {
+        if (nb_workers < 1) {
+            return Math.max(1, Runtime.getRuntime().availableProcessors() / getNb_threads());
+        }
+        return nb_workers;
+    }
+
+    /**
+     * Définir le nombre de parties jouées simultanément.
+     * 
+     * @param nb_workers Nouveau nombre de workers.
+     */
+    public void setNb_workers(int nb_workers) {
+        this.nb_workers = nb_workers;
+    }
+
+    /**
+     * Récupère la graine de la campagne.
+     * 
+     * @return La graine (graine), 0 si absente du fichier.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Définir la graine de la campagne.
+     * 
+     * @param graine Nouvelle graine.
+     */
+    public void setGraine(long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * Récupère l'algorithme des générateurs aléatoires.
+     * 
+     * @return Le nom de l'algorithme (generateur), null si absent du fichier.
+     */
+    public String getGenerateur() {
+        return generateur;
+    }
+
+    /**
+     * Définir l'algorithme des générateurs aléatoires.
+     * 
+     * @param generateur Nouveau nom d'algorithme, ou null pour l'algorithme par défaut.
+     */
+    public void setGenerateur(String generateur) {
+        this.generateur = generateur;
+    }
+
+    /**
+     * Récupère la précision visée par l'arrêt séquentiel.
+     * 
+     * @return La demi-largeur d'intervalle (precision_arret), 0 si l'arrêt séquentiel est désactivé.
+     */
+    public double getPrecision_arret() {
+        return precision_arret;
+    }
+
+    /**
+     * Définir la précision visée par l'arrêt séquentiel.
+     * 
+     * @param precision_arret Nouvelle demi-largeur d'intervalle, 0 pour désactiver l'arrêt séquentiel.
+     */
+    public void setPrecision_arret(double precision_arret) {
+        this.precision_arret = precision_arret;
+    }
+
+    /**
+     * Récupère le niveau de confiance des intervalles du taux de victoire.
+     * 
+     * @return Le niveau de confiance (confiance), 0.95 si absent du fichier.
+     */
+    public double getConfiance() {
+        if (confiance <= 0 || confiance >= 1) {
+            return 0.95;
+        }
+        return confiance;
+    }
+
+    /**
+     * Définir le niveau de confiance des intervalles du taux de victoire.
+     * 
+     * @param confiance Nouveau niveau de confiance.
+     */
+    public void setConfiance(double confiance) {
+        this.confiance = confiance;
+    }
 
-   
+    /**
+     * Récupère le nombre minimal de parties avant un arrêt séquentiel.
+     * 
+     * @return Le nombre minimal (nb_games_min), 10 si absent du fichier.
+     */
+    public int getNb_games_min() {
+        if (nb_games_min < 1) {
+            return 10;
+        }
+        return nb_games_min;
+    }
+
+    /**
+     * Définir le nombre minimal de parties avant un arrêt séquentiel.
+     * 
+     * @param nb_games_min Nouveau nombre minimal de parties.
+     */
+    public void setNb_games_min(int nb_games_min) {
+        this.nb_games_min = nb_games_min;
+    }
+
+    /**
+     * Récupère le dossier des livres d'ouvertures.
+     * 
+     * @return Le dossier (livres_ouvertures), null si absent du fichier.
+     */
+    public String getLivres_ouvertures() {
+        return livres_ouvertures;
+    }
+
+    /**
+     * Définir le dossier des livres d'ouvertures.
+     * 
+     * @param livres_ouvertures Nouveau dossier, ou null pour n'en consulter aucun.
+     */
+    public void setLivres_ouvertures(String livres_ouvertures) {
+        this.livres_ouvertures = livres_ouvertures;
+    }
 }
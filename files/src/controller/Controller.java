@@ -135,6 +135,9 @@ public class Controller {
                 // In the Controller class, when calling colorerCase
                 System.out.println("Move: (" + p.getX() + ", " + p.getY() + ")");
                 grillePanel.colorerCase(p.getX(), p.getY()-p.getX(), joueurActuel.getCouleur().toString());
+                for (Player autre : joueurs) {
+                    if (autre != joueurActuel) autre.notifierCoup(p, joueurActuel.getCouleur());
+                }
             }
 
             if (grille.verifierVictoire(joueurActuel)) {
@@ -23,9 +23,21 @@ public class Case {
     /**
      * Une map des voisins directs de la case,
      * où la clé est la direction et la valeur est la case voisine.
+     * Construite à la première demande, à partir de la topologie de la grille.
      */
     private Map<Direction, Case> voisins;
 
+    /**
+     * Grille à laquelle appartient la case (null pour une case isolée),
+     * tenue informée de chaque changement d'occupation.
+     */
+    private Grille grille;
+
+    /**
+     * Numéro de cellule de la case dans le plateau de sa grille.
+     */
+    private int cellule = -1;
+
     /**
      * Enumération représentant l'état d'occupation d'une case.
      */
@@ -88,6 +100,24 @@ public class Case {
             this.dy = dy;
         }
 
+        /**
+         * Retourne le décalage en x de cette direction.
+         *
+         * @return le décalage dx
+         */
+        public int getDx() {
+            return dx;
+        }
+
+        /**
+         * Retourne le décalage en y de cette direction.
+         *
+         * @return le décalage dy
+         */
+        public int getDy() {
+            return dy;
+        }
+
         /**
          * Calcule la position voisine selon la direction actuelle.
          *
@@ -106,9 +136,18 @@ public class Case {
      * @param position La position de la case
      */
     public Case(Position position) {
+        this(position, EtatCase.VIDE);
+    }
+
+    /**
+     * Constructeur pour créer une case dans un état donné, sans voisins définis.
+     *
+     * @param position La position de la case
+     * @param occupe L'état initial de la case
+     */
+    Case(Position position, EtatCase occupe) {
         this.position = position;
-        this.occupe = EtatCase.VIDE;
-        this.voisins = new HashMap<>();
+        this.occupe = occupe;
     }
 
     /**
@@ -135,7 +174,22 @@ public class Case {
      * @param occupe Le nouvel état de la case
      */
     public void setOccupe(EtatCase occupe) {
+        EtatCase ancien = this.occupe;
         this.occupe = occupe;
+        if (grille != null && ancien != occupe) {
+            grille.synchroniserCase(cellule, occupe);
+        }
+    }
+
+    /**
+     * Rattache la case à sa grille pour que le plateau de la grille suive ses changements d'état.
+     *
+     * @param grille la grille propriétaire
+     * @param cellule le numéro de cellule de la case dans le plateau
+     */
+    void attacher(Grille grille, int cellule) {
+        this.grille = grille;
+        this.cellule = cellule;
     }
 
     /**
@@ -144,7 +198,7 @@ public class Case {
      * @return Une map où les clés sont les directions et les valeurs sont les cases voisines
      */
     public Map<Direction, Case> getVoisins() {
-        return voisins;
+        return voisins();
     }
 
     /**
@@ -154,7 +208,26 @@ public class Case {
      * @param voisin La case voisine
      */
     public void ajouterVoisin(Direction direction, Case voisin) {
-        this.voisins.put(direction, voisin);
+        voisins().put(direction, voisin);
+    }
+
+    /**
+     * Retourne la map des voisins, en la construisant au premier appel : pour une case
+     * rattachée à une grille, à partir des voisines précalculées de la topologie.
+     */
+    private Map<Direction, Case> voisins() {
+        if (voisins == null) {
+            voisins = new EnumMap<>(Direction.class);
+            if (grille != null) {
+                for (Direction direction : Direction.values()) {
+                    int voisine = grille.getPlateau().getTopologie().getVoisin(cellule, direction);
+                    if (voisine >= 0) {
+                        voisins.put(direction, grille.getCase(voisine));
+                    }
+                }
+            }
+        }
+        return voisins;
     }
 
     /**
@@ -3,15 +3,22 @@ package model;
 import java.util.*;
 
 import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
+import model.plateau.Topologie;
 import model.player.Player;
 
 /**
  * Représente une grille pour le jeu Hex, composée de cases hexagonales.
+ *
+ * La grille sert de façade (console, interface graphique, stratégies) : l'état de jeu
+ * de référence est tenu dans un {@link PlateauBitboard}, synchronisé à chaque changement
+ * d'occupation d'une case, sur lequel s'appuient la détection de victoire et la génération des coups.
  */
 public class Grille {
 
     private final int taille;
     private final Case[][] cases;
+    private final PlateauBitboard plateau;
     private Player joueurActuel;
     private final List<Player> joueurs;
 
@@ -25,11 +32,34 @@ public class Grille {
    public Grille(int taille, Player joueur1, Player joueur2) {
         this.taille = taille;
         this.cases = new Case[taille][taille + taille - 1];
+        this.plateau = new PlateauBitboard(taille);
         this.joueurs = Arrays.asList(joueur1, joueur2);
         this.joueurActuel = joueur1;
         initialiserEtAttribuerVoisins();
     }
 
+    /**
+     * Constructeur de copie : le plateau est recopié tableau par tableau et chaque case
+     * est recréée directement dans son état, sans repasser par la synchronisation.
+     *
+     * @param source la grille à copier.
+     */
+    private Grille(Grille source) {
+        this.taille = source.taille;
+        this.cases = new Case[taille][taille + taille - 1];
+        this.plateau = source.plateau.copie();
+        this.joueurs = source.joueurs;
+        this.joueurActuel = source.joueurActuel;
+        Topologie topologie = plateau.getTopologie();
+        for (int cellule = 0; cellule < topologie.getNombreCellules(); cellule++) {
+            int x = topologie.getX(cellule);
+            int y = topologie.getY(cellule);
+            Case originale = source.cases[x][y];
+            cases[x][y] = new Case(originale.getPosition(), originale.getOccupe());
+            cases[x][y].attacher(this, cellule);
+        }
+    }
+
     /**
      * Surcharge pour créer une Grille par défaut (taille 14).
      */
@@ -75,6 +105,25 @@ public class Grille {
         return this.cases;
     }
 
+    /**
+     * Retourne le plateau compact qui porte l'état de jeu de la grille.
+     *
+     * @return Le plateau synchronisé avec les cases de la grille.
+     */
+    public PlateauBitboard getPlateau() {
+        return this.plateau;
+    }
+
+    /**
+     * Répercute le changement d'état d'une case sur le plateau compact.
+     *
+     * @param cellule Le numéro de cellule de la case modifiée.
+     * @param occupe Le nouvel état de la case.
+     */
+    void synchroniserCase(int cellule, EtatCase occupe) {
+        plateau.poser(cellule, occupe);
+    }
+
     /**
      * Retourne la liste des joueurs qui joue
      * 
@@ -103,33 +152,32 @@ public class Grille {
      * @return La case correspondant aux coordonnées données.
      */
     public Case getCase(int x, int y) {
-        return getCase(new Position(x, y));
+        if (!estDansGrille(x, y)) throw new IllegalArgumentException("la position donnée en parametre n'est pas valide (" + x + ", " + y + ")");
+        return cases[x][y];
     }
 
     /**
-     * Initialise la grille en instanciant toutes les Cases et attribue leurs voisins.
+     * Retourne la case d'une cellule du plateau, sans passer par une position.
+     *
+     * @param cellule Le numéro de cellule (voir {@link PlateauBitboard#cellule(int, int)}).
+     * @return La case correspondante.
      */
-    private void initialiserEtAttribuerVoisins() {
-       
-    	// Première passe : créer toutes les Cases
-        for (int x = 0; x < taille; x++) {
-            for (int y = x; y < taille + x; y++) {
-                cases[x][y] = new Case(new Position(x, y));
-            }
-        }
+    public Case getCase(int cellule) {
+        return cases[plateau.getX(cellule)][plateau.getY(cellule)];
+    }
 
-        // Deuxième passe : lier les voisins pour chaque Case
-        for (int x = 0; x < taille; x++) {
-            for (int y = x; y < taille + x; y++) {
-                Case current = cases[x][y];
-                for (Case.Direction direction : Case.Direction.values()) {
-                    Position voisinPos = direction.getPositionVoisine(current.getPosition());
-                    if (estDansGrille(voisinPos)) {
-                        Case voisin = getCase(voisinPos);
-                        current.ajouterVoisin(direction, voisin);
-                    }
-                }
-            }
+    /**
+     * Initialise la grille en instanciant toutes les Cases. Leurs voisins ne sont pas
+     * attribués ici : chaque case les retrouve à la demande dans la topologie partagée
+     * de sa taille de grille (voir {@link Case#getVoisins()}).
+     */
+    private void initialiserEtAttribuerVoisins() {
+        Topologie topologie = plateau.getTopologie();
+        for (int cellule = 0; cellule < topologie.getNombreCellules(); cellule++) {
+            int x = topologie.getX(cellule);
+            int y = topologie.getY(cellule);
+            cases[x][y] = new Case(topologie.getPosition(cellule));
+            cases[x][y].attacher(this, cellule);
         }
     }
 
@@ -139,9 +187,7 @@ public class Grille {
      * @return true si la partie est terminée, false sinon.
      */
     public boolean estTerminee() {
-        return verifierVictoire(EtatCase.BLEU)
-            || verifierVictoire(EtatCase.ROUGE)
-            || this.genererCasesDisponibles().isEmpty();
+        return plateau.estTerminee();
     }
 
     /**
@@ -152,81 +198,23 @@ public class Grille {
      */
     public boolean estDansGrille(Position position) {
         if (position == null) throw new IllegalArgumentException("Position nulle donnée en parametres");
-        int x = position.getX();
-        int y = position.getY();
+        return estDansGrille(position.getX(), position.getY());
+    }
+
+    private boolean estDansGrille(int x, int y) {
         return x >= 0 && y >= x && x < taille && y < taille + taille - 1;
     }
 
    
-   /**
- * Potential Issues and Debugging Steps:
- * 1. Make sure the BFS logic for ROUGE is seeded with the correct starting row (x=0).
- * 2. Verify that the adjacency (voisins) is set up correctly for each Case, so the search can traverse all connected ROUGE cells.
- * 3. Ensure that ROUGE cells actually occupy the top row in your simulation so they can be discovered by the BFS.
- * 4. Confirm that the final win check (x == taille - 1 for ROUGE) matches how your board and neighbors are laid out.
- * 
- * Below is one approach to verify BFS for ROUGE:
- */ 
-    
     /**
      * Vérifie la victoire pour un joueur (par exemple, BLEU connecte gauche/droite, ROUGE connecte haut/bas).
      *
      * @param joueur Le joueur dont on veut vérifier la victoire.
      * @return true si ce joueur a gagné, sinon false.
      */
-    public boolean verifierVictoire(Player joueur) {    
-    	
-    	Set<Case> visites = new HashSet<>();
-        Queue<Case> aExplorer = new LinkedList<>();
-
-       // Cases de départ pour BLEU: colonne gauche (x, x)
-       // Cases de départ pour ROUGE: ligne du haut (0, y) pour y = 0..(taille-1)
-       if (joueur.getCouleur() == Case.EtatCase.BLEU) {
-         for (int x = 0; x < taille; x++) {
-            Case caseDepart = cases[x][x];
-            if (caseDepart.getOccupe() == joueur.getCouleur()) {
-                aExplorer.add(caseDepart);
-            }
-        }
-    } else if (joueur.getCouleur() == Case.EtatCase.ROUGE) {
-        for (int y = 0; y < taille; y++) {
-            Case caseDepart = cases[0][y];
-            if (caseDepart.getOccupe() == joueur.getCouleur()) {
-                aExplorer.add(caseDepart);
-            }
-        }
-    }
-
-    // Parcours en largeur (BFS)
-    while (!aExplorer.isEmpty()) {
-        Case current = aExplorer.poll();
-        if (visites.contains(current)) {
-            continue;
-        }
-        visites.add(current);
-
-        // Condition de victoire BLEU: atteindre (x, x + (taille - 1))
-        if (joueur.getCouleur() == Case.EtatCase.BLEU
-            && current.getPosition().getY() == current.getPosition().getX() + (taille - 1)) {
-            return true;
-        }
-        // Condition de victoire ROUGE: atteindre la "dernière" ligne x = taille - 1
-        else if (joueur.getCouleur() == Case.EtatCase.ROUGE
-                 && current.getPosition().getX() == (taille - 1)) {
-            return true;
-        }
-
-        // Ajouter les voisins de la même couleur
-        for (Case voisin : current.getVoisins().values()) {
-            if (voisin != null
-                && voisin.getOccupe() == joueur.getCouleur()
-                && !visites.contains(voisin)) {
-                aExplorer.add(voisin);
-            }
-        }
+    public boolean verifierVictoire(Player joueur) {
+        return plateau.verifierVictoire(joueur.getCouleur());
     }
-    return false;
-}
 
     /**
      * Vérifie la victoire pour une couleur directement (cherche le joueur qui a cette couleur).
@@ -247,16 +235,13 @@ public class Grille {
      */
     public Map<Integer, Position> genererCasesDisponibles() {
         Map<Integer, Position> casesDisponibles = new HashMap<>();
-        int numero = 0;
+        int[] libres = new int[plateau.getNombreCellules()];
+        int nombre = plateau.casesLibres(libres);
 
-        for (int x = 0; x < taille; x++) {
-            for (int y = x; y < taille + x; y++) {
-                Case current = cases[x][y];
-                if (current.estLibre()) {
-                    casesDisponibles.put(numero, current.getPosition());
-                    numero++;
-                }
-            }
+        // Les cellules sont rendues dans l'ordre de parcours de la grille (x puis y)
+        for (int numero = 0; numero < nombre; numero++) {
+            int cellule = libres[numero];
+            casesDisponibles.put(numero, cases[plateau.getX(cellule)][plateau.getY(cellule)].getPosition());
         }
         return casesDisponibles;
     }
@@ -294,22 +279,7 @@ public class Grille {
      * @return Une nouvelle instance de Grille identique à l'originale.
      */
     public Grille copy() {
-        // Créer une nouvelle grille (ce constructeur appelle initialiserEtAttribuerVoisins())
-        Grille copie = new Grille(this.getTaille(), this.joueurs.get(0), this.joueurs.get(1));
-
-        // Copier l'occupation de chaque case
-        for (int x = 0; x < taille; x++) {
-            for (int y = x; y < taille + x; y++) {
-                Case originalCase = this.getCase(x, y);
-                Case copiedCase = copie.getCase(x, y);
-                copiedCase.setOccupe(originalCase.getOccupe());
-            }
-        }
-
-        // Appliquer le même joueurActuel
-        copie.setJoueurActuel(this.getJoueurActuel());
-
-        return copie;
+        return new Grille(this);
     }
 
     /**
@@ -331,15 +301,12 @@ public class Grille {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Grille g = (Grille) o;
-        Case[][] otherCases = g.getCases();
-        for (int x = 0; x < taille; x++) {
-            for (int y = x; y < taille + x; y++) {
-                if (!otherCases[x][y].equals(this.cases[x][y])) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return this.plateau.equals(g.plateau);
+    }
+
+    @Override
+    public int hashCode() {
+        return plateau.hashCode();
     }
 
     
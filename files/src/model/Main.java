@@ -3,9 +3,22 @@ package model;
 import config.Constants;
 import config.ExperimentConfig;
 import controller.Controller;
+import model.aleatoire.Aleatoire;
+import model.enregistrement.EnregistreurParties;
+import model.experimentation.ArretSequentiel;
+import model.experimentation.ConfigurationExperience;
+import model.experimentation.JournalCampagne;
+import model.experimentation.PlanificateurExperiences;
+import model.experimentation.ResultatConfiguration;
+import model.ouvertures.LivreOuvertures;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
@@ -32,9 +45,19 @@ public class Main {
     private static Logger experimentLogger = null;
 
     /**
-     * Indique si l'entête du fichier CSV a déjà été écrit (pour éviter de le répéter).
+     * Journal des parties terminées, relu pour reprendre une campagne interrompue.
      */
-    private static boolean enteteCsvDejaEcrit = false;
+    private static final String CHEMIN_JOURNAL = "experimentation/results/campagne.journal";
+
+    /**
+     * Enregistrement binaire de toutes les parties jouées (coups et statistiques de recherche).
+     */
+    private static final String CHEMIN_PARTIES = "experimentation/results/parties.hexr";
+
+    /**
+     * Fichier CSV des résultats, régénéré à partir du journal.
+     */
+    private static final String CHEMIN_CSV = "experimentation/results/resultats.csv";
 
     /**
      * Point d'entrée de l'application.
@@ -108,8 +131,11 @@ public class Main {
     /**
      * Lance le mode d'expérimentation.
      * Cette méthode lit le fichier JSON de configuration (experiment_config.json)
-     * et exécute un plan d'expériences en boucle selon les paramètres spécifiés.
+     * et exécute un plan d'expériences selon les paramètres spécifiés, en jouant
+     * plusieurs parties simultanément (nb_workers).
      * Les informations sont enregistrées dans un fichier de log et dans un fichier CSV.
+     * Chaque partie terminée est ajoutée au journal de campagne : relancer le mode
+     * reprend la campagne là où elle s'était arrêtée (supprimer le journal pour repartir de zéro).
      */
     private static void lancerExperimentation() {
         initializeLogger();
@@ -120,20 +146,28 @@ public class Main {
             return;
         }
 
+        int nbGames = config.getNb_games();
+        int nbThreads = config.getNb_threads();
+        boolean tempsPartie = config.isTemps_par_partie();
+        List<ConfigurationExperience> configurations = new ArrayList<>();
+
         for (int gridSize : config.getGrid_sizes()) {
             for (int b1 : config.getBudget_j1()) {
                 for (int b2 : config.getBudget_j2()) {
                     for (String startingPlayer : config.getStarting_players()) {
                     	for (String strategieJ1 : config.getStrategie()) {
                             for (String strategieJ2 : config.getStrategie()) {
-                            
-                            	int nbGames = config.getNb_games();
 
-                                System.out.println("Configuration => grid=" + gridSize
-                                  + ", b1=" + b1 + ", b2=" + b2
-                                  + ", strategieJ1=" + strategieJ1 + ", strategieJ2=" + strategieJ2
-                                  + ", start=" + startingPlayer
-                                  + ", nbGames=" + nbGames);
+                            for (int playouts : config.getPlayouts_par_feuille()) {
+                            for (long t1 : config.getTime_ms_j1()) {
+                            for (long t2 : config.getTime_ms_j2()) {
+
+                                ConfigurationExperience configuration = new ConfigurationExperience(
+                                        gridSize, b1, b2, startingPlayer, strategieJ1, strategieJ2,
+                                        nbThreads, playouts, t1, t2, tempsPartie);
+                                configurations.add(configuration);
+
+                                System.out.println("Configuration => " + configuration + ", nbGames=" + nbGames);
 
                                if (experimentLogger != null) {
                                    experimentLogger.info("[CONFIG] GridSize=" + gridSize
@@ -142,10 +176,16 @@ public class Main {
                                      + " | StrategieJ1=" + strategieJ1
                                      + " | StrategieJ2=" + strategieJ2
                                      + " | Starting=" + startingPlayer
-                                     + " | nbGames=" + nbGames);
+                                     + " | nbGames=" + nbGames
+                                     + " | Threads=" + nbThreads
+                                     + " | PlayoutsParFeuille=" + playouts
+                                     + " | TempsJ1=" + t1
+                                     + " | TempsJ2=" + t2
+                                     + " | TempsParPartie=" + tempsPartie);
                                 }
-
-                                executerExperiences(gridSize, b1, b2, startingPlayer, strategieJ1 , strategieJ2 ,  nbGames);
+                            }
+                            }
+                            }
                         
                            }
                         }
@@ -154,6 +194,69 @@ public class Main {
             }
         }
 
+        // Toutes les parties de toutes les configurations sont réparties sur un pool borné ;
+        // chaque configuration est écrite dès que sa dernière partie se termine.
+        // Même graine et même générateur : les parties se rejouent à l'identique
+        try {
+            Aleatoire.setAlgorithme(config.getGenerateur());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        PlanificateurExperiences planificateur = new PlanificateurExperiences(config.getNb_workers(), config.getGraine());
+        System.out.println("Campagne : " + configurations.size() + " configurations, "
+                + planificateur.getNbWorkers() + " parties simultanées, graine=" + planificateur.getGraine()
+                + ", générateur=" + Aleatoire.getAlgorithme());
+
+        // Arrêt séquentiel : nb_games devient un maximum
+        ArretSequentiel arret = null;
+        if (config.getPrecision_arret() > 0) {
+            try {
+                arret = new ArretSequentiel(config.getPrecision_arret(), config.getConfiance(), config.getNb_games_min());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Arrêt séquentiel invalide : " + e.getMessage());
+                return;
+            }
+            planificateur.setArretSequentiel(arret);
+            System.out.println("Arrêt séquentiel : précision=" + arret.getPrecision() + ", confiance=" + arret.getConfiance()
+                    + ", entre " + arret.getPartiesMin() + " et " + nbGames + " parties par configuration");
+        }
+
+        // Livres d'ouvertures : un fichier livre_<taille>.hexb par taille de grille, facultatif
+        if (config.getLivres_ouvertures() != null) {
+            for (int gridSize : config.getGrid_sizes()) {
+                Path fichier = Paths.get(config.getLivres_ouvertures(), "livre_" + gridSize + ".hexb");
+                if (!Files.exists(fichier)) continue;
+                try {
+                    LivreOuvertures livre = LivreOuvertures.ouvrir(fichier);
+                    planificateur.ajouterLivreOuvertures(livre);
+                    System.out.println("Livre d'ouvertures " + fichier + " : " + livre.getNombreEntrees() + " entrées");
+                } catch (IOException e) {
+                    System.err.println("Livre d'ouvertures ignoré : " + e.getMessage());
+                }
+            }
+        }
+        ArretSequentiel arretCampagne = arret;
+        double confiance = config.getConfiance();
+
+        // Les parties déjà présentes dans le journal ne sont pas rejouées
+        try (JournalCampagne journal = new JournalCampagne(Paths.get(CHEMIN_JOURNAL), config.getGraine());
+             EnregistreurParties enregistreur = new EnregistreurParties(Paths.get(CHEMIN_PARTIES))) {
+            if (journal.getNombreParties() > 0) {
+                System.out.println("Reprise de la campagne : " + journal.getNombreParties()
+                        + " parties déjà jouées (" + CHEMIN_JOURNAL + ")");
+            }
+            planificateur.setJournal(journal);
+            planificateur.setEnregistreur(enregistreur);
+            planificateur.executer(configurations, nbGames, resultat -> {
+                publierResultat(resultat);
+                ecrireResultatsCSV(configurations, journal, nbGames, arretCampagne, confiance);
+            });
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Impossible d'ouvrir les fichiers de la campagne : " + e.getMessage());
+            return;
+        }
+
         System.out.println("Toutes les expérimentations sont terminées.");
     }
 
@@ -190,42 +293,22 @@ public class Main {
     }
 
     /**
-     * Exécute plusieurs parties avec la configuration spécifiée,
-     * et enregistre les résultats dans le logger et dans un fichier CSV.
+     * Enregistre le bilan d'une configuration terminée dans le logger.
      *
-     * @param gridSize taille de la grille (ex. 5, 7, 9...)
-     * @param budgetJ1 budget (nombre d'itérations) pour le Joueur 1 (MCTS)
-     * @param budgetJ2 budget (nombre d'itérations) pour le Joueur 2 (MCTS)
-     * @param startingPlayer joueur qui commence ("BLEU" ou "ROUGE")
-     * @param nbGames nombre de parties à jouer
+     * @param resultat les résultats cumulés des parties de la configuration
      */
-    private static void executerExperiences(int gridSize, int budgetJ1, int budgetJ2,
-                                            String startingPlayer,String strategieJ1 , String strategieJ2,  int nbGames) {
-        int victoiresJ1 = 0;
-        int victoiresJ2 = 0;
-
-        for (int i = 0; i < nbGames; i++) {
-            Orchestrateur orchestrateur = new Orchestrateur(
-                    gridSize,
-                    budgetJ1,
-                    budgetJ2,
-                    startingPlayer,
-                    strategieJ1,
-                    strategieJ2,
-                    true
-            );
-
-            int gagnant = orchestrateur.jouerPartieAutomatique();
-            if (gagnant == 1) {
-                victoiresJ1++;
-            } else if (gagnant == 2) {
-                victoiresJ2++;
-            }
-        }
-
-        String bilan = "Bilan => J1=" + victoiresJ1 + " WIN | J2=" + victoiresJ2 + " WIN"
-                + " [Grid=" + gridSize + ", b1=" + budgetJ1 + ", b2=" + budgetJ2
-                + ", StrategieJ1=" + strategieJ1 + ", StrategieJ2=" + strategieJ2 + ", start=" + startingPlayer + "]";
+    private static void publierResultat(ResultatConfiguration resultat) {
+        ConfigurationExperience c = resultat.getConfiguration();
+        String bilan = "Bilan => J1=" + resultat.getVictoiresJ1() + " WIN | J2=" + resultat.getVictoiresJ2() + " WIN"
+                + " en " + resultat.getNbParties() + " parties"
+                + " [Grid=" + c.getTaille() + ", b1=" + c.getBudgetJ1() + ", b2=" + c.getBudgetJ2()
+                + ", StrategieJ1=" + c.getStrategieJ1() + ", StrategieJ2=" + c.getStrategieJ2() + ", start=" + c.getJoueurDepart()
+                + ", playoutsParFeuille=" + c.getPlayoutsParFeuille() + ", tempsJ1=" + c.getTempsJ1() + ", tempsJ2=" + c.getTempsJ2()
+                + ", iterationsJ1=" + Math.round(resultat.getIterationsMoyennesJ1())
+                + ", iterationsJ2=" + Math.round(resultat.getIterationsMoyennesJ2())
+                + ", visitesConserveesJ1=" + Math.round(resultat.getVisitesConserveesJ1())
+                + ", visitesConserveesJ2=" + Math.round(resultat.getVisitesConserveesJ2())
+                + ", duree=" + resultat.getDureeMs() + "ms]";
 
 
         System.out.println(bilan);
@@ -233,50 +316,63 @@ public class Main {
         if (experimentLogger != null) {
             experimentLogger.info(bilan + "\n");
         }
-
-        ecrireResultatCSV(gridSize, budgetJ1, budgetJ2, nbGames, victoiresJ1, victoiresJ2, startingPlayer , strategieJ1 , strategieJ2);
     }
 
     /**
-     * Ecrit le résultat d'une configuration dans un fichier CSV
-     * (situé dans "experimentation/resultats.csv").
+     * Régénère le fichier CSV des résultats (situé dans "experimentation/results/resultats.csv")
+     * à partir du journal : une ligne par configuration terminée, dans l'ordre du plan
+     * d'expériences. Le fichier est réécrit entièrement, de sorte qu'une campagne reprise
+     * ne produit jamais de ligne en double. NbGames est le nombre de parties réellement
+     * jouées (inférieur à NbGamesMax après un arrêt séquentiel) ; IntervalleBasJ1 et
+     * IntervalleHautJ1 bornent le pourcentage de victoires du joueur 1 au niveau de confiance demandé.
      *
-     * @param gridSize taille de la grille
-     * @param budgetJ1 budget du joueur 1
-     * @param budgetJ2 budget du joueur 2
-     * @param nbGames nombre de parties
-     * @param victoiresJ1 nombre de victoires du joueur 1
-     * @param victoiresJ2 nombre de victoires du joueur 2
-     * @param startPlayer joueur qui commence
+     * @param configurations les configurations de la campagne, dans l'ordre du plan
+     * @param journal le journal de la campagne
+     * @param nbGames nombre (maximal) de parties par configuration
+     * @param arret la règle d'arrêt séquentiel, ou null si toutes les parties sont jouées
+     * @param confiance niveau de confiance de l'intervalle écrit dans le CSV
      */
-    private static void ecrireResultatCSV(int gridSize, int budgetJ1, int budgetJ2,
-                                          int nbGames, int victoiresJ1, int victoiresJ2,
-                                          String startPlayer , String strategieJ1 , String strategieJ2) {
-        String cheminCSV = "experimentation/results/resultats.csv";
-        double ratioJ1 = (victoiresJ1 * 100.0) / nbGames;
-        double ratioJ2 = (victoiresJ2 * 100.0) / nbGames;
-
+    private static void ecrireResultatsCSV(List<ConfigurationExperience> configurations,
+                                           JournalCampagne journal, int nbGames,
+                                           ArretSequentiel arret, double confiance) {
         StringBuilder sb = new StringBuilder();
+        sb.append("GridSize,BudgetJ1,BudgetJ2,StrategieJ1,StrategieJ2,NbGames,StartPlayer,VictoiresJ1,VictoiresJ2,PourcentageJ1,PourcentageJ2,PlayoutsParFeuille,DureeMs,TempsJ1,TempsJ2,IterationsMoyJ1,IterationsMoyJ2,VisitesConserveesJ1,VisitesConserveesJ2,NbGamesMax,IntervalleBasJ1,IntervalleHautJ1\n");
 
-        if (!enteteCsvDejaEcrit) {
-            sb.append("GridSize,BudgetJ1,BudgetJ2,StrategieJ1,StrategieJ2,NbGames,StartPlayer,VictoiresJ1,VictoiresJ2,PourcentageJ1,PourcentageJ2\n");
-            enteteCsvDejaEcrit = true;
+        for (ConfigurationExperience c : configurations) {
+            ResultatConfiguration resultat = journal.resultat(c, nbGames, arret);
+            int joues = resultat.getNbParties();
+            if (joues < nbGames && (arret == null || !arret.arreter(resultat))) {
+                continue;
+            }
+            double ratioJ1 = (resultat.getVictoiresJ1() * 100.0) / joues;
+            double ratioJ2 = (resultat.getVictoiresJ2() * 100.0) / joues;
+            double[] intervalle = ArretSequentiel.intervalle(resultat.getVictoiresJ1(), joues, confiance);
+
+            sb.append(c.getTaille()).append(",")
+              .append(c.getBudgetJ1()).append(",")
+              .append(c.getBudgetJ2()).append(",")
+              .append(c.getStrategieJ1()).append(",")
+              .append(c.getStrategieJ2()).append(",")
+              .append(joues).append(",")
+              .append(c.getJoueurDepart()).append(",")
+              .append(resultat.getVictoiresJ1()).append(",")
+              .append(resultat.getVictoiresJ2()).append(",")
+              .append(ratioJ1).append(",")
+              .append(ratioJ2).append(",")
+              .append(c.getPlayoutsParFeuille()).append(",")
+              .append(resultat.getDureeMs()).append(",")
+              .append(c.getTempsJ1()).append(",")
+              .append(c.getTempsJ2()).append(",")
+              .append(Math.round(resultat.getIterationsMoyennesJ1())).append(",")
+              .append(Math.round(resultat.getIterationsMoyennesJ2())).append(",")
+              .append(Math.round(resultat.getVisitesConserveesJ1())).append(",")
+              .append(Math.round(resultat.getVisitesConserveesJ2())).append(",")
+              .append(nbGames).append(",")
+              .append(intervalle[0] * 100).append(",")
+              .append(intervalle[1] * 100).append("\n");
         }
 
-        sb.append(gridSize).append(",")
-          .append(budgetJ1).append(",")
-          .append(budgetJ2).append(",")
-          .append(strategieJ1).append(",")
-          .append(strategieJ2).append(",")
-          .append(nbGames).append(",")
-          .append(startPlayer).append(",")
-          .append(victoiresJ1).append(",")
-          .append(victoiresJ2).append(",")
-          .append(ratioJ1).append(",")
-          .append(ratioJ2).append("\n");
-
-
-        try (FileWriter fw = new FileWriter(cheminCSV, true)) {
+        try (FileWriter fw = new FileWriter(CHEMIN_CSV, false)) {
             fw.write(sb.toString());
         } catch (IOException e) {
             e.printStackTrace();
@@ -3,10 +3,16 @@ package model;
 import config.Constants;
 import utils.strategyMessage.*;
 import model.player.*;
+import model.enregistrement.EnregistreurParties;
+import model.enregistrement.PartieEnregistree;
+import model.ouvertures.LivreOuvertures;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 /**
  * Classe Orchestrateur qui gère une partie de Hex.
@@ -41,6 +47,15 @@ public class Orchestrateur {
     /** Indique si on est en mode expérimentation (non interactif). */
     private boolean experimentationMode;
 
+    /** Destination des parties automatiques enregistrées (null : pas d'enregistrement). */
+    private EnregistreurParties enregistreur;
+
+    /** Étiquette écrite avec chaque partie enregistrée (la configuration, en expérimentation). */
+    private String etiquette = "";
+
+    /** Graine de la partie, écrite avec la partie enregistrée. */
+    private long graine;
+
     /**
      * Constructeur principal de la classe Orchestrateur (version console 
      * ou "semi-expérimentation").
@@ -87,13 +102,75 @@ public class Orchestrateur {
      */
     public Orchestrateur(int taille, int budgetJ1, int budgetJ2, 
                          String startPlayer, String strategieJ1, String strategieJ2, boolean experimentationMode) {
+        this(taille, budgetJ1, budgetJ2, startPlayer, strategieJ1, strategieJ2, 1, experimentationMode);
+    }
+
+    /**
+     * Constructeur pour le mode expérimentation complet, avec recherches parallélisées à la racine.
+     *
+     * @param taille Taille de la grille (ex. 5, 7, 9...).
+     * @param budgetJ1 Budget MCTS pour le joueur BLEU.
+     * @param budgetJ2 Budget MCTS pour le joueur ROUGE.
+     * @param startPlayer "BLEU" ou "ROUGE" (qui commence).
+     * @param strategieJ1 "RAVE" ou "MCTS" pour le premier Joueur(qui commence).
+     * @param strategieJ2 "RAVE" ou "MCTS" pour le deuxiéme Joueur(qui commence).
+     * @param nbThreads Nombre de threads de chaque recherche (1 = séquentielle).
+     * @param experimentationMode Indique si on est en mode expérimentation (true = pas de prompt).
+     */
+    public Orchestrateur(int taille, int budgetJ1, int budgetJ2, 
+                         String startPlayer, String strategieJ1, String strategieJ2, int nbThreads, boolean experimentationMode) {
+        this(taille, budgetJ1, budgetJ2, startPlayer, strategieJ1, strategieJ2, nbThreads, 1, experimentationMode);
+    }
+
+    /**
+     * Constructeur pour le mode expérimentation complet, avec recherches parallélisées
+     * à la racine ou aux feuilles.
+     *
+     * @param taille Taille de la grille (ex. 5, 7, 9...).
+     * @param budgetJ1 Budget MCTS pour le joueur BLEU.
+     * @param budgetJ2 Budget MCTS pour le joueur ROUGE.
+     * @param startPlayer "BLEU" ou "ROUGE" (qui commence).
+     * @param strategieJ1 "RAVE" ou "MCTS" pour le premier Joueur(qui commence).
+     * @param strategieJ2 "RAVE" ou "MCTS" pour le deuxiéme Joueur(qui commence).
+     * @param nbThreads Nombre de threads de chaque recherche (1 = séquentielle).
+     * @param playoutsParFeuille Nombre de simulations par feuille (1 = pas de parallélisation aux feuilles).
+     * @param experimentationMode Indique si on est en mode expérimentation (true = pas de prompt).
+     */
+    public Orchestrateur(int taille, int budgetJ1, int budgetJ2, 
+                         String startPlayer, String strategieJ1, String strategieJ2, int nbThreads,
+                         int playoutsParFeuille, boolean experimentationMode) {
+        this(taille, budgetJ1, budgetJ2, startPlayer, strategieJ1, strategieJ2, nbThreads, playoutsParFeuille,
+             0, 0, false, experimentationMode);
+    }
+
+    /**
+     * Constructeur pour le mode expérimentation complet, avec recherches éventuellement
+     * limitées en temps plutôt qu'en itérations.
+     *
+     * @param taille Taille de la grille (ex. 5, 7, 9...).
+     * @param budgetJ1 Budget MCTS pour le joueur BLEU (ignoré si tempsJ1 > 0).
+     * @param budgetJ2 Budget MCTS pour le joueur ROUGE (ignoré si tempsJ2 > 0).
+     * @param startPlayer "BLEU" ou "ROUGE" (qui commence).
+     * @param strategieJ1 "RAVE" ou "MCTS" pour le premier Joueur(qui commence).
+     * @param strategieJ2 "RAVE" ou "MCTS" pour le deuxiéme Joueur(qui commence).
+     * @param nbThreads Nombre de threads de chaque recherche (1 = séquentielle).
+     * @param playoutsParFeuille Nombre de simulations par feuille (1 = pas de parallélisation aux feuilles).
+     * @param tempsJ1 Temps de réflexion du joueur BLEU en millisecondes (0 = budget d'itérations).
+     * @param tempsJ2 Temps de réflexion du joueur ROUGE en millisecondes (0 = budget d'itérations).
+     * @param tempsPartie true si les temps valent pour toute la partie, false s'ils sont accordés à chaque coup.
+     * @param experimentationMode Indique si on est en mode expérimentation (true = pas de prompt).
+     */
+    public Orchestrateur(int taille, int budgetJ1, int budgetJ2, 
+                         String startPlayer, String strategieJ1, String strategieJ2, int nbThreads,
+                         int playoutsParFeuille, long tempsJ1, long tempsJ2, boolean tempsPartie,
+                         boolean experimentationMode) {
         this.scanner = new Scanner(System.in);
         this.messageHandler = new ConsoleMessageHandler(false);
         this.experimentationMode = experimentationMode;
 
      // Création dynamique des deux joueurs avec la stratégie passée en paramètre (MCTS ou RAVE)
-        Player j1 = PlayerFactory.creerPlayerAutomatique("J1_" + strategieJ1, Case.EtatCase.BLEU, strategieJ1, budgetJ1, messageHandler);
-        Player j2 = PlayerFactory.creerPlayerAutomatique("J2_" + strategieJ2, Case.EtatCase.ROUGE, strategieJ2, budgetJ2, messageHandler);
+        Player j1 = PlayerFactory.creerPlayerAutomatique("J1_" + strategieJ1, Case.EtatCase.BLEU, strategieJ1, budgetJ1, nbThreads, playoutsParFeuille, tempsJ1, tempsPartie, messageHandler);
+        Player j2 = PlayerFactory.creerPlayerAutomatique("J2_" + strategieJ2, Case.EtatCase.ROUGE, strategieJ2, budgetJ2, nbThreads, playoutsParFeuille, tempsJ2, tempsPartie, messageHandler);
 
         this.joueurs = new ArrayList<>();
         joueurs.add(j1);
@@ -260,7 +337,9 @@ public class Orchestrateur {
         if (experimentationMode) {
             // Partie automatique
             while (!grille.estTerminee()) {
-                joueur_qui_commence.jouer(grille, experimentationMode);
+                if (joueur_qui_commence.jouer(grille, experimentationMode)) {
+                    notifierAdversaire(joueur_qui_commence);
+                }
                 if (grille.verifierVictoire(joueur_qui_commence)) {
                     break;
                 }
@@ -285,22 +364,50 @@ public class Orchestrateur {
      * @return 1, 2 ou -1 selon le vainqueur (ou nul).
      */
     public int jouerPartieAutomatique() {
+        PartieEnregistree partie = (enregistreur != null)
+                ? new PartieEnregistree(grille.getTaille(), graine, etiquette) : null;
+        int gagnant = -1;
         while (!grille.estTerminee()) {
-            joueur_qui_commence.jouer(grille, experimentationMode);
-            if (grille.verifierVictoire(joueur_qui_commence)) {
-                if (joueur_qui_commence == joueurs.get(0)) {
-                    afficherResultatFinal();
-                    return 1;
-                } else {
-                    afficherResultatFinal();
-                    return 2;
+            long debut = System.nanoTime();
+            if (joueur_qui_commence.jouer(grille, experimentationMode)) {
+                if (partie != null) {
+                    noterCoup(partie, joueur_qui_commence, System.nanoTime() - debut);
                 }
+                notifierAdversaire(joueur_qui_commence);
+            }
+            if (grille.verifierVictoire(joueur_qui_commence)) {
+                gagnant = (joueur_qui_commence == joueurs.get(0)) ? 1 : 2;
+                break;
             }
             joueur_qui_commence = passerAuJoueurSuivant(joueur_qui_commence);
         }
-        // Si la grille est "terminée" sans vainqueur
+        // Si la grille est "terminée" sans vainqueur, gagnant vaut -1
         afficherResultatFinal();
-        return -1;
+
+        if (partie != null) {
+            partie.setGagnant(Math.max(0, gagnant));
+            try {
+                enregistreur.enregistrer(partie);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Enregistrement de la partie impossible", e);
+            }
+        }
+        return gagnant;
+    }
+
+    /**
+     * Ajoute à la partie enregistrée le coup qu'un joueur vient de jouer, avec les
+     * statistiques de sa recherche.
+     *
+     * @param partie la partie en cours d'enregistrement.
+     * @param joueur le joueur qui vient de jouer.
+     * @param dureeNs la durée de réflexion du coup, en nanosecondes.
+     */
+    private void noterCoup(PartieEnregistree partie, Player joueur, long dureeNs) {
+        Position coup = joueur.getLastMove();
+        PlayerStrategy strategie = joueur.getStrategy();
+        partie.ajouterCoup(grille.getPlateau().cellule(coup.getX(), coup.getY()), joueur.getCouleur(),
+                strategie.getIterationsDernierCoup(), dureeNs, strategie.getVisitesCoupChoisi());
     }
 
     /**
@@ -328,6 +435,7 @@ public class Orchestrateur {
             }
 
             messageHandler.afficherMessage(joueur_qui_commence.getNom() + " a placé son pion.", true);
+            notifierAdversaire(joueur_qui_commence);
 
             if (grille.verifierVictoire(joueur_qui_commence)) {
                 messageHandler.afficherMessage("Le joueur " + joueur_qui_commence.getNom() + " a gagné !", true);
@@ -365,6 +473,58 @@ public class Orchestrateur {
         }
     }
 
+    /**
+     * Fixe les graines des stratégies des deux joueurs, dérivées d'une graine de partie :
+     * à budget d'itérations fixe, la partie est alors reproductible.
+     *
+     * @param graine la graine de la partie.
+     */
+    public void setGraine(long graine) {
+        this.graine = graine;
+        SplittableRandom derivation = new SplittableRandom(graine);
+        for (Player joueur : joueurs) {
+            joueur.getStrategy().setGraine(derivation.nextLong());
+        }
+    }
+
+    /**
+     * Fait consulter un livre d'ouvertures aux deux joueurs avant chacune de leurs recherches
+     * (sans effet sur les stratégies qui ne consultent pas de livre).
+     *
+     * @param livre le livre d'ouvertures, ou null pour n'en consulter aucun.
+     */
+    public void setLivreOuvertures(LivreOuvertures livre) {
+        for (Player joueur : joueurs) {
+            joueur.getStrategy().setLivreOuvertures(livre);
+        }
+    }
+
+    /**
+     * Enregistre les parties jouées par {@link #jouerPartieAutomatique()} : coups, vainqueur
+     * et statistiques de recherche de chaque coup.
+     *
+     * @param enregistreur la destination des parties, ou null pour ne rien enregistrer.
+     * @param etiquette description de la configuration, écrite avec chaque partie.
+     */
+    public void setEnregistreur(EnregistreurParties enregistreur, String etiquette) {
+        this.enregistreur = enregistreur;
+        this.etiquette = etiquette;
+    }
+
+    /**
+     * Transmet le dernier coup d'un joueur à son adversaire, qui peut ainsi
+     * descendre directement dans l'arbre de recherche qu'il a conservé.
+     *
+     * @param joueur Le joueur qui vient de jouer.
+     */
+    private void notifierAdversaire(Player joueur) {
+        for (Player autre : joueurs) {
+            if (autre != joueur) {
+                autre.notifierCoup(joueur.getLastMove(), joueur.getCouleur());
+            }
+        }
+    }
+
     /**
      * Passe au joueur suivant (index 0 => 1 => 0 => 1, etc.).
      *
@@ -1,13 +1,16 @@
 package model;
 
-import java.util.Objects;
-
 /**
  * Représente une position dans une grille avec des coordonnées x et y.
+ *
+ * Les grilles et la recherche ne créent pas de positions : elles partagent celles, immuables,
+ * de la table précalculée pour leur taille ({@link model.plateau.Topologie#getPosition(int)}).
+ * Les positions créées par le constructeur restent modifiables.
  */
 public class Position {
     private int x;
     private int y;
+    private final boolean immuable;
 
     /**
      * Constructeur pour initialiser une position.
@@ -16,8 +19,24 @@ public class Position {
      * @param y La coordonnée y
      */
     public Position(int x, int y) {
+        this(x, y, false);
+    }
+
+    private Position(int x, int y, boolean immuable) {
         this.x = x;
         this.y = y;
+        this.immuable = immuable;
+    }
+
+    /**
+     * Crée une position immuable, destinée à être partagée (ses setters lèvent une exception).
+     *
+     * @param x La coordonnée x
+     * @param y La coordonnée y
+     * @return la position immuable
+     */
+    public static Position immuable(int x, int y) {
+        return new Position(x, y, true);
     }
 
     /**
@@ -42,8 +61,10 @@ public class Position {
      * Modifie la coordonnée x.
      *
      * @param x La nouvelle valeur de x
+     * @throws UnsupportedOperationException si la position est partagée
      */
     public void setX(int x) {
+        verifierModifiable();
         this.x = x;
     }
 
@@ -51,11 +72,17 @@ public class Position {
      * Modifie la coordonnée y.
      *
      * @param y La nouvelle valeur de y
+     * @throws UnsupportedOperationException si la position est partagée
      */
     public void setY(int y) {
+        verifierModifiable();
         this.y = y;
     }
 
+    private void verifierModifiable() {
+        if (immuable) throw new UnsupportedOperationException("Position partagée non modifiable : " + this);
+    }
+
     /**
      * Calcule la distance entre deux positions.
      *
@@ -87,7 +114,7 @@ public class Position {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 
     /**
@@ -0,0 +1,114 @@
+package model.aleatoire;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Fabrique des générateurs aléatoires utilisés par les moteurs de recherche et les joueurs.
+ *
+ * Chaque recherche, chaque morceau de lot de simulations et chaque thread de travail possède
+ * son propre générateur, non synchronisé : aucun état n'est partagé entre threads. L'algorithme
+ * est choisi une fois pour toutes (clé {@code generateur} de la configuration d'expérimentation)
+ * parmi ceux du JDK, par exemple {@code SplittableRandom} (par défaut),
+ * {@code Xoroshiro128PlusPlus} ou {@code L64X128MixRandom}. Créé à partir d'une graine, un
+ * générateur produit toujours la même suite : une partie dont la graine est connue se rejoue
+ * à l'identique.
+ */
+public final class Aleatoire {
+
+    /** Algorithme utilisé tant qu'aucun autre n'est choisi. */
+    public static final String ALGORITHME_PAR_DEFAUT = "SplittableRandom";
+
+    private static volatile RandomGeneratorFactory<RandomGenerator> fabrique =
+        RandomGeneratorFactory.of(ALGORITHME_PAR_DEFAUT);
+
+    private static final ThreadLocal<RandomGenerator> PAR_THREAD =
+        ThreadLocal.withInitial(Aleatoire::creer);
+
+    private Aleatoire() {
+    }
+
+    /**
+     * Choisit l'algorithme des générateurs créés ensuite.
+     *
+     * @param nom le nom d'un algorithme du JDK, ou null pour l'algorithme par défaut.
+     * @throws IllegalArgumentException si l'algorithme est inconnu, ou s'il ne peut pas être
+     *         initialisé par une graine ou est synchronisé ({@code Random}, {@code SecureRandom}).
+     */
+    public static void setAlgorithme(String nom) {
+        if (nom == null) {
+            nom = ALGORITHME_PAR_DEFAUT;
+        }
+        if (nom.equals("Random") || nom.equals("SecureRandom")) {
+            throw new IllegalArgumentException("Générateur synchronisé ou non reproductible refusé : " + nom);
+        }
+        RandomGeneratorFactory<RandomGenerator> choisie;
+        try {
+            choisie = RandomGeneratorFactory.of(nom);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Générateur aléatoire inconnu : " + nom, e);
+        }
+        fabrique = choisie;
+    }
+
+    /**
+     * Retourne le nom de l'algorithme des générateurs créés.
+     *
+     * @return le nom de l'algorithme.
+     */
+    public static String getAlgorithme() {
+        return fabrique.name();
+    }
+
+    /**
+     * Crée un générateur initialisé par une graine.
+     *
+     * @param graine la graine.
+     * @return un nouveau générateur, à n'utiliser que depuis un seul thread à la fois.
+     */
+    public static RandomGenerator creer(long graine) {
+        return fabrique.create(graine);
+    }
+
+    /**
+     * Crée un générateur à graine arbitraire (choix non reproductibles).
+     *
+     * @return un nouveau générateur, à n'utiliser que depuis un seul thread à la fois.
+     */
+    public static RandomGenerator creer() {
+        return creer(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Retourne le générateur propre au thread appelant, pour le code qui n'en reçoit pas.
+     *
+     * @return le générateur du thread courant.
+     */
+    public static RandomGenerator courant() {
+        return PAR_THREAD.get();
+    }
+
+    /**
+     * Tire un entier uniforme dans [0, borne[ sans division dans le cas courant (méthode de
+     * Lemire) : le produit d'un entier aléatoire de 32 bits par la borne donne le résultat dans
+     * ses 32 bits de poids fort ; la division n'intervient que pour rejeter, rarement, les
+     * tirages qui biaiseraient la répartition.
+     *
+     * @param random le générateur.
+     * @param borne la borne exclue, strictement positive.
+     * @return un entier entre 0 et borne exclue.
+     */
+    public static int entier(RandomGenerator random, int borne) {
+        long produit = (random.nextInt() & 0xFFFFFFFFL) * borne;
+        int bas = (int) produit;
+        if (Integer.compareUnsigned(bas, borne) < 0) {
+            int seuil = Integer.remainderUnsigned(-borne, borne);
+            while (Integer.compareUnsigned(bas, seuil) < 0) {
+                produit = (random.nextInt() & 0xFFFFFFFFL) * borne;
+                bas = (int) produit;
+            }
+        }
+        return (int) (produit >>> 32);
+    }
+}
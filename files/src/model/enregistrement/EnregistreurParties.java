@@ -0,0 +1,181 @@
+package model.enregistrement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écrit des parties dans un fichier binaire compact, en ajout seul, à travers un tampon
+ * d'octets et un {@link FileChannel}.
+ *
+ * Format (entiers big-endian) :
+ * <pre>
+ * fichier : MAGIC (int) VERSION (short) enregistrement*
+ * enregistrement : longueur du corps (int) corps
+ * corps : taille (short) gagnant (byte) graine (long)
+ *         longueur de l'étiquette (short) étiquette (UTF-8)
+ *         nombre de coups (int) coup*
+ * coup : cellule (short) couleur (byte) itérations (int) durée en ns (long) visites (int)
+ * </pre>
+ * La longueur en tête de chaque enregistrement permet au lecteur d'ignorer un dernier
+ * enregistrement tronqué ; à l'ouverture, l'enregistreur retire un tel enregistrement avant
+ * d'ajouter les suivants. Chaque partie est écrite dans le fichier avant le retour de
+ * {@link #enregistrer} : une partie notée comme jouée dans le journal de la campagne, écrit
+ * après elle, se trouve toujours aussi dans le fichier de parties.
+ */
+public class EnregistreurParties implements Closeable {
+
+    static final int MAGIC = 0x48455852; // "HEXR"
+    static final short VERSION = 1;
+    static final int OCTETS_ENTETE_FICHIER = 6;
+    static final int OCTETS_PAR_COUP = 19;
+
+    private static final int TAILLE_TAMPON = 1 << 16;
+
+    private final FileChannel canal;
+    private final ByteBuffer tampon;
+    private int nombreParties;
+
+    /**
+     * Ouvre un fichier de parties en ajout, en le créant avec son en-tête s'il n'existe pas.
+     * Un dernier enregistrement tronqué (arrêt pendant l'écriture) est retiré du fichier.
+     *
+     * @param fichier le fichier.
+     * @throws IOException si le fichier ne peut pas être ouvert ou n'est pas un fichier de parties.
+     */
+    public EnregistreurParties(Path fichier) throws IOException {
+        if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+        this.canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                      StandardOpenOption.WRITE);
+        this.tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        try {
+            long fin = finDernierEnregistrementComplet(fichier);
+            if (fin < canal.size()) {
+                canal.truncate(fin);
+            }
+            // Seul cet enregistreur écrit : se placer à la fin suffit pour ajouter
+            canal.position(fin);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        if (canal.size() == 0) {
+            tampon.putInt(MAGIC).putShort(VERSION);
+            vider();
+        }
+    }
+
+    /**
+     * Ajoute une partie au fichier et l'y écrit.
+     *
+     * @param partie la partie à écrire.
+     * @throws IOException si l'écriture échoue.
+     */
+    public synchronized void enregistrer(PartieEnregistree partie) throws IOException {
+        byte[] etiquette = partie.getEtiquette().getBytes(StandardCharsets.UTF_8);
+        int longueurCorps = 2 + 1 + 8 + 2 + etiquette.length + 4 + OCTETS_PAR_COUP * partie.getNombreCoups();
+        int longueur = 4 + longueurCorps;
+
+        // Le tampon est vide entre deux parties ; une partie plus grande que lui a le sien
+        ByteBuffer cible = (tampon.capacity() >= longueur) ? tampon : ByteBuffer.allocate(longueur);
+
+        cible.putInt(longueurCorps);
+        cible.putShort((short) partie.getTaille());
+        cible.put((byte) partie.getGagnant());
+        cible.putLong(partie.getGraine());
+        cible.putShort((short) etiquette.length);
+        cible.put(etiquette);
+        cible.putInt(partie.getNombreCoups());
+        for (int i = 0; i < partie.getNombreCoups(); i++) {
+            cible.putShort((short) partie.getCellule(i));
+            cible.put((byte) partie.getCouleur(i).ordinal());
+            cible.putInt(partie.getIterations(i));
+            cible.putLong(partie.getDureeNs(i));
+            cible.putInt(partie.getVisites(i));
+        }
+        ecrire(cible);
+        nombreParties++;
+    }
+
+    /**
+     * Écrit dans le fichier ce qui reste dans le tampon.
+     *
+     * @throws IOException si l'écriture échoue.
+     */
+    public synchronized void vider() throws IOException {
+        ecrire(tampon);
+    }
+
+    /**
+     * Retourne le nombre de parties écrites depuis l'ouverture.
+     *
+     * @return le nombre de parties.
+     */
+    public synchronized int getNombreParties() {
+        return nombreParties;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            vider();
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Parcourt les longueurs des enregistrements existants pour trouver la fin du dernier
+     * enregistrement complet.
+     *
+     * @return la position de cette fin, 0 si le fichier est vide ou si son en-tête est tronqué.
+     */
+    private long finDernierEnregistrementComplet(Path fichier) throws IOException {
+        long taille = canal.size();
+        if (taille < OCTETS_ENTETE_FICHIER) {
+            return 0;
+        }
+        ByteBuffer entete = ByteBuffer.allocate(OCTETS_ENTETE_FICHIER);
+        lireA(entete, 0);
+        if (entete.getInt() != MAGIC || entete.getShort() != VERSION) {
+            throw new IOException("Ce n'est pas un fichier de parties de version " + VERSION + " : " + fichier);
+        }
+        ByteBuffer longueur = ByteBuffer.allocate(4);
+        long position = OCTETS_ENTETE_FICHIER;
+        while (position + 4 <= taille) {
+            longueur.clear();
+            lireA(longueur, position);
+            int longueurCorps = longueur.getInt();
+            if (longueurCorps < 0 || position + 4 + longueurCorps > taille) {
+                break;
+            }
+            position += 4 + longueurCorps;
+        }
+        return position;
+    }
+
+    // remplit le tampon à partir d'une position du fichier, puis le prépare à la lecture
+    private void lireA(ByteBuffer octets, long position) throws IOException {
+        while (octets.hasRemaining()) {
+            if (canal.read(octets, position + octets.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue");
+            }
+        }
+        octets.flip();
+    }
+
+    private void ecrire(ByteBuffer octets) throws IOException {
+        octets.flip();
+        while (octets.hasRemaining()) {
+            canal.write(octets);
+        }
+        octets.clear();
+    }
+}
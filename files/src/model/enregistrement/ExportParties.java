@@ -0,0 +1,151 @@
+package model.enregistrement;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import model.plateau.Topologie;
+
+/**
+ * Exporte un fichier de parties vers des formats lus par les outils d'analyse
+ * (pandas, numpy, tableur), en flux : les parties ne sont jamais toutes en mémoire.
+ */
+public final class ExportParties {
+
+    /** Colonnes de l'export par coup, dans l'ordre, avec leur type. */
+    private static final String[][] COLONNES = {
+        { "partie", "int32" }, { "tour", "int16" }, { "taille", "int16" }, { "cellule", "int16" },
+        { "x", "int16" }, { "y", "int16" }, { "couleur", "int8" }, { "iterations", "int32" },
+        { "duree_ns", "int64" }, { "visites", "int32" }, { "gagnant", "int8" }
+    };
+
+    private ExportParties() {
+    }
+
+    /**
+     * Exporte un fichier de parties depuis la ligne de commande :
+     * {@code ExportParties <parties.hexr> csv <fichier.csv>} ou
+     * {@code ExportParties <parties.hexr> colonnes <dossier>}.
+     *
+     * @param args le fichier de parties, le format et la destination.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[1].equals("csv") || args[1].equals("colonnes"))) {
+            System.err.println("Usage : ExportParties <parties.hexr> csv|colonnes <destination>");
+            return;
+        }
+        Path source = Path.of(args[0]);
+        Path destination = Path.of(args[2]);
+        int parties = args[1].equals("csv") ? exporterCSV(source, destination) : exporterColonnes(source, destination);
+        System.out.println(parties + " parties exportées vers " + destination);
+    }
+
+    /**
+     * Exporte un coup par ligne dans un fichier CSV.
+     *
+     * @param source le fichier de parties.
+     * @param csv le fichier CSV à écrire (écrasé).
+     * @return le nombre de parties exportées.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     */
+    public static int exporterCSV(Path source, Path csv) throws IOException {
+        try (BufferedWriter sortie = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            sortie.write("Partie,Tour,Taille,Cellule,X,Y,Couleur,Iterations,DureeNs,Visites,Gagnant,Graine,Configuration\n");
+            int[] numero = { 0 };
+            try {
+                return LecteurParties.parcourir(source, partie -> {
+                    Topologie topologie = Topologie.pour(partie.getTaille());
+                    try {
+                        for (int i = 0; i < partie.getNombreCoups(); i++) {
+                            int cellule = partie.getCellule(i);
+                            sortie.write(numero[0] + "," + i + "," + partie.getTaille() + "," + cellule
+                                + "," + topologie.getX(cellule) + "," + topologie.getY(cellule)
+                                + "," + partie.getCouleur(i) + "," + partie.getIterations(i)
+                                + "," + partie.getDureeNs(i) + "," + partie.getVisites(i)
+                                + "," + partie.getGagnant() + "," + partie.getGraine()
+                                + ",\"" + partie.getEtiquette() + "\"\n");
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    numero[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Exporte les coups en colonnes : un fichier binaire par colonne ({@code <nom>.bin},
+     * valeurs big-endian contiguës, lisibles par exemple avec {@code numpy.fromfile(f, dtype='>i4')}),
+     * un fichier {@code schema.txt} (nom, type et nombre de lignes) et un fichier
+     * {@code parties.csv} décrivant chaque partie (graine, vainqueur, configuration).
+     *
+     * @param source le fichier de parties.
+     * @param dossier le dossier de destination (créé au besoin, fichiers écrasés).
+     * @return le nombre de parties exportées.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     */
+    public static int exporterColonnes(Path source, Path dossier) throws IOException {
+        Files.createDirectories(dossier);
+        DataOutputStream[] colonnes = new DataOutputStream[COLONNES.length];
+        long[] lignes = { 0 };
+        int parties;
+        try (BufferedWriter descriptions = Files.newBufferedWriter(dossier.resolve("parties.csv"), StandardCharsets.UTF_8)) {
+            for (int c = 0; c < COLONNES.length; c++) {
+                colonnes[c] = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(dossier.resolve(COLONNES[c][0] + ".bin"))));
+            }
+            descriptions.write("Partie,Taille,Gagnant,Graine,NbCoups,Configuration\n");
+            int[] numero = { 0 };
+            try {
+                parties = LecteurParties.parcourir(source, partie -> {
+                    Topologie topologie = Topologie.pour(partie.getTaille());
+                    try {
+                        for (int i = 0; i < partie.getNombreCoups(); i++) {
+                            int cellule = partie.getCellule(i);
+                            colonnes[0].writeInt(numero[0]);
+                            colonnes[1].writeShort(i);
+                            colonnes[2].writeShort(partie.getTaille());
+                            colonnes[3].writeShort(cellule);
+                            colonnes[4].writeShort(topologie.getX(cellule));
+                            colonnes[5].writeShort(topologie.getY(cellule));
+                            colonnes[6].writeByte(partie.getCouleur(i).ordinal());
+                            colonnes[7].writeInt(partie.getIterations(i));
+                            colonnes[8].writeLong(partie.getDureeNs(i));
+                            colonnes[9].writeInt(partie.getVisites(i));
+                            colonnes[10].writeByte(partie.getGagnant());
+                            lignes[0]++;
+                        }
+                        descriptions.write(numero[0] + "," + partie.getTaille() + "," + partie.getGagnant()
+                            + "," + partie.getGraine() + "," + partie.getNombreCoups()
+                            + ",\"" + partie.getEtiquette() + "\"\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    numero[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } finally {
+            for (DataOutputStream colonne : colonnes) {
+                if (colonne != null) colonne.close();
+            }
+        }
+
+        StringBuilder schema = new StringBuilder("# colonne type (big-endian) ; lignes=" + lignes[0] + "\n");
+        for (String[] colonne : COLONNES) {
+            schema.append(colonne[0]).append(' ').append(colonne[1]).append('\n');
+        }
+        Files.writeString(dossier.resolve("schema.txt"), schema.toString(), StandardCharsets.UTF_8);
+        return parties;
+    }
+}
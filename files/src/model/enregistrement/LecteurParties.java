@@ -0,0 +1,127 @@
+package model.enregistrement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import model.Case.EtatCase;
+
+/**
+ * Relit, une par une, les parties d'un fichier écrit par {@link EnregistreurParties}.
+ *
+ * Le fichier est parcouru à travers un tampon de taille fixe : seule la partie en cours
+ * de lecture est en mémoire, quelle que soit la taille du fichier. Un dernier enregistrement
+ * tronqué (arrêt pendant l'écriture) marque simplement la fin du fichier.
+ */
+public class LecteurParties implements Closeable {
+
+    private static final int TAILLE_TAMPON = 1 << 16;
+
+    private final FileChannel canal;
+    private ByteBuffer tampon;
+    private boolean finDeFichier;
+
+    /**
+     * Ouvre un fichier de parties.
+     *
+     * @param fichier le fichier.
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas un fichier de parties.
+     */
+    public LecteurParties(Path fichier) throws IOException {
+        this.canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        this.tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        tampon.flip();
+        if (!disponible(EnregistreurParties.OCTETS_ENTETE_FICHIER) || tampon.getInt() != EnregistreurParties.MAGIC) {
+            canal.close();
+            throw new IOException("Ce n'est pas un fichier de parties : " + fichier);
+        }
+        short version = tampon.getShort();
+        if (version != EnregistreurParties.VERSION) {
+            canal.close();
+            throw new IOException("Version de fichier de parties non prise en charge : " + version);
+        }
+    }
+
+    /**
+     * Lit la partie suivante.
+     *
+     * @return la partie, ou null à la fin du fichier.
+     * @throws IOException si la lecture échoue.
+     */
+    public PartieEnregistree suivante() throws IOException {
+        if (!disponible(4)) return null;
+        int longueurCorps = tampon.getInt();
+        if (!disponible(longueurCorps)) return null;
+
+        int taille = tampon.getShort();
+        int gagnant = tampon.get();
+        long graine = tampon.getLong();
+        byte[] etiquette = new byte[tampon.getShort()];
+        tampon.get(etiquette);
+        PartieEnregistree partie = new PartieEnregistree(taille, graine, new String(etiquette, StandardCharsets.UTF_8));
+        partie.setGagnant(gagnant);
+
+        int nombreCoups = tampon.getInt();
+        EtatCase[] etats = EtatCase.values();
+        for (int i = 0; i < nombreCoups; i++) {
+            int cellule = tampon.getShort();
+            EtatCase couleur = etats[tampon.get()];
+            int iterations = tampon.getInt();
+            long dureeNs = tampon.getLong();
+            int visites = tampon.getInt();
+            partie.ajouterCoup(cellule, couleur, iterations, dureeNs, visites);
+        }
+        return partie;
+    }
+
+    /**
+     * Parcourt toutes les parties d'un fichier.
+     *
+     * @param fichier le fichier de parties.
+     * @param action appelée pour chaque partie, dans l'ordre du fichier.
+     * @return le nombre de parties lues.
+     * @throws IOException si la lecture échoue.
+     */
+    public static int parcourir(Path fichier, Consumer<PartieEnregistree> action) throws IOException {
+        int lues = 0;
+        try (LecteurParties lecteur = new LecteurParties(fichier)) {
+            for (PartieEnregistree partie = lecteur.suivante(); partie != null; partie = lecteur.suivante()) {
+                action.accept(partie);
+                lues++;
+            }
+        }
+        return lues;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * S'assure que le tampon contient au moins n octets non lus, en le remplissant
+     * (et en l'agrandissant pour un enregistrement plus grand que lui).
+     *
+     * @return false si le fichier se termine avant.
+     */
+    private boolean disponible(int n) throws IOException {
+        if (tampon.remaining() >= n) return true;
+        if (tampon.capacity() < n) {
+            ByteBuffer agrandi = ByteBuffer.allocateDirect(Integer.highestOneBit(n) << 1);
+            agrandi.put(tampon);
+            agrandi.flip();
+            tampon = agrandi;
+        }
+        tampon.compact();
+        while (tampon.position() < n && !finDeFichier) {
+            if (canal.read(tampon) < 0) finDeFichier = true;
+        }
+        tampon.flip();
+        return tampon.remaining() >= n;
+    }
+}
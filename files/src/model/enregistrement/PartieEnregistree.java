@@ -0,0 +1,153 @@
+package model.enregistrement;
+
+import java.util.Arrays;
+
+import model.Case.EtatCase;
+
+/**
+ * Une partie enregistrée : en-tête (taille, vainqueur, graine, étiquette de configuration)
+ * et liste des coups, chacun avec les statistiques de la recherche qui l'a produit.
+ *
+ * Les coups sont ajoutés au fil de la partie ({@link #ajouterCoup}) ; les tableaux internes
+ * grandissent au besoin. Les cellules sont numérotées comme dans {@link model.plateau.Plateau}.
+ */
+public class PartieEnregistree {
+
+    private final int taille;
+    private final long graine;
+    private final String etiquette;
+    private int gagnant;
+    private int nombreCoups;
+    private int[] cellules;
+    private byte[] couleurs;
+    private int[] iterations;
+    private long[] dureesNs;
+    private int[] visites;
+
+    /**
+     * Crée une partie vide.
+     *
+     * @param taille taille de la grille.
+     * @param graine graine de la partie (0 si inconnue).
+     * @param etiquette description libre de la configuration (clé de configuration en expérimentation).
+     */
+    public PartieEnregistree(int taille, long graine, String etiquette) {
+        this.taille = taille;
+        this.graine = graine;
+        this.etiquette = etiquette == null ? "" : etiquette;
+        int capacite = Math.max(1, taille * taille);
+        this.cellules = new int[capacite];
+        this.couleurs = new byte[capacite];
+        this.iterations = new int[capacite];
+        this.dureesNs = new long[capacite];
+        this.visites = new int[capacite];
+    }
+
+    /**
+     * Ajoute un coup à la partie.
+     *
+     * @param cellule la cellule jouée.
+     * @param couleur la couleur qui l'a jouée.
+     * @param iterationsCoup les itérations de la recherche (0 sans recherche).
+     * @param dureeNs la durée de réflexion, en nanosecondes.
+     * @param visitesCoup les visites du coup choisi en fin de recherche (0 sans recherche).
+     */
+    public void ajouterCoup(int cellule, EtatCase couleur, int iterationsCoup, long dureeNs, int visitesCoup) {
+        if (nombreCoups == cellules.length) {
+            int capacite = cellules.length * 2;
+            cellules = Arrays.copyOf(cellules, capacite);
+            couleurs = Arrays.copyOf(couleurs, capacite);
+            iterations = Arrays.copyOf(iterations, capacite);
+            dureesNs = Arrays.copyOf(dureesNs, capacite);
+            visites = Arrays.copyOf(visites, capacite);
+        }
+        cellules[nombreCoups] = cellule;
+        couleurs[nombreCoups] = (byte) couleur.ordinal();
+        iterations[nombreCoups] = iterationsCoup;
+        dureesNs[nombreCoups] = dureeNs;
+        visites[nombreCoups] = visitesCoup;
+        nombreCoups++;
+    }
+
+    /**
+     * Retourne la taille de la grille.
+     *
+     * @return la taille.
+     */
+    public int getTaille() { return taille; }
+
+    /**
+     * Retourne la graine de la partie.
+     *
+     * @return la graine, 0 si inconnue.
+     */
+    public long getGraine() { return graine; }
+
+    /**
+     * Retourne la description de la configuration de la partie.
+     *
+     * @return l'étiquette, vide si aucune n'a été donnée.
+     */
+    public String getEtiquette() { return etiquette; }
+
+    /**
+     * Retourne le vainqueur.
+     *
+     * @return 1 pour le joueur 1 (BLEU), 2 pour le joueur 2 (ROUGE), 0 si la partie n'a pas de vainqueur.
+     */
+    public int getGagnant() { return gagnant; }
+
+    /**
+     * Fixe le vainqueur, une fois la partie terminée.
+     *
+     * @param gagnant 1 pour le joueur 1 (BLEU), 2 pour le joueur 2 (ROUGE), 0 sans vainqueur.
+     */
+    public void setGagnant(int gagnant) { this.gagnant = gagnant; }
+
+    /**
+     * Retourne le nombre de coups enregistrés.
+     *
+     * @return le nombre de coups.
+     */
+    public int getNombreCoups() { return nombreCoups; }
+
+    /**
+     * Retourne la cellule jouée à un coup, numérotée par {@link model.plateau.Plateau#cellule(int, int)}.
+     *
+     * @param coup le rang du coup dans la partie, de 0 à {@link #getNombreCoups()} exclu.
+     * @return le numéro de cellule, entre 0 et taille * taille exclu.
+     */
+    public int getCellule(int coup) { return cellules[coup]; }
+
+    /**
+     * Retourne la couleur qui a joué un coup.
+     *
+     * @param coup le rang du coup dans la partie, de 0 à {@link #getNombreCoups()} exclu.
+     * @return BLEU ou ROUGE.
+     */
+    public EtatCase getCouleur(int coup) { return EtatCase.values()[couleurs[coup]]; }
+
+    /**
+     * Retourne le nombre d'itérations de la recherche qui a produit un coup.
+     *
+     * @param coup le rang du coup dans la partie, de 0 à {@link #getNombreCoups()} exclu.
+     * @return les itérations, 0 si le coup n'est pas issu d'une recherche.
+     */
+    public int getIterations(int coup) { return iterations[coup]; }
+
+    /**
+     * Retourne la durée de réflexion d'un coup.
+     *
+     * @param coup le rang du coup dans la partie, de 0 à {@link #getNombreCoups()} exclu.
+     * @return la durée, en nanosecondes.
+     */
+    public long getDureeNs(int coup) { return dureesNs[coup]; }
+
+    /**
+     * Retourne les visites, en fin de recherche, du coup joué.
+     *
+     * @param coup le rang du coup dans la partie, de 0 à {@link #getNombreCoups()} exclu.
+     * @return les visites, 0 si le coup n'est pas issu d'une recherche.
+     */
+    public int getVisites(int coup) { return visites[coup]; }
+}
@@ -0,0 +1,167 @@
+package model.experimentation;
+
+/**
+ * Règle d'arrêt séquentiel d'une configuration d'expérimentation.
+ *
+ * Après chaque partie, on calcule l'intervalle de confiance de Wilson du taux de victoire
+ * du joueur 1. La configuration s'arrête, après un nombre minimal de parties, dès que :
+ * <ul>
+ *   <li>la demi-largeur de l'intervalle est inférieure ou égale à la précision demandée, ou</li>
+ *   <li>l'intervalle ne contient plus 1/2 : le joueur le plus fort est identifié.</li>
+ * </ul>
+ * Le second critère arrête très tôt les confrontations déséquilibrées (5000 contre 100
+ * itérations par exemple). L'intervalle est recalculé à chaque partie sans correction : le
+ * niveau de confiance annoncé est donc optimiste, ce qui reste acceptable pour trier des configurations.
+ */
+public class ArretSequentiel {
+
+    private final double precision;
+    private final double confiance;
+    private final int partiesMin;
+    private final double z;
+
+    /**
+     * Crée une règle d'arrêt.
+     *
+     * @param precision demi-largeur visée de l'intervalle sur le taux de victoire (entre 0 et 0,5 exclus).
+     * @param confiance niveau de confiance de l'intervalle (entre 0 et 1 exclus), 0,95 par exemple.
+     * @param partiesMin nombre de parties jouées avant de pouvoir s'arrêter.
+     * @throws IllegalArgumentException si un paramètre est hors de son domaine.
+     */
+    public ArretSequentiel(double precision, double confiance, int partiesMin) {
+        if (!(precision > 0 && precision < 0.5)) {
+            throw new IllegalArgumentException("La précision doit être comprise entre 0 et 0.5 : " + precision);
+        }
+        if (!(confiance > 0 && confiance < 1)) {
+            throw new IllegalArgumentException("La confiance doit être comprise entre 0 et 1 : " + confiance);
+        }
+        if (partiesMin < 1) {
+            throw new IllegalArgumentException("Le nombre minimal de parties doit être au moins 1 : " + partiesMin);
+        }
+        this.precision = precision;
+        this.confiance = confiance;
+        this.partiesMin = partiesMin;
+        this.z = quantileNormal((1 + confiance) / 2);
+    }
+
+    /**
+     * Retourne la demi-largeur visée de l'intervalle sur le taux de victoire.
+     *
+     * @return la précision.
+     */
+    public double getPrecision() { return precision; }
+
+    /**
+     * Retourne le niveau de confiance de l'intervalle.
+     *
+     * @return la confiance, entre 0 et 1 exclus.
+     */
+    public double getConfiance() { return confiance; }
+
+    /**
+     * Retourne le nombre de parties jouées avant de pouvoir s'arrêter.
+     *
+     * @return le nombre minimal de parties.
+     */
+    public int getPartiesMin() { return partiesMin; }
+
+    /**
+     * Indique si les parties déjà jouées suffisent.
+     *
+     * @param resultat les parties cumulées de la configuration.
+     * @return true si la configuration peut s'arrêter.
+     */
+    public boolean arreter(ResultatConfiguration resultat) {
+        int n = resultat.getNbParties();
+        if (n < partiesMin) return false;
+        int victoires = resultat.getVictoiresJ1();
+        double bas = borneInferieure(victoires, n);
+        double haut = borneSuperieure(victoires, n);
+        return (haut - bas) / 2 <= precision || bas > 0.5 || haut < 0.5;
+    }
+
+    /**
+     * Borne inférieure de l'intervalle de Wilson d'un taux de victoire.
+     *
+     * @param victoires nombre de victoires.
+     * @param parties nombre de parties.
+     * @return la borne inférieure (0 si aucune partie).
+     */
+    public double borneInferieure(int victoires, int parties) {
+        return wilson(victoires, parties, z, -1);
+    }
+
+    /**
+     * Borne supérieure de l'intervalle de Wilson d'un taux de victoire.
+     *
+     * @param victoires nombre de victoires.
+     * @param parties nombre de parties.
+     * @return la borne supérieure (1 si aucune partie).
+     */
+    public double borneSuperieure(int victoires, int parties) {
+        return wilson(victoires, parties, z, 1);
+    }
+
+    /**
+     * Intervalle de confiance de Wilson d'un taux de victoire, pour un niveau de confiance quelconque.
+     *
+     * @param victoires nombre de victoires.
+     * @param parties nombre de parties.
+     * @param confiance niveau de confiance (entre 0 et 1 exclus).
+     * @return les bornes inférieure et supérieure, dans [0, 1].
+     */
+    public static double[] intervalle(int victoires, int parties, double confiance) {
+        double quantile = quantileNormal((1 + confiance) / 2);
+        return new double[] { wilson(victoires, parties, quantile, -1), wilson(victoires, parties, quantile, 1) };
+    }
+
+    /**
+     * Borne de l'intervalle de confiance de Wilson.
+     *
+     * @param victoires nombre de succès.
+     * @param parties nombre d'essais.
+     * @param z quantile de la loi normale.
+     * @param signe -1 pour la borne inférieure, 1 pour la borne supérieure.
+     * @return la borne, dans [0, 1].
+     */
+    static double wilson(int victoires, int parties, double z, int signe) {
+        if (parties == 0) return signe < 0 ? 0 : 1;
+        double p = (double) victoires / parties;
+        double z2n = z * z / parties;
+        double centre = p + z2n / 2;
+        double ecart = z * Math.sqrt(p * (1 - p) / parties + z2n / (4.0 * parties));
+        return Math.min(1, Math.max(0, (centre + signe * ecart) / (1 + z2n)));
+    }
+
+    /**
+     * Quantile de la loi normale centrée réduite (approximation rationnelle d'Acklam,
+     * erreur relative inférieure à 1.2e-9).
+     *
+     * @param p probabilité, strictement entre 0 et 1.
+     * @return x tel que P(X &lt;= x) = p.
+     */
+    static double quantileNormal(double p) {
+        final double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                              1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        final double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                              6.680131188771972e+01, -1.328068155288572e+01 };
+        final double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                             -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        final double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                             3.754408661907416e+00 };
+        final double seuil = 0.02425;
+
+        if (p < seuil) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                 / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - seuil) {
+            return -quantileNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+             / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,181 @@
+package model.experimentation;
+
+/**
+ * Une configuration d'expérimentation : un point du produit cartésien décrit par le fichier
+ * de configuration (taille, budgets, stratégies, joueur de départ, parallélisme, temps).
+ *
+ * Immuable : une même instance est partagée sans précaution par toutes les parties de la
+ * configuration, quel que soit le thread qui les joue.
+ */
+public final class ConfigurationExperience {
+
+    private final int taille;
+    private final int budgetJ1;
+    private final int budgetJ2;
+    private final String joueurDepart;
+    private final String strategieJ1;
+    private final String strategieJ2;
+    private final int nbThreads;
+    private final int playoutsParFeuille;
+    private final long tempsJ1;
+    private final long tempsJ2;
+    private final boolean tempsPartie;
+
+    /**
+     * Crée une configuration.
+     *
+     * @param taille taille de la grille.
+     * @param budgetJ1 budget d'itérations du joueur 1.
+     * @param budgetJ2 budget d'itérations du joueur 2.
+     * @param joueurDepart joueur qui commence ("BLEU" ou "ROUGE").
+     * @param strategieJ1 stratégie du joueur 1 ("MCTS", "RAVE", "MCTS-PARTAGE" ou "RAVE-PARTAGE").
+     * @param strategieJ2 stratégie du joueur 2 ("MCTS", "RAVE", "MCTS-PARTAGE" ou "RAVE-PARTAGE").
+     * @param nbThreads nombre de threads de chaque recherche (1 = séquentielle).
+     * @param playoutsParFeuille nombre de simulations par feuille (1 = séquentiel).
+     * @param tempsJ1 temps de réflexion du joueur 1 en millisecondes (0 = budget d'itérations).
+     * @param tempsJ2 temps de réflexion du joueur 2 en millisecondes (0 = budget d'itérations).
+     * @param tempsPartie true si les temps valent pour toute la partie, false par coup.
+     */
+    public ConfigurationExperience(int taille, int budgetJ1, int budgetJ2, String joueurDepart,
+                                   String strategieJ1, String strategieJ2, int nbThreads,
+                                   int playoutsParFeuille, long tempsJ1, long tempsJ2, boolean tempsPartie) {
+        this.taille = taille;
+        this.budgetJ1 = budgetJ1;
+        this.budgetJ2 = budgetJ2;
+        this.joueurDepart = joueurDepart;
+        this.strategieJ1 = strategieJ1;
+        this.strategieJ2 = strategieJ2;
+        this.nbThreads = nbThreads;
+        this.playoutsParFeuille = playoutsParFeuille;
+        this.tempsJ1 = tempsJ1;
+        this.tempsJ2 = tempsJ2;
+        this.tempsPartie = tempsPartie;
+    }
+
+    /**
+     * Retourne la taille de la grille.
+     *
+     * @return la taille.
+     */
+    public int getTaille() { return taille; }
+
+    /**
+     * Retourne le budget d'itérations du joueur 1.
+     *
+     * @return le budget.
+     */
+    public int getBudgetJ1() { return budgetJ1; }
+
+    /**
+     * Retourne le budget d'itérations du joueur 2.
+     *
+     * @return le budget.
+     */
+    public int getBudgetJ2() { return budgetJ2; }
+
+    /**
+     * Retourne le joueur qui commence.
+     *
+     * @return "BLEU" ou "ROUGE".
+     */
+    public String getJoueurDepart() { return joueurDepart; }
+
+    /**
+     * Retourne la stratégie du joueur 1.
+     *
+     * @return le nom de la stratégie, tel qu'écrit dans le fichier de configuration.
+     */
+    public String getStrategieJ1() { return strategieJ1; }
+
+    /**
+     * Retourne la stratégie du joueur 2.
+     *
+     * @return le nom de la stratégie, tel qu'écrit dans le fichier de configuration.
+     */
+    public String getStrategieJ2() { return strategieJ2; }
+
+    /**
+     * Retourne le nombre de threads de chaque recherche.
+     *
+     * @return le nombre de threads (1 = séquentielle).
+     */
+    public int getNbThreads() { return nbThreads; }
+
+    /**
+     * Retourne le nombre de simulations lancées depuis chaque feuille.
+     *
+     * @return le nombre de simulations (1 = séquentiel).
+     */
+    public int getPlayoutsParFeuille() { return playoutsParFeuille; }
+
+    /**
+     * Retourne le temps de réflexion du joueur 1.
+     *
+     * @return le temps en millisecondes, 0 pour une recherche limitée en itérations.
+     */
+    public long getTempsJ1() { return tempsJ1; }
+
+    /**
+     * Retourne le temps de réflexion du joueur 2.
+     *
+     * @return le temps en millisecondes, 0 pour une recherche limitée en itérations.
+     */
+    public long getTempsJ2() { return tempsJ2; }
+
+    /**
+     * Indique si les temps de réflexion valent pour toute la partie.
+     *
+     * @return true pour une pendule de partie, false pour un temps par coup.
+     */
+    public boolean isTempsPartie() { return tempsPartie; }
+
+    /**
+     * Retourne une clé textuelle stable de la configuration (mêmes paramètres, même clé).
+     *
+     * @return la clé de la configuration.
+     */
+    public String getCle() {
+        return taille + "|" + budgetJ1 + "|" + budgetJ2 + "|" + joueurDepart
+            + "|" + strategieJ1 + "|" + strategieJ2 + "|" + nbThreads + "|" + playoutsParFeuille
+            + "|" + tempsJ1 + "|" + tempsJ2 + "|" + tempsPartie;
+    }
+
+    /**
+     * Calcule la graine d'une partie de cette configuration. Elle ne dépend que de la graine
+     * de la campagne, de la configuration et du numéro de la partie : une partie est rejouée
+     * à l'identique quel que soit le thread qui la joue ou l'ordre d'exécution.
+     *
+     * @param graineCampagne la graine de toute la campagne d'expérimentation.
+     * @param partie le numéro de la partie dans la configuration.
+     * @return la graine de la partie.
+     */
+    public long graine(long graineCampagne, int partie) {
+        long z = graineCampagne + 0x9E3779B97F4A7C15L * (getCle().hashCode() * 0x100000001L + partie + 1);
+        // Finaliseur de SplitMix64 : des entrées voisines donnent des graines sans rapport
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return "grid=" + taille + ", b1=" + budgetJ1 + ", b2=" + budgetJ2
+            + ", strategieJ1=" + strategieJ1 + ", strategieJ2=" + strategieJ2
+            + ", start=" + joueurDepart + ", threads=" + nbThreads
+            + ", playoutsParFeuille=" + playoutsParFeuille
+            + ", tempsJ1=" + tempsJ1 + "ms, tempsJ2=" + tempsJ2 + "ms"
+            + (tempsPartie ? " par partie" : " par coup");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConfigurationExperience)) return false;
+        return getCle().equals(((ConfigurationExperience) o).getCle());
+    }
+
+    @Override
+    public int hashCode() {
+        return getCle().hashCode();
+    }
+}
@@ -0,0 +1,192 @@
+package model.experimentation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal d'une campagne d'expérimentation : fichier texte en ajout seul, une ligne par
+ * partie terminée, indexée par la clé de sa configuration et son numéro de partie.
+ *
+ * Relancer une campagne sur le même journal permet de ne rejouer que les parties absentes,
+ * y compris au milieu d'une configuration, et de régénérer les résultats à partir du journal.
+ * La première ligne mémorise la graine de la campagne : les graines des parties en dépendent,
+ * reprendre avec une autre graine mélangerait deux campagnes.
+ *
+ * Format d'une ligne : {@code cle;partie;gagnant;dureeMs;iterationsJ1;iterationsJ2;conserveesJ1;conserveesJ2}.
+ * Une dernière ligne incomplète (arrêt brutal pendant l'écriture) est ignorée.
+ */
+public class JournalCampagne implements Closeable {
+
+    private static final String SEPARATEUR = ";";
+    private static final String ENTETE_GRAINE = "# graine=";
+
+    private final Map<String, Map<Integer, ResultatPartie>> parties = new HashMap<>();
+    private final BufferedWriter ecrivain;
+    private int nombreParties;
+
+    /**
+     * Ouvre un journal, en relisant les parties déjà enregistrées s'il existe.
+     *
+     * @param fichier le fichier du journal (créé s'il n'existe pas).
+     * @param graine la graine de la campagne.
+     * @throws IOException si le fichier ne peut pas être lu ou ouvert en écriture.
+     * @throws IllegalArgumentException si le journal existant a été produit avec une autre graine.
+     */
+    public JournalCampagne(Path fichier, long graine) throws IOException {
+        boolean existe = Files.exists(fichier) && Files.size(fichier) > 0;
+        boolean terminaisonManquante = false;
+        if (existe) {
+            String contenu = Files.readString(fichier, StandardCharsets.UTF_8);
+            List<String> lignes = contenu.lines().toList();
+            if (!lignes.isEmpty() && lignes.get(0).startsWith(ENTETE_GRAINE)
+                    && Long.parseLong(lignes.get(0).substring(ENTETE_GRAINE.length()).trim()) != graine) {
+                throw new IllegalArgumentException("Le journal " + fichier + " a été produit avec une autre graine que "
+                        + graine + " : " + lignes.get(0));
+            }
+            // Une dernière ligne sans fin de ligne a été tronquée : la partie sera rejouée
+            terminaisonManquante = !contenu.endsWith("\n");
+            int lignesCompletes = terminaisonManquante ? lignes.size() - 1 : lignes.size();
+            for (int i = 0; i < lignesCompletes; i++) {
+                lire(lignes.get(i));
+            }
+        } else if (fichier.getParent() != null) {
+            Files.createDirectories(fichier.getParent());
+        }
+
+        this.ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (terminaisonManquante) {
+            // Isole la ligne tronquée pour que la prochaine entrée reste lisible
+            ecrivain.newLine();
+        }
+        if (!existe) {
+            ecrivain.write(ENTETE_GRAINE + graine);
+            ecrivain.newLine();
+        }
+        ecrivain.flush();
+    }
+
+    /**
+     * Indique si une partie est déjà enregistrée.
+     *
+     * @param configuration la configuration de la partie.
+     * @param partie le numéro de la partie.
+     * @return true si la partie figure dans le journal.
+     */
+    public synchronized boolean contient(ConfigurationExperience configuration, int partie) {
+        Map<Integer, ResultatPartie> deLaConfiguration = parties.get(configuration.getCle());
+        return deLaConfiguration != null && deLaConfiguration.containsKey(partie);
+    }
+
+    /**
+     * Retourne le résultat enregistré d'une partie.
+     *
+     * @param configuration la configuration de la partie.
+     * @param partie le numéro de la partie.
+     * @return le résultat, ou null si la partie n'est pas dans le journal.
+     */
+    public synchronized ResultatPartie getPartie(ConfigurationExperience configuration, int partie) {
+        Map<Integer, ResultatPartie> deLaConfiguration = parties.get(configuration.getCle());
+        return deLaConfiguration == null ? null : deLaConfiguration.get(partie);
+    }
+
+    /**
+     * Cumule les parties enregistrées d'une configuration, dans l'ordre de leur numéro et sans
+     * trou : le cumul s'arrête à la première partie manquante, à la borne, ou dès que la règle
+     * d'arrêt est satisfaite. C'est exactement le résultat qu'obtient le planificateur.
+     *
+     * @param configuration la configuration.
+     * @param nbParties nombre maximal de parties pris en compte.
+     * @param arret la règle d'arrêt séquentiel, ou null pour un nombre fixe de parties.
+     * @return le résultat cumulé, éventuellement vide.
+     */
+    public synchronized ResultatConfiguration resultat(ConfigurationExperience configuration, int nbParties,
+                                                       ArretSequentiel arret) {
+        ResultatConfiguration resultat = new ResultatConfiguration(configuration);
+        Map<Integer, ResultatPartie> deLaConfiguration = parties.get(configuration.getCle());
+        if (deLaConfiguration == null) return resultat;
+        for (int partie = 0; partie < nbParties; partie++) {
+            ResultatPartie joue = deLaConfiguration.get(partie);
+            if (joue == null || (arret != null && arret.arreter(resultat))) break;
+            resultat.ajouterPartie(joue);
+        }
+        return resultat;
+    }
+
+    /**
+     * Ajoute une partie terminée au journal, et l'écrit immédiatement sur disque.
+     *
+     * @param configuration la configuration de la partie.
+     * @param partie le numéro de la partie.
+     * @param resultat le résultat de la partie.
+     * @throws UncheckedIOException si l'écriture échoue.
+     */
+    public synchronized void enregistrer(ConfigurationExperience configuration, int partie, ResultatPartie resultat) {
+        String ligne = configuration.getCle() + SEPARATEUR + partie
+            + SEPARATEUR + resultat.getGagnant()
+            + SEPARATEUR + resultat.getDureeMs()
+            + SEPARATEUR + resultat.getIterationsJ1()
+            + SEPARATEUR + resultat.getIterationsJ2()
+            + SEPARATEUR + resultat.getConserveesJ1()
+            + SEPARATEUR + resultat.getConserveesJ2();
+        try {
+            ecrivain.write(ligne);
+            ecrivain.newLine();
+            ecrivain.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible", e);
+        }
+        ajouter(configuration.getCle(), partie, resultat);
+    }
+
+    /**
+     * Retourne le nombre de parties enregistrées, toutes configurations confondues.
+     *
+     * @return le nombre de parties.
+     */
+    public synchronized int getNombreParties() {
+        return nombreParties;
+    }
+
+    /**
+     * Ferme le fichier du journal ; les parties déjà enregistrées y restent.
+     *
+     * @throws IOException si la fermeture échoue.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        ecrivain.close();
+    }
+
+    private void lire(String ligne) {
+        if (ligne.isBlank() || ligne.startsWith("#")) return;
+        String[] champs = ligne.split(SEPARATEUR);
+        if (champs.length != 8) return;
+        try {
+            ajouter(champs[0], Integer.parseInt(champs[1]), new ResultatPartie(
+                    Integer.parseInt(champs[2]),
+                    Long.parseLong(champs[3]),
+                    Double.parseDouble(champs[4]),
+                    Double.parseDouble(champs[5]),
+                    Double.parseDouble(champs[6]),
+                    Double.parseDouble(champs[7])));
+        } catch (NumberFormatException e) {
+            // Ligne illisible : la partie sera rejouée
+        }
+    }
+
+    private void ajouter(String cle, int partie, ResultatPartie resultat) {
+        if (parties.computeIfAbsent(cle, c -> new HashMap<>()).put(partie, resultat) == null) {
+            nombreParties++;
+        }
+    }
+}
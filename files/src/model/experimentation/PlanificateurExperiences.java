@@ -0,0 +1,289 @@
+package model.experimentation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import model.Orchestrateur;
+import model.enregistrement.EnregistreurParties;
+import model.ouvertures.LivreOuvertures;
+import model.player.PlayerStrategy;
+
+/**
+ * Exécute une campagne d'expérimentation sur un nombre borné de threads.
+ *
+ * Chaque partie de chaque configuration devient une tâche indépendante, soumise à un pool
+ * de taille fixe. Les résultats sont cumulés par configuration au fil des parties, et dès
+ * que la dernière partie d'une configuration se termine, son résultat est transmis au
+ * consommateur (écriture du bilan et de la ligne CSV par exemple), sans attendre les autres.
+ *
+ * Chaque partie reçoit une graine dérivée de la graine de la campagne, de la configuration
+ * et de son numéro ({@link ConfigurationExperience#graine}) : à budget d'itérations fixe, les
+ * résultats ne dépendent pas de l'entrelacement des threads. Les recherches limitées en temps
+ * restent, elles, dépendantes de la vitesse de la machine.
+ *
+ * Avec une règle d'arrêt séquentiel, les parties d'une configuration sont prises en compte
+ * dans l'ordre de leur numéro : la configuration s'arrête après la plus petite série de
+ * parties 0..n-1 qui satisfait la règle, quel que soit l'ordre dans lequel les threads les
+ * terminent. Les parties suivantes ne sont plus lancées ; celles déjà en cours sont jouées
+ * (et journalisées) mais ignorées.
+ */
+public class PlanificateurExperiences {
+
+    private final int nbWorkers;
+    private final long graine;
+    private JournalCampagne journal;
+    private ArretSequentiel arret;
+    private EnregistreurParties enregistreur;
+    private final Map<Integer, LivreOuvertures> livres = new HashMap<>();
+
+    /**
+     * Crée un planificateur.
+     *
+     * @param nbWorkers nombre de parties jouées simultanément.
+     * @param graine graine de la campagne.
+     * @throws IllegalArgumentException si nbWorkers est inférieur à 1.
+     */
+    public PlanificateurExperiences(int nbWorkers, long graine) {
+        if (nbWorkers < 1) {
+            throw new IllegalArgumentException("Le nombre de workers doit être au moins 1 : " + nbWorkers);
+        }
+        this.nbWorkers = nbWorkers;
+        this.graine = graine;
+    }
+
+    /**
+     * Retourne le nombre de parties jouées en parallèle.
+     *
+     * @return le nombre de workers.
+     */
+    public int getNbWorkers() { return nbWorkers; }
+
+    /**
+     * Retourne la graine dont sont dérivées les graines des parties.
+     *
+     * @return la graine de la campagne.
+     */
+    public long getGraine() { return graine; }
+
+    /**
+     * Associe un journal à la campagne : les parties qui y figurent déjà ne sont pas rejouées,
+     * et chaque partie terminée y est enregistrée.
+     *
+     * @param journal le journal de la campagne, ou null pour ne rien enregistrer.
+     */
+    public void setJournal(JournalCampagne journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Retourne le journal de la campagne.
+     *
+     * @return le journal, ou null si aucun n'est associé.
+     */
+    public JournalCampagne getJournal() { return journal; }
+
+    /**
+     * Fixe la règle d'arrêt séquentiel : une configuration s'arrête avant son nombre maximal
+     * de parties dès que la règle est satisfaite.
+     *
+     * @param arret la règle d'arrêt, ou null pour jouer toutes les parties.
+     */
+    public void setArretSequentiel(ArretSequentiel arret) {
+        this.arret = arret;
+    }
+
+    /**
+     * Retourne la règle d'arrêt séquentiel des configurations.
+     *
+     * @return la règle, ou null si toutes les parties sont jouées.
+     */
+    public ArretSequentiel getArretSequentiel() { return arret; }
+
+    /**
+     * Enregistre chaque partie jouée (coups et statistiques de recherche), étiquetée par la
+     * clé de sa configuration.
+     *
+     * @param enregistreur la destination des parties, ou null pour ne rien enregistrer.
+     */
+    public void setEnregistreur(EnregistreurParties enregistreur) {
+        this.enregistreur = enregistreur;
+    }
+
+    /**
+     * Retourne la destination des parties jouées.
+     *
+     * @return l'enregistreur, ou null si les parties ne sont pas enregistrées.
+     */
+    public EnregistreurParties getEnregistreur() { return enregistreur; }
+
+    /**
+     * Fait consulter un livre d'ouvertures aux joueurs des parties de sa taille de grille.
+     * Le livre est partagé, en lecture seule, par toutes les parties jouées en parallèle.
+     *
+     * @param livre le livre d'ouvertures.
+     */
+    public void ajouterLivreOuvertures(LivreOuvertures livre) {
+        livres.put(livre.getTaille(), livre);
+    }
+
+    /**
+     * Retourne le livre d'ouvertures d'une taille de grille.
+     *
+     * @param taille la taille de grille.
+     * @return le livre, ou null si aucun livre n'a été ajouté pour cette taille.
+     */
+    public LivreOuvertures getLivreOuvertures(int taille) { return livres.get(taille); }
+
+    /**
+     * Joue toutes les parties de toutes les configurations et attend la fin de la campagne.
+     * Les configurations sont soumises dans l'ordre de la liste ; le consommateur est appelé
+     * une fois par configuration, jamais depuis deux threads à la fois. Une configuration
+     * entièrement présente dans le journal est publiée sans qu'aucune partie ne soit jouée.
+     *
+     * @param configurations les configurations à évaluer.
+     * @param nbParties nombre (maximal, avec une règle d'arrêt) de parties par configuration.
+     * @param surConfigurationTerminee appelé avec le résultat de chaque configuration terminée.
+     * @return les résultats, dans l'ordre des configurations.
+     * @throws IllegalArgumentException si nbParties est inférieur à 1.
+     * @throws IllegalStateException si une partie échoue ou si l'attente est interrompue.
+     */
+    public List<ResultatConfiguration> executer(List<ConfigurationExperience> configurations, int nbParties,
+                                                Consumer<ResultatConfiguration> surConfigurationTerminee) {
+        if (nbParties < 1) {
+            throw new IllegalArgumentException("Le nombre de parties doit être au moins 1 : " + nbParties);
+        }
+        List<ResultatConfiguration> resultats = new ArrayList<>();
+        List<Future<?>> taches = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(nbWorkers);
+        try {
+            for (ConfigurationExperience configuration : configurations) {
+                Suivi suivi = new Suivi(configuration, nbParties);
+                resultats.add(suivi.resultat);
+                List<Integer> aJouer = new ArrayList<>();
+                boolean publiee = false;
+                for (int partie = 0; partie < nbParties; partie++) {
+                    if (journal != null && journal.contient(configuration, partie)) {
+                        publiee |= suivi.ajouter(partie, journal.getPartie(configuration, partie));
+                    } else {
+                        aJouer.add(partie);
+                    }
+                }
+                if (publiee) {
+                    publier(surConfigurationTerminee, suivi.resultat);
+                    continue;
+                }
+                for (int partie : aJouer) {
+                    long graineDePartie = configuration.graine(graine, partie);
+                    taches.add(pool.submit(() -> {
+                        if (suivi.estTerminee()) return;
+                        ResultatPartie joue = jouerPartie(configuration, graineDePartie);
+                        if (journal != null) {
+                            journal.enregistrer(configuration, partie, joue);
+                        }
+                        if (suivi.ajouter(partie, joue)) {
+                            publier(surConfigurationTerminee, suivi.resultat);
+                        }
+                    }));
+                }
+            }
+            for (Future<?> tache : taches) {
+                tache.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Une partie de la campagne a échoué", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Campagne interrompue", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return resultats;
+    }
+
+    /**
+     * Parties reçues d'une configuration : seules celles qui prolongent la série 0, 1, 2...
+     * entrent dans le résultat, jusqu'au nombre maximal ou jusqu'à l'arrêt séquentiel.
+     */
+    private class Suivi {
+        private final ResultatConfiguration resultat;
+        private final ResultatPartie[] recues;
+        private int suivante;
+        private boolean terminee;
+
+        Suivi(ConfigurationExperience configuration, int nbParties) {
+            this.resultat = new ResultatConfiguration(configuration);
+            this.recues = new ResultatPartie[nbParties];
+        }
+
+        synchronized boolean estTerminee() {
+            return terminee;
+        }
+
+        /**
+         * Reçoit une partie terminée.
+         *
+         * @return true si cette partie termine la configuration (une seule fois).
+         */
+        synchronized boolean ajouter(int partie, ResultatPartie joue) {
+            if (terminee) return false;
+            recues[partie] = joue;
+            while (suivante < recues.length && recues[suivante] != null) {
+                resultat.ajouterPartie(recues[suivante++]);
+                if (suivante == recues.length || (arret != null && arret.arreter(resultat))) {
+                    terminee = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private synchronized void publier(Consumer<ResultatConfiguration> surConfigurationTerminee,
+                                      ResultatConfiguration resultat) {
+        surConfigurationTerminee.accept(resultat);
+    }
+
+    /**
+     * Joue une partie automatique.
+     *
+     * @param configuration la configuration de la partie.
+     * @param graineDePartie la graine des stratégies pour cette partie.
+     * @return le résultat de la partie.
+     */
+    protected ResultatPartie jouerPartie(ConfigurationExperience configuration, long graineDePartie) {
+        long debut = System.currentTimeMillis();
+        Orchestrateur orchestrateur = new Orchestrateur(
+                configuration.getTaille(),
+                configuration.getBudgetJ1(),
+                configuration.getBudgetJ2(),
+                configuration.getJoueurDepart(),
+                configuration.getStrategieJ1(),
+                configuration.getStrategieJ2(),
+                configuration.getNbThreads(),
+                configuration.getPlayoutsParFeuille(),
+                configuration.getTempsJ1(),
+                configuration.getTempsJ2(),
+                configuration.isTempsPartie(),
+                true
+        );
+        orchestrateur.setGraine(graineDePartie);
+        if (enregistreur != null) {
+            orchestrateur.setEnregistreur(enregistreur, configuration.getCle());
+        }
+        orchestrateur.setLivreOuvertures(livres.get(configuration.getTaille()));
+
+        int gagnant = orchestrateur.jouerPartieAutomatique();
+        PlayerStrategy j1 = orchestrateur.getJoueurs().get(0).getStrategy();
+        PlayerStrategy j2 = orchestrateur.getJoueurs().get(1).getStrategy();
+        return new ResultatPartie(gagnant, System.currentTimeMillis() - debut,
+                j1.getIterationsMoyennesParCoup(), j2.getIterationsMoyennesParCoup(),
+                j1.getVisitesConserveesMoyennesParCoup(), j2.getVisitesConserveesMoyennesParCoup());
+    }
+}
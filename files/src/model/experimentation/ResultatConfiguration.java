@@ -0,0 +1,112 @@
+package model.experimentation;
+
+/**
+ * Résultats cumulés des parties d'une configuration.
+ *
+ * Les parties d'une même configuration peuvent se terminer sur des threads différents :
+ * l'ajout d'une partie et la lecture des cumuls sont synchronisés.
+ */
+public class ResultatConfiguration {
+
+    private final ConfigurationExperience configuration;
+    private int nbParties;
+    private int victoiresJ1;
+    private int victoiresJ2;
+    private long dureeMs;
+    private double iterationsJ1;
+    private double iterationsJ2;
+    private double conserveesJ1;
+    private double conserveesJ2;
+
+    /**
+     * Crée un résultat vide.
+     *
+     * @param configuration la configuration dont on cumule les parties.
+     */
+    public ResultatConfiguration(ConfigurationExperience configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Ajoute une partie terminée.
+     *
+     * @param partie le résultat de la partie.
+     * @return le nombre de parties cumulées, celle-ci comprise.
+     */
+    public synchronized int ajouterPartie(ResultatPartie partie) {
+        if (partie.getGagnant() == 1) {
+            victoiresJ1++;
+        } else if (partie.getGagnant() == 2) {
+            victoiresJ2++;
+        }
+        dureeMs += partie.getDureeMs();
+        iterationsJ1 += partie.getIterationsJ1();
+        iterationsJ2 += partie.getIterationsJ2();
+        conserveesJ1 += partie.getConserveesJ1();
+        conserveesJ2 += partie.getConserveesJ2();
+        return ++nbParties;
+    }
+
+    /**
+     * Retourne la configuration dont les parties sont cumulées.
+     *
+     * @return la configuration.
+     */
+    public ConfigurationExperience getConfiguration() { return configuration; }
+
+    /**
+     * Retourne le nombre de parties cumulées.
+     *
+     * @return le nombre de parties.
+     */
+    public synchronized int getNbParties() { return nbParties; }
+
+    /**
+     * Retourne le nombre de parties gagnées par le joueur 1.
+     *
+     * @return les victoires du joueur 1.
+     */
+    public synchronized int getVictoiresJ1() { return victoiresJ1; }
+
+    /**
+     * Retourne le nombre de parties gagnées par le joueur 2.
+     *
+     * @return les victoires du joueur 2.
+     */
+    public synchronized int getVictoiresJ2() { return victoiresJ2; }
+
+    /**
+     * Retourne la durée cumulée des parties (somme des durées, indépendante du nombre de threads).
+     *
+     * @return la durée en millisecondes.
+     */
+    public synchronized long getDureeMs() { return dureeMs; }
+
+    /**
+     * Retourne la moyenne, sur les parties, des itérations moyennes par coup du joueur 1.
+     *
+     * @return la moyenne, 0 si aucune partie n'est cumulée.
+     */
+    public synchronized double getIterationsMoyennesJ1() { return iterationsJ1 / Math.max(1, nbParties); }
+
+    /**
+     * Retourne la moyenne, sur les parties, des itérations moyennes par coup du joueur 2.
+     *
+     * @return la moyenne, 0 si aucune partie n'est cumulée.
+     */
+    public synchronized double getIterationsMoyennesJ2() { return iterationsJ2 / Math.max(1, nbParties); }
+
+    /**
+     * Retourne la moyenne, sur les parties, des visites conservées par coup du joueur 1.
+     *
+     * @return la moyenne, 0 si aucune partie n'est cumulée.
+     */
+    public synchronized double getVisitesConserveesJ1() { return conserveesJ1 / Math.max(1, nbParties); }
+
+    /**
+     * Retourne la moyenne, sur les parties, des visites conservées par coup du joueur 2.
+     *
+     * @return la moyenne, 0 si aucune partie n'est cumulée.
+     */
+    public synchronized double getVisitesConserveesJ2() { return conserveesJ2 / Math.max(1, nbParties); }
+}
@@ -0,0 +1,76 @@
+package model.experimentation;
+
+/**
+ * Résultat d'une partie d'expérimentation : vainqueur, durée et statistiques de recherche.
+ */
+public final class ResultatPartie {
+
+    private final int gagnant;
+    private final long dureeMs;
+    private final double iterationsJ1;
+    private final double iterationsJ2;
+    private final double conserveesJ1;
+    private final double conserveesJ2;
+
+    /**
+     * Crée le résultat d'une partie.
+     *
+     * @param gagnant 1 si le joueur 1 a gagné, 2 si c'est le joueur 2, autre valeur sinon.
+     * @param dureeMs durée de la partie en millisecondes.
+     * @param iterationsJ1 itérations moyennes par coup du joueur 1.
+     * @param iterationsJ2 itérations moyennes par coup du joueur 2.
+     * @param conserveesJ1 visites conservées moyennes par coup du joueur 1.
+     * @param conserveesJ2 visites conservées moyennes par coup du joueur 2.
+     */
+    public ResultatPartie(int gagnant, long dureeMs, double iterationsJ1, double iterationsJ2,
+                          double conserveesJ1, double conserveesJ2) {
+        this.gagnant = gagnant;
+        this.dureeMs = dureeMs;
+        this.iterationsJ1 = iterationsJ1;
+        this.iterationsJ2 = iterationsJ2;
+        this.conserveesJ1 = conserveesJ1;
+        this.conserveesJ2 = conserveesJ2;
+    }
+
+    /**
+     * Retourne le vainqueur de la partie.
+     *
+     * @return 1 pour le joueur 1, 2 pour le joueur 2, autre valeur si aucun vainqueur.
+     */
+    public int getGagnant() { return gagnant; }
+
+    /**
+     * Retourne la durée de la partie.
+     *
+     * @return la durée en millisecondes.
+     */
+    public long getDureeMs() { return dureeMs; }
+
+    /**
+     * Retourne le nombre moyen d'itérations par coup du joueur 1.
+     *
+     * @return la moyenne, 0 pour un joueur sans recherche.
+     */
+    public double getIterationsJ1() { return iterationsJ1; }
+
+    /**
+     * Retourne le nombre moyen d'itérations par coup du joueur 2.
+     *
+     * @return la moyenne, 0 pour un joueur sans recherche.
+     */
+    public double getIterationsJ2() { return iterationsJ2; }
+
+    /**
+     * Retourne le nombre moyen de visites conservées d'un coup à l'autre par le joueur 1.
+     *
+     * @return la moyenne, 0 pour un joueur qui ne conserve pas d'arbre.
+     */
+    public double getConserveesJ1() { return conserveesJ1; }
+
+    /**
+     * Retourne le nombre moyen de visites conservées d'un coup à l'autre par le joueur 2.
+     *
+     * @return la moyenne, 0 pour un joueur qui ne conserve pas d'arbre.
+     */
+    public double getConserveesJ2() { return conserveesJ2; }
+}
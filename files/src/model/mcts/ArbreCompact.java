@@ -0,0 +1,775 @@
+package model.mcts;
+
+import java.util.Arrays;
+
+import config.Constants;
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.plateau.PlateauBitboard;
+
+/**
+ * Arbre de recherche MCTS stocké sous forme de tableaux parallèles (une "arène" de nœuds).
+ *
+ * Chaque nœud est un simple indice entier : ses statistiques (visites, victoires, défaites,
+ * statistiques RAVE), son coup, son parent, son premier enfant et son frère suivant sont
+ * rangés dans des tableaux de types primitifs. Aucun nœud ne conserve de copie du plateau :
+ * l'état d'un nœud est reconstruit en rejouant, depuis la racine, les coups du chemin qui y mène.
+ *
+ * Les nœuds d'une même position atteinte par des ordres de coups différents (transpositions)
+ * partagent leurs victoires et défaites : elles sont rangées dans l'emplacement d'un seul
+ * d'entre eux, le représentant, et chaque rétropropagation les met à jour pour tous. Les
+ * visites et les statistiques RAVE restent propres à chaque nœud : ce sont celles de l'arête
+ * qui y mène, et un enfant n'a jamais plus de visites que son parent.
+ *
+ * Chaque nœud peut aussi porter un résultat prouvé (MCTS-Solver) : la couleur qui gagne à
+ * coup sûr depuis ce nœud, quel que soit le jeu de l'adversaire. Un nœud terminal est prouvé
+ * dès sa création ; {@link #evaluerPreuve} applique ensuite les règles de propagation.
+ */
+public class ArbreCompact {
+
+    /** Valeur utilisée pour l'absence de nœud (parent, enfant ou frère) ou de coup. */
+    public static final int AUCUN = -1;
+
+    private static final int CAPACITE_INITIALE = 1024;
+    private static final EtatCase[] COULEURS = EtatCase.values();
+
+    private final Grille grilleRacine;
+    private final PlateauBitboard plateauRacine;
+    private int racine;
+    private int nombreNoeuds;
+
+    private int[] coups;
+    private int[] parents;
+    private int[] premiersEnfants;
+    private int[] freres;
+    private int[] nombresEnfants;
+    private int[] coupsPossibles;
+    private int[] visites;
+    private float[] victoires;         // indexées par représentant
+    private float[] defaites;          // indexées par représentant
+    private int[] representants;
+    private float[] visitesRave;
+    private float[] victoiresRave;
+    private byte[] joueurs;
+    private boolean[] terminaux;
+    private byte[] gagnantsProuves;   // ordinal de la couleur gagnante, 0 (VIDE) si non prouvé
+
+    private final int[] chemin;
+    private TableTransposition transpositions;
+
+    /**
+     * Crée un arbre dont la racine correspond à l'état actuel d'une grille.
+     *
+     * @param grille la grille à la racine (son état est copié).
+     * @param coup le coup ayant mené à la racine, ou {@link #AUCUN}.
+     * @param joueur la couleur qui doit jouer à la racine.
+     */
+    public ArbreCompact(Grille grille, int coup, EtatCase joueur) {
+        this.grilleRacine = grille;
+        this.plateauRacine = grille.getPlateau().copie();
+        this.chemin = new int[plateauRacine.getNombreCellules() + 1];
+        allouerTableaux(CAPACITE_INITIALE);
+        this.racine = allouer(AUCUN, coup, joueur,
+                              plateauRacine.estTerminee(), plateauRacine.nombreCasesLibres());
+    }
+
+    /**
+     * Crée un arbre dont la racine correspond à l'état actuel d'une grille, sans coup associé.
+     *
+     * @param grille la grille à la racine (son état est copié).
+     * @param joueur la couleur qui doit jouer à la racine.
+     */
+    public ArbreCompact(Grille grille, EtatCase joueur) {
+        this(grille, AUCUN, joueur);
+    }
+
+    private void allouerTableaux(int capacite) {
+        coups = new int[capacite];
+        parents = new int[capacite];
+        premiersEnfants = new int[capacite];
+        freres = new int[capacite];
+        nombresEnfants = new int[capacite];
+        coupsPossibles = new int[capacite];
+        visites = new int[capacite];
+        victoires = new float[capacite];
+        defaites = new float[capacite];
+        representants = new int[capacite];
+        visitesRave = new float[capacite];
+        victoiresRave = new float[capacite];
+        joueurs = new byte[capacite];
+        terminaux = new boolean[capacite];
+        gagnantsProuves = new byte[capacite];
+    }
+
+    private void assurerCapacite() {
+        if (nombreNoeuds < coups.length) return;
+        int capacite = coups.length * 2;
+        coups = Arrays.copyOf(coups, capacite);
+        parents = Arrays.copyOf(parents, capacite);
+        premiersEnfants = Arrays.copyOf(premiersEnfants, capacite);
+        freres = Arrays.copyOf(freres, capacite);
+        nombresEnfants = Arrays.copyOf(nombresEnfants, capacite);
+        coupsPossibles = Arrays.copyOf(coupsPossibles, capacite);
+        visites = Arrays.copyOf(visites, capacite);
+        victoires = Arrays.copyOf(victoires, capacite);
+        defaites = Arrays.copyOf(defaites, capacite);
+        representants = Arrays.copyOf(representants, capacite);
+        visitesRave = Arrays.copyOf(visitesRave, capacite);
+        victoiresRave = Arrays.copyOf(victoiresRave, capacite);
+        joueurs = Arrays.copyOf(joueurs, capacite);
+        terminaux = Arrays.copyOf(terminaux, capacite);
+        gagnantsProuves = Arrays.copyOf(gagnantsProuves, capacite);
+    }
+
+    /**
+     * Alloue un nouveau nœud sans le rattacher à la liste des enfants de son parent.
+     *
+     * @param parent l'indice du parent, ou {@link #AUCUN}.
+     * @param coup la cellule jouée pour arriver à ce nœud, ou {@link #AUCUN}.
+     * @param joueur la couleur qui doit jouer dans ce nœud.
+     * @param terminal true si la partie est finie dans ce nœud (elle est alors gagnée par
+     *        l'adversaire de {@code joueur}, qui vient de jouer).
+     * @param nombreCoupsPossibles le nombre de cases libres dans ce nœud.
+     * @return l'indice du nœud créé.
+     */
+    public int allouer(int parent, int coup, EtatCase joueur, boolean terminal, int nombreCoupsPossibles) {
+        assurerCapacite();
+        int n = nombreNoeuds++;
+        coups[n] = coup;
+        parents[n] = parent;
+        premiersEnfants[n] = AUCUN;
+        freres[n] = AUCUN;
+        nombresEnfants[n] = 0;
+        coupsPossibles[n] = nombreCoupsPossibles;
+        visites[n] = 0;
+        victoires[n] = 0;
+        defaites[n] = 0;
+        representants[n] = n;
+        visitesRave[n] = 0;
+        victoiresRave[n] = 0;
+        joueurs[n] = (byte) joueur.ordinal();
+        terminaux[n] = terminal;
+        gagnantsProuves[n] = terminal ? (byte) EtatCase.opposite(joueur).ordinal() : 0;
+        return n;
+    }
+
+    /**
+     * Rattache un nœud à la liste des enfants d'un parent.
+     *
+     * @param parent l'indice du parent.
+     * @param enfant l'indice de l'enfant.
+     */
+    public void lier(int parent, int enfant) {
+        parents[enfant] = parent;
+        freres[enfant] = premiersEnfants[parent];
+        premiersEnfants[parent] = enfant;
+        nombresEnfants[parent]++;
+    }
+
+    /**
+     * Crée un nœud et l'ajoute aux enfants de son parent.
+     *
+     * @param parent l'indice du parent.
+     * @param coup la cellule jouée depuis le parent.
+     * @param joueur la couleur qui doit jouer dans le nouveau nœud.
+     * @param terminal true si la partie est finie dans le nouveau nœud.
+     * @param nombreCoupsPossibles le nombre de cases libres dans le nouveau nœud.
+     * @return l'indice du nouveau nœud.
+     */
+    public int ajouterEnfant(int parent, int coup, EtatCase joueur, boolean terminal, int nombreCoupsPossibles) {
+        int enfant = allouer(parent, coup, joueur, terminal, nombreCoupsPossibles);
+        lier(parent, enfant);
+        return enfant;
+    }
+
+    /**
+     * Fait d'un nœud la nouvelle racine de l'arbre : le plateau de référence devient le sien
+     * et les nœuds qui ne descendent pas de lui deviennent inaccessibles.
+     *
+     * @param noeud l'indice de la nouvelle racine.
+     */
+    public void reenraciner(int noeud) {
+        if (noeud == racine) return;
+        rejouer(noeud, plateauRacine);
+        parents[noeud] = AUCUN;
+        racine = noeud;
+    }
+
+    /**
+     * Ne conserve que le sous-arbre de la racine : ses nœuds sont recopiés, renumérotés à
+     * partir de 0, dans des tableaux neufs et les anciens tableaux (avec les nœuds devenus
+     * inaccessibles) sont laissés au ramasse-miettes. La table de transposition est renumérotée.
+     * Si le représentant d'un groupe de transpositions n'est pas conservé, le premier nœud
+     * conservé du groupe reprend ses statistiques.
+     *
+     * @return le nombre de nœuds conservés.
+     */
+    public int compacter() {
+        int[] correspondance = new int[nombreNoeuds];
+        Arrays.fill(correspondance, AUCUN);
+        int[] ordre = new int[nombreNoeuds];
+        int n = 0;
+        ordre[n] = racine;
+        correspondance[racine] = n++;
+        for (int i = 0; i < n; i++) {
+            for (int enfant = premiersEnfants[ordre[i]]; enfant != AUCUN; enfant = freres[enfant]) {
+                ordre[n] = enfant;
+                correspondance[enfant] = n++;
+            }
+        }
+
+        int[] anciensCoups = coups, anciensParents = parents, anciensPremiers = premiersEnfants;
+        int[] anciensFreres = freres, anciensNombres = nombresEnfants, anciensPossibles = coupsPossibles;
+        int[] anciennesVisites = visites, anciensRepresentants = representants;
+        float[] anciennesVictoires = victoires, anciennesDefaites = defaites;
+        float[] anciennesVisitesRave = visitesRave, anciennesVictoiresRave = victoiresRave;
+        byte[] anciensJoueurs = joueurs;
+        boolean[] anciensTerminaux = terminaux;
+        byte[] anciensGagnants = gagnantsProuves;
+
+        // Nouvel indice de chaque représentant, conservé ou remplacé (transmis à la table)
+        int[] correspondanceTable = new int[correspondance.length];
+        Arrays.fill(correspondanceTable, AUCUN);
+        for (int i = 0; i < n; i++) {
+            int a = ordre[i];
+            if (anciensRepresentants[a] == a) {
+                correspondanceTable[a] = i;
+            }
+        }
+
+        allouerTableaux(Math.max(CAPACITE_INITIALE, Integer.highestOneBit(n) << 1));
+        for (int i = 0; i < n; i++) {
+            int a = ordre[i];
+            coups[i] = anciensCoups[a];
+            parents[i] = (i == 0) ? AUCUN : correspondance[anciensParents[a]];
+            premiersEnfants[i] = (anciensPremiers[a] == AUCUN) ? AUCUN : correspondance[anciensPremiers[a]];
+            freres[i] = (i == 0 || anciensFreres[a] == AUCUN) ? AUCUN : correspondance[anciensFreres[a]];
+            nombresEnfants[i] = anciensNombres[a];
+            coupsPossibles[i] = anciensPossibles[a];
+            visites[i] = anciennesVisites[a];
+            int representant = anciensRepresentants[a];
+            if (representant == a) {
+                victoires[i] = anciennesVictoires[a];
+                defaites[i] = anciennesDefaites[a];
+            } else if (correspondanceTable[representant] == AUCUN) {
+                // Représentant abandonné : ce nœud prend sa place pour le groupe
+                correspondanceTable[representant] = i;
+                victoires[i] = anciennesVictoires[representant];
+                defaites[i] = anciennesDefaites[representant];
+            }
+            representants[i] = correspondanceTable[representant];
+            visitesRave[i] = anciennesVisitesRave[a];
+            victoiresRave[i] = anciennesVictoiresRave[a];
+            joueurs[i] = anciensJoueurs[a];
+            terminaux[i] = anciensTerminaux[a];
+            gagnantsProuves[i] = anciensGagnants[a];
+        }
+        nombreNoeuds = n;
+        racine = 0;
+        if (transpositions != null) {
+            transpositions.renumeroter(correspondanceTable);
+        }
+        return n;
+    }
+
+    /**
+     * Indique si un nœud appartient au sous-arbre d'un autre (ou est ce nœud lui-même).
+     *
+     * @param noeud l'indice du nœud.
+     * @param ancetre l'indice de l'ancêtre supposé.
+     * @return true si {@code ancetre} est sur le chemin de {@code noeud} vers la racine.
+     */
+    public boolean estDescendant(int noeud, int ancetre) {
+        for (int n = noeud; n != AUCUN; n = parents[n]) {
+            if (n == ancetre) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retourne la table de transposition de l'arbre, créée au premier appel.
+     *
+     * @return la table qui associe les clés de Zobrist des positions aux nœuds de cet arbre.
+     */
+    public TableTransposition getTranspositions() {
+        if (transpositions == null) {
+            transpositions = new TableTransposition(Constants.TAILLE_TABLE_TRANSPOSITION);
+        }
+        return transpositions;
+    }
+
+    /**
+     * Reconstruit l'état d'un nœud en rejouant, depuis la racine, les coups du chemin qui y mène.
+     *
+     * @param noeud l'indice du nœud.
+     * @param destination le plateau (de même taille) qui reçoit l'état reconstruit.
+     */
+    public void rejouer(int noeud, PlateauBitboard destination) {
+        int profondeur = 0;
+        for (int n = noeud; parents[n] != AUCUN; n = parents[n]) {
+            chemin[profondeur++] = n;
+        }
+        destination.copierDepuis(plateauRacine);
+        for (int i = profondeur - 1; i >= 0; i--) {
+            int n = chemin[i];
+            destination.poser(coups[n], getJoueur(parents[n]));
+        }
+    }
+
+    /**
+     * Reconstruit l'état d'un nœud dans un nouveau plateau.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le plateau correspondant au nœud.
+     */
+    public PlateauBitboard rejouer(int noeud) {
+        PlateauBitboard plateau = plateauRacine.copie();
+        rejouer(noeud, plateau);
+        return plateau;
+    }
+
+    /**
+     * Reconstruit une grille complète (avec ses cases) pour un nœud.
+     * Réservé aux usages hors boucle de recherche : l'opération alloue une grille entière.
+     *
+     * @param noeud l'indice du nœud.
+     * @return une nouvelle grille dans l'état du nœud.
+     */
+    public Grille reconstruireGrille(int noeud) {
+        PlateauBitboard plateau = rejouer(noeud);
+        Grille grille = new Grille(plateau.getTaille(),
+                                   grilleRacine.getJoueurs().get(0), grilleRacine.getJoueurs().get(1));
+        for (int cellule = 0; cellule < plateau.getNombreCellules(); cellule++) {
+            EtatCase etat = plateau.getEtat(cellule);
+            if (etat != EtatCase.VIDE) {
+                grille.getCase(cellule).setOccupe(etat);
+            }
+        }
+        grille.setJoueurActuel(grilleRacine.getJoueurActuel());
+        return grille;
+    }
+
+    /**
+     * Retourne une vue objet (légère) sur un nœud de l'arbre.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nœud correspondant, ou null pour {@link #AUCUN}.
+     */
+    public Noeud noeud(int noeud) {
+        return noeud == AUCUN ? null : new Noeud(this, noeud);
+    }
+
+    /**
+     * Convertit un numéro de cellule en position de la grille.
+     *
+     * @param coup le numéro de cellule.
+     * @return la position correspondante, ou null pour {@link #AUCUN}.
+     */
+    public Position position(int coup) {
+        if (coup == AUCUN) return null;
+        return plateauRacine.getTopologie().getPosition(coup);
+    }
+
+    /**
+     * Convertit une position de la grille en numéro de cellule.
+     *
+     * @param position la position (peut être null).
+     * @return le numéro de cellule, ou {@link #AUCUN} si la position est null.
+     */
+    public int cellule(Position position) {
+        if (position == null) return AUCUN;
+        return plateauRacine.cellule(position.getX(), position.getY());
+    }
+
+    /**
+     * Retourne l'indice de la racine courante de l'arbre.
+     *
+     * @return l'indice de la racine.
+     */
+    public int getRacine() {
+        return racine;
+    }
+
+    /**
+     * Retourne le plateau de la position de la racine.
+     *
+     * @return le plateau de la racine.
+     */
+    public PlateauBitboard getPlateauRacine() {
+        return plateauRacine;
+    }
+
+    /**
+     * Retourne le nombre de nœuds alloués dans l'arbre.
+     *
+     * @return le nombre de nœuds.
+     */
+    public int getNombreNoeuds() {
+        return nombreNoeuds;
+    }
+
+    /**
+     * Retourne le coup qui mène à un nœud depuis son parent.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le numéro de cellule jouée, ou {@link #AUCUN} pour la racine.
+     */
+    public int getCoup(int noeud) {
+        return coups[noeud];
+    }
+
+    /**
+     * Retourne le parent d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice du parent, ou {@link #AUCUN} pour la racine.
+     */
+    public int getParent(int noeud) {
+        return parents[noeud];
+    }
+
+    /**
+     * Modifie directement le parent d'un nœud (sans toucher aux listes d'enfants).
+     *
+     * @param noeud l'indice du nœud.
+     * @param parent l'indice du nouveau parent, ou {@link #AUCUN}.
+     */
+    public void setParent(int noeud, int parent) {
+        parents[noeud] = parent;
+    }
+
+    /**
+     * Retourne le premier enfant d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice du premier enfant, ou {@link #AUCUN} s'il n'en a pas.
+     */
+    public int getPremierEnfant(int noeud) {
+        return premiersEnfants[noeud];
+    }
+
+    /**
+     * Retourne le frère suivant d'un nœud dans la liste des enfants de son parent.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice du frère, ou {@link #AUCUN} pour le dernier enfant.
+     */
+    public int getFrere(int noeud) {
+        return freres[noeud];
+    }
+
+    /**
+     * Retourne le nombre d'enfants d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre d'enfants.
+     */
+    public int getNombreEnfants(int noeud) {
+        return nombresEnfants[noeud];
+    }
+
+    /**
+     * Retourne la couleur qui doit jouer dans un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return BLEU ou ROUGE.
+     */
+    public EtatCase getJoueur(int noeud) {
+        return COULEURS[joueurs[noeud]];
+    }
+
+    /**
+     * Indique si la partie est terminée dans ce nœud (victoire ou plateau plein).
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si le nœud est terminal.
+     */
+    public boolean estTerminal(int noeud) {
+        return terminaux[noeud];
+    }
+
+    /**
+     * Indique si tous les coups possibles depuis ce nœud ont déjà un enfant.
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si le nœud est complètement développé.
+     */
+    public boolean estDeveloppe(int noeud) {
+        return nombresEnfants[noeud] == coupsPossibles[noeud];
+    }
+
+    /**
+     * Indique si le nœud est une feuille (aucun enfant ou état terminal).
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si feuille.
+     */
+    public boolean estFeuille(int noeud) {
+        return nombresEnfants[noeud] == 0 || coupsPossibles[noeud] == 0 || terminaux[noeud];
+    }
+
+    /**
+     * Retourne la couleur qui gagne à coup sûr depuis ce nœud, si elle est prouvée.
+     *
+     * @param noeud l'indice du nœud.
+     * @return BLEU ou ROUGE, ou VIDE si le résultat du nœud n'est pas prouvé.
+     */
+    public EtatCase getGagnantProuve(int noeud) {
+        return COULEURS[gagnantsProuves[noeud]];
+    }
+
+    /**
+     * Fixe le résultat prouvé d'un nœud (par exemple, celui d'une transposition).
+     *
+     * @param noeud l'indice du nœud.
+     * @param gagnant la couleur gagnante, ou VIDE pour un résultat inconnu.
+     */
+    public void setGagnantProuve(int noeud, EtatCase gagnant) {
+        gagnantsProuves[noeud] = (byte) gagnant.ordinal();
+    }
+
+    /**
+     * Indique si le résultat d'un nœud est prouvé.
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si une couleur gagne à coup sûr depuis ce nœud.
+     */
+    public boolean estProuve(int noeud) {
+        return gagnantsProuves[noeud] != 0;
+    }
+
+    /**
+     * Applique les règles de MCTS-Solver à un nœud : il est gagné pour le joueur au trait si
+     * l'un de ses enfants l'est, perdu si tous les coups possibles ont un enfant et que tous
+     * sont gagnés par l'adversaire.
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si le résultat du nœud est prouvé (avant ou après l'appel).
+     */
+    public boolean evaluerPreuve(int noeud) {
+        if (gagnantsProuves[noeud] != 0) return true;
+        byte joueur = joueurs[noeud];
+        boolean tousPerdus = coupsPossibles[noeud] > 0 && nombresEnfants[noeud] == coupsPossibles[noeud];
+        for (int enfant = premiersEnfants[noeud]; enfant != AUCUN; enfant = freres[enfant]) {
+            byte gagnant = gagnantsProuves[enfant];
+            if (gagnant == joueur) {
+                gagnantsProuves[noeud] = joueur;
+                return true;
+            }
+            if (gagnant == 0) tousPerdus = false;
+        }
+        if (tousPerdus) {
+            gagnantsProuves[noeud] = (byte) EtatCase.opposite(getJoueur(noeud)).ordinal();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retourne le nombre de visites d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de visites.
+     */
+    public int getVisites(int noeud) {
+        return visites[noeud];
+    }
+
+    /**
+     * Fixe le nombre de visites d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nouveau nombre de visites.
+     */
+    public void setVisites(int noeud, int valeur) {
+        visites[noeud] = valeur;
+    }
+
+    /**
+     * Ajoute une visite à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     */
+    public void incrementerVisites(int noeud) {
+        visites[noeud]++;
+    }
+
+    /**
+     * Ajoute des visites à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nombre de visites ajoutées.
+     */
+    public void ajouterVisites(int noeud, int valeur) {
+        visites[noeud] += valeur;
+    }
+
+    /**
+     * Fait partager à un nœud qui vient d'être créé les victoires et défaites d'un autre nœud
+     * de la même position (transposition) : les résultats rétropropagés par l'un profitent
+     * ensuite à l'autre.
+     *
+     * @param noeud l'indice du nouveau nœud, encore sans statistiques.
+     * @param existant l'indice d'un nœud de la même position.
+     */
+    public void partagerStatistiques(int noeud, int existant) {
+        representants[noeud] = representants[existant];
+    }
+
+    /**
+     * Indique si deux nœuds partagent leurs victoires et défaites.
+     *
+     * @param a l'indice d'un nœud.
+     * @param b l'indice d'un autre nœud.
+     * @return true s'ils ont le même représentant.
+     */
+    public boolean partagentStatistiques(int a, int b) {
+        return representants[a] == representants[b];
+    }
+
+    /**
+     * Retourne le nombre de victoires (du point de vue du joueur de la racine) de la position
+     * d'un nœud, partagé avec ses transpositions.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de victoires.
+     */
+    public float getVictoires(int noeud) {
+        return victoires[representants[noeud]];
+    }
+
+    /**
+     * Ajoute des victoires à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nombre de victoires ajoutées.
+     */
+    public void ajouterVictoires(int noeud, float valeur) {
+        victoires[representants[noeud]] += valeur;
+    }
+
+    /**
+     * Retourne le nombre de défaites (du point de vue du joueur de la racine) de la position
+     * d'un nœud, partagé avec ses transpositions.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de défaites.
+     */
+    public float getDefaites(int noeud) {
+        return defaites[representants[noeud]];
+    }
+
+    /**
+     * Ajoute des défaites à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nombre de défaites ajoutées.
+     */
+    public void ajouterDefaites(int noeud, float valeur) {
+        defaites[representants[noeud]] += valeur;
+    }
+
+    /**
+     * Retourne le nombre de visites RAVE (AMAF) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de visites RAVE.
+     */
+    public float getVisitesRave(int noeud) {
+        return visitesRave[noeud];
+    }
+
+    /**
+     * Ajoute une visite RAVE à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     */
+    public void incrementerVisitesRave(int noeud) {
+        visitesRave[noeud]++;
+    }
+
+    /**
+     * Ajoute des visites RAVE à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nombre de visites RAVE ajoutées.
+     */
+    public void ajouterVisitesRave(int noeud, float valeur) {
+        visitesRave[noeud] += valeur;
+    }
+
+    /**
+     * Retourne le nombre de victoires RAVE (AMAF) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de victoires RAVE.
+     */
+    public float getVictoiresRave(int noeud) {
+        return victoiresRave[noeud];
+    }
+
+    /**
+     * Fixe le nombre de victoires RAVE d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nouveau nombre de victoires RAVE.
+     */
+    public void setVictoiresRave(int noeud, float valeur) {
+        victoiresRave[noeud] = valeur;
+    }
+
+    /**
+     * Ajoute des victoires RAVE à un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param valeur le nombre de victoires RAVE ajoutées.
+     */
+    public void ajouterVictoiresRave(int noeud, float valeur) {
+        victoiresRave[noeud] += valeur;
+    }
+
+    /**
+     * Calcule la valeur UCT (Upper Confidence Bound for Trees) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur UCT, ou Double.MAX_VALUE si le nœud n'a jamais été visité.
+     */
+    public double uct(int noeud) {
+        // Moyenne des résultats de la position (partagée entre transpositions), exploration
+        // sur les visites propres de l'arête
+        int r = representants[noeud];
+        return FormulesSelection.uct(victoires[r], victoires[r] + defaites[r], visites[noeud], visites[parents[noeud]]);
+    }
+
+    /**
+     * Calcule le ratio MCTS classique (victoires / défaites).
+     *
+     * @param noeud l'indice du nœud.
+     * @return le ratio, +infini si aucune défaite et au moins une victoire.
+     */
+    public double ratio(int noeud) {
+        int r = representants[noeud];
+        return FormulesSelection.ratio(victoires[r], defaites[r]);
+    }
+
+    /**
+     * Calcule la valeur AMAF (All Moves As First) utilisée en RAVE.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur AMAF, ou +infini si des victoires RAVE existent sans visite RAVE.
+     */
+    public double amaf(int noeud) {
+        return FormulesSelection.amaf(victoiresRave[noeud], visitesRave[noeud]);
+    }
+
+    /**
+     * Calcule une valeur combinée entre MCTS et RAVE, en tenant compte du nombre de visites RAVE.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur combinée.
+     */
+    public double valeurCombinee(int noeud) {
+        return FormulesSelection.valeurCombinee(ratio(noeud), victoiresRave[noeud], visitesRave[noeud]);
+    }
+}
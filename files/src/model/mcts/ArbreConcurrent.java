@@ -0,0 +1,394 @@
+package model.mcts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import model.Case.EtatCase;
+
+/**
+ * Arbre de recherche partagé entre plusieurs threads, stocké en tableaux parallèles.
+ *
+ * Pendant de {@link ArbreCompact} pour la parallélisation dans l'arbre : la capacité est fixée
+ * à la création (une recherche crée au plus un nœud par itération), les nœuds sont alloués par
+ * un compteur atomique et toutes les statistiques sont des compteurs atomiques entiers (un
+ * résultat de simulation vaut toujours +1 ou -1). Aucun verrou n'est pris :
+ * <ul>
+ *   <li>un nouvel enfant est publié par compare-and-set en tête de la liste de son parent,
+ *       après que tous ses champs ont été écrits ;</li>
+ *   <li>chaque coup non exploré est réservé par un seul thread grâce au compteur
+ *       {@code reserves}, ce qui empêche deux enfants pour le même coup ;</li>
+ *   <li>une perte virtuelle est ajoutée aux nœuds traversés pendant la sélection et retirée
+ *       à la rétropropagation, pour que les threads concurrents divergent.</li>
+ * </ul>
+ */
+public class ArbreConcurrent {
+
+    /** Valeur utilisée pour l'absence de nœud ou de coup. */
+    public static final int AUCUN = -1;
+
+    private static final EtatCase[] COULEURS = EtatCase.values();
+
+    private final int capacite;
+    private final AtomicInteger nombreNoeuds = new AtomicInteger();
+
+    // Champs écrits une seule fois, avant la publication du nœud
+    private final int[] coups;
+    private final int[] parents;
+    private final int[] freres;
+    private final int[] coupsPossibles;
+    private final int[] decalages;
+    private final byte[] joueurs;
+    private final boolean[] terminaux;
+
+    // Champs modifiés de façon concurrente
+    private final AtomicIntegerArray premiersEnfants;
+    private final AtomicIntegerArray nombresEnfants;
+    private final AtomicIntegerArray reserves;
+    private final AtomicIntegerArray visites;
+    private final AtomicIntegerArray victoires;
+    private final AtomicIntegerArray defaites;
+    private final AtomicIntegerArray pertesVirtuelles;
+    private final AtomicIntegerArray visitesRave;
+    private final AtomicIntegerArray victoiresRave;
+
+    /**
+     * Crée un arbre vide pouvant contenir un nombre fixe de nœuds.
+     *
+     * @param capacite le nombre maximal de nœuds.
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive.
+     */
+    public ArbreConcurrent(int capacite) {
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive : " + capacite);
+        }
+        this.capacite = capacite;
+        coups = new int[capacite];
+        parents = new int[capacite];
+        freres = new int[capacite];
+        coupsPossibles = new int[capacite];
+        decalages = new int[capacite];
+        joueurs = new byte[capacite];
+        terminaux = new boolean[capacite];
+        premiersEnfants = new AtomicIntegerArray(capacite);
+        nombresEnfants = new AtomicIntegerArray(capacite);
+        reserves = new AtomicIntegerArray(capacite);
+        visites = new AtomicIntegerArray(capacite);
+        victoires = new AtomicIntegerArray(capacite);
+        defaites = new AtomicIntegerArray(capacite);
+        pertesVirtuelles = new AtomicIntegerArray(capacite);
+        visitesRave = new AtomicIntegerArray(capacite);
+        victoiresRave = new AtomicIntegerArray(capacite);
+    }
+
+    /**
+     * Alloue un nœud. Le nœud n'est visible des autres threads qu'après {@link #publier}.
+     *
+     * @param parent l'indice du parent, ou {@link #AUCUN} pour la racine.
+     * @param coup la cellule jouée pour arriver au nœud, ou {@link #AUCUN}.
+     * @param joueur la couleur qui doit jouer dans le nœud.
+     * @param terminal true si la partie est finie dans le nœud.
+     * @param nombreCoupsPossibles le nombre de cases libres dans le nœud.
+     * @param decalage décalage aléatoire de l'ordre de développement des coups.
+     * @return l'indice du nœud, ou {@link #AUCUN} si l'arbre est plein.
+     */
+    public int allouer(int parent, int coup, EtatCase joueur, boolean terminal, int nombreCoupsPossibles, int decalage) {
+        int n = nombreNoeuds.getAndIncrement();
+        if (n >= capacite) {
+            nombreNoeuds.decrementAndGet();
+            return AUCUN;
+        }
+        coups[n] = coup;
+        parents[n] = parent;
+        freres[n] = AUCUN;
+        coupsPossibles[n] = nombreCoupsPossibles;
+        decalages[n] = decalage;
+        joueurs[n] = (byte) joueur.ordinal();
+        terminaux[n] = terminal;
+        premiersEnfants.set(n, AUCUN);
+        return n;
+    }
+
+    /**
+     * Publie un nœud en tête de la liste des enfants de son parent (sans verrou).
+     *
+     * @param parent l'indice du parent.
+     * @param enfant l'indice de l'enfant, entièrement initialisé.
+     */
+    public void publier(int parent, int enfant) {
+        int tete;
+        do {
+            tete = premiersEnfants.get(parent);
+            freres[enfant] = tete;
+        } while (!premiersEnfants.compareAndSet(parent, tete, enfant));
+        nombresEnfants.incrementAndGet(parent);
+    }
+
+    /**
+     * Réserve le prochain coup non exploré d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le rang du coup réservé parmi les cases libres (avant décalage),
+     *         ou {@link #AUCUN} si tous les coups ont déjà été réservés.
+     */
+    public int reserverCoup(int noeud) {
+        if (reserves.get(noeud) >= coupsPossibles[noeud]) return AUCUN;
+        int rang = reserves.getAndIncrement(noeud);
+        return rang < coupsPossibles[noeud] ? rang : AUCUN;
+    }
+
+    /**
+     * Retourne le nombre de nœuds alloués, au plus la capacité de l'arbre.
+     *
+     * @return le nombre de nœuds.
+     */
+    public int getNombreNoeuds() {
+        return Math.min(nombreNoeuds.get(), capacite);
+    }
+
+    /**
+     * Retourne le coup qui mène à un nœud depuis son parent.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le numéro de cellule jouée, ou {@link #AUCUN} pour la racine.
+     */
+    public int getCoup(int noeud) {
+        return coups[noeud];
+    }
+
+    /**
+     * Retourne le parent d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice du parent, ou {@link #AUCUN} pour la racine.
+     */
+    public int getParent(int noeud) {
+        return parents[noeud];
+    }
+
+    /**
+     * Retourne le dernier enfant publié d'un nœud, tête de sa liste d'enfants.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice de l'enfant, ou {@link #AUCUN} s'il n'en a pas.
+     */
+    public int getPremierEnfant(int noeud) {
+        return premiersEnfants.get(noeud);
+    }
+
+    /**
+     * Retourne le frère suivant d'un nœud dans la liste des enfants de son parent.
+     *
+     * @param noeud l'indice du nœud.
+     * @return l'indice du frère, ou {@link #AUCUN} pour le dernier enfant.
+     */
+    public int getFrere(int noeud) {
+        return freres[noeud];
+    }
+
+    /**
+     * Retourne le nombre d'enfants publiés d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre d'enfants.
+     */
+    public int getNombreEnfants(int noeud) {
+        return nombresEnfants.get(noeud);
+    }
+
+    /**
+     * Retourne le décalage aléatoire de l'ordre de développement des coups d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le décalage.
+     */
+    public int getDecalage(int noeud) {
+        return decalages[noeud];
+    }
+
+    /**
+     * Retourne la couleur qui doit jouer dans un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return BLEU ou ROUGE.
+     */
+    public EtatCase getJoueur(int noeud) {
+        return COULEURS[joueurs[noeud]];
+    }
+
+    /**
+     * Indique si la partie est terminée dans ce nœud (victoire ou plateau plein).
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si le nœud est terminal.
+     */
+    public boolean estTerminal(int noeud) {
+        return terminaux[noeud];
+    }
+
+    /**
+     * Indique si tous les coups possibles depuis ce nœud ont un enfant publié.
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si le nœud est complètement développé.
+     */
+    public boolean estDeveloppe(int noeud) {
+        return nombresEnfants.get(noeud) == coupsPossibles[noeud];
+    }
+
+    /**
+     * Indique si le nœud est une feuille (aucun enfant publié ou état terminal).
+     *
+     * @param noeud l'indice du nœud.
+     * @return true si feuille.
+     */
+    public boolean estFeuille(int noeud) {
+        return nombresEnfants.get(noeud) == 0 || coupsPossibles[noeud] == 0 || terminaux[noeud];
+    }
+
+    /**
+     * Retourne le nombre de visites d'un nœud (pertes virtuelles non comprises).
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de visites.
+     */
+    public int getVisites(int noeud) {
+        return visites.get(noeud);
+    }
+
+    /**
+     * Retourne le nombre de victoires (du point de vue du joueur de la racine) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de victoires.
+     */
+    public int getVictoires(int noeud) {
+        return victoires.get(noeud);
+    }
+
+    /**
+     * Retourne le nombre de défaites (du point de vue du joueur de la racine) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de défaites.
+     */
+    public int getDefaites(int noeud) {
+        return defaites.get(noeud);
+    }
+
+    /**
+     * Retourne le nombre de pertes virtuelles en cours sur un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de threads qui descendent par ce nœud.
+     */
+    public int getPertesVirtuelles(int noeud) {
+        return pertesVirtuelles.get(noeud);
+    }
+
+    /**
+     * Retourne le nombre de visites RAVE (AMAF) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de visites RAVE.
+     */
+    public int getVisitesRave(int noeud) {
+        return visitesRave.get(noeud);
+    }
+
+    /**
+     * Retourne le nombre de victoires RAVE (AMAF) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le nombre de victoires RAVE.
+     */
+    public int getVictoiresRave(int noeud) {
+        return victoiresRave.get(noeud);
+    }
+
+    /**
+     * Ajoute une perte virtuelle à un nœud traversé pendant la sélection.
+     *
+     * @param noeud l'indice du nœud.
+     */
+    public void ajouterPerteVirtuelle(int noeud) {
+        pertesVirtuelles.incrementAndGet(noeud);
+    }
+
+    /**
+     * Enregistre le résultat d'une simulation dans un nœud et retire, le cas échéant,
+     * la perte virtuelle posée lors de la sélection.
+     *
+     * @param noeud l'indice du nœud.
+     * @param victoire true si la simulation est gagnée par le joueur de la racine.
+     * @param retirerPerteVirtuelle true si le nœud avait reçu une perte virtuelle.
+     */
+    public void enregistrer(int noeud, boolean victoire, boolean retirerPerteVirtuelle) {
+        if (victoire) {
+            victoires.incrementAndGet(noeud);
+        } else {
+            defaites.incrementAndGet(noeud);
+        }
+        visites.incrementAndGet(noeud);
+        if (retirerPerteVirtuelle) {
+            pertesVirtuelles.decrementAndGet(noeud);
+        }
+    }
+
+    /**
+     * Enregistre un résultat AMAF (RAVE) dans un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @param victoire true si la simulation est gagnée par le joueur de la racine.
+     */
+    public void enregistrerRave(int noeud, boolean victoire) {
+        // La visite d'abord : un lecteur concurrent ne voit pas de victoire sans visite
+        visitesRave.incrementAndGet(noeud);
+        if (victoire) {
+            victoiresRave.incrementAndGet(noeud);
+        }
+    }
+
+    /**
+     * Valeur UCT d'un nœud ; les pertes virtuelles comptent comme des visites perdues.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur UCT, ou Double.MAX_VALUE si le nœud n'a été ni visité ni traversé.
+     */
+    public double uct(int noeud) {
+        int n = visites.get(noeud) + pertesVirtuelles.get(noeud);
+        int parent = parents[noeud];
+        int N = visites.get(parent) + pertesVirtuelles.get(parent);
+        return FormulesSelection.uct(victoires.get(noeud), n, n, N);
+    }
+
+    /**
+     * Ratio victoires / défaites, les pertes virtuelles comptant comme des défaites.
+     *
+     * @param noeud l'indice du nœud.
+     * @return le ratio, +infini si aucune défaite et au moins une victoire.
+     */
+    public double ratio(int noeud) {
+        return FormulesSelection.ratio(victoires.get(noeud), defaites.get(noeud) + pertesVirtuelles.get(noeud));
+    }
+
+    /**
+     * Valeur AMAF (All Moves As First) d'un nœud.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur AMAF.
+     */
+    public double amaf(int noeud) {
+        return FormulesSelection.amaf(victoiresRave.get(noeud), visitesRave.get(noeud));
+    }
+
+    /**
+     * Valeur combinée MCTS/RAVE, calculée comme {@link ArbreCompact#valeurCombinee(int)}.
+     *
+     * @param noeud l'indice du nœud.
+     * @return la valeur combinée.
+     */
+    public double valeurCombinee(int noeud) {
+        // Chaque compteur est lu une seule fois : un autre thread peut le modifier entre-temps
+        return FormulesSelection.valeurCombinee(ratio(noeud), victoiresRave.get(noeud), visitesRave.get(noeud));
+    }
+}
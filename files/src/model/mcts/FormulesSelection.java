@@ -0,0 +1,79 @@
+package model.mcts;
+
+import config.Constants;
+
+/**
+ * Formules de sélection et d'évaluation des nœuds (UCT, ratio, AMAF, valeur combinée RAVE),
+ * communes à {@link ArbreCompact} et à {@link ArbreConcurrent}. Chaque arbre y passe ses
+ * propres compteurs, lus une seule fois : les deux recherches évaluent un nœud de la même
+ * façon.
+ */
+final class FormulesSelection {
+
+    private FormulesSelection() {
+    }
+
+    /**
+     * Valeur UCT (Upper Confidence Bound for Trees).
+     *
+     * @param victoires les victoires du nœud.
+     * @param resultats le nombre de résultats dont les victoires sont tirées.
+     * @param n les visites du nœud.
+     * @param N les visites de son parent.
+     * @return la valeur UCT, ou Double.MAX_VALUE si le nœud n'a jamais été visité.
+     */
+    static double uct(double victoires, double resultats, int n, int N) {
+        if (n == 0) {
+            return Double.MAX_VALUE;
+        }
+        double moyenne = resultats > 0 ? victoires / resultats : 0;
+        return moyenne + Constants.EPLOITATION_EXPLORATION_CONSTANT * (Math.sqrt(Math.log(N) / n));
+    }
+
+    /**
+     * Ratio MCTS classique (victoires / défaites).
+     *
+     * @param victoires les victoires du nœud.
+     * @param defaites les défaites du nœud.
+     * @return le ratio, +infini si aucune défaite et au moins une victoire.
+     */
+    static double ratio(double victoires, double defaites) {
+        if (defaites == 0) {
+            if (victoires == 0) return 0;
+            return Double.POSITIVE_INFINITY;
+        }
+        return victoires / defaites;
+    }
+
+    /**
+     * Valeur AMAF (All Moves As First) utilisée en RAVE.
+     *
+     * @param victoiresRave les victoires RAVE du nœud.
+     * @param visitesRave les visites RAVE du nœud.
+     * @return la valeur AMAF, ou +infini si des victoires RAVE existent sans visite RAVE.
+     */
+    static double amaf(double victoiresRave, double visitesRave) {
+        if (visitesRave == 0) {
+            if (victoiresRave == 0) return 0;
+            return Double.POSITIVE_INFINITY;
+        }
+        return victoiresRave / visitesRave;
+    }
+
+    /**
+     * Valeur combinée entre MCTS et RAVE, en tenant compte du nombre de visites RAVE.
+     *
+     * @param ratio le ratio MCTS du nœud (voir {@link #ratio}).
+     * @param victoiresRave les victoires RAVE du nœud.
+     * @param visitesRave les visites RAVE du nœud.
+     * @return la valeur combinée.
+     */
+    static double valeurCombinee(double ratio, double victoiresRave, double visitesRave) {
+        double amaf = amaf(victoiresRave, visitesRave);
+        if (amaf == Double.POSITIVE_INFINITY || ratio == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+        if (visitesRave == 0) return ratio; // Pas de données RAVE : valeur MCTS seule
+        double k = 3 * visitesRave; // k = 3 fois le nombre de visites RAVE pour équilibrer
+        double beta = k / (visitesRave + k);
+        return beta * amaf + (1 - beta) * ratio;
+    }
+}
@@ -0,0 +1,76 @@
+package model.mcts;
+
+/**
+ * Gestionnaire de la pendule d'une partie : répartit le temps restant d'un joueur
+ * entre les coups qu'il lui reste probablement à jouer.
+ *
+ * Le nombre de coups restants est estimé à la moitié des cases libres (les joueurs
+ * alternent), avec un minimum pour garder une réserve en fin de partie.
+ */
+public class GestionTemps {
+
+    /** Nombre minimal de coups sur lequel le temps restant est réparti. */
+    private static final int COUPS_MINIMUM = 4;
+
+    private final long tempsPartieMs;
+    private long tempsRestantMs;
+
+    /**
+     * Crée une pendule pour une partie.
+     *
+     * @param tempsPartieMs le temps total du joueur pour la partie, en millisecondes.
+     * @throws IllegalArgumentException si le temps n'est pas strictement positif.
+     */
+    public GestionTemps(long tempsPartieMs) {
+        if (tempsPartieMs <= 0) {
+            throw new IllegalArgumentException("Le temps de partie doit être strictement positif : " + tempsPartieMs);
+        }
+        this.tempsPartieMs = tempsPartieMs;
+        this.tempsRestantMs = tempsPartieMs;
+    }
+
+    /**
+     * Calcule le temps à accorder au prochain coup.
+     *
+     * @param casesLibres le nombre de cases encore libres sur le plateau.
+     * @return le temps alloué, en millisecondes (au moins 1).
+     */
+    public long allouer(int casesLibres) {
+        int coupsRestants = Math.max(COUPS_MINIMUM, (casesLibres + 1) / 2);
+        return Math.max(1, tempsRestantMs / coupsRestants);
+    }
+
+    /**
+     * Décompte le temps effectivement utilisé pour un coup.
+     *
+     * @param tempsMs le temps utilisé, en millisecondes.
+     */
+    public void consommer(long tempsMs) {
+        tempsRestantMs = Math.max(0, tempsRestantMs - tempsMs);
+    }
+
+    /**
+     * Remet la pendule à son temps initial (nouvelle partie).
+     */
+    public void reinitialiser() {
+        tempsRestantMs = tempsPartieMs;
+    }
+
+    /**
+     * Retourne le temps total du joueur pour la partie.
+     *
+     * @return le temps, en millisecondes.
+     */
+    public long getTempsPartieMs() {
+        return tempsPartieMs;
+    }
+
+    /**
+     * Retourne le temps qu'il reste au joueur.
+     *
+     * @return le temps restant, en millisecondes (jamais négatif).
+     */
+    public long getTempsRestantMs() {
+        return tempsRestantMs;
+    }
+}
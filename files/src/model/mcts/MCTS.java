@@ -1,8 +1,16 @@
 package model.mcts;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import model.*;
 import model.Case.EtatCase;
+import model.aleatoire.Aleatoire;
+import model.plateau.PlateauBitboard;
 import config.Constants;
 
 /**
@@ -10,10 +18,29 @@ import config.Constants;
  */
 public class MCTS {
 
-    private Noeud root;
-    protected static final Random RANDOM = new Random();
+    private ArbreCompact arbre;    // Arbre conservé d'un coup à l'autre
+    private long[] nonExplores = new long[0];
+    private int playoutsParFeuille = 1;      // Simulations lancées depuis chaque feuille sélectionnée
+    private LotSimulations[] lots = new LotSimulations[0];
+    private ForkJoinPool pool;               // Threads des lots de simulations, null sans parallélisme
+    protected RandomGenerator random = Aleatoire.creer();
     private int iterationBudget;
     private boolean experimentation;
+    private long tempsParCoupMs;             // 0 : recherche limitée par le seul budget d'itérations
+    private GestionTemps horloge;            // Pendule de la partie, prioritaire sur le temps par coup
+    private int iterationsDernierCoup;
+    private int visitesCoupChoisi;
+    private long iterationsTotales;
+    private int nombreRecherches;
+    private int visitesConserveesDernierCoup;
+    private long visitesConserveesTotales;
+
+    /** Nombre d'itérations entre deux lectures de l'horloge. */
+    private static final int PERIODE_HORLOGE = 16;
+    /** Nombre d'itérations entre deux tests d'arrêt anticipé. */
+    private static final int PERIODE_ARRET = 256;
+    /** Secondes d'inactivité après lesquelles les threads des lots de simulations sont libérés. */
+    private static final long INACTIVITE_POOL_S = 2;
 
 
     // Constructor with custom iteration budget
@@ -49,6 +76,83 @@ public class MCTS {
      */
     public boolean isExperimentation() { return this.experimentation; }
 
+    /**
+     * Limite chaque recherche à un temps fixe au lieu du budget d'itérations.
+     *
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes, 0 pour revenir au budget d'itérations.
+     * @throws IllegalArgumentException si le temps est négatif.
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        if (tempsParCoupMs < 0) {
+            throw new IllegalArgumentException("Le temps par coup ne peut pas être négatif : " + tempsParCoupMs);
+        }
+        this.tempsParCoupMs = tempsParCoupMs;
+    }
+
+    /**
+     * Retourne le temps accordé à chaque coup.
+     *
+     * @return le temps par coup en millisecondes, 0 si la recherche est limitée en itérations.
+     */
+    public long getTempsParCoup() { return this.tempsParCoupMs; }
+
+    /**
+     * Associe une pendule de partie à la recherche : le temps de chaque coup est alors
+     * calculé par la pendule à partir du nombre de cases libres.
+     *
+     * @param horloge la pendule, ou null pour revenir au temps par coup / budget d'itérations.
+     */
+    public void setHorloge(GestionTemps horloge) {
+        this.horloge = horloge;
+    }
+
+    /**
+     * Retourne la pendule de partie associée à la recherche.
+     *
+     * @return la pendule, ou null.
+     */
+    public GestionTemps getHorloge() { return this.horloge; }
+
+    /**
+     * Retourne le nombre d'itérations effectivement réalisées lors de la dernière recherche.
+     *
+     * @return le nombre d'itérations du dernier coup
+     */
+    public int getIterationsDernierCoup() { return this.iterationsDernierCoup; }
+
+    /**
+     * Retourne le nombre de visites, à la fin de la dernière recherche, du coup choisi.
+     *
+     * @return les visites du coup joué au dernier coup
+     */
+    public int getVisitesCoupChoisi() { return this.visitesCoupChoisi; }
+
+    /**
+     * Retourne le nombre moyen d'itérations réalisées par recherche depuis la création.
+     *
+     * @return la moyenne, 0 si aucune recherche n'a eu lieu
+     */
+    public double getIterationsMoyennesParCoup() {
+        return nombreRecherches == 0 ? 0 : (double) iterationsTotales / nombreRecherches;
+    }
+
+    /**
+     * Retourne le nombre de visites de la racine déjà acquises, grâce à l'arbre conservé,
+     * au début de la dernière recherche.
+     *
+     * @return les visites conservées au dernier coup
+     */
+    public int getVisitesConserveesDernierCoup() { return this.visitesConserveesDernierCoup; }
+
+    /**
+     * Retourne le nombre moyen de visites conservées d'un coup à l'autre.
+     *
+     * @return la moyenne, 0 si aucune recherche n'a eu lieu
+     */
+    public double getVisitesConserveesMoyennesParCoup() {
+        return nombreRecherches == 0 ? 0 : (double) visitesConserveesTotales / nombreRecherches;
+    }
+
     
     
     
@@ -57,132 +161,368 @@ public class MCTS {
      *
      * @param grille  L'état actuel du jeu.
      * @param couleur La couleur du joueur qui doit jouer.
-     * @return Le meilleur coup trouvé.
+     * @return Le meilleur coup trouvé, ou null si aucun coup n'est possible.
      */
     public Position trouverMeilleurCoup(Grille grille, Case.EtatCase couleur) {
         // Start the timer
         long startTime = System.currentTimeMillis();
-    
+
+        long tempsAlloue = (horloge != null) ? horloge.allouer(grille.getPlateau().nombreCasesLibres()) : tempsParCoupMs;
+        int racine = (tempsAlloue > 0) ? rechercher(grille, couleur, Integer.MAX_VALUE, tempsAlloue)
+                                       : rechercher(grille, couleur, iterationBudget);
+        if (horloge != null) horloge.consommer(System.currentTimeMillis() - startTime);
+
+        // Détermine le meilleur coup et met à jour la racine
+        int meilleur = bestMove(arbre, racine);
+        if (meilleur == ArbreCompact.AUCUN) {
+            return null;
+        }
+        Position coup = arbre.position(arbre.getCoup(meilleur));
+        visitesCoupChoisi = arbre.getVisites(meilleur);
+        updateRootAfterMove(arbre, meilleur);
+
+        // Stop the timer and calculate elapsed time
+        long endTime = System.currentTimeMillis();
+        long elapsedTime = endTime - startTime;
+
+        // Print the time taken
+        if ( experimentation == false ) System.out.println("Meilleur coup trouvé après " + elapsedTime + " millisecondes.");
+
+        return coup;
+    }
+
+    /**
+     * Exécute les itérations MCTS à partir d'un état donné, sans choisir de coup.
+     * L'arbre conservé depuis le coup précédent est réutilisé si l'état y figure.
+     *
+     * @param grille  L'état actuel du jeu.
+     * @param couleur La couleur du joueur qui doit jouer.
+     * @param iterations Le nombre d'itérations à effectuer.
+     * @return L'indice de la racine de la recherche dans {@link #getArbre()}.
+     */
+    protected int rechercher(Grille grille, Case.EtatCase couleur, int iterations) {
+        return rechercher(grille, couleur, iterations, 0);
+    }
+
+    /**
+     * Exécute les itérations MCTS jusqu'à épuisement du nombre d'itérations ou du temps accordé.
+     * Avec une limite de temps, la recherche s'arrête aussi dès que le meilleur enfant de la
+     * racine ne peut plus être dépassé dans le temps restant (voir {@link #peutEncoreChanger}),
+     * et dans tous les cas dès que le résultat de la racine est prouvé (MCTS-Solver).
+     *
+     * @param grille  L'état actuel du jeu.
+     * @param couleur La couleur du joueur qui doit jouer.
+     * @param iterations Le nombre maximal d'itérations à effectuer.
+     * @param tempsMs Le temps accordé en millisecondes, 0 pour aucune limite de temps.
+     * @return L'indice de la racine de la recherche dans {@link #getArbre()}.
+     */
+    protected int rechercher(Grille grille, Case.EtatCase couleur, int iterations, long tempsMs) {
+        long debut = System.currentTimeMillis();
+        long echeance = debut + tempsMs;
+
         // Vérifie si l'état actuel existe déjà dans l'arbre
-        Noeud searchResult = findChild(root, grille);
-        Noeud racine = (searchResult == null) ? new Noeud(grille, null, null, couleur) : searchResult;
-    
+        PlateauBitboard plateauRacine = grille.getPlateau();
+        int racine = ArbreCompact.AUCUN;
+        if (arbre != null) {
+            // Après notifyMove, la racine conservée est déjà la position à jouer
+            racine = (arbre.getJoueur(arbre.getRacine()) == couleur && arbre.getPlateauRacine().equals(plateauRacine))
+                   ? arbre.getRacine()
+                   : findChild(arbre, arbre.getRacine(), plateauRacine, couleur);
+        }
+        if (racine == ArbreCompact.AUCUN) {
+            arbre = new ArbreCompact(grille, couleur);
+            racine = arbre.getRacine();
+            arbre.getTranspositions().enregistrer(plateauRacine.getCle(couleur), racine);
+        } else if (racine != arbre.getRacine()) {
+            arbre.reenraciner(racine);
+            arbre.compacter();
+            racine = arbre.getRacine();
+        }
+        visitesConserveesDernierCoup = arbre.getVisites(racine);
+        visitesConserveesTotales += visitesConserveesDernierCoup;
+
+        // Plateau de travail : les coups de chaque itération y sont joués puis annulés
+        PlateauBitboard plateau = plateauRacine.copie();
+
         // Lance les itérations MCTS
-        for (int i = 0; i < iterationBudget; i++) {
+        int i = 0;
+        for (; i < iterations && !arbre.estProuve(racine); i++) {
+            if (tempsMs > 0 && i % PERIODE_HORLOGE == 0) {
+                long maintenant = System.currentTimeMillis();
+                if (maintenant >= echeance) break;
+                if (i > 0 && i % PERIODE_ARRET == 0) {
+                    // Simulations encore possibles au rythme observé
+                    long restantes = (long) i * playoutsParFeuille * (echeance - maintenant) / Math.max(1, maintenant - debut);
+                    if (!peutEncoreChanger(arbre, racine, restantes)) break;
+                }
+            }
+            plateau.annulerJusqua(0);
+
             // 1. Sélection
-            Noeud noeud = selectionner(racine);
-            
+            int noeud = selectionner(arbre, racine, plateau);
+
             // 2. Développement
-            if (noeud.getVisits() > 0) {
-                developper(noeud);
-                // Récupère le nouvel enfant (un seul, si créé)
-                Noeud unvisitedChild = bestChild(noeud);
-                if (unvisitedChild != null) {
-                    noeud = unvisitedChild;
+            if (arbre.getVisites(noeud) > 0) {
+                int enfant = developper(arbre, noeud, plateau);
+                if (enfant != ArbreCompact.AUCUN) {
+                    noeud = enfant;
                 }
             }
-            
-            // 3. Simulation
-            double resultat = simuler(noeud, couleur);
-            
-            // 4. Rétropropagation
-            retropropager(noeud, resultat);
+
+            if (playoutsParFeuille == 1) {
+                // 3. Simulation
+                double resultat = simuler(arbre, noeud, plateau, couleur);
+
+                // 4. Rétropropagation
+                retropropager(arbre, noeud, resultat);
+            } else {
+                // 3. Lot de simulations depuis la même feuille, 4. une seule rétropropagation
+                int victoires = simulerLot(arbre, noeud, plateau, couleur);
+                retropropager(arbre, noeud, victoires, playoutsParFeuille);
+            }
         }
-    
-        // Détermine le meilleur coup et met à jour la racine
-        Position bestMove = bestMove(racine);
-        updateRootAfterMove(racine, bestMove);
-    
-        // Stop the timer and calculate elapsed time
-        long endTime = System.currentTimeMillis();
-        long elapsedTime = endTime - startTime;
-    
-        // Print the time taken
-        if ( experimentation == false ) System.out.println("Meilleur coup trouvé après " + elapsedTime + " millisecondes.");
-    
-        return bestMove;
+        iterationsDernierCoup = i;
+        iterationsTotales += i;
+        nombreRecherches++;
+        return racine;
     }
 
-    // methode pour trouver un noeud avec un état précis à partir d'un noeud précis
-    protected Noeud findChild(Noeud currentRoot, Grille targetState) {
-        if (currentRoot == null) return null;
-        for (Noeud child : currentRoot.getEnfants()) {
-            if (child.getGrille().equals(targetState)) {
-                return child;
+    /**
+     * Indique si le coup finalement choisi à la racine peut encore changer.
+     *
+     * Le choix se fait au ratio victoires / défaites : dans le meilleur des cas pour un autre
+     * enfant, toutes les itérations restantes lui apportent une victoire ; dans le pire des
+     * cas pour l'enfant en tête, elles lui apportent toutes une défaite. Si, même ainsi, aucun
+     * enfant ne rattrape le meilleur, poursuivre la recherche est inutile.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param racine la racine de la recherche.
+     * @param iterationsRestantes une estimation du nombre de simulations encore possibles.
+     * @return true si un autre coup peut encore être choisi.
+     */
+    protected boolean peutEncoreChanger(ArbreCompact arbre, int racine, long iterationsRestantes) {
+        if (!arbre.estDeveloppe(racine)) {
+            return true;
+        }
+        int meilleur = ArbreCompact.AUCUN;
+        for (int enfant = arbre.getPremierEnfant(racine); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (meilleur == ArbreCompact.AUCUN || arbre.ratio(enfant) > arbre.ratio(meilleur)) {
+                meilleur = enfant;
+            }
+        }
+        if (meilleur == ArbreCompact.AUCUN) {
+            return true;
+        }
+        double pireMeilleur = ratio(arbre.getVictoires(meilleur), arbre.getDefaites(meilleur) + iterationsRestantes);
+        for (int enfant = arbre.getPremierEnfant(racine); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (enfant != meilleur
+                && ratio(arbre.getVictoires(enfant) + iterationsRestantes, arbre.getDefaites(enfant)) >= pireMeilleur) {
+                return true;
             }
-            Noeud deeperMatch = findChild(child, targetState);
-            if (deeperMatch != null) return deeperMatch;
         }
-        return null;
+        return false;
     }
-    
+
+    // ratio victoires / défaites, avec les mêmes conventions que ArbreCompact.ratio
+    private static double ratio(double victoires, double defaites) {
+        if (defaites == 0) {
+            return victoires == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return victoires / defaites;
+    }
+
+    /**
+     * Retourne l'arbre de recherche conservé entre deux coups.
+     *
+     * @return l'arbre, ou null si aucune recherche n'a encore eu lieu.
+     */
+    public ArbreCompact getArbre() {
+        return arbre;
+    }
+
+    /**
+     * Remplace le générateur aléatoire utilisé pour le développement et les simulations.
+     *
+     * @param random le nouveau générateur.
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+        for (int i = 0; i < lots.length; i++) {
+            lots[i] = new LotSimulations(Aleatoire.creer(random.nextLong()));
+        }
+    }
+
+    /**
+     * Configure la parallélisation aux feuilles : chaque feuille sélectionnée lance un lot
+     * de simulations, réparties entre plusieurs threads, dont le résultat agrégé n'est
+     * rétropropagé qu'une fois. Les threads sont ceux d'un pool fork-join propre à la
+     * recherche, libérés quand elle ne simule plus. Avec un seul playout par feuille, la
+     * recherche est la recherche séquentielle habituelle.
+     *
+     * @param playoutsParFeuille le nombre de simulations par feuille (au moins 1).
+     * @param nombreThreads le nombre de threads entre lesquels répartir le lot (au moins 1).
+     * @throws IllegalArgumentException si l'un des paramètres est inférieur à 1.
+     */
+    public void setParallelismeFeuille(int playoutsParFeuille, int nombreThreads) {
+        if (playoutsParFeuille < 1 || nombreThreads < 1) {
+            throw new IllegalArgumentException("Paramètres de parallélisation aux feuilles invalides : "
+                                               + playoutsParFeuille + " playouts, " + nombreThreads + " threads");
+        }
+        this.playoutsParFeuille = playoutsParFeuille;
+        this.lots = new LotSimulations[Math.min(playoutsParFeuille, nombreThreads)];
+        for (int i = 0; i < lots.length; i++) {
+            lots[i] = new LotSimulations(Aleatoire.creer(random.nextLong()));
+        }
+        this.pool = (lots.length > 1)
+                  ? new ForkJoinPool(lots.length, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                                     0, lots.length, 1, null, INACTIVITE_POOL_S, TimeUnit.SECONDS)
+                  : null;
+    }
+
+    /**
+     * Retourne le nombre de simulations lancées depuis chaque feuille sélectionnée.
+     *
+     * @return le nombre de playouts par feuille
+     */
+    public int getPlayoutsParFeuille() { return this.playoutsParFeuille; }
+
+    /**
+     * Cherche, parmi les descendants d'un nœud, celui qui correspond à un état précis.
+     * La position est d'abord cherchée dans la table de transposition de l'arbre ; si elle en
+     * est absente (la table est bornée), seules les branches dont les coups sont présents dans
+     * l'état cherché sont explorées.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud le nœud de départ.
+     * @param cible l'état recherché.
+     * @param couleur la couleur qui doit jouer dans l'état recherché.
+     * @return l'indice du nœud trouvé, ou {@link ArbreCompact#AUCUN}.
+     */
+    protected int findChild(ArbreCompact arbre, int noeud, PlateauBitboard cible, EtatCase couleur) {
+        if (arbre.getPlateauRacine().getTopologie() != cible.getTopologie()) return ArbreCompact.AUCUN;
+        int trouve = arbre.getTranspositions().chercher(cible.getCle(couleur));
+        if (trouve != ArbreCompact.AUCUN && arbre.estDescendant(trouve, noeud)
+                && arbre.getJoueur(trouve) == couleur && arbre.rejouer(trouve).equals(cible)) {
+            return trouve;
+        }
+        return chercher(arbre, noeud, arbre.rejouer(noeud), cible, couleur);
+    }
+
+    private int chercher(ArbreCompact arbre, int noeud, PlateauBitboard plateau, PlateauBitboard cible, EtatCase couleur) {
+        if (plateau.equals(cible)) {
+            return arbre.getJoueur(noeud) == couleur ? noeud : ArbreCompact.AUCUN;
+        }
+        EtatCase joueur = arbre.getJoueur(noeud);
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            int coup = arbre.getCoup(enfant);
+            if (cible.getEtat(coup) == joueur) {
+                PlateauBitboard suivant = plateau.copie();
+                suivant.poser(coup, joueur);
+                int trouve = chercher(arbre, enfant, suivant, cible, couleur);
+                if (trouve != ArbreCompact.AUCUN) return trouve;
+            }
+        }
+        return ArbreCompact.AUCUN;
+    }
+
     // methode qui affiche tous les coups à partir d'un noeud càd affiche tous les enfants d'un noeud
-    protected void afficherTousLesCoups(Noeud noeud) {
+    protected void afficherTousLesCoups(ArbreCompact arbre, int noeud) {
         // Afficher tous les coups possibles
-        List<Noeud> enfants = noeud.getEnfants();
         System.out.println("Liste des moves possibles:");
-        for (int i = 0; i < enfants.size(); i++) {
-            System.out.println(enfants.get(i));
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            System.out.println(arbre.noeud(enfant));
         }
     }
-    
-    // methode qui renvoie le meilleur enfant, l'enfant qui a le plus haut win rate ratio ( victoirs/défaites )
-    protected Position bestMove(Noeud noeud) {
-        List<Noeud> enfantsTries = new ArrayList<>(noeud.getEnfants());
-        
-        // Afficher tous les coups possibles
-        
+
+    // methode qui renvoie le meilleur enfant : un coup prouvé gagnant s'il y en a un, sinon l'enfant
+    // qui a le plus haut win rate ratio ( victoirs/défaites ), les coups prouvés perdants en dernier
+    protected int bestMove(ArbreCompact arbre, int noeud) {
         // Obtenir le meilleur coup
-        Noeud meilleur = enfantsTries.get(0);
-        for ( Noeud child : enfantsTries ){
-            if (child.getRatio() > meilleur.getRatio()){
-                meilleur = child;
+        int meilleur = enfantGagnant(arbre, noeud);
+        if (meilleur == ArbreCompact.AUCUN) {
+            for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+                if (meilleur == ArbreCompact.AUCUN) {
+                    meilleur = enfant;
+                    continue;
+                }
+                boolean perdant = estPerdant(arbre, noeud, enfant);
+                boolean meilleurPerdant = estPerdant(arbre, noeud, meilleur);
+                if ((meilleurPerdant && !perdant)
+                    || (perdant == meilleurPerdant && arbre.ratio(enfant) > arbre.ratio(meilleur))) {
+                    meilleur = enfant;
+                }
             }
         }
-        
-        if ( experimentation == false ){
-            //afficherTousLesCoups(noeud);
-            System.out.println("\nBest move : " + meilleur + " avec "+iterationBudget+" itérations");
+
+        if ( experimentation == false && meilleur != ArbreCompact.AUCUN ){
+            //afficherTousLesCoups(arbre, noeud);
+            System.out.println("\nBest move : " + arbre.noeud(meilleur) + " avec "+iterationsDernierCoup+" itérations");
         }
-        return meilleur.getMove();
+        return meilleur;
     }
 
 
-    // methode qui met à jour la racine après avoir choisi le coup à jouer
-    protected void updateRootAfterMove(Noeud currentRoot, Position move) {
-        for (Noeud child : currentRoot.getEnfants()) {
-            if (child.getMove().equals(move)) {
-                this.root = child;
-                this.root.setParent(null);
-                break;
+    // methode qui met à jour la racine après avoir choisi le coup à jouer ; le reste de l'arbre est abandonné
+    protected void updateRootAfterMove(ArbreCompact arbre, int meilleur) {
+        arbre.reenraciner(meilleur);
+        arbre.compacter();
+    }
+
+    /**
+     * Informe la recherche d'un coup joué sur la grille, en pratique la réponse de l'adversaire.
+     * Si la racine conservée attend un coup de cette couleur et que ce coup a été exploré, la
+     * racine descend directement sur l'enfant correspondant et le reste de l'arbre est abandonné ;
+     * si le coup n'a pas été exploré, tout l'arbre est abandonné.
+     *
+     * @param coup la position jouée.
+     * @param couleur la couleur qui a joué.
+     */
+    public void notifyMove(Position coup, EtatCase couleur) {
+        if (arbre == null || arbre.getJoueur(arbre.getRacine()) != couleur) {
+            return;
+        }
+        int racine = arbre.getRacine();
+        int cellule = arbre.cellule(coup);
+        for (int enfant = arbre.getPremierEnfant(racine); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (arbre.getCoup(enfant) == cellule) {
+                updateRootAfterMove(arbre, enfant);
+                return;
             }
         }
+        arbre = null;
     }
 
     /**
      * Sélectionne un nœud en descendant dans l'arbre jusqu'à rencontrer un nœud terminal ou non complètement développé.
+     * Les coups du chemin parcouru sont joués sur le plateau de travail.
      *
+     * @param arbre l'arbre de recherche.
      * @param noeud Le nœud de départ pour la sélection.
+     * @param plateau le plateau de travail, dans l'état du nœud de départ.
      * @return Le nœud sélectionné.
      */
-    protected Noeud selectionner(Noeud noeud) {
-        while (!noeud.isTerminal() && noeud.isFullyExpanded()) {
-            noeud = bestChild(noeud);
+    protected int selectionner(ArbreCompact arbre, int noeud, PlateauBitboard plateau) {
+        while (!arbre.estTerminal(noeud) && arbre.estDeveloppe(noeud)) {
+            int enfant = bestChild(arbre, noeud);
+            if (enfant == noeud || enfant == ArbreCompact.AUCUN) break;
+            plateau.jouer(arbre.getCoup(enfant), arbre.getJoueur(noeud));
+            noeud = enfant;
         }
         return noeud;
     }
 
-    // renvoie l'enfant qui maximise sa valeur UCT d'un noeud
-    protected Noeud bestChild(Noeud noeud) {
-        if (noeud.isLeaf()) {
+    // renvoie l'enfant qui maximise sa valeur UCT d'un noeud, parmi ceux dont le résultat n'est pas prouvé
+    protected int bestChild(ArbreCompact arbre, int noeud) {
+        if (arbre.estFeuille(noeud)) {
             return noeud;
         }
 
-        Noeud meilleurEnfant = null;
+        int meilleurEnfant = ArbreCompact.AUCUN;
         double meilleurScore = -1;
 
-        for (Noeud enfant : noeud.getEnfants()) {
-            double score = enfant.UCT();
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (arbre.estProuve(enfant)) continue;
+            double score = arbre.uct(enfant);
             if (score > meilleurScore) {
                 meilleurScore = score;
                 meilleurEnfant = enfant;
@@ -194,43 +534,80 @@ public class MCTS {
 
     /**
      * Développe un nœud en ajoutant un seul nouvel enfant non exploré, s'il existe des coups disponibles.
+     * Le coup choisi est joué sur le plateau de travail.
      *
+     * @param arbre l'arbre de recherche.
      * @param noeud Le nœud à développer.
+     * @param plateau le plateau de travail, dans l'état du nœud.
+     * @return l'indice du nouvel enfant, ou {@link ArbreCompact#AUCUN} si aucun n'a été créé.
      */
-    protected void developper(Noeud noeud) {
-        if (!noeud.isTerminal() && !noeud.isFullyExpanded()) {
-            Map<Integer, Position> coupsDisponibles = noeud.getGrille().genererCasesDisponibles();
-            
-            // Si des coups non explorés sont disponibles, en créer un
-            if (!coupsDisponibles.isEmpty()) {
-                List<Position> coupsNonExplores = new ArrayList<>(coupsDisponibles.values());
-                
-                // Filtrer les coups déjà explorés
-                for (Noeud enfant : noeud.getEnfants()) {
-                    coupsNonExplores.remove(enfant.getMove());
-                }
-                
-                // Si des coups non explorés restent, en choisir un au hasard
-                if (!coupsNonExplores.isEmpty()) {
-                    int randomIndex = RANDOM.nextInt(coupsNonExplores.size());
-                    Position coup = coupsNonExplores.get(randomIndex);
-    
-                    // Créer une nouvelle grille en copiant l'état actuel
-                    Grille nouvelleGrille = noeud.getGrille().copy();
-                    nouvelleGrille.getCase(coup).setOccupe(noeud.getJoueurActuel());
-    
-                    // Créer le nœud enfant
-                    Noeud enfant = new Noeud(
-                        nouvelleGrille,
-                        coup,
-                        noeud,
-                        EtatCase.opposite(noeud.getJoueurActuel())
-                    );
-    
-                    noeud.addEnfant(enfant);
-                    
-                }
-            }
+    protected int developper(ArbreCompact arbre, int noeud, PlateauBitboard plateau) {
+        if (arbre.estTerminal(noeud) || arbre.estDeveloppe(noeud)) {
+            return ArbreCompact.AUCUN;
+        }
+
+        // Masque des cases libres, privé des coups déjà explorés
+        long[] bleu = plateau.getPierres(EtatCase.BLEU);
+        long[] rouge = plateau.getPierres(EtatCase.ROUGE);
+        int mots = bleu.length;
+        if (nonExplores.length < mots) nonExplores = new long[mots];
+        for (int i = 0; i < mots; i++) {
+            nonExplores[i] = ~(bleu[i] | rouge[i]);
+        }
+        int reste = plateau.getNombreCellules() & 63;
+        if (reste != 0) nonExplores[mots - 1] &= (1L << reste) - 1;
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            int coup = arbre.getCoup(enfant);
+            nonExplores[coup >>> 6] &= ~(1L << coup);
+        }
+
+        int total = 0;
+        for (int i = 0; i < mots; i++) total += Long.bitCount(nonExplores[i]);
+        if (total == 0) {
+            return ArbreCompact.AUCUN;
+        }
+
+        // Choisit au hasard le k-ième coup non exploré
+        int k = Aleatoire.entier(random, total);
+        int mot = 0;
+        while (k >= Long.bitCount(nonExplores[mot])) {
+            k -= Long.bitCount(nonExplores[mot]);
+            mot++;
+        }
+        long bits = nonExplores[mot];
+        for (; k > 0; k--) bits &= bits - 1;
+        int coup = (mot << 6) + Long.numberOfTrailingZeros(bits);
+
+        EtatCase joueur = arbre.getJoueur(noeud);
+        plateau.jouer(coup, joueur);
+        int enfant = arbre.ajouterEnfant(noeud, coup, EtatCase.opposite(joueur),
+                                         plateau.estTerminee(), plateau.nombreCasesLibres());
+        partagerTransposition(arbre, enfant, plateau.getCle(EtatCase.opposite(joueur)));
+        return enfant;
+    }
+
+    /**
+     * Enregistre un nouveau nœud dans la table de transposition. Si la même position a déjà
+     * été atteinte par un autre ordre de coups, le nouveau nœud partage dès lors les victoires
+     * et défaites du nœud existant (voir {@link ArbreCompact#partagerStatistiques}) ; les
+     * statistiques sont toujours exprimées du point de vue du joueur de la racine, elles ont
+     * donc le même sens dans les deux nœuds. Ses visites restent les siennes, pour que le
+     * terme d'exploration et le nombre de visites de son parent restent cohérents.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param enfant le nœud créé.
+     * @param cle la clé de Zobrist de sa position, trait compris.
+     */
+    protected void partagerTransposition(ArbreCompact arbre, int enfant, long cle) {
+        TableTransposition table = arbre.getTranspositions();
+        int existant = table.chercher(cle);
+        if (existant == ArbreCompact.AUCUN || existant == enfant) {
+            table.enregistrer(cle, enfant);
+            return;
+        }
+        arbre.partagerStatistiques(enfant, existant);
+        if (arbre.estProuve(existant)) {
+            arbre.setGagnantProuve(enfant, arbre.getGagnantProuve(existant));
         }
     }
 
@@ -238,76 +615,295 @@ public class MCTS {
     /**
      * Simule une partie aléatoire à partir d'un état donné.
      *
+     * @param arbre l'arbre de recherche.
      * @param noeud Le nœud à partir duquel la simulation démarre.
+     * @param plateau le plateau de travail, dans l'état du nœud (non modifié).
      * @param joueurOriginal La couleur du joueur d'origine pour la simulation.
      * @return Un score (1.0 pour victoire, -1.0 pour défaite).
      */
-    protected double simuler(Noeud noeud, EtatCase joueurOriginal) {
+    protected double simuler(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+
+        if (arbre.estTerminal(noeud)) {
+            return plateau.verifierVictoire(joueurOriginal) ? 1.0 : -1.0;
+        }
+
+        // Remplit le plateau au hasard puis détermine le gagnant en une seule passe
+        EtatCase gagnant = MoteurSimulation.courant()
+            .simuler(plateau, arbre.getJoueur(noeud), random);
+
+        return gagnant == joueurOriginal ? 1.0 : -1.0;
+    }
 
-        // Crée une copie de la grille pour la simulation
-        Grille simulationGrille = noeud.getGrille().copy();
-        Case.EtatCase joueurActuel = noeud.getJoueurActuel();
+    /**
+     * Rétropropagation du résultat de la simulation à travers l'arbre.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud Le nœud à partir duquel commencer la rétropropagation.
+     * @param resultat Le résultat de la simulation (score positif pour victoire, négatif pour défaite).
+     */
+    protected void retropropager(ArbreCompact arbre, int noeud, double resultat) {
+        propagerPreuve(arbre, noeud);
+        while (noeud != ArbreCompact.AUCUN) {
+            if ( resultat > 0){
+                arbre.ajouterVictoires(noeud, (float) resultat);
+            }
+            else{
+                arbre.ajouterDefaites(noeud, (float) -resultat);
+            }
+            arbre.incrementerVisites(noeud);
+            noeud = arbre.getParent(noeud);
+        }
+    }
 
-        /* System.out.println("!!!!!!!!!!! Grille avant simulation ");
-        simulationGrille.afficherGrille(); */
 
-        if (noeud.isTerminal()) {
-            return noeud.getGrille().verifierVictoire(joueurOriginal) ? 1.0 : -1.0;
+    /**
+     * Remonte un résultat prouvé vers la racine selon les règles de MCTS-Solver (voir
+     * {@link ArbreCompact#evaluerPreuve}), tant que chaque parent devient prouvé à son tour.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud le nœud d'où est partie la simulation.
+     */
+    protected void propagerPreuve(ArbreCompact arbre, int noeud) {
+        if (!arbre.estProuve(noeud)) return;
+        int n = arbre.getParent(noeud);
+        while (n != ArbreCompact.AUCUN && arbre.evaluerPreuve(n)) {
+            n = arbre.getParent(n);
         }
-        //System.out.println("================= debut de la simulation  ================= c'est le tour de "+joueurOriginal+"Il va jouer"+noeud.getMove()+"\n");
+    }
 
-        while (!simulationGrille.estTerminee()) {
-            Map<Integer, Position> coupsDisponibles = simulationGrille.genererCasesDisponibles();
-            int randomIndex = RANDOM.nextInt(coupsDisponibles.size());
-            Position coup = coupsDisponibles.get(randomIndex);
-            simulationGrille.getCase(coup).setOccupe(joueurActuel);
+    /**
+     * Indique si un enfant est prouvé perdant pour le joueur au trait dans son parent.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud le parent.
+     * @param enfant l'enfant.
+     * @return true si l'adversaire gagne à coup sûr après ce coup.
+     */
+    protected static boolean estPerdant(ArbreCompact arbre, int noeud, int enfant) {
+        return arbre.getGagnantProuve(enfant) == EtatCase.opposite(arbre.getJoueur(noeud));
+    }
 
-            /* System.out.println("iteration "+joueurActuel+"============");
-            simulationGrille.afficherGrille();
-            System.out.println("est ce que "+joueurActuel+" a gagné? "+ simulationGrille.verifierVictoire(joueurActuel));
-            System.out.println("est ce que "+EtatCase.opposite(joueurActuel)+" a gagné? "+ simulationGrille.verifierVictoire(EtatCase.opposite(joueurActuel)));
-             */
-            joueurActuel = EtatCase.opposite(joueurActuel);
+    /**
+     * Retourne un enfant prouvé gagnant pour le joueur au trait dans le nœud.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud le nœud.
+     * @return l'enfant gagnant, ou {@link ArbreCompact#AUCUN} s'il n'y en a pas.
+     */
+    protected static int enfantGagnant(ArbreCompact arbre, int noeud) {
+        EtatCase joueur = arbre.getJoueur(noeud);
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (arbre.getGagnantProuve(enfant) == joueur) return enfant;
         }
+        return ArbreCompact.AUCUN;
+    }
 
-        /* System.out.println("================= fin de la simulation  =================\n");
-        System.out.println("est ce que "+joueurOriginal+" a gagné? "+ simulationGrille.verifierVictoire(joueurOriginal));
-        System.out.println("est ce que opponent "+EtatCase.opposite(joueurOriginal)+" a gagné? "+ simulationGrille.verifierVictoire(EtatCase.opposite(joueurOriginal)));
-        simulationGrille.afficherGrille(); */
-       
+    /**
+     * Lance {@link #getPlayoutsParFeuille()} simulations depuis un même nœud. Le lot est
+     * découpé en autant de morceaux que de threads configurés ; chaque morceau utilise son
+     * propre générateur et le moteur de simulation de son thread.
+     *
+     * @param arbre l'arbre de recherche.
+     * @param noeud Le nœud à partir duquel les simulations démarrent.
+     * @param plateau le plateau de travail, dans l'état du nœud (non modifié).
+     * @param joueurOriginal La couleur du joueur d'origine pour la simulation.
+     * @return le nombre de simulations gagnées par le joueur d'origine.
+     */
+    protected int simulerLot(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+        if (arbre.estTerminal(noeud)) {
+            return plateau.verifierVictoire(joueurOriginal) ? playoutsParFeuille : 0;
+        }
 
-        // Détermine le résultat de la simulation
-        if (simulationGrille.verifierVictoire(joueurOriginal)) {
-            //System.out.println("==== Return +1");
-            return 1.0;  // Victoire
-        }else {
-            //System.out.println("==== Return -1");
-            return -1.0;  // Défaite
+        EtatCase joueur = arbre.getJoueur(noeud);
+        if (lots.length <= 1) {
+            MoteurSimulation moteur = MoteurSimulation.courant();
+            int victoires = 0;
+            for (int i = 0; i < playoutsParFeuille; i++) {
+                if (moteur.simuler(plateau, joueur, random) == joueurOriginal) victoires++;
+            }
+            return victoires;
         }
+
+        return lancerLots(plateau, joueur, joueurOriginal, false);
     }
 
     /**
-     * Rétropropagation du résultat de la simulation à travers l'arbre.
+     * Indique si les lots de simulations sont répartis entre plusieurs threads.
      *
+     * @return true si plus d'un morceau de lot est configuré.
+     */
+    protected boolean lotsParalleles() {
+        return lots.length > 1;
+    }
+
+    /**
+     * Répartit {@link #getPlayoutsParFeuille()} simulations entre les morceaux du lot et les
+     * exécute sur le pool de la recherche, jusqu'à la fin du dernier morceau.
+     *
+     * @param plateau le plateau de départ des simulations (non modifié).
+     * @param joueur la couleur qui joue en premier dans les simulations.
+     * @param joueurOriginal la couleur dont on compte les victoires.
+     * @param conserverPierres true pour garder les pierres de chaque simulation (voir {@link LotSimulations#getPierres}).
+     * @return le nombre de simulations gagnées par le joueur d'origine.
+     */
+    int lancerLots(PlateauBitboard plateau, EtatCase joueur, EtatCase joueurOriginal, boolean conserverPierres) {
+        for (int i = 0; i < lots.length; i++) {
+            // Répartit le reste de la division sur les premiers morceaux
+            int taille = playoutsParFeuille / lots.length + (i < playoutsParFeuille % lots.length ? 1 : 0);
+            lots[i].preparer(plateau, joueur, joueurOriginal, taille, conserverPierres);
+        }
+        int victoires = 0;
+        try {
+            for (Future<Integer> resultat : pool.invokeAll(Arrays.asList(lots))) {
+                victoires += resultat.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulations interrompues", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un lot de simulations", e.getCause());
+        }
+        return victoires;
+    }
+
+    /**
+     * Retourne les morceaux du lot de simulations, à lire après {@link #lancerLots}.
+     *
+     * @return les morceaux du lot.
+     */
+    LotSimulations[] getLots() {
+        return lots;
+    }
+
+    /**
+     * Rétropropagation du résultat agrégé d'un lot de simulations.
+     *
+     * @param arbre l'arbre de recherche.
      * @param noeud Le nœud à partir duquel commencer la rétropropagation.
-     * @param resultat Le résultat de la simulation (score positif pour victoire, négatif pour défaite).
+     * @param victoires Le nombre de simulations gagnées par le joueur d'origine.
+     * @param simulations Le nombre total de simulations du lot.
      */
-    protected void retropropager(Noeud noeud, double resultat) {
-        while (noeud != null) {
-            if ( resultat > 0){
-                noeud.addWins(resultat);
+    protected void retropropager(ArbreCompact arbre, int noeud, int victoires, int simulations) {
+        propagerPreuve(arbre, noeud);
+        while (noeud != ArbreCompact.AUCUN) {
+            arbre.ajouterVictoires(noeud, victoires);
+            arbre.ajouterDefaites(noeud, simulations - victoires);
+            arbre.ajouterVisites(noeud, simulations);
+            noeud = arbre.getParent(noeud);
+        }
+    }
+
+    /**
+     * Morceau d'un lot de simulations, exécuté sur le pool fork-join.
+     * Réutilisé d'une itération à l'autre. Sur demande, il garde les pierres de chaque
+     * simulation et son résultat, pour que RAVE les exploite dans le thread de la recherche.
+     */
+    static final class LotSimulations implements Callable<Integer> {
+
+        private final RandomGenerator random;
+        private PlateauBitboard plateau;
+        private EtatCase joueur;
+        private EtatCase joueurOriginal;
+        private int simulations;
+        private boolean conserverPierres;
+        private long[][] bleues = new long[0][];
+        private long[][] rouges = new long[0][];
+        private boolean[] gagnees = new boolean[0];
+
+        LotSimulations(RandomGenerator random) {
+            this.random = random;
+        }
+
+        void preparer(PlateauBitboard plateau, EtatCase joueur, EtatCase joueurOriginal, int simulations,
+                      boolean conserverPierres) {
+            this.plateau = plateau;
+            this.joueur = joueur;
+            this.joueurOriginal = joueurOriginal;
+            this.simulations = simulations;
+            this.conserverPierres = conserverPierres;
+            int mots = plateau.getPierres(EtatCase.BLEU).length;
+            if (conserverPierres && (bleues.length < simulations || bleues[0].length != mots)) {
+                bleues = new long[simulations][mots];
+                rouges = new long[simulations][mots];
+                gagnees = new boolean[simulations];
             }
-            else{
-                noeud.addLosses(-resultat);
+        }
+
+        // nombre de simulations du dernier lot
+        int getSimulations() {
+            return simulations;
+        }
+
+        // pierres d'une couleur à la fin d'une simulation du dernier lot (si conservées)
+        long[] getPierres(int simulation, EtatCase couleur) {
+            return couleur == EtatCase.BLEU ? bleues[simulation] : rouges[simulation];
+        }
+
+        // vrai si la simulation du dernier lot a été gagnée par le joueur d'origine
+        boolean estGagnee(int simulation) {
+            return gagnees[simulation];
+        }
+
+        @Override
+        public Integer call() {
+            MoteurSimulation moteur = MoteurSimulation.courant();
+            int victoires = 0;
+            for (int i = 0; i < simulations; i++) {
+                boolean gagnee = moteur.simuler(plateau, joueur, random) == joueurOriginal;
+                if (gagnee) victoires++;
+                if (conserverPierres) {
+                    long[] bleu = moteur.getPierres(EtatCase.BLEU);
+                    long[] rouge = moteur.getPierres(EtatCase.ROUGE);
+                    System.arraycopy(bleu, 0, bleues[i], 0, bleues[i].length);
+                    System.arraycopy(rouge, 0, rouges[i], 0, rouges[i].length);
+                    gagnees[i] = gagnee;
+                }
             }
-            noeud.incrementVisits();
-            noeud = noeud.getParent();
+            return victoires;
         }
     }
-    
-  
 
-    
-    
-    
-}
\ No newline at end of file
+
+    /**
+     * Variante de {@link #selectionner(ArbreCompact, int, PlateauBitboard)} sur un nœud objet.
+     *
+     * @param noeud Le nœud de départ pour la sélection.
+     * @return Le nœud sélectionné.
+     */
+    protected Noeud selectionner(Noeud noeud) {
+        ArbreCompact a = noeud.getArbre();
+        return a.noeud(selectionner(a, noeud.getIndex(), a.rejouer(noeud.getIndex())));
+    }
+
+    /**
+     * Variante de {@link #developper(ArbreCompact, int, PlateauBitboard)} sur un nœud objet.
+     *
+     * @param noeud Le nœud à développer.
+     */
+    protected void developper(Noeud noeud) {
+        ArbreCompact a = noeud.getArbre();
+        developper(a, noeud.getIndex(), a.rejouer(noeud.getIndex()));
+    }
+
+    /**
+     * Variante de {@link #simuler(ArbreCompact, int, PlateauBitboard, EtatCase)} sur un nœud objet.
+     *
+     * @param noeud Le nœud à partir duquel la simulation démarre.
+     * @param joueurOriginal La couleur du joueur d'origine pour la simulation.
+     * @return Un score (1.0 pour victoire, -1.0 pour défaite).
+     */
+    protected double simuler(Noeud noeud, EtatCase joueurOriginal) {
+        ArbreCompact a = noeud.getArbre();
+        return simuler(a, noeud.getIndex(), a.rejouer(noeud.getIndex()), joueurOriginal);
+    }
+
+    /**
+     * Variante de {@link #retropropager(ArbreCompact, int, double)} sur un nœud objet.
+     *
+     * @param noeud Le nœud à partir duquel commencer la rétropropagation.
+     * @param resultat Le résultat de la simulation.
+     */
+    protected void retropropager(Noeud noeud, double resultat) {
+        retropropager(noeud.getArbre(), noeud.getIndex(), resultat);
+    }
+}
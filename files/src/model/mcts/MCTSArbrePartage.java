@@ -0,0 +1,368 @@
+package model.mcts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+import config.Constants;
+import model.Case;
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.aleatoire.Aleatoire;
+import model.plateau.PlateauBitboard;
+
+/**
+ * Recherche MCTS (ou RAVE) parallélisée dans l'arbre.
+ *
+ * Tous les threads descendent le même {@link ArbreConcurrent} : la sélection ajoute une perte
+ * virtuelle aux nœuds traversés pour écarter les autres threads du même chemin, le
+ * développement réserve et publie les nouveaux enfants sans verrou, et la rétropropagation
+ * met à jour des compteurs atomiques. Une seule décision de coup profite ainsi de tous les
+ * cœurs avec un seul arbre, contrairement à {@link MCTSParallele}.
+ *
+ * Les formules de sélection et de choix du coup sont celles de {@link MCTS} et {@link RAVE}.
+ * Les threads sont ceux d'un pool fork-join propre à la recherche, comme pour
+ * {@link MCTSParallele}. Chaque recherche est limitée par le budget d'itérations, par un
+ * temps par coup ou par une pendule de partie ; l'arbre est reconstruit à chaque coup.
+ */
+public class MCTSArbrePartage {
+
+    /** Secondes d'inactivité après lesquelles les threads du pool sont libérés. */
+    private static final long INACTIVITE_POOL_S = 2;
+    /** Nombre d'itérations d'un thread entre deux lectures de l'horloge. */
+    private static final int PERIODE_HORLOGE = 16;
+    /** Capacité de l'arbre d'une recherche limitée en temps ; une fois plein, l'arbre n'est plus développé. */
+    private static final int CAPACITE_RECHERCHE_EN_TEMPS = 1 << 18;
+
+    private final int iterationBudget;
+    private final int nombreThreads;
+    private final boolean rave;
+    private final boolean experimentation;
+    private final ForkJoinPool pool;
+    private SplittableRandom maitre = new SplittableRandom();
+    private long tempsParCoupMs;
+    private GestionTemps horloge;
+    private int iterationsDernierCoup;
+    private int visitesCoupChoisi;
+    private long iterationsTotales;
+    private int nombreRecherches;
+
+    /**
+     * Crée une recherche parallèle dans un arbre partagé.
+     *
+     * @param iterationBudget le nombre total d'itérations, tous threads confondus.
+     * @param nombreThreads le nombre de threads qui développent l'arbre.
+     * @param rave true pour la sélection et les statistiques RAVE, false pour MCTS.
+     * @param experimentation true pour désactiver les affichages.
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif.
+     */
+    public MCTSArbrePartage(int iterationBudget, int nombreThreads, boolean rave, boolean experimentation) {
+        if (nombreThreads <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads doit être strictement positif : " + nombreThreads);
+        }
+        this.iterationBudget = iterationBudget;
+        this.nombreThreads = nombreThreads;
+        this.rave = rave;
+        this.experimentation = experimentation;
+        // Threads créés à la demande et libérés quand le joueur ne cherche plus
+        this.pool = new ForkJoinPool(nombreThreads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                                     0, nombreThreads, 1, null, INACTIVITE_POOL_S, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Retourne le nombre total d'itérations alloué à chaque recherche.
+     *
+     * @return le budget d'itération
+     */
+    public int getIterationBudget() { return this.iterationBudget; }
+
+    /**
+     * Retourne le nombre de threads qui développent l'arbre.
+     *
+     * @return le nombre de threads
+     */
+    public int getNombreThreads() { return this.nombreThreads; }
+
+    /**
+     * Limite chaque recherche à un temps fixe : tous les threads développent l'arbre pendant ce temps.
+     *
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes, 0 pour revenir au budget d'itérations.
+     * @throws IllegalArgumentException si le temps est négatif.
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        if (tempsParCoupMs < 0) {
+            throw new IllegalArgumentException("Le temps par coup ne peut pas être négatif : " + tempsParCoupMs);
+        }
+        this.tempsParCoupMs = tempsParCoupMs;
+    }
+
+    /**
+     * Associe une pendule de partie à la recherche (voir {@link MCTS#setHorloge(GestionTemps)}).
+     *
+     * @param horloge la pendule, ou null.
+     */
+    public void setHorloge(GestionTemps horloge) {
+        this.horloge = horloge;
+    }
+
+    /**
+     * Retourne le nombre d'itérations réalisées lors de la dernière recherche, tous threads confondus.
+     *
+     * @return le nombre d'itérations du dernier coup
+     */
+    public int getIterationsDernierCoup() { return this.iterationsDernierCoup; }
+
+    /**
+     * Retourne le nombre de visites du coup choisi à la dernière recherche.
+     *
+     * @return les visites du coup joué au dernier coup
+     */
+    public int getVisitesCoupChoisi() { return this.visitesCoupChoisi; }
+
+    /**
+     * Retourne le nombre moyen d'itérations réalisées par recherche, tous threads confondus.
+     *
+     * @return la moyenne, 0 si aucune recherche n'a eu lieu
+     */
+    public double getIterationsMoyennesParCoup() {
+        return nombreRecherches == 0 ? 0 : (double) iterationsTotales / nombreRecherches;
+    }
+
+    /**
+     * Réinitialise le générateur dont sont dérivés ceux des threads. L'entrelacement des
+     * threads restant libre, seule une recherche sur un thread est exactement reproductible.
+     *
+     * @param graine la graine.
+     */
+    public void setGraine(long graine) {
+        this.maitre = new SplittableRandom(graine);
+    }
+
+    /**
+     * Trouve le meilleur coup à partir d'un état donné. Avec une limite de temps, chaque
+     * thread s'arrête à l'échéance et le budget d'itérations est ignoré.
+     *
+     * @param grille  L'état actuel du jeu (lu par tous les threads, non modifié).
+     * @param couleur La couleur du joueur qui doit jouer.
+     * @return Le meilleur coup trouvé, ou null si aucun coup n'est possible.
+     */
+    public Position trouverMeilleurCoup(Grille grille, Case.EtatCase couleur) {
+        long startTime = System.currentTimeMillis();
+
+        long tempsAlloue = (horloge != null) ? horloge.allouer(grille.getPlateau().nombreCasesLibres()) : tempsParCoupMs;
+        long echeance = startTime + tempsAlloue;
+        PlateauBitboard plateauRacine = grille.getPlateau().copie();
+        // Au plus un nœud créé par itération
+        ArbreConcurrent arbre = new ArbreConcurrent((tempsAlloue > 0 ? CAPACITE_RECHERCHE_EN_TEMPS : iterationBudget) + 1);
+        int racine = arbre.allouer(ArbreConcurrent.AUCUN, ArbreConcurrent.AUCUN, couleur,
+                                   plateauRacine.estTerminee(), plateauRacine.nombreCasesLibres(),
+                                   maitre.nextInt(Integer.MAX_VALUE));
+
+        AtomicInteger iterationsRestantes = new AtomicInteger(tempsAlloue > 0 ? Integer.MAX_VALUE : iterationBudget);
+        List<Callable<Integer>> taches = new ArrayList<>(nombreThreads);
+        for (int t = 0; t < nombreThreads; t++) {
+            Travailleur travailleur = new Travailleur(arbre, racine, plateauRacine, couleur, Aleatoire.creer(maitre.nextLong()));
+            taches.add(() -> {
+                int iterations = 0;
+                while (iterationsRestantes.getAndDecrement() > 0) {
+                    if (tempsAlloue > 0 && iterations % PERIODE_HORLOGE == 0
+                            && System.currentTimeMillis() >= echeance) break;
+                    travailleur.iterer();
+                    iterations++;
+                }
+                return iterations;
+            });
+        }
+        List<Future<Integer>> resultats = pool.invokeAll(taches);
+        int iterations = 0;
+        try {
+            for (Future<Integer> resultat : resultats) {
+                iterations += resultat.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche parallèle interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un thread de la recherche parallèle", e.getCause());
+        }
+        if (horloge != null) horloge.consommer(System.currentTimeMillis() - startTime);
+        iterationsDernierCoup = iterations;
+        iterationsTotales += iterations;
+        nombreRecherches++;
+
+        int meilleur = bestMove(arbre, racine);
+        if (meilleur == ArbreConcurrent.AUCUN) {
+            return null;
+        }
+        Position coup = plateauRacine.getTopologie().getPosition(arbre.getCoup(meilleur));
+        visitesCoupChoisi = arbre.getVisites(meilleur);
+
+        if ( experimentation == false ){
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            System.out.println("\nBest move : " + coup + " | Visits = " + arbre.getVisites(meilleur)
+                               + " avec " + iterations + " itérations sur " + nombreThreads + " threads");
+            System.out.println("Meilleur coup trouvé après " + elapsedTime + " millisecondes.");
+        }
+        return coup;
+    }
+
+    // renvoie l'enfant de la racine au meilleur ratio (MCTS) ou à la meilleure valeur combinée (RAVE)
+    private int bestMove(ArbreConcurrent arbre, int racine) {
+        int meilleur = ArbreConcurrent.AUCUN;
+        double meilleurScore = 0;
+        for (int enfant = arbre.getPremierEnfant(racine); enfant != ArbreConcurrent.AUCUN; enfant = arbre.getFrere(enfant)) {
+            double score = rave ? arbre.valeurCombinee(enfant) : arbre.ratio(enfant);
+            if (meilleur == ArbreConcurrent.AUCUN || score > meilleurScore) {
+                meilleur = enfant;
+                meilleurScore = score;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * État propre à un thread : plateau de travail, générateur et tampons.
+     */
+    private final class Travailleur {
+
+        private final ArbreConcurrent arbre;
+        private final int racine;
+        private final PlateauBitboard plateau;
+        private final EtatCase joueurOriginal;
+        private final RandomGenerator random;
+        private final int[] libres;
+
+        Travailleur(ArbreConcurrent arbre, int racine, PlateauBitboard plateauRacine,
+                    EtatCase joueurOriginal, RandomGenerator random) {
+            this.arbre = arbre;
+            this.racine = racine;
+            this.plateau = plateauRacine.copie();
+            this.joueurOriginal = joueurOriginal;
+            this.random = random;
+            this.libres = new int[plateauRacine.getNombreCellules()];
+        }
+
+        /**
+         * Une itération complète : sélection, développement, simulation, rétropropagation.
+         */
+        void iterer() {
+            plateau.annulerJusqua(0);
+
+            // 1. Sélection, avec perte virtuelle sur chaque nœud traversé
+            int noeud = racine;
+            while (!arbre.estTerminal(noeud) && arbre.estDeveloppe(noeud)) {
+                int enfant = bestChild(noeud);
+                if (enfant == noeud) break;
+                plateau.jouer(arbre.getCoup(enfant), arbre.getJoueur(noeud));
+                arbre.ajouterPerteVirtuelle(enfant);
+                noeud = enfant;
+            }
+
+            // 2. Développement
+            if (arbre.getVisites(noeud) > 0) {
+                int enfant = developper(noeud);
+                if (enfant != ArbreConcurrent.AUCUN) {
+                    arbre.ajouterPerteVirtuelle(enfant);
+                    noeud = enfant;
+                }
+            }
+
+            // 3. Simulation
+            boolean victoire = simuler(noeud);
+
+            // 4. Rétropropagation (la racine ne reçoit jamais de perte virtuelle)
+            for (int n = noeud; n != ArbreConcurrent.AUCUN; n = arbre.getParent(n)) {
+                arbre.enregistrer(n, victoire, n != racine);
+            }
+        }
+
+        // renvoie l'enfant qui maximise UCT (MCTS) ou la valeur combinée + exploration (RAVE)
+        private int bestChild(int noeud) {
+            if (arbre.estFeuille(noeud)) {
+                return noeud;
+            }
+            int meilleurEnfant = ArbreConcurrent.AUCUN;
+            double meilleurScore = -Double.MAX_VALUE;
+            double logN = Math.log(arbre.getVisites(noeud) + arbre.getPertesVirtuelles(noeud));
+            for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreConcurrent.AUCUN; enfant = arbre.getFrere(enfant)) {
+                double score;
+                if (rave) {
+                    int n = arbre.getVisites(enfant) + arbre.getPertesVirtuelles(enfant);
+                    score = arbre.valeurCombinee(enfant)
+                            + Constants.EPLOITATION_EXPLORATION_CONSTANT * Math.sqrt(logN / (n + 1));
+                } else {
+                    score = arbre.uct(enfant);
+                }
+                if (score > meilleurScore) {
+                    meilleurScore = score;
+                    meilleurEnfant = enfant;
+                }
+            }
+            return meilleurEnfant;
+        }
+
+        // réserve un coup non exploré, le joue et publie l'enfant correspondant
+        private int developper(int noeud) {
+            if (arbre.estTerminal(noeud)) {
+                return ArbreConcurrent.AUCUN;
+            }
+            int rang = arbre.reserverCoup(noeud);
+            if (rang == ArbreConcurrent.AUCUN) {
+                return ArbreConcurrent.AUCUN;
+            }
+            // Les cases libres du nœud, parcourues à partir d'un décalage propre au nœud :
+            // chaque rang réservé désigne une case différente
+            int n = plateau.casesLibres(libres);
+            int coup = libres[(int) ((arbre.getDecalage(noeud) + (long) rang) % n)];
+
+            EtatCase joueur = arbre.getJoueur(noeud);
+            plateau.jouer(coup, joueur);
+            int enfant = arbre.allouer(noeud, coup, EtatCase.opposite(joueur),
+                                       plateau.estTerminee(), plateau.nombreCasesLibres(),
+                                       random.nextInt(Integer.MAX_VALUE));
+            if (enfant == ArbreConcurrent.AUCUN) {
+                // Arbre plein : on simule depuis le nœud lui-même
+                plateau.annuler();
+                return ArbreConcurrent.AUCUN;
+            }
+            arbre.publier(noeud, enfant);
+            return enfant;
+        }
+
+        // simulation aléatoire ; en RAVE, met aussi à jour les statistiques AMAF
+        private boolean simuler(int noeud) {
+            if (arbre.estTerminal(noeud)) {
+                return plateau.verifierVictoire(joueurOriginal);
+            }
+            MoteurSimulation moteur = MoteurSimulation.courant();
+            boolean victoire = moteur.simuler(plateau, arbre.getJoueur(noeud), random) == joueurOriginal;
+
+            if (rave) {
+                mettreAJourRave(noeud, moteur, victoire);
+            }
+            return victoire;
+        }
+
+        // crédite, de la feuille vers la racine, les enfants dont la case a été prise ensuite
+        // par le joueur au trait dans leur parent (dans le chemin ou pendant la simulation)
+        private void mettreAJourRave(int noeud, MoteurSimulation moteur, boolean victoire) {
+            for (int n = noeud; n != ArbreConcurrent.AUCUN; n = arbre.getParent(n)) {
+                long[] jouees = moteur.getPierres(arbre.getJoueur(n));
+                for (int enfant = arbre.getPremierEnfant(n); enfant != ArbreConcurrent.AUCUN; enfant = arbre.getFrere(enfant)) {
+                    int coup = arbre.getCoup(enfant);
+                    if ((jouees[coup >>> 6] & (1L << coup)) != 0) {
+                        arbre.enregistrerRave(enfant, victoire);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package model.mcts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import model.Case;
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.aleatoire.Aleatoire;
+
+/**
+ * Recherche MCTS (ou RAVE) parallélisée à la racine.
+ *
+ * Plusieurs arbres indépendants sont développés en même temps sur un pool fork-join propre à
+ * la recherche, d'autant de threads que d'arbres, chacun avec son propre générateur (voir
+ * {@link Aleatoire}). Le budget d'itérations est réparti exactement entre les arbres ; une fois la recherche terminée, les statistiques des enfants
+ * de chaque racine (visites, victoires, défaites, statistiques RAVE) sont additionnées coup
+ * par coup et le meilleur coup est choisi sur ces statistiques fusionnées.
+ */
+public class MCTSParallele {
+
+    /** Secondes d'inactivité après lesquelles les threads du pool sont libérés. */
+    private static final long INACTIVITE_POOL_S = 2;
+
+    private final MCTS[] arbres;
+    private final ForkJoinPool pool;
+    private final int iterationBudget;
+    private final boolean experimentation;
+    private long tempsParCoupMs;
+    private GestionTemps horloge;
+    private int iterationsDernierCoup;
+    private int visitesCoupChoisi;
+    private long iterationsTotales;
+    private int nombreRecherches;
+
+    /**
+     * Crée une recherche parallèle à la racine.
+     *
+     * @param iterationBudget le nombre total d'itérations, réparti entre les arbres.
+     * @param nombreArbres le nombre d'arbres indépendants, et de threads qui les développent.
+     * @param rave true pour développer des arbres RAVE, false pour des arbres MCTS.
+     * @param experimentation true pour désactiver les affichages.
+     * @throws IllegalArgumentException si le nombre d'arbres n'est pas strictement positif.
+     */
+    public MCTSParallele(int iterationBudget, int nombreArbres, boolean rave, boolean experimentation) {
+        if (nombreArbres <= 0) {
+            throw new IllegalArgumentException("Le nombre d'arbres doit être strictement positif : " + nombreArbres);
+        }
+        this.iterationBudget = iterationBudget;
+        this.experimentation = experimentation;
+        this.arbres = new MCTS[nombreArbres];
+
+        // Les premiers arbres reçoivent une itération de plus : la somme vaut exactement le budget
+        SplittableRandom maitre = new SplittableRandom();
+        for (int i = 0; i < nombreArbres; i++) {
+            int budgetParArbre = iterationBudget / nombreArbres + (i < iterationBudget % nombreArbres ? 1 : 0);
+            arbres[i] = rave ? new RAVE(budgetParArbre, true) : new MCTS(budgetParArbre, true);
+            arbres[i].setRandom(Aleatoire.creer(maitre.nextLong()));
+        }
+        // Threads créés à la demande et libérés quand le joueur ne cherche plus
+        this.pool = new ForkJoinPool(nombreArbres, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                                     0, nombreArbres, 1, null, INACTIVITE_POOL_S, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Retourne le nombre total d'itérations alloué à chaque recherche.
+     *
+     * @return le budget d'itération
+     */
+    public int getIterationBudget() { return this.iterationBudget; }
+
+    /**
+     * Retourne le nombre d'arbres développés en parallèle.
+     *
+     * @return le nombre d'arbres
+     */
+    public int getNombreArbres() { return this.arbres.length; }
+
+    /**
+     * Limite chaque recherche à un temps fixe : tous les arbres sont développés pendant ce temps.
+     *
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes, 0 pour revenir au budget d'itérations.
+     * @throws IllegalArgumentException si le temps est négatif.
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        if (tempsParCoupMs < 0) {
+            throw new IllegalArgumentException("Le temps par coup ne peut pas être négatif : " + tempsParCoupMs);
+        }
+        this.tempsParCoupMs = tempsParCoupMs;
+    }
+
+    /**
+     * Associe une pendule de partie à la recherche (voir {@link MCTS#setHorloge(GestionTemps)}).
+     *
+     * @param horloge la pendule, ou null.
+     */
+    public void setHorloge(GestionTemps horloge) {
+        this.horloge = horloge;
+    }
+
+    /**
+     * Retourne le nombre d'itérations réalisées lors de la dernière recherche, tous arbres confondus.
+     *
+     * @return le nombre d'itérations du dernier coup
+     */
+    public int getIterationsDernierCoup() { return this.iterationsDernierCoup; }
+
+    /**
+     * Retourne le nombre de visites, cumulées sur tous les arbres, du coup choisi à la dernière recherche.
+     *
+     * @return les visites du coup joué au dernier coup
+     */
+    public int getVisitesCoupChoisi() { return this.visitesCoupChoisi; }
+
+    /**
+     * Retourne le nombre moyen d'itérations réalisées par recherche, tous arbres confondus.
+     *
+     * @return la moyenne, 0 si aucune recherche n'a eu lieu
+     */
+    public double getIterationsMoyennesParCoup() {
+        return nombreRecherches == 0 ? 0 : (double) iterationsTotales / nombreRecherches;
+    }
+
+    /**
+     * Retourne le nombre moyen de visites conservées d'un coup à l'autre, tous arbres confondus.
+     *
+     * @return la moyenne, 0 si aucune recherche n'a eu lieu
+     */
+    public double getVisitesConserveesMoyennesParCoup() {
+        double total = 0;
+        for (MCTS mcts : arbres) {
+            total += mcts.getVisitesConserveesMoyennesParCoup();
+        }
+        return total;
+    }
+
+    /**
+     * Réinitialise les générateurs de tous les arbres à partir d'une graine, pour une
+     * recherche reproductible (à budget d'itérations fixe).
+     *
+     * @param graine la graine.
+     */
+    public void setGraine(long graine) {
+        SplittableRandom maitre = new SplittableRandom(graine);
+        for (MCTS mcts : arbres) {
+            mcts.setRandom(Aleatoire.creer(maitre.nextLong()));
+        }
+    }
+
+    /**
+     * Transmet un coup joué (la réponse de l'adversaire) à chaque arbre : voir {@link MCTS#notifyMove}.
+     *
+     * @param coup la position jouée.
+     * @param couleur la couleur qui a joué.
+     */
+    public void notifyMove(Position coup, EtatCase couleur) {
+        for (MCTS mcts : arbres) {
+            mcts.notifyMove(coup, couleur);
+        }
+    }
+
+    /**
+     * Trouve le meilleur coup à partir d'un état donné en développant tous les arbres en parallèle.
+     *
+     * @param grille  L'état actuel du jeu (lu par toutes les tâches, non modifié).
+     * @param couleur La couleur du joueur qui doit jouer.
+     * @return Le meilleur coup trouvé, ou null si aucun coup n'est possible.
+     */
+    public Position trouverMeilleurCoup(Grille grille, Case.EtatCase couleur) {
+        long startTime = System.currentTimeMillis();
+
+        long tempsAlloue = (horloge != null) ? horloge.allouer(grille.getPlateau().nombreCasesLibres()) : tempsParCoupMs;
+        List<Callable<Integer>> taches = new ArrayList<>(arbres.length);
+        for (MCTS mcts : arbres) {
+            if (tempsAlloue > 0) {
+                taches.add(() -> mcts.rechercher(grille, couleur, Integer.MAX_VALUE, tempsAlloue));
+            } else {
+                taches.add(() -> mcts.rechercher(grille, couleur, mcts.getIterationBudget()));
+            }
+        }
+        int[] racines = new int[arbres.length];
+        List<Future<Integer>> resultats = pool.invokeAll(taches);
+        try {
+            for (int i = 0; i < arbres.length; i++) {
+                racines[i] = resultats.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche parallèle interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un arbre de la recherche parallèle", e.getCause());
+        }
+        if (horloge != null) horloge.consommer(System.currentTimeMillis() - startTime);
+        iterationsDernierCoup = 0;
+        for (MCTS mcts : arbres) {
+            iterationsDernierCoup += mcts.getIterationsDernierCoup();
+        }
+        iterationsTotales += iterationsDernierCoup;
+        nombreRecherches++;
+
+        // Fusion des statistiques des enfants de chaque racine, coup par coup
+        ArbreCompact fusion = new ArbreCompact(grille, couleur);
+        int racine = fusion.getRacine();
+        int[] enfantParCoup = new int[grille.getPlateau().getNombreCellules()];
+        Arrays.fill(enfantParCoup, ArbreCompact.AUCUN);
+        int coupsRestants = grille.getPlateau().nombreCasesLibres() - 1;
+        for (int i = 0; i < arbres.length; i++) {
+            ArbreCompact arbre = arbres[i].getArbre();
+            fusion.ajouterVisites(racine, arbre.getVisites(racines[i]));
+            for (int e = arbre.getPremierEnfant(racines[i]); e != ArbreCompact.AUCUN; e = arbre.getFrere(e)) {
+                int coup = arbre.getCoup(e);
+                int cible = enfantParCoup[coup];
+                if (cible == ArbreCompact.AUCUN) {
+                    cible = fusion.ajouterEnfant(racine, coup, EtatCase.opposite(couleur),
+                                                 arbre.estTerminal(e), coupsRestants);
+                    enfantParCoup[coup] = cible;
+                }
+                fusion.ajouterVisites(cible, arbre.getVisites(e));
+                fusion.ajouterVictoires(cible, arbre.getVictoires(e));
+                fusion.ajouterDefaites(cible, arbre.getDefaites(e));
+                fusion.ajouterVisitesRave(cible, arbre.getVisitesRave(e));
+                fusion.ajouterVictoiresRave(cible, arbre.getVictoiresRave(e));
+                if (arbre.estProuve(e)) {
+                    fusion.setGagnantProuve(cible, arbre.getGagnantProuve(e));
+                }
+            }
+        }
+
+        int meilleur = arbres[0].bestMove(fusion, racine);
+        if (meilleur == ArbreCompact.AUCUN) {
+            return null;
+        }
+        int coup = fusion.getCoup(meilleur);
+        visitesCoupChoisi = fusion.getVisites(meilleur);
+
+        // Chaque arbre conserve le sous-arbre du coup choisi, s'il l'a exploré
+        for (int i = 0; i < arbres.length; i++) {
+            ArbreCompact arbre = arbres[i].getArbre();
+            for (int e = arbre.getPremierEnfant(racines[i]); e != ArbreCompact.AUCUN; e = arbre.getFrere(e)) {
+                if (arbre.getCoup(e) == coup) {
+                    arbres[i].updateRootAfterMove(arbre, e);
+                    break;
+                }
+            }
+        }
+
+        if ( experimentation == false ){
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            System.out.println("\nBest move : " + fusion.noeud(meilleur) + " avec " + iterationsDernierCoup
+                               + " itérations sur " + arbres.length + " arbres");
+            System.out.println("Meilleur coup trouvé après " + elapsedTime + " millisecondes.");
+        }
+
+        return fusion.position(coup);
+    }
+}
@@ -0,0 +1,139 @@
+package model.mcts;
+
+import java.util.random.RandomGenerator;
+
+import model.Case.EtatCase;
+import model.aleatoire.Aleatoire;
+import model.plateau.PlateauBitboard;
+import model.plateau.Topologie;
+
+/**
+ * Moteur de simulation aléatoire (playout) sans allocation.
+ *
+ * Une simulation remplit toutes les cases libres dans un ordre tiré au hasard (mélange de
+ * Fisher–Yates des numéros de cellules libres), les joueurs alternant à partir du joueur
+ * courant. Hex n'admettant pas de match nul, il n'est pas nécessaire de tester la fin de
+ * partie à chaque coup : un seul parcours de connexité sur le plateau plein désigne le gagnant.
+ *
+ * Le plateau rempli et l'ordre des coups de la dernière simulation restent consultables
+ * (voir {@link #getPierres} et {@link #getCoups()}) : RAVE y lit, par de simples tests de
+ * bits, quelles cellules chaque couleur a jouées.
+ *
+ * Chaque thread dispose de sa propre instance (voir {@link #courant()}) dont les tampons sont
+ * réutilisés d'une simulation à l'autre : après le premier appel pour une taille donnée,
+ * une simulation n'alloue plus rien sur le tas.
+ */
+public final class MoteurSimulation {
+
+    private static final ThreadLocal<MoteurSimulation> PAR_THREAD =
+        ThreadLocal.withInitial(MoteurSimulation::new);
+
+    private long[] bleu = new long[0];
+    private long[] rouge = new long[0];
+    private long[] atteint = new long[0];
+    private long[] frontiere = new long[0];
+    private int[] coups = new int[0];
+    private int nombreCoups;
+
+    private MoteurSimulation() {
+    }
+
+    /**
+     * Retourne le moteur de simulation propre au thread appelant.
+     *
+     * @return l'instance réutilisable du thread courant.
+     */
+    public static MoteurSimulation courant() {
+        return PAR_THREAD.get();
+    }
+
+    /**
+     * Joue une partie aléatoire jusqu'à remplir le plateau et retourne la couleur gagnante.
+     * Le plateau de départ n'est pas modifié.
+     *
+     * @param depart le plateau à partir duquel simuler.
+     * @param joueurActuel la couleur qui joue le premier coup de la simulation.
+     * @param random le générateur aléatoire à utiliser.
+     * @return BLEU ou ROUGE, selon la couleur qui relie ses deux bords.
+     */
+    public EtatCase simuler(PlateauBitboard depart, EtatCase joueurActuel, RandomGenerator random) {
+        Topologie topologie = depart.getTopologie();
+        preparer(topologie);
+
+        int mots = topologie.getMots();
+        System.arraycopy(depart.getPierres(EtatCase.BLEU), 0, bleu, 0, mots);
+        System.arraycopy(depart.getPierres(EtatCase.ROUGE), 0, rouge, 0, mots);
+        nombreCoups = depart.getCasesLibres().copierVers(coups);
+
+        // Mélange de Fisher–Yates : coups[i] est le i-ème coup joué
+        for (int i = nombreCoups - 1; i > 0; i--) {
+            int j = Aleatoire.entier(random, i + 1);
+            int tmp = coups[i];
+            coups[i] = coups[j];
+            coups[j] = tmp;
+        }
+
+        // Les coups d'indice pair reviennent au joueur courant, les autres à son adversaire
+        long[] premier = joueurActuel == EtatCase.BLEU ? bleu : rouge;
+        long[] second = joueurActuel == EtatCase.BLEU ? rouge : bleu;
+        for (int i = 0; i < nombreCoups; i++) {
+            int cellule = coups[i];
+            long[] pierres = (i & 1) == 0 ? premier : second;
+            pierres[cellule >>> 6] |= 1L << cellule;
+        }
+
+        return PlateauBitboard.relie(topologie, bleu, EtatCase.BLEU, atteint, frontiere)
+            ? EtatCase.BLEU
+            : EtatCase.ROUGE;
+    }
+
+    /**
+     * Retourne les pierres d'une couleur sur le plateau rempli par la dernière simulation :
+     * celles du plateau de départ et celles jouées pendant la simulation.
+     * Le tableau est réutilisé par la simulation suivante.
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return le masque interne des pierres de cette couleur.
+     */
+    public long[] getPierres(EtatCase couleur) {
+        return couleur == EtatCase.BLEU ? bleu : rouge;
+    }
+
+    /**
+     * Retourne les cellules jouées lors de la dernière simulation, dans l'ordre de jeu.
+     * Les indices pairs ont été joués par le joueur qui commençait la simulation.
+     * Le tableau est réutilisé par la simulation suivante.
+     *
+     * @return le tableau interne des coups (seuls les {@link #getNombreCoups()} premiers sont valides).
+     */
+    public int[] getCoups() {
+        return coups;
+    }
+
+    /**
+     * Retourne le nombre de coups joués lors de la dernière simulation.
+     *
+     * @return le nombre de coups valides dans {@link #getCoups()}.
+     */
+    public int getNombreCoups() {
+        return nombreCoups;
+    }
+
+    /**
+     * Agrandit les tampons si nécessaire pour la topologie donnée.
+     *
+     * @param topologie la topologie du plateau simulé.
+     */
+    private void preparer(Topologie topologie) {
+        int mots = topologie.getMots();
+        if (bleu.length < mots) {
+            bleu = new long[mots];
+            rouge = new long[mots];
+            atteint = new long[mots];
+            frontiere = new long[mots];
+        }
+        if (coups.length < topologie.getNombreCellules()) {
+            coups = new int[topologie.getNombreCellules()];
+        }
+    }
+}
@@ -2,64 +2,95 @@ package model.mcts;
 
 import model.*;
 import model.Case.EtatCase;
-import config.*;
+import model.aleatoire.Aleatoire;
 import java.util.*;
 
 
 /**
  * Classe représentant un nœud de l'arbre de recherche MCTS (ou RAVE).
- * 
- * Chaque nœud correspond à une position atteinte par un coup, et contient
- * les statistiques nécessaires pour guider l'exploration : victoires, pertes,
+ *
+ * Chaque nœud correspond à une position atteinte par un coup, et donne accès
+ * aux statistiques nécessaires pour guider l'exploration : victoires, pertes,
  * visites, statistiques RAVE, etc.
+ *
+ * Les données elles-mêmes sont rangées dans un {@link ArbreCompact} : un Noeud n'est
+ * qu'une vue (arbre, indice) sur l'une de ses entrées. Deux vues sur le même indice
+ * désignent donc le même nœud.
  */
 public class Noeud {
 
-    private Position move;         // Coup menant à ce nœud
-    private Noeud parent;          // Référence au parent
-    private Grille grille;
-    private Case.EtatCase joueurActuel; // Joueur qui a joué ce coup
-    private List<Noeud> enfants;   // Enfants de ce nœud
-    private int visits;            // Nombre de visites
-    private double wins;
-    private double losses;
-    private double raveVisits;
-    private double raveWins;
-
-    
+    private final ArbreCompact arbre;
+    private final int index;
+
+
     /**
      * Constructeur complet d’un nœud.
-     * 
+     *
      * @param grille la grille à cet instant de la partie
      * @param move la position jouée pour arriver à ce nœud
-     * @param parent le nœud parent
-     * @param joueurActuel le joueur ayant joué ce coup
-     * @param enfants la liste des enfants du nœud
+     * @param parent le nœud parent (null pour créer un nouvel arbre dont ce nœud est la racine)
+     * @param joueurActuel la couleur qui doit jouer dans ce nœud
+     * @param enfants les nœuds enfants à rattacher (doivent appartenir au même arbre)
      */
     public Noeud(Grille grille, Position move, Noeud parent, Case.EtatCase joueurActuel, List<Noeud> enfants) {
-        this.grille = grille;
-        this.move = move;
-        this.parent = parent;
-        this.joueurActuel = joueurActuel;
-        this.enfants = enfants;
-        this.visits = 0;
-        this.wins = 0;
-        this.losses = 0;
-        this.raveVisits = 0;
-        this.raveWins = 0;
-    }
-
-    
+        this(grille, move, parent, joueurActuel);
+        for (Noeud enfant : enfants) {
+            addEnfant(enfant);
+        }
+    }
+
+
     /**
-     * Constructeur simplifié avec une liste vide d'enfants.
-     * 
+     * Constructeur simplifié sans enfants.
+     *
+     * Sans parent, un nouvel arbre est créé avec ce nœud pour racine. Avec un parent, le nœud
+     * est alloué dans l'arbre du parent mais n'est rattaché à ses enfants que par {@link #addEnfant}.
+     *
      * @param grille la grille à cet instant de la partie
      * @param move la position jouée pour arriver à ce nœud
      * @param parent le nœud parent
-     * @param joueurActuel le joueur ayant joué ce coup
+     * @param joueurActuel la couleur qui doit jouer dans ce nœud
      */
     public Noeud(Grille grille, Position move, Noeud parent, Case.EtatCase joueurActuel) {
-        this(grille, move, parent, joueurActuel, new ArrayList<>());
+        if (parent == null) {
+            int coup = move == null ? ArbreCompact.AUCUN : grille.getPlateau().cellule(move.getX(), move.getY());
+            this.arbre = new ArbreCompact(grille, coup, joueurActuel);
+            this.index = arbre.getRacine();
+        } else {
+            this.arbre = parent.arbre;
+            this.index = arbre.allouer(parent.index, arbre.cellule(move), joueurActuel,
+                                       grille.getPlateau().estTerminee(),
+                                       grille.getPlateau().nombreCasesLibres());
+        }
+    }
+
+    /**
+     * Vue sur un nœud existant d'un arbre compact.
+     *
+     * @param arbre l'arbre contenant le nœud.
+     * @param index l'indice du nœud dans l'arbre.
+     */
+    Noeud(ArbreCompact arbre, int index) {
+        this.arbre = arbre;
+        this.index = index;
+    }
+
+    /**
+     * Retourne l'arbre compact qui contient les données de ce nœud.
+     *
+     * @return l'arbre.
+     */
+    public ArbreCompact getArbre() {
+        return arbre;
+    }
+
+    /**
+     * Retourne l'indice de ce nœud dans son arbre.
+     *
+     * @return l'indice.
+     */
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -68,7 +99,7 @@ public class Noeud {
      * @return la position du coup ayant mené à ce nœud.
      */
     public Position getMove() {
-        return move;
+        return arbre.position(arbre.getCoup(index));
     }
 
     /**
@@ -77,25 +108,32 @@ public class Noeud {
      * @return le nœud parent.
      */
     public Noeud getParent() {
-        return parent;
+        return arbre.noeud(arbre.getParent(index));
     }
 
     /**
-     * Définit le nœud parent.
+     * Définit le nœud parent. Un parent null fait de ce nœud la racine de son arbre.
      *
      * @param parent le nœud parent à définir.
      */
     public void setParent(Noeud parent) {
-        this.parent = parent;
+        if (parent == null) {
+            arbre.reenraciner(index);
+            return;
+        }
+        if (parent.arbre != arbre) {
+            throw new IllegalArgumentException("Le parent doit appartenir au même arbre.");
+        }
+        arbre.setParent(index, parent.index);
     }
 
     /**
-     * Retourne la couleur du joueur qui a joué le coup menant à ce nœud.
+     * Retourne la couleur du joueur qui doit jouer dans ce nœud.
      *
      * @return l'état représentant le joueur (BLEU ou ROUGE).
      */
     public Case.EtatCase getJoueurActuel() {
-        return joueurActuel;
+        return arbre.getJoueur(index);
     }
 
     /**
@@ -104,7 +142,7 @@ public class Noeud {
      * @param wins le nombre de victoires à ajouter.
      */
     public void addWins(double wins) {
-        this.wins += wins;
+        arbre.ajouterVictoires(index, (float) wins);
     }
 
     /**
@@ -113,7 +151,7 @@ public class Noeud {
      * @param losses le nombre de défaites à ajouter.
      */
     public void addLosses(double losses) {
-        this.losses += losses;
+        arbre.ajouterDefaites(index, (float) losses);
     }
 
     /**
@@ -122,7 +160,7 @@ public class Noeud {
      * @return le nombre de victoires.
      */
     public double getWins() {
-        return wins;
+        return arbre.getVictoires(index);
     }
 
     /**
@@ -131,92 +169,73 @@ public class Noeud {
      * @return le nombre de défaites.
      */
     public double getLosses() {
-        return losses;
+        return arbre.getDefaites(index);
     }
 
 
-    
+
     /**
      * Calcule la valeur UCT (Upper Confidence Bound for Trees) du nœud.
-     * 
+     *
      * @return la valeur UCT, ou +infini si le noeud n'a jamais été visité
      */
     protected double UCT() {
-
-        if (getVisits() == 0) {
-            return Double.MAX_VALUE;
-        }
-        int n = getVisits();
-        int N = getParent().getVisits();
-        double w = getWins();
-        return (w / n) + Constants.EPLOITATION_EXPLORATION_CONSTANT * (Math.sqrt(Math.log(N) / n));
+        return arbre.uct(index);
     }
 
-    
+
     /**
      * Calcule le ratio MCTS classique (wins / losses).
-     * 
+     *
      * @return la valeur du ratio
      */
     public double getRatio() {
-        if (getLosses() == 0) {
-            if (getWins() == 0) return 0;
-            return Double.POSITIVE_INFINITY;
-        }
-        return this.wins / this.losses;
+        return arbre.ratio(index);
     }
 
     public double getRaveVisits() {
-        return this.raveVisits;
+        return arbre.getVisitesRave(index);
     }
 
     public double getRaveWins() {
-        return this.raveWins;
+        return arbre.getVictoiresRave(index);
     }
 
-    
+
     /**
      * Calcule la valeur AMAF (All Moves As First) utilisée en RAVE.
-     * 
+     *
      * @return la valeur AMAF, ou +infini si pertes nulles
      */
     public double amaf() {
-        if (this.raveVisits == 0) {
-            if (this.raveWins == 0) return 0;
-            return Double.POSITIVE_INFINITY;
-        }
-        return this.raveWins / this.raveVisits;
+        return arbre.amaf(index);
     }
 
-    
+
     /**
      * Retourne la valeur MCTS (ratio classique).
-     * 
+     *
      * @return la valeur MCTS
      */
     public double mctsValue() {
         return getRatio();
     }
 
-    
+
     /**
      * Calcule une valeur combinée entre MCTS et RAVE, en tenant compte du nombre de visites.
-     * 
+     *
      * @return la valeur combinée
      */
     public double getCombinedValue() {
-        if (amaf() == Double.POSITIVE_INFINITY || mctsValue() == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
-        if (this.raveVisits == 0) return mctsValue(); // Fall back to MCTS value if RAVE data is insufficient
-        double k = 3 * this.raveVisits; // Set k to 3 times the number of RAVE visits for balanced weighting
-        double beta = k / ( this.raveVisits + k);
-        return beta * amaf() + (1 - beta) * mctsValue();
+        return arbre.valeurCombinee(index);
     }
 
     /**
      * Incrémente le nombre de visites de ce nœud.
      */
     public void incrementVisits() {
-        this.visits++;
+        arbre.incrementerVisites(index);
     }
 
     /**
@@ -225,7 +244,7 @@ public class Noeud {
      * @param visits le nombre de visites à définir.
      */
     public void setVisits(int visits) {
-        this.visits = visits;
+        arbre.setVisites(index, visits);
     }
 
     /**
@@ -234,43 +253,50 @@ public class Noeud {
      * @return le nombre de visites.
      */
     public int getVisits() {
-        return visits;
+        return arbre.getVisites(index);
     }
 
     /**
-     * Retourne la liste des enfants de ce nœud.
+     * Retourne la liste des enfants de ce nœud (copie, construite à chaque appel).
      *
      * @return la liste des nœuds enfants.
      */
     public List<Noeud> getEnfants() {
+        List<Noeud> enfants = new ArrayList<>(arbre.getNombreEnfants(index));
+        for (int e = arbre.getPremierEnfant(index); e != ArbreCompact.AUCUN; e = arbre.getFrere(e)) {
+            enfants.add(new Noeud(arbre, e));
+        }
         return enfants;
     }
 
     /**
      * Ajoute un nœud enfant à la liste des enfants, s'il n'est pas déjà présent.
      *
-     * @param enfant le nœud enfant à ajouter.
+     * @param enfant le nœud enfant à ajouter (doit appartenir au même arbre).
      */
     public void addEnfant(Noeud enfant) {
-        if (!enfants.contains(enfant)) {
-            enfants.add(enfant);
+        if (enfant.arbre != arbre) {
+            throw new IllegalArgumentException("L'enfant doit appartenir au même arbre que son parent.");
+        }
+        if (!getEnfants().contains(enfant)) {
+            arbre.lier(index, enfant.index);
         }
     }
 
     /**
-     * Retourne la grille associée à ce nœud.
+     * Retourne la grille associée à ce nœud, reconstruite en rejouant les coups depuis la racine.
      *
-     * @return la grille correspondant à l'état de jeu de ce nœud.
+     * @return une grille correspondant à l'état de jeu de ce nœud.
      */
     public Grille getGrille() {
-        return grille;
+        return arbre.reconstruireGrille(index);
     }
 
     /**
      * Incrémente le nombre de visites RAVE pour ce nœud.
      */
     public void addRaveVisits() {
-        this.raveVisits++;
+        arbre.incrementerVisitesRave(index);
     }
 
     /**
@@ -279,52 +305,47 @@ public class Noeud {
      * @param val la valeur des victoires RAVE à définir.
      */
     public void setRaveWins(Double val) {
-        this.raveWins = val;
+        arbre.setVictoiresRave(index, val.floatValue());
     }
-    
+
     /**
      * Vérifie si le nœud est complètement développé (tous les coups possibles ont été explorés).
-     * 
+     *
      * @return true si entièrement développé, false sinon
      */
     public boolean isFullyExpanded() {
-        return enfants.size() == getGrille().genererCasesDisponibles().size();
+        return arbre.estDeveloppe(index);
     }
 
-    
+
     /**
      * Vérifie si le nœud est une feuille (aucun enfant ou état terminal).
-     * 
+     *
      * @return true si feuille, false sinon
      */
     public boolean isLeaf() {
-        return this.enfants.size() == 0 || grille.genererCasesDisponibles().isEmpty() ||
-               grille.verifierVictoire(getJoueurActuel()) ||
-               grille.verifierVictoire(EtatCase.opposite(getJoueurActuel())) ||
-               this.grille.estTerminee();
+        return arbre.estFeuille(index);
     }
 
-    
+
     /**
      * Vérifie si le nœud correspond à un état terminal (fin de partie ou victoire).
-     * 
+     *
      * @return true si état terminal, false sinon
      */
     public boolean isTerminal() {
-        return this.grille.estTerminee() ||
-               this.grille.verifierVictoire(this.joueurActuel) ||
-               this.grille.verifierVictoire(EtatCase.opposite(this.joueurActuel));
+        return arbre.estTerminal(index);
     }
 
-    
+
     /**
      * Retourne un enfant non visité aléatoire parmi les enfants du nœud.
-     * 
+     *
      * @return un enfant non visité, ou null si tous visités
      */
     public Noeud getRandomUnvisitedChild() {
         List<Noeud> unvisitedChildren = new ArrayList<>();
-        for (Noeud enfant : enfants) {
+        for (Noeud enfant : getEnfants()) {
             if (enfant.getVisits() == 0) {
                 unvisitedChildren.add(enfant);
             }
@@ -332,7 +353,7 @@ public class Noeud {
         if (unvisitedChildren.isEmpty()) {
             return null;
         }
-        return unvisitedChildren.get(new Random().nextInt(unvisitedChildren.size()));
+        return unvisitedChildren.get(Aleatoire.entier(Aleatoire.courant(), unvisitedChildren.size()));
     }
 
     @Override
@@ -358,11 +379,11 @@ public class Noeud {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Noeud noeud = (Noeud) o;
-        return move.equals(noeud.move);
+        return Objects.equals(getMove(), noeud.getMove());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(move);
+        return Objects.hash(getMove());
     }
-}
\ No newline at end of file
+}
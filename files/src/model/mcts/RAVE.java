@@ -1,9 +1,8 @@
 package model.mcts;
 
-import model.*;
 import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
 import config.*;
-import java.util.*;
 
 
 /**
@@ -55,59 +54,87 @@ public class RAVE extends MCTS {
 
     /**
      * Exécute une simulation complète à partir du nœud donné, en appliquant la stratégie RAVE.
-     * Enregistre les actions jouées par le joueur original pour ajuster les statistiques RAVE.
-     * 
+     * Le plateau rempli par la simulation, conservé par le moteur du thread, sert ensuite
+     * à ajuster les statistiques RAVE le long du chemin sélectionné.
+     *
+     * @param arbre l'arbre de recherche
      * @param noeud le nœud à partir duquel démarrer la simulation
+     * @param plateau le plateau de travail, dans l'état du nœud (non modifié)
      * @param joueurOriginal le joueur pour lequel la simulation est évaluée
      * @return 1.0 si victoire, -1.0 sinon
      */
     @Override
-    protected double simuler(Noeud noeud, EtatCase joueurOriginal) {
-        Grille simulationGrille = noeud.getGrille().copy();
-        Case.EtatCase joueurActuel = noeud.getJoueurActuel();
-        Set<Position> actionsJouees = new HashSet<>();
-
-        if (noeud.isTerminal()) {
-            return noeud.getGrille().verifierVictoire(joueurOriginal) ? 1.0 : -1.0;
+    protected double simuler(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+        if (arbre.estTerminal(noeud)) {
+            return plateau.verifierVictoire(joueurOriginal) ? 1.0 : -1.0;
         }
 
-        while (!simulationGrille.estTerminee()) {
-            Map<Integer, Position> coupsDisponibles = simulationGrille.genererCasesDisponibles();
-            int randomIndex = new Random().nextInt(coupsDisponibles.size());
-            Position coup = coupsDisponibles.get(randomIndex);
-            simulationGrille.getCase(coup).setOccupe(joueurActuel);
+        MoteurSimulation moteur = MoteurSimulation.courant();
+        EtatCase gagnant = moteur.simuler(plateau, arbre.getJoueur(noeud), random);
 
-            if (joueurActuel == joueurOriginal)  actionsJouees.add(coup);
+        double resultat = (gagnant == joueurOriginal) ? 1.0 : -1.0;
+        updateRaveValues(arbre, noeud, moteur.getPierres(EtatCase.BLEU), moteur.getPierres(EtatCase.ROUGE), resultat);
 
-            joueurActuel = EtatCase.opposite(joueurActuel);
-        }
+        return resultat;
+    }
 
-        double resultat = simulationGrille.verifierVictoire(joueurOriginal) ? 1.0 : -1.0;
-        updateRaveValues(noeud.getParent(), actionsJouees, resultat);
 
-        return resultat;
+
+    /**
+     * Lance un lot de simulations RAVE depuis un même nœud. Les simulations sont réparties
+     * entre les threads comme pour MCTS ; chaque morceau garde les pierres de ses simulations,
+     * et les statistiques AMAF de l'arbre sont ensuite mises à jour, simulation par
+     * simulation, dans le thread de la recherche. La rétropropagation MCTS est regroupée.
+     *
+     * @param arbre l'arbre de recherche
+     * @param noeud le nœud à partir duquel démarrer les simulations
+     * @param plateau le plateau de travail, dans l'état du nœud (non modifié)
+     * @param joueurOriginal le joueur pour lequel les simulations sont évaluées
+     * @return le nombre de simulations gagnées par le joueur original
+     */
+    @Override
+    protected int simulerLot(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+        if (arbre.estTerminal(noeud) || !lotsParalleles()) {
+            int victoires = 0;
+            for (int i = 0; i < getPlayoutsParFeuille(); i++) {
+                if (simuler(arbre, noeud, plateau, joueurOriginal) > 0) victoires++;
+            }
+            return victoires;
+        }
+
+        int victoires = lancerLots(plateau, arbre.getJoueur(noeud), joueurOriginal, true);
+        for (LotSimulations lot : getLots()) {
+            for (int i = 0; i < lot.getSimulations(); i++) {
+                updateRaveValues(arbre, noeud, lot.getPierres(i, EtatCase.BLEU), lot.getPierres(i, EtatCase.ROUGE),
+                                 lot.estGagnee(i) ? 1.0 : -1.0);
+            }
+        }
+        return victoires;
     }
 
-    
-    
+
+
     /**
-     * Sélectionne le meilleur enfant d’un nœud en combinant les valeurs classiques et RAVE.
-     * 
+     * Sélectionne le meilleur enfant d’un nœud en combinant les valeurs classiques et RAVE,
+     * parmi ceux dont le résultat n'est pas prouvé.
+     *
+     * @param arbre l'arbre de recherche
      * @param noeud le nœud dont on veut déterminer le meilleur enfant
      * @return le nœud enfant avec la meilleure valeur combinée
      */
     @Override
-    protected Noeud bestChild(Noeud noeud) {
-        if (noeud.isLeaf()) {
+    protected int bestChild(ArbreCompact arbre, int noeud) {
+        if (arbre.estFeuille(noeud)) {
             return noeud;
         }
 
-        Noeud meilleurEnfant = null;
+        int meilleurEnfant = ArbreCompact.AUCUN;
         double meilleurScore = -Double.MAX_VALUE;
 
-        for (Noeud enfant : noeud.getEnfants()) {
-            double explorationTerm = Constants.EPLOITATION_EXPLORATION_CONSTANT * Math.sqrt(Math.log(noeud.getVisits()) / (enfant.getVisits() + 1));
-            double score = enfant.getCombinedValue() + explorationTerm;
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            if (arbre.estProuve(enfant)) continue;
+            double explorationTerm = Constants.EPLOITATION_EXPLORATION_CONSTANT * Math.sqrt(Math.log(arbre.getVisites(noeud)) / (arbre.getVisites(enfant) + 1));
+            double score = arbre.valeurCombinee(enfant) + explorationTerm;
 
             if (score > meilleurScore) {
                 meilleurScore = score;
@@ -117,72 +144,102 @@ public class RAVE extends MCTS {
         return meilleurEnfant;
     }
 
-    
-    
+
+
+    /**
+     * Le coup RAVE est choisi sur la valeur combinée, que les statistiques AMAF des autres
+     * nœuds font évoluer même sans visite directe : aucune borne simple ne permet d'arrêter
+     * la recherche avant la fin du temps accordé.
+     *
+     * @param arbre l'arbre de recherche
+     * @param racine la racine de la recherche
+     * @param iterationsRestantes une estimation du nombre de simulations encore possibles
+     * @return toujours true
+     */
+    @Override
+    protected boolean peutEncoreChanger(ArbreCompact arbre, int racine, long iterationsRestantes) {
+        return true;
+    }
+
     /**
-     * Détermine le meilleur coup à jouer à partir d’un nœud donné.
+     * Détermine le meilleur coup à jouer à partir d’un nœud donné : un coup prouvé gagnant s'il
+     * y en a un, sinon celui de meilleure valeur combinée, les coups prouvés perdants en dernier.
      * Affiche également tous les coups possibles si le mode expérimental est désactivé.
-     * 
+     *
+     * @param arbre l'arbre de recherche
      * @param noeud le nœud racine dont les enfants sont évalués
-     * @return la position correspondant au meilleur coup
+     * @return l'indice de l'enfant correspondant au meilleur coup
      */
-    protected Position bestMove(Noeud noeud) {
-        List<Noeud> enfantsTries = new ArrayList<>(noeud.getEnfants());
-        
-        Noeud meilleur = enfantsTries.get(0);
-        for (Noeud child : enfantsTries) {
-            if (child.getCombinedValue() > meilleur.getCombinedValue()) {
-                meilleur = child;
+    @Override
+    protected int bestMove(ArbreCompact arbre, int noeud) {
+        int meilleur = enfantGagnant(arbre, noeud);
+        if (meilleur == ArbreCompact.AUCUN) {
+            for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+                if (meilleur == ArbreCompact.AUCUN) {
+                    meilleur = enfant;
+                    continue;
+                }
+                boolean perdant = estPerdant(arbre, noeud, enfant);
+                boolean meilleurPerdant = estPerdant(arbre, noeud, meilleur);
+                if ((meilleurPerdant && !perdant)
+                    || (perdant == meilleurPerdant && arbre.valeurCombinee(enfant) > arbre.valeurCombinee(meilleur))) {
+                    meilleur = enfant;
+                }
             }
         }
-        
-        if ( this.isExperimentation() == false ){
-            //afficherTousLesCoups(noeud);
-            System.out.println("\nBest move : " + meilleur.toStringRave() + " avec " + this.getIterationBudget() + " itérations");
+
+        if ( this.isExperimentation() == false && meilleur != ArbreCompact.AUCUN ){
+            //afficherTousLesCoups(arbre, noeud);
+            System.out.println("\nBest move : " + arbre.noeud(meilleur).toStringRave() + " avec " + this.getIterationsDernierCoup() + " itérations");
         }
-        return meilleur.getMove();
+        return meilleur;
     }
 
-    
-    
+
+
     /**
-     * Met à jour récursivement les statistiques RAVE à partir des actions jouées durant la simulation.
-     * 
-     * @param node le nœud courant
-     * @param actionsJouees les positions jouées par le joueur original
+     * Met à jour les statistiques RAVE des enfants de chaque nœud du chemin, de la feuille
+     * vers la racine. Un enfant est crédité si son coup a été joué, plus bas dans le chemin ou
+     * pendant la simulation, par le joueur au trait dans son parent. La case d'un enfant étant
+     * libre dans son parent, il suffit de tester sa couleur sur le plateau rempli par la
+     * simulation : le coût est proportionnel à la longueur du chemin multipliée par le nombre
+     * d'enfants, et non à la taille de l'arbre.
+     *
+     * @param arbre l'arbre de recherche
+     * @param noeud la feuille d'où est partie la simulation
+     * @param bleues les pierres bleues à la fin de la simulation
+     * @param rouges les pierres rouges à la fin de la simulation
      * @param resultat résultat de la simulation (1.0 pour victoire, -1.0 pour défaite)
      */
-    private void updateRaveValues(Noeud node, Set<Position> actionsJouees, double resultat) {
-        if (node == null) return;
-
-        if (actionsJouees.contains(node.getMove())) {
-            if (resultat > 0) {
-                //node.addWins(resultat);
-                node.setRaveWins(node.getRaveWins() + resultat);
-            } 
-            node.addRaveVisits();
-            //node.incrementVisits();
-        }
-
-        for (Noeud child : node.getEnfants()) {
-            updateRaveValues(child, actionsJouees, resultat);
+    private void updateRaveValues(ArbreCompact arbre, int noeud, long[] bleues, long[] rouges, double resultat) {
+        for (int n = noeud; n != ArbreCompact.AUCUN; n = arbre.getParent(n)) {
+            long[] jouees = (arbre.getJoueur(n) == EtatCase.BLEU) ? bleues : rouges;
+            for (int enfant = arbre.getPremierEnfant(n); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+                int coup = arbre.getCoup(enfant);
+                if ((jouees[coup >>> 6] & (1L << coup)) != 0) {
+                    if (resultat > 0) {
+                        arbre.ajouterVictoiresRave(enfant, (float) resultat);
+                    }
+                    arbre.incrementerVisitesRave(enfant);
+                }
+            }
         }
     }
 
-    
-    
+
+
     /**
      * Affiche dans la console la liste de tous les coups possibles à partir d’un nœud donné,
      * avec leurs statistiques RAVE.
-     * 
+     *
+     * @param arbre l'arbre de recherche
      * @param noeud le nœud dont les enfants sont à afficher
      */
     @Override
-    protected void afficherTousLesCoups(Noeud noeud) {
-        List<Noeud> enfants = noeud.getEnfants();
+    protected void afficherTousLesCoups(ArbreCompact arbre, int noeud) {
         System.out.println("Liste des moves possibles:");
-        for (Noeud n : enfants) {
-            System.out.println(n.toStringRave());
+        for (int enfant = arbre.getPremierEnfant(noeud); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            System.out.println(arbre.noeud(enfant).toStringRave());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,268 @@
+package model.mcts;
+
+import config.Constants;
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.plateau.PlateauBitboard;
+import model.plateau.Topologie;
+
+/**
+ * Solveur exact des fins de partie, par recherche en profondeur.
+ *
+ * Hex n'admettant pas de match nul, la recherche est un négamax booléen : le joueur au trait
+ * gagne s'il a un coup après lequel l'adversaire perd. Les coups sont joués et annulés sur un
+ * seul plateau de travail. À chaque position :
+ * <ul>
+ *   <li>un coup gagnant immédiat est joué sans chercher plus loin ;</li>
+ *   <li>si l'adversaire menace de gagner en deux cases différentes, la position est perdue ;
+ *       s'il ne menace qu'une case, seul le coup qui la bloque est examiné ;</li>
+ *   <li>sinon, les coups sont essayés en commençant par les cases qui ont le plus de voisines
+ *       occupées, puis par les plus centrales.</li>
+ * </ul>
+ * Les résultats sont conservés dans une {@link TableTransposition} (coup gagnant, ou
+ * {@link #PERDU}), réutilisée d'un coup à l'autre. Le nombre de positions examinées par
+ * résolution est borné : au-delà, la résolution est abandonnée et la recherche MCTS reprend
+ * la main.
+ */
+public class SolveurExact {
+
+    /** Résultat de {@link #resoudre} : le budget de positions a été épuisé avant la preuve. */
+    public static final int INCONNU = ArbreCompact.AUCUN;
+    /** Résultat de {@link #resoudre} : le joueur au trait perd contre toute défense. */
+    public static final int PERDU = -2;
+
+    private final int budgetPositions;
+    private final TableTransposition table = new TableTransposition(Constants.TAILLE_TABLE_SOLVEUR);
+    private int seuilCasesLibres = Constants.SEUIL_SOLVEUR_CASES_LIBRES;
+
+    private PlateauBitboard plateau;
+    private int[][] candidats = new int[0][];
+    private int[] scores = new int[0];
+    private int[] centralite = new int[0];
+    private int positions;
+    private boolean abandon;
+
+    /**
+     * Crée un solveur.
+     *
+     * @param budgetPositions le nombre maximal de positions examinées par résolution.
+     * @throws IllegalArgumentException si le budget n'est pas strictement positif.
+     */
+    public SolveurExact(int budgetPositions) {
+        if (budgetPositions <= 0) {
+            throw new IllegalArgumentException("Le budget du solveur doit être strictement positif : " + budgetPositions);
+        }
+        this.budgetPositions = budgetPositions;
+    }
+
+    /**
+     * Crée un solveur avec le budget de positions par défaut.
+     */
+    public SolveurExact() {
+        this(Constants.BUDGET_SOLVEUR_POSITIONS);
+    }
+
+    /**
+     * Retourne le nombre maximal de positions examinées par résolution.
+     *
+     * @return le budget de positions.
+     */
+    public int getBudgetPositions() { return budgetPositions; }
+
+    /**
+     * Retourne le nombre de cases libres à partir duquel le solveur est essayé.
+     *
+     * @return le seuil de cases libres.
+     */
+    public int getSeuilCasesLibres() { return seuilCasesLibres; }
+
+    /**
+     * Fixe le nombre de cases libres à partir duquel le solveur est essayé.
+     *
+     * @param seuilCasesLibres le seuil, positif ou nul (0 : uniquement sur les petites grilles).
+     * @throws IllegalArgumentException si le seuil est négatif.
+     */
+    public void setSeuilCasesLibres(int seuilCasesLibres) {
+        if (seuilCasesLibres < 0) {
+            throw new IllegalArgumentException("Le seuil de cases libres doit être positif : " + seuilCasesLibres);
+        }
+        this.seuilCasesLibres = seuilCasesLibres;
+    }
+
+    /**
+     * Retourne le nombre de positions examinées par la dernière résolution.
+     *
+     * @return le nombre de positions.
+     */
+    public int getPositionsDerniereResolution() {
+        return positions;
+    }
+
+    /**
+     * Indique si le solveur doit être essayé sur une position : peu de cases libres, ou un
+     * peu plus ({@link Constants#SEUIL_SOLVEUR_PETITES_GRILLES}) sur une grille d'au plus
+     * {@link Constants#TAILLE_MAX_SOLVEUR} de côté. Une grille vide, même de 5x5, n'est pas
+     * à la portée d'une recherche exhaustive.
+     *
+     * @param plateau la position.
+     * @return true si une résolution exacte est tentée.
+     */
+    public boolean estApplicable(PlateauBitboard plateau) {
+        if (plateau.estTerminee()) return false;
+        int libres = plateau.nombreCasesLibres();
+        return libres <= seuilCasesLibres
+            || (plateau.getTaille() <= Constants.TAILLE_MAX_SOLVEUR && libres <= Constants.SEUIL_SOLVEUR_PETITES_GRILLES);
+    }
+
+    /**
+     * Propose un coup gagnant prouvé pour une grille, si le solveur s'applique et aboutit.
+     *
+     * @param grille la grille.
+     * @param trait la couleur qui doit jouer.
+     * @return un coup qui gagne contre toute défense, ou null (position perdue, non résolue
+     *         dans le budget, ou hors du domaine du solveur).
+     */
+    public Position proposer(Grille grille, EtatCase trait) {
+        PlateauBitboard depart = grille.getPlateau();
+        if (!estApplicable(depart)) return null;
+        int cellule = resoudre(depart, trait);
+        return cellule >= 0 ? depart.getTopologie().getPosition(cellule) : null;
+    }
+
+    /**
+     * Résout exactement une position.
+     *
+     * @param depart la position (non modifiée).
+     * @param trait la couleur qui doit jouer.
+     * @return une cellule qui gagne contre toute défense, {@link #PERDU} si toutes perdent, ou
+     *         {@link #INCONNU} si le budget est épuisé ou si la partie est déjà terminée.
+     * @throws IllegalArgumentException si le trait est VIDE.
+     */
+    public int resoudre(PlateauBitboard depart, EtatCase trait) {
+        if (trait == EtatCase.VIDE) {
+            throw new IllegalArgumentException("Le trait doit être BLEU ou ROUGE");
+        }
+        positions = 0;
+        abandon = false;
+        if (depart.estTerminee()) {
+            return INCONNU;
+        }
+        preparer(depart);
+        int resultat = chercher(trait, 0);
+        plateau.annulerJusqua(0);
+        return abandon ? INCONNU : resultat;
+    }
+
+    /**
+     * Cherche un coup gagnant pour le joueur au trait sur le plateau de travail.
+     *
+     * @return la cellule gagnante, {@link #PERDU}, ou {@link #INCONNU} en cas d'abandon.
+     */
+    private int chercher(EtatCase trait, int profondeur) {
+        if (++positions > budgetPositions) {
+            abandon = true;
+            return INCONNU;
+        }
+        long cle = plateau.getCle(trait);
+        int connu = table.chercher(cle);
+        if (connu != INCONNU) {
+            return connu;
+        }
+
+        EtatCase adversaire = EtatCase.opposite(trait);
+        int[] coups = candidats[profondeur];
+        int n = plateau.getCasesLibres().copierVers(coups);
+
+        // Coup gagnant immédiat
+        for (int i = 0; i < n; i++) {
+            if (gagneEn(coups[i], trait)) {
+                table.enregistrer(cle, coups[i]);
+                return coups[i];
+            }
+        }
+
+        // Menaces immédiates de l'adversaire : deux ne se parent pas, une seule impose le coup
+        int menace = INCONNU;
+        for (int i = 0; i < n; i++) {
+            if (gagneEn(coups[i], adversaire)) {
+                if (menace != INCONNU) {
+                    table.enregistrer(cle, PERDU);
+                    return PERDU;
+                }
+                menace = coups[i];
+            }
+        }
+        if (menace != INCONNU) {
+            coups[0] = menace;
+            n = 1;
+        } else {
+            ordonner(coups, n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            plateau.jouer(coups[i], trait);
+            int reponse = chercher(adversaire, profondeur + 1);
+            plateau.annuler();
+            if (abandon) return INCONNU;
+            if (reponse == PERDU) {
+                table.enregistrer(cle, coups[i]);
+                return coups[i];
+            }
+        }
+        table.enregistrer(cle, PERDU);
+        return PERDU;
+    }
+
+    // vrai si jouer la cellule donne immédiatement la victoire à la couleur
+    private boolean gagneEn(int cellule, EtatCase couleur) {
+        plateau.jouer(cellule, couleur);
+        boolean gagne = plateau.verifierVictoire(couleur);
+        plateau.annuler();
+        return gagne;
+    }
+
+    // trie les coups par nombre décroissant de voisines occupées puis par centralité
+    // (tri par insertion, n petit)
+    private void ordonner(int[] coups, int n) {
+        Topologie topologie = plateau.getTopologie();
+        long[] bleu = plateau.getPierres(EtatCase.BLEU);
+        long[] rouge = plateau.getPierres(EtatCase.ROUGE);
+        for (int i = 0; i < n; i++) {
+            long[] voisins = topologie.getVoisins(coups[i]);
+            int occupees = 0;
+            for (int m = 0; m < voisins.length; m++) {
+                occupees += Long.bitCount(voisins[m] & (bleu[m] | rouge[m]));
+            }
+            int score = occupees * plateau.getNombreCellules() + centralite[coups[i]];
+            int coup = coups[i];
+            int j = i;
+            for (; j > 0 && scores[j - 1] < score; j--) {
+                scores[j] = scores[j - 1];
+                coups[j] = coups[j - 1];
+            }
+            scores[j] = score;
+            coups[j] = coup;
+        }
+    }
+
+    // recopie la position de départ dans le plateau de travail et dimensionne les tampons
+    private void preparer(PlateauBitboard depart) {
+        if (plateau == null || plateau.getTopologie() != depart.getTopologie()) {
+            plateau = depart.copie();
+            int cellules = depart.getNombreCellules();
+            candidats = new int[cellules + 1][cellules];
+            scores = new int[cellules];
+            centralite = new int[cellules];
+            int taille = depart.getTaille();
+            for (int c = 0; c < cellules; c++) {
+                int dx = 2 * depart.getX(c) - (taille - 1);
+                // y vaut colonne + x dans ce stockage : on recentre sur la colonne
+                int dy = 2 * (depart.getY(c) - depart.getX(c)) - (taille - 1);
+                centralite[c] = 2 * taille - Math.max(Math.abs(dx), Math.abs(dy));
+            }
+        } else {
+            plateau.copierDepuis(depart);
+        }
+    }
+}
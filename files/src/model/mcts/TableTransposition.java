@@ -0,0 +1,137 @@
+package model.mcts;
+
+import java.util.Arrays;
+
+/**
+ * Table de transposition à adressage ouvert, de taille fixe.
+ *
+ * Associe la clé de Zobrist d'une position (trait compris, voir
+ * {@link model.plateau.PlateauBitboard#getCle}) à l'indice d'un nœud de l'{@link ArbreCompact}
+ * qui la représente. Les collisions d'indice sont résolues par sondage linéaire sur quelques
+ * cases ; si aucune n'est libre, l'entrée de la case d'origine est remplacée. La table ne
+ * grossit donc jamais et une position peut en disparaître : une absence n'est qu'un indice.
+ */
+public class TableTransposition {
+
+    /** Nombre maximal de cases examinées à partir de la case d'origine. */
+    private static final int SONDAGE_MAX = 8;
+
+    private final long[] cles;
+    private final int[] noeuds;
+    private final int masque;
+    private int nombreEntrees;
+
+    /**
+     * Crée une table vide.
+     *
+     * @param capacite le nombre d'entrées, arrondi à la puissance de deux supérieure.
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive.
+     */
+    public TableTransposition(int capacite) {
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive : " + capacite);
+        }
+        int taille = Integer.highestOneBit(Math.max(SONDAGE_MAX, capacite - 1)) << 1;
+        this.cles = new long[taille];
+        this.noeuds = new int[taille];
+        this.masque = taille - 1;
+        Arrays.fill(noeuds, ArbreCompact.AUCUN);
+    }
+
+    /**
+     * Cherche le nœud associé à une position.
+     *
+     * @param cle la clé de la position.
+     * @return l'indice du nœud, ou {@link ArbreCompact#AUCUN} si la position n'est pas dans la table.
+     */
+    public int chercher(long cle) {
+        int origine = indice(cle);
+        for (int i = 0; i < SONDAGE_MAX; i++) {
+            int c = (origine + i) & masque;
+            if (noeuds[c] == ArbreCompact.AUCUN) return ArbreCompact.AUCUN;
+            if (cles[c] == cle) return noeuds[c];
+        }
+        return ArbreCompact.AUCUN;
+    }
+
+    /**
+     * Associe une position à un nœud. Une association existante pour la même clé est remplacée.
+     *
+     * @param cle la clé de la position.
+     * @param noeud l'indice du nœud.
+     */
+    public void enregistrer(long cle, int noeud) {
+        int origine = indice(cle);
+        for (int i = 0; i < SONDAGE_MAX; i++) {
+            int c = (origine + i) & masque;
+            if (noeuds[c] == ArbreCompact.AUCUN) {
+                nombreEntrees++;
+                cles[c] = cle;
+                noeuds[c] = noeud;
+                return;
+            }
+            if (cles[c] == cle) {
+                noeuds[c] = noeud;
+                return;
+            }
+        }
+        // Zone de sondage pleine : on écrase la case d'origine
+        cles[origine] = cle;
+        noeuds[origine] = noeud;
+    }
+
+    /**
+     * Renumérote les nœuds après un compactage de l'arbre. Les entrées dont le nœud a été
+     * abandonné disparaissent ; les autres sont réinsérées pour garder les chaînes de sondage intactes.
+     *
+     * @param correspondance pour chaque ancien indice, le nouvel indice ou {@link ArbreCompact#AUCUN}.
+     */
+    public void renumeroter(int[] correspondance) {
+        int conservees = 0;
+        long[] clesConservees = new long[nombreEntrees];
+        int[] noeudsConserves = new int[nombreEntrees];
+        for (int c = 0; c < cles.length; c++) {
+            int ancien = noeuds[c];
+            if (ancien != ArbreCompact.AUCUN && ancien < correspondance.length
+                    && correspondance[ancien] != ArbreCompact.AUCUN && conservees < clesConservees.length) {
+                clesConservees[conservees] = cles[c];
+                noeudsConserves[conservees++] = correspondance[ancien];
+            }
+        }
+        vider();
+        for (int i = 0; i < conservees; i++) {
+            enregistrer(clesConservees[i], noeudsConserves[i]);
+        }
+    }
+
+    /**
+     * Vide la table (nouvel arbre de recherche).
+     */
+    public void vider() {
+        Arrays.fill(noeuds, ArbreCompact.AUCUN);
+        nombreEntrees = 0;
+    }
+
+    /**
+     * Retourne le nombre de cases de la table.
+     *
+     * @return la capacité effective.
+     */
+    public int getCapacite() {
+        return cles.length;
+    }
+
+    /**
+     * Retourne le nombre de cases occupées.
+     *
+     * @return le nombre d'entrées.
+     */
+    public int getNombreEntrees() {
+        return nombreEntrees;
+    }
+
+    // Les bits de poids fort d'une clé de Zobrist sont aussi aléatoires que les autres
+    private int indice(long cle) {
+        return (int) (cle ^ (cle >>> 32)) & masque;
+    }
+}
@@ -0,0 +1,125 @@
+package model.ouvertures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.Case.EtatCase;
+import model.enregistrement.LecteurParties;
+import model.enregistrement.PartieEnregistree;
+import model.plateau.PlateauBitboard;
+
+/**
+ * Construit hors ligne un {@link LivreOuvertures} à partir de parties enregistrées.
+ *
+ * Chaque partie de la bonne taille est rejouée sur un {@link PlateauBitboard} ; pour chacun
+ * de ses premiers coups, on compte, dans la position où il a été joué (trait compris), le
+ * nombre de parties et le nombre de victoires du joueur qui l'a joué. Les transpositions
+ * sont fusionnées naturellement, puisque la clé ne dépend que de la position.
+ */
+public final class ConstructeurLivre {
+
+    private ConstructeurLivre() {
+    }
+
+    /**
+     * Construit un livre depuis la ligne de commande :
+     * {@code ConstructeurLivre <parties.hexr> <taille> <profondeur> <livre>}.
+     *
+     * @param args le fichier de parties, la taille, le nombre de coups retenus par partie et le livre à écrire.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage : ConstructeurLivre <parties.hexr> <taille> <profondeur> <livre>");
+            return;
+        }
+        int entrees = construire(Path.of(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]), Path.of(args[3]));
+        System.out.println(entrees + " entrées écrites dans " + args[3]);
+    }
+
+    /**
+     * Construit un livre d'ouvertures.
+     *
+     * @param parties le fichier de parties enregistrées.
+     * @param taille la taille de grille du livre (les autres parties sont ignorées).
+     * @param profondeur le nombre de premiers coups retenus dans chaque partie.
+     * @param livre le fichier du livre à écrire (écrasé).
+     * @return le nombre d'entrées du livre.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     * @throws IllegalArgumentException si la taille ou la profondeur n'est pas strictement positive.
+     */
+    public static int construire(Path parties, int taille, int profondeur, Path livre) throws IOException {
+        if (taille <= 0 || profondeur <= 0) {
+            throw new IllegalArgumentException("Taille et profondeur doivent être strictement positives : "
+                    + taille + ", " + profondeur);
+        }
+        // Clé de position -> (cellule -> {parties, victoires}), triés pour l'écriture
+        TreeMap<Long, TreeMap<Integer, int[]>> statistiques = new TreeMap<>();
+        LecteurParties.parcourir(parties, partie -> {
+            if (partie.getTaille() == taille) {
+                ajouter(statistiques, partie, profondeur);
+            }
+        });
+
+        int nombreEntrees = 0;
+        for (Map<Integer, int[]> coups : statistiques.values()) {
+            nombreEntrees += coups.size();
+        }
+
+        if (livre.getParent() != null) {
+            Files.createDirectories(livre.getParent());
+        }
+        try (FileChannel canal = FileChannel.open(livre, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer tampon = ByteBuffer.allocate(1 << 16);
+            tampon.putInt(LivreOuvertures.MAGIC).putShort(LivreOuvertures.VERSION)
+                  .putShort((short) taille).putInt(nombreEntrees);
+            for (Map.Entry<Long, TreeMap<Integer, int[]>> position : statistiques.entrySet()) {
+                for (Map.Entry<Integer, int[]> coup : position.getValue().entrySet()) {
+                    if (tampon.remaining() < LivreOuvertures.OCTETS_PAR_ENTREE) {
+                        ecrire(canal, tampon);
+                    }
+                    tampon.putLong(position.getKey())
+                          .putShort(coup.getKey().shortValue())
+                          .putInt(coup.getValue()[0])
+                          .putInt(coup.getValue()[1]);
+                }
+            }
+            ecrire(canal, tampon);
+        }
+        return nombreEntrees;
+    }
+
+    private static void ajouter(Map<Long, TreeMap<Integer, int[]>> statistiques, PartieEnregistree partie,
+                                int profondeur) {
+        PlateauBitboard plateau = new PlateauBitboard(partie.getTaille());
+        int coups = Math.min(profondeur, partie.getNombreCoups());
+        for (int i = 0; i < coups; i++) {
+            int cellule = partie.getCellule(i);
+            EtatCase couleur = partie.getCouleur(i);
+            int[] compte = statistiques.computeIfAbsent(plateau.getCle(couleur), c -> new TreeMap<>())
+                                       .computeIfAbsent(cellule, c -> new int[2]);
+            compte[0]++;
+            boolean gagne = (partie.getGagnant() == 1 && couleur == EtatCase.BLEU)
+                         || (partie.getGagnant() == 2 && couleur == EtatCase.ROUGE);
+            if (gagne) {
+                compte[1]++;
+            }
+            plateau.poser(cellule, couleur);
+        }
+    }
+
+    private static void ecrire(FileChannel canal, ByteBuffer tampon) throws IOException {
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            canal.write(tampon);
+        }
+        tampon.clear();
+    }
+}
@@ -0,0 +1,211 @@
+package model.ouvertures;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.plateau.PlateauBitboard;
+
+/**
+ * Livre d'ouvertures pour une taille de grille, projeté en mémoire en lecture seule.
+ *
+ * Le fichier (écrit par {@link ConstructeurLivre}) contient des entrées de taille fixe
+ * {@code (clé de position, cellule, parties, victoires)} triées par clé puis par cellule ;
+ * la clé est celle de {@link PlateauBitboard#getCle}, trait compris. Une recherche est une
+ * dichotomie directement dans la projection : O(log n) lectures, sans charger le livre dans
+ * le tas, de sorte que l'ouverture d'un gros livre est immédiate.
+ *
+ * Format (big-endian) : MAGIC (int) VERSION (short) taille (short) nombre d'entrées (int),
+ * puis les entrées : clé (long) cellule (short) parties (int) victoires (int).
+ */
+public class LivreOuvertures {
+
+    static final int MAGIC = 0x48455842; // "HEXB"
+    static final short VERSION = 1;
+    static final int OCTETS_ENTETE = 12;
+    static final int OCTETS_PAR_ENTREE = 18;
+
+    /** Nombre de parties par défaut en dessous duquel un coup du livre n'est pas proposé. */
+    public static final int PARTIES_MIN_PAR_DEFAUT = 3;
+
+    private final MappedByteBuffer projection;
+    private final int taille;
+    private final int nombreEntrees;
+    private int partiesMin = PARTIES_MIN_PAR_DEFAUT;
+
+    private LivreOuvertures(MappedByteBuffer projection, int taille, int nombreEntrees) {
+        this.projection = projection;
+        this.taille = taille;
+        this.nombreEntrees = nombreEntrees;
+    }
+
+    /**
+     * Ouvre un livre d'ouvertures.
+     *
+     * @param fichier le fichier du livre.
+     * @return le livre, projeté en mémoire.
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas un livre d'ouvertures.
+     */
+    public static LivreOuvertures ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            MappedByteBuffer projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (projection.capacity() < OCTETS_ENTETE || projection.getInt(0) != MAGIC) {
+                throw new IOException("Ce n'est pas un livre d'ouvertures : " + fichier);
+            }
+            if (projection.getShort(4) != VERSION) {
+                throw new IOException("Version de livre d'ouvertures non prise en charge : " + projection.getShort(4));
+            }
+            int taille = projection.getShort(6);
+            int nombreEntrees = projection.getInt(8);
+            if ((long) OCTETS_ENTETE + (long) nombreEntrees * OCTETS_PAR_ENTREE > projection.capacity()) {
+                throw new IOException("Livre d'ouvertures tronqué : " + fichier);
+            }
+            // La projection reste valide après la fermeture du canal
+            return new LivreOuvertures(projection, taille, nombreEntrees);
+        }
+    }
+
+    /**
+     * Retourne la taille de grille du livre.
+     *
+     * @return la taille.
+     */
+    public int getTaille() { return taille; }
+
+    /**
+     * Retourne le nombre d'entrées (position, cellule) du livre.
+     *
+     * @return le nombre d'entrées.
+     */
+    public int getNombreEntrees() { return nombreEntrees; }
+
+    /**
+     * Retourne le nombre minimal de parties pour qu'un coup du livre soit proposé.
+     *
+     * @return le nombre minimal de parties.
+     */
+    public int getPartiesMin() { return partiesMin; }
+
+    /**
+     * Fixe le nombre minimal de parties pour qu'un coup du livre soit proposé.
+     *
+     * @param partiesMin le nombre minimal de parties, au moins 1.
+     * @throws IllegalArgumentException si partiesMin est inférieur à 1.
+     */
+    public void setPartiesMin(int partiesMin) {
+        if (partiesMin < 1) {
+            throw new IllegalArgumentException("Le nombre minimal de parties doit être au moins 1 : " + partiesMin);
+        }
+        this.partiesMin = partiesMin;
+    }
+
+    /**
+     * Retourne la clé de position d'une entrée.
+     *
+     * @param entree le rang de l'entrée dans la projection, triée par clé puis par cellule
+     *        (de 0 à {@link #getNombreEntrees()} exclu), par exemple renvoyé par {@link #chercher}.
+     * @return la clé, trait compris (voir {@link PlateauBitboard#getCle}).
+     */
+    public long getCle(int entree) { return projection.getLong(position(entree)); }
+
+    /**
+     * Retourne la cellule jouée dans la position d'une entrée.
+     *
+     * @param entree le rang de l'entrée dans la projection, triée par clé puis par cellule
+     *        (de 0 à {@link #getNombreEntrees()} exclu), par exemple renvoyé par {@link #chercher}.
+     * @return le numéro de cellule (voir {@link PlateauBitboard#cellule(int, int)}).
+     */
+    public int getCellule(int entree) { return projection.getShort(position(entree) + 8); }
+
+    /**
+     * Retourne le nombre de parties où la cellule d'une entrée a été jouée dans sa position.
+     *
+     * @param entree le rang de l'entrée dans la projection, triée par clé puis par cellule
+     *        (de 0 à {@link #getNombreEntrees()} exclu), par exemple renvoyé par {@link #chercher}.
+     * @return le nombre de parties.
+     */
+    public int getParties(int entree) { return projection.getInt(position(entree) + 10); }
+
+    /**
+     * Retourne le nombre de ces parties gagnées par le joueur qui a joué la cellule.
+     *
+     * @param entree le rang de l'entrée dans la projection, triée par clé puis par cellule
+     *        (de 0 à {@link #getNombreEntrees()} exclu), par exemple renvoyé par {@link #chercher}.
+     * @return le nombre de victoires.
+     */
+    public int getVictoires(int entree) { return projection.getInt(position(entree) + 14); }
+
+    /**
+     * Cherche la première entrée d'une position, par dichotomie.
+     *
+     * @param cle la clé de la position (trait compris).
+     * @return l'indice de la première entrée de la position, ou -1 si elle n'est pas dans le livre.
+     */
+    public int chercher(long cle) {
+        int bas = 0;
+        int haut = nombreEntrees;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (getCle(milieu) < cle) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return (bas < nombreEntrees && getCle(bas) == cle) ? bas : -1;
+    }
+
+    /**
+     * Choisit le coup du livre pour une position : parmi les coups joués dans au moins
+     * {@link #getPartiesMin()} parties et encore libres, celui qui a le meilleur taux de
+     * victoire pour le joueur au trait (à égalité, le plus joué).
+     *
+     * @param plateau la position.
+     * @param trait la couleur qui doit jouer.
+     * @return la cellule à jouer, ou -1 si le livre n'a pas de coup pour cette position.
+     */
+    public int meilleurCoup(PlateauBitboard plateau, EtatCase trait) {
+        if (plateau.getTaille() != taille) return -1;
+        int entree = chercher(plateau.getCle(trait));
+        if (entree < 0) return -1;
+
+        long cle = getCle(entree);
+        int meilleur = -1;
+        double meilleurRatio = -1;
+        int meilleuresParties = 0;
+        for (; entree < nombreEntrees && getCle(entree) == cle; entree++) {
+            int parties = getParties(entree);
+            int cellule = getCellule(entree);
+            if (parties < partiesMin || !plateau.estLibre(cellule)) continue;
+            double ratio = (double) getVictoires(entree) / parties;
+            if (ratio > meilleurRatio || (ratio == meilleurRatio && parties > meilleuresParties)) {
+                meilleur = cellule;
+                meilleurRatio = ratio;
+                meilleuresParties = parties;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Propose un coup du livre pour une grille.
+     *
+     * @param grille la grille.
+     * @param trait la couleur qui doit jouer.
+     * @return la position à jouer, ou null si le livre n'a pas de coup pour cette position.
+     */
+    public Position proposer(Grille grille, EtatCase trait) {
+        PlateauBitboard plateau = grille.getPlateau();
+        int cellule = meilleurCoup(plateau, trait);
+        return cellule < 0 ? null : plateau.getTopologie().getPosition(cellule);
+    }
+
+    private static int position(int entree) {
+        return OCTETS_ENTETE + entree * OCTETS_PAR_ENTREE;
+    }
+}
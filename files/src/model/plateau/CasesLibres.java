@@ -0,0 +1,149 @@
+package model.plateau;
+
+import java.util.random.RandomGenerator;
+
+import model.aleatoire.Aleatoire;
+
+/**
+ * Ensemble indexé des cellules libres d'un plateau.
+ *
+ * Toutes les cellules sont rangées dans un tableau, les libres au début ; un second tableau
+ * donne la place de chaque cellule dans le premier. Retirer ou remettre une cellule l'échange
+ * avec la cellule à la frontière entre libres et occupées : les deux opérations, le comptage
+ * et le tirage d'une cellule libre au hasard sont en temps constant. L'ordre des cellules
+ * dans l'ensemble dépend donc de l'historique des coups.
+ */
+public class CasesLibres {
+
+    private final int[] cellules;
+    private final int[] indices;
+    private int nombre;
+
+    /**
+     * Crée un ensemble contenant toutes les cellules (plateau vide).
+     *
+     * @param nombreCellules le nombre de cellules du plateau.
+     */
+    public CasesLibres(int nombreCellules) {
+        this.cellules = new int[nombreCellules];
+        this.indices = new int[nombreCellules];
+        for (int i = 0; i < nombreCellules; i++) {
+            cellules[i] = i;
+            indices[i] = i;
+        }
+        this.nombre = nombreCellules;
+    }
+
+    /**
+     * Constructeur de copie.
+     *
+     * @param autre l'ensemble à copier.
+     */
+    private CasesLibres(CasesLibres autre) {
+        this.cellules = autre.cellules.clone();
+        this.indices = autre.indices.clone();
+        this.nombre = autre.nombre;
+    }
+
+    /**
+     * Retire une cellule de l'ensemble (sans effet si elle n'y est pas).
+     *
+     * @param cellule la cellule désormais occupée.
+     */
+    public void retirer(int cellule) {
+        if (indices[cellule] >= nombre) return;
+        echanger(cellule, --nombre);
+    }
+
+    /**
+     * Remet une cellule dans l'ensemble (sans effet si elle y est déjà).
+     *
+     * @param cellule la cellule redevenue libre.
+     */
+    public void ajouter(int cellule) {
+        if (indices[cellule] < nombre) return;
+        echanger(cellule, nombre++);
+    }
+
+    /**
+     * Indique si une cellule est dans l'ensemble.
+     *
+     * @param cellule le numéro de cellule.
+     * @return true si la cellule est libre.
+     */
+    public boolean contient(int cellule) {
+        return indices[cellule] < nombre;
+    }
+
+    /**
+     * Retourne le nombre de cellules libres.
+     *
+     * @return la taille de l'ensemble.
+     */
+    public int taille() {
+        return nombre;
+    }
+
+    /**
+     * Retourne la i-ème cellule libre de l'ensemble.
+     *
+     * @param i un indice entre 0 et {@link #taille()} exclus.
+     * @return le numéro de la cellule.
+     */
+    public int get(int i) {
+        return cellules[i];
+    }
+
+    /**
+     * Tire une cellule libre uniformément au hasard.
+     *
+     * @param random le générateur à utiliser.
+     * @return le numéro d'une cellule libre, ou -1 si l'ensemble est vide.
+     */
+    public int aleatoire(RandomGenerator random) {
+        return nombre == 0 ? -1 : cellules[Aleatoire.entier(random, nombre)];
+    }
+
+    /**
+     * Copie les cellules libres, dans l'ordre de l'ensemble, au début du tableau fourni.
+     *
+     * @param destination tableau d'au moins {@link #taille()} éléments.
+     * @return le nombre de cellules copiées.
+     */
+    public int copierVers(int[] destination) {
+        System.arraycopy(cellules, 0, destination, 0, nombre);
+        return nombre;
+    }
+
+    /**
+     * Recopie un autre ensemble de même capacité dans celui-ci, sans allocation.
+     *
+     * @param source l'ensemble à recopier.
+     */
+    public void copierDepuis(CasesLibres source) {
+        System.arraycopy(source.cellules, 0, cellules, 0, cellules.length);
+        System.arraycopy(source.indices, 0, indices, 0, indices.length);
+        nombre = source.nombre;
+    }
+
+    /**
+     * Crée une copie indépendante de l'ensemble.
+     *
+     * @return la copie.
+     */
+    public CasesLibres copie() {
+        return new CasesLibres(this);
+    }
+
+    /**
+     * Place une cellule à l'indice donné, en mettant à sa place la cellule qui l'occupait.
+     */
+    private void echanger(int cellule, int indice) {
+        int autre = cellules[indice];
+        int ancien = indices[cellule];
+        cellules[ancien] = autre;
+        indices[autre] = ancien;
+        cellules[indice] = cellule;
+        indices[cellule] = indice;
+    }
+}
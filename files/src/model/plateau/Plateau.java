@@ -0,0 +1,113 @@
+package model.plateau;
+
+import model.Case.EtatCase;
+
+/**
+ * Interface représentant l'état d'un plateau de Hex, indépendamment de sa représentation mémoire.
+ *
+ * Chaque case est identifiée par un numéro de cellule compris entre 0 et {@code getNombreCellules() - 1}.
+ * La numérotation suit l'ordre de parcours de la {@link model.Grille} (ligne x, puis colonne y),
+ * ce qui permet de passer d'une représentation à l'autre sans table de correspondance.
+ */
+public interface Plateau {
+
+    /**
+     * Retourne la taille (nombre de cases par côté) du plateau.
+     *
+     * @return la taille du plateau.
+     */
+    int getTaille();
+
+    /**
+     * Retourne le nombre total de cellules du plateau.
+     *
+     * @return taille * taille.
+     */
+    int getNombreCellules();
+
+    /**
+     * Convertit des coordonnées de la grille en numéro de cellule.
+     *
+     * @param x la coordonnée x.
+     * @param y la coordonnée y.
+     * @return le numéro de cellule correspondant.
+     */
+    int cellule(int x, int y);
+
+    /**
+     * Retourne la coordonnée x d'une cellule.
+     *
+     * @param cellule le numéro de cellule.
+     * @return la coordonnée x dans la grille.
+     */
+    int getX(int cellule);
+
+    /**
+     * Retourne la coordonnée y d'une cellule.
+     *
+     * @param cellule le numéro de cellule.
+     * @return la coordonnée y dans la grille.
+     */
+    int getY(int cellule);
+
+    /**
+     * Retourne l'état d'occupation d'une cellule.
+     *
+     * @param cellule le numéro de cellule.
+     * @return VIDE, BLEU ou ROUGE.
+     */
+    EtatCase getEtat(int cellule);
+
+    /**
+     * Indique si une cellule est libre.
+     *
+     * @param cellule le numéro de cellule.
+     * @return true si la cellule est vide.
+     */
+    boolean estLibre(int cellule);
+
+    /**
+     * Modifie l'occupation d'une cellule (VIDE pour la libérer).
+     *
+     * @param cellule le numéro de cellule.
+     * @param couleur le nouvel état de la cellule.
+     */
+    void poser(int cellule, EtatCase couleur);
+
+    /**
+     * Retourne le nombre de cellules libres.
+     *
+     * @return le nombre de cellules vides.
+     */
+    int nombreCasesLibres();
+
+    /**
+     * Écrit les numéros des cellules libres, par ordre croissant, dans le tableau fourni.
+     *
+     * @param destination tableau d'au moins {@code getNombreCellules()} éléments.
+     * @return le nombre de cellules libres écrites.
+     */
+    int casesLibres(int[] destination);
+
+    /**
+     * Vérifie si une couleur relie ses deux bords (BLEU : gauche/droite, ROUGE : haut/bas).
+     *
+     * @param couleur la couleur à tester.
+     * @return true si la couleur a gagné.
+     */
+    boolean verifierVictoire(EtatCase couleur);
+
+    /**
+     * Indique si la partie est terminée (victoire d'une couleur ou plateau plein).
+     *
+     * @return true si la partie est terminée.
+     */
+    boolean estTerminee();
+
+    /**
+     * Crée une copie indépendante du plateau.
+     *
+     * @return la copie.
+     */
+    Plateau copie();
+}
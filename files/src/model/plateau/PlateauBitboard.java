@@ -0,0 +1,442 @@
+package model.plateau;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import model.Case.EtatCase;
+
+/**
+ * Implémentation compacte d'un plateau de Hex à base de masques de bits.
+ *
+ * L'occupation est stockée dans deux tableaux de {@code long} (un par couleur), indexés par
+ * numéro de cellule. Les voisinages et les bords viennent de la {@link Topologie} partagée,
+ * de sorte qu'une copie du plateau se résume à quelques copies de tableaux.
+ *
+ * La connexité des pierres est tenue à jour de façon incrémentale dans un {@link UnionFind}
+ * à chaque pose : la question "BLEU/ROUGE a-t-il gagné ?" ne demande plus de parcours.
+ * De même, une empreinte de Zobrist de la position est mise à jour à chaque pose, ainsi que
+ * l'ensemble indexé des cellules libres ({@link CasesLibres}) : compter les coups possibles
+ * ou en tirer un au hasard se fait en temps constant.
+ *
+ * Pour la recherche, {@link #jouer(int, EtatCase)} et {@link #annuler()} posent et retirent
+ * des pierres sur une pile de coups : l'annulation restaure incrémentalement l'occupation,
+ * l'empreinte, les cases libres et la connexité, si bien qu'un même plateau peut descendre
+ * dans l'arbre puis revenir à la racine sans aucune copie.
+ */
+public class PlateauBitboard implements Plateau {
+
+    private final Topologie topologie;
+    private final long[] bleu;
+    private final long[] rouge;
+    private final UnionFind connexite;
+    private final CasesLibres libres;
+    private long empreinte;
+    private int[] pileCoups;       // allouées au premier coup joué
+    private int[] pileMarques;
+    private long[] pileEmpreintes;
+    private int profondeur;
+
+    /**
+     * Crée un plateau vide de la taille donnée.
+     *
+     * @param taille la taille du plateau.
+     */
+    public PlateauBitboard(int taille) {
+        this(Topologie.pour(taille));
+    }
+
+    /**
+     * Crée un plateau vide à partir d'une topologie existante.
+     *
+     * @param topologie la topologie du plateau.
+     */
+    public PlateauBitboard(Topologie topologie) {
+        this.topologie = topologie;
+        this.bleu = new long[topologie.getMots()];
+        this.rouge = new long[topologie.getMots()];
+        this.connexite = new UnionFind(topologie.getNombreCellules());
+        this.libres = new CasesLibres(topologie.getNombreCellules());
+    }
+
+    /**
+     * Constructeur de copie.
+     *
+     * @param autre le plateau à copier.
+     */
+    private PlateauBitboard(PlateauBitboard autre) {
+        this.topologie = autre.topologie;
+        this.bleu = autre.bleu.clone();
+        this.rouge = autre.rouge.clone();
+        this.connexite = autre.connexite.copie();
+        this.libres = autre.libres.copie();
+        this.empreinte = autre.empreinte;
+    }
+
+    /**
+     * Retourne la topologie partagée de ce plateau.
+     *
+     * @return la topologie.
+     */
+    public Topologie getTopologie() {
+        return topologie;
+    }
+
+    /**
+     * Retourne le masque des pierres d'une couleur (tableau interne, à ne pas modifier).
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return le masque d'occupation de cette couleur.
+     */
+    public long[] getPierres(EtatCase couleur) {
+        return couleur == EtatCase.BLEU ? bleu : rouge;
+    }
+
+    @Override
+    public int getTaille() {
+        return topologie.getTaille();
+    }
+
+    @Override
+    public int getNombreCellules() {
+        return topologie.getNombreCellules();
+    }
+
+    @Override
+    public int cellule(int x, int y) {
+        return topologie.cellule(x, y);
+    }
+
+    @Override
+    public int getX(int cellule) {
+        return topologie.getX(cellule);
+    }
+
+    @Override
+    public int getY(int cellule) {
+        return topologie.getY(cellule);
+    }
+
+    @Override
+    public EtatCase getEtat(int cellule) {
+        long bit = 1L << cellule;
+        if ((bleu[cellule >>> 6] & bit) != 0) return EtatCase.BLEU;
+        if ((rouge[cellule >>> 6] & bit) != 0) return EtatCase.ROUGE;
+        return EtatCase.VIDE;
+    }
+
+    @Override
+    public boolean estLibre(int cellule) {
+        return ((bleu[cellule >>> 6] | rouge[cellule >>> 6]) & (1L << cellule)) == 0;
+    }
+
+    @Override
+    public void poser(int cellule, EtatCase couleur) {
+        if (profondeur > 0) {
+            throw new IllegalStateException("Coups joués non annulés : poser est interdit avant annuler()");
+        }
+        int mot = cellule >>> 6;
+        long bit = 1L << cellule;
+        boolean etaitLibre = ((bleu[mot] | rouge[mot]) & bit) == 0;
+        if (!etaitLibre) {
+            empreinte ^= topologie.getCleZobrist(cellule, (bleu[mot] & bit) != 0 ? EtatCase.BLEU : EtatCase.ROUGE);
+        }
+        empreinte ^= topologie.getCleZobrist(cellule, couleur);
+        bleu[mot] &= ~bit;
+        rouge[mot] &= ~bit;
+        if (couleur == EtatCase.BLEU) {
+            bleu[mot] |= bit;
+        } else if (couleur == EtatCase.ROUGE) {
+            rouge[mot] |= bit;
+        }
+
+        if (couleur == EtatCase.VIDE) {
+            libres.ajouter(cellule);
+        } else {
+            libres.retirer(cellule);
+        }
+
+        if (etaitLibre) {
+            if (couleur != EtatCase.VIDE) relier(cellule, couleur);
+        } else {
+            // Retrait ou changement de couleur : l'union-find ne sait pas défaire, on le reconstruit
+            reconstruireConnexite();
+        }
+    }
+
+    /**
+     * Joue un coup annulable : pose une pierre sur une cellule libre et l'empile.
+     * Tant que la pile n'est pas vide, seuls {@link #jouer} et {@link #annuler} peuvent
+     * modifier le plateau.
+     *
+     * @param cellule une cellule libre.
+     * @param couleur BLEU ou ROUGE.
+     * @throws IllegalArgumentException si la cellule est occupée ou si la couleur est VIDE.
+     */
+    public void jouer(int cellule, EtatCase couleur) {
+        if (couleur == EtatCase.VIDE || !estLibre(cellule)) {
+            throw new IllegalArgumentException("Coup impossible : " + couleur + " en " + cellule);
+        }
+        if (pileCoups == null) {
+            int n = getNombreCellules();
+            pileCoups = new int[n];
+            pileMarques = new int[n];
+            pileEmpreintes = new long[n];
+        }
+        pileCoups[profondeur] = cellule;
+        pileMarques[profondeur] = connexite.marque();
+        pileEmpreintes[profondeur] = empreinte;
+        profondeur++;
+
+        long bit = 1L << cellule;
+        if (couleur == EtatCase.BLEU) {
+            bleu[cellule >>> 6] |= bit;
+        } else {
+            rouge[cellule >>> 6] |= bit;
+        }
+        empreinte ^= topologie.getCleZobrist(cellule, couleur);
+        libres.retirer(cellule);
+        relier(cellule, couleur);
+    }
+
+    /**
+     * Annule le dernier coup joué par {@link #jouer(int, EtatCase)}.
+     *
+     * @return la cellule libérée.
+     * @throws IllegalStateException si aucun coup n'est à annuler.
+     */
+    public int annuler() {
+        if (profondeur == 0) {
+            throw new IllegalStateException("Aucun coup à annuler");
+        }
+        profondeur--;
+        int cellule = pileCoups[profondeur];
+        long bit = ~(1L << cellule);
+        bleu[cellule >>> 6] &= bit;
+        rouge[cellule >>> 6] &= bit;
+        empreinte = pileEmpreintes[profondeur];
+        libres.ajouter(cellule);
+        connexite.revenirA(pileMarques[profondeur]);
+        return cellule;
+    }
+
+    /**
+     * Annule des coups jusqu'à revenir à une profondeur de pile donnée.
+     *
+     * @param cible la profondeur à retrouver (0 : tous les coups joués sont annulés).
+     */
+    public void annulerJusqua(int cible) {
+        while (profondeur > cible) {
+            annuler();
+        }
+    }
+
+    /**
+     * Retourne le nombre de coups joués par {@link #jouer(int, EtatCase)} et pas encore annulés.
+     *
+     * @return la profondeur de la pile de coups.
+     */
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    /**
+     * Fusionne une pierre fraîchement posée avec ses voisines de même couleur et ses bords.
+     *
+     * @param cellule la cellule de la pierre.
+     * @param couleur la couleur de la pierre.
+     */
+    private void relier(int cellule, EtatCase couleur) {
+        if (Topologie.contient(topologie.getBordDepart(couleur), cellule)) {
+            connexite.unir(cellule, connexite.bordDepart(couleur));
+        }
+        if (Topologie.contient(topologie.getBordArrivee(couleur), cellule)) {
+            connexite.unir(cellule, connexite.bordArrivee(couleur));
+        }
+
+        // Au plus six voisines : la liste évite de parcourir tous les mots du masque
+        long[] pierres = getPierres(couleur);
+        for (int voisin : topologie.getListeVoisins(cellule)) {
+            if (Topologie.contient(pierres, voisin)) {
+                connexite.unir(cellule, voisin);
+            }
+        }
+    }
+
+    /**
+     * Recalcule entièrement la connexité à partir des masques d'occupation.
+     */
+    private void reconstruireConnexite() {
+        connexite.reinitialiser();
+        for (EtatCase couleur : new EtatCase[] { EtatCase.BLEU, EtatCase.ROUGE }) {
+            long[] pierres = getPierres(couleur);
+            for (int i = 0; i < pierres.length; i++) {
+                long bits = pierres[i];
+                while (bits != 0) {
+                    relier((i << 6) + Long.numberOfTrailingZeros(bits), couleur);
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne l'empreinte de Zobrist de l'occupation du plateau, tenue à jour à chaque pose.
+     *
+     * @return l'empreinte de la position.
+     */
+    public long getEmpreinte() {
+        return empreinte;
+    }
+
+    /**
+     * Retourne la clé de la position pour un joueur au trait : l'empreinte, combinée à la
+     * clé du trait lorsque ROUGE doit jouer.
+     *
+     * @param trait la couleur qui doit jouer.
+     * @return la clé de transposition.
+     */
+    public long getCle(EtatCase trait) {
+        return trait == EtatCase.ROUGE ? empreinte ^ topologie.getCleTrait() : empreinte;
+    }
+
+    @Override
+    public int nombreCasesLibres() {
+        return libres.taille();
+    }
+
+    /**
+     * Retourne l'ensemble des cellules libres, tenu à jour à chaque pose (vue partagée, à ne pas
+     * modifier). Son ordre dépend de l'historique des coups ; {@link #casesLibres(int[])} donne
+     * les mêmes cellules par ordre croissant.
+     *
+     * @return l'ensemble des cellules libres.
+     */
+    public CasesLibres getCasesLibres() {
+        return libres;
+    }
+
+    /**
+     * Tire une cellule libre uniformément au hasard, en temps constant.
+     *
+     * @param random le générateur à utiliser.
+     * @return le numéro d'une cellule libre, ou -1 si le plateau est plein.
+     */
+    public int caseLibreAleatoire(RandomGenerator random) {
+        return libres.aleatoire(random);
+    }
+
+    @Override
+    public int casesLibres(int[] destination) {
+        int n = 0;
+        int nombreCellules = getNombreCellules();
+        for (int mot = 0; mot < bleu.length; mot++) {
+            long libres = ~(bleu[mot] | rouge[mot]);
+            while (libres != 0) {
+                int cellule = (mot << 6) + Long.numberOfTrailingZeros(libres);
+                if (cellule >= nombreCellules) break;
+                destination[n++] = cellule;
+                libres &= libres - 1;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public boolean verifierVictoire(EtatCase couleur) {
+        if (couleur == EtatCase.VIDE) return false;
+        return connexite.aGagne(couleur);
+    }
+
+    @Override
+    public boolean estTerminee() {
+        return verifierVictoire(EtatCase.BLEU)
+            || verifierVictoire(EtatCase.ROUGE)
+            || nombreCasesLibres() == 0;
+    }
+
+    @Override
+    public PlateauBitboard copie() {
+        return new PlateauBitboard(this);
+    }
+
+    /**
+     * Recopie l'occupation d'un autre plateau de même taille dans celui-ci, sans allocation.
+     * La pile de coups de ce plateau est vidée (celle de la source n'est pas recopiée).
+     *
+     * @param source le plateau à recopier.
+     */
+    public void copierDepuis(PlateauBitboard source) {
+        profondeur = 0;
+        System.arraycopy(source.bleu, 0, bleu, 0, bleu.length);
+        System.arraycopy(source.rouge, 0, rouge, 0, rouge.length);
+        connexite.copierDepuis(source.connexite);
+        libres.copierDepuis(source.libres);
+        empreinte = source.empreinte;
+    }
+
+    /**
+     * Parcours en largeur sur les masques : vérifie si les pierres données relient
+     * le bord de départ au bord d'arrivée de la couleur. Sert de vérification ponctuelle
+     * lorsqu'on ne veut pas entretenir d'union-find (par exemple en fin de simulation).
+     *
+     * @param topologie la topologie du plateau.
+     * @param pierres le masque des pierres de la couleur.
+     * @param couleur BLEU ou ROUGE (détermine les bords).
+     * @param atteint tampon de travail (taille {@code getMots()}), écrasé.
+     * @param frontiere tampon de travail (taille {@code getMots()}), écrasé.
+     * @return true si un chemin relie les deux bords.
+     */
+    public static boolean relie(Topologie topologie, long[] pierres, EtatCase couleur,
+                                long[] atteint, long[] frontiere) {
+        long[] depart = topologie.getBordDepart(couleur);
+        long[] arrivee = topologie.getBordArrivee(couleur);
+        int mots = topologie.getMots();
+
+        for (int i = 0; i < mots; i++) {
+            atteint[i] = pierres[i] & depart[i];
+            frontiere[i] = atteint[i];
+        }
+
+        int mot = 0;
+        while (mot < mots) {
+            long bits = frontiere[mot];
+            if (bits == 0) {
+                mot++;
+                continue;
+            }
+            int cellule = (mot << 6) + Long.numberOfTrailingZeros(bits);
+            frontiere[mot] = bits & (bits - 1);
+            if ((arrivee[mot] & (1L << cellule)) != 0) {
+                return true;
+            }
+
+            // Ajouter les voisines de la même couleur pas encore atteintes
+            long[] voisins = topologie.getVoisins(cellule);
+            for (int i = 0; i < mots; i++) {
+                long nouveaux = voisins[i] & pierres[i] & ~atteint[i];
+                if (nouveaux != 0) {
+                    atteint[i] |= nouveaux;
+                    frontiere[i] |= nouveaux;
+                    if (i < mot) mot = i;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si deux plateaux sont identiques (même taille, même occupation).
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlateauBitboard p = (PlateauBitboard) o;
+        return topologie == p.topologie && Arrays.equals(bleu, p.bleu) && Arrays.equals(rouge, p.rouge);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(empreinte);
+    }
+}
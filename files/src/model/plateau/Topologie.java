@@ -0,0 +1,280 @@
+package model.plateau;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.Case;
+import model.Position;
+
+/**
+ * Tables précalculées décrivant la géométrie d'un plateau de taille donnée.
+ *
+ * Une seule instance existe par taille : elle est immuable et partagée par tous les plateaux
+ * et toutes les grilles de cette taille. Elle contient, pour chaque cellule, ses voisines
+ * (en masque de bits, en liste de numéros et par direction), les masques des quatre bords
+ * utilisés pour la détection de victoire, la correspondance numéro de cellule / (x, y) / position, et
+ * les clés de Zobrist qui permettent aux plateaux d'entretenir une empreinte de leur position.
+ */
+public final class Topologie {
+
+    private static final Map<Integer, Topologie> CACHE = new ConcurrentHashMap<>();
+    private static final Case.Direction[] DIRECTIONS = Case.Direction.values();
+
+    private final int taille;
+    private final int nombreCellules;
+    private final int mots;
+    private final long[][] voisins;
+    private final int[][] listesVoisins;
+    private final int[] voisinParDirection;  // DIRECTIONS.length entrées par cellule, -1 hors plateau
+    private final int[] xs;
+    private final int[] ys;
+    private final Position[] positions;
+    private final long[] bordBleuDepart;
+    private final long[] bordBleuArrivee;
+    private final long[] bordRougeDepart;
+    private final long[] bordRougeArrivee;
+    private final long[] zobrist;       // deux clés par cellule : BLEU en 2c, ROUGE en 2c + 1
+    private final long cleTrait;
+
+    /**
+     * Construit les tables pour une taille donnée.
+     *
+     * @param taille la taille du plateau.
+     */
+    private Topologie(int taille) {
+        this.taille = taille;
+        this.nombreCellules = taille * taille;
+        this.mots = (nombreCellules + 63) >>> 6;
+        this.voisins = new long[nombreCellules][mots];
+        this.listesVoisins = new int[nombreCellules][];
+        this.voisinParDirection = new int[nombreCellules * DIRECTIONS.length];
+        this.xs = new int[nombreCellules];
+        this.ys = new int[nombreCellules];
+        this.positions = new Position[nombreCellules];
+        this.bordBleuDepart = new long[mots];
+        this.bordBleuArrivee = new long[mots];
+        this.bordRougeDepart = new long[mots];
+        this.bordRougeArrivee = new long[mots];
+
+        // Clés tirées d'une graine fixe : la même position a la même empreinte d'une exécution à l'autre
+        SplittableRandom alea = new SplittableRandom(0x9E3779B97F4A7C15L ^ taille);
+        this.zobrist = new long[2 * nombreCellules];
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = alea.nextLong();
+        }
+        this.cleTrait = alea.nextLong();
+
+        for (int cellule = 0; cellule < nombreCellules; cellule++) {
+            xs[cellule] = cellule / taille;
+            ys[cellule] = cellule % taille + cellule / taille;
+            positions[cellule] = Position.immuable(xs[cellule], ys[cellule]);
+        }
+
+        int[] tampon = new int[DIRECTIONS.length];
+        for (int cellule = 0; cellule < nombreCellules; cellule++) {
+            int x = xs[cellule];
+            int y = ys[cellule];
+
+            // BLEU relie la colonne (x, x) à la colonne (x, x + taille - 1)
+            if (y == x) activer(bordBleuDepart, cellule);
+            if (y == x + taille - 1) activer(bordBleuArrivee, cellule);
+            // ROUGE relie la ligne x = 0 à la ligne x = taille - 1
+            if (x == 0) activer(bordRougeDepart, cellule);
+            if (x == taille - 1) activer(bordRougeArrivee, cellule);
+
+            int nombreVoisins = 0;
+            for (Case.Direction direction : DIRECTIONS) {
+                int vx = x + direction.getDx();
+                int vy = y + direction.getDy();
+                int voisin = estDansGrille(vx, vy) ? cellule(vx, vy) : -1;
+                voisinParDirection[cellule * DIRECTIONS.length + direction.ordinal()] = voisin;
+                if (voisin >= 0) {
+                    activer(voisins[cellule], voisin);
+                    tampon[nombreVoisins++] = voisin;
+                }
+            }
+            listesVoisins[cellule] = Arrays.copyOf(tampon, nombreVoisins);
+        }
+    }
+
+    /**
+     * Retourne la topologie (mise en cache) associée à une taille de plateau.
+     *
+     * @param taille la taille du plateau.
+     * @return la topologie partagée pour cette taille.
+     */
+    public static Topologie pour(int taille) {
+        if (taille <= 0) throw new IllegalArgumentException("Taille de plateau invalide : " + taille);
+        return CACHE.computeIfAbsent(taille, Topologie::new);
+    }
+
+    private static void activer(long[] masque, int cellule) {
+        masque[cellule >>> 6] |= 1L << cellule;
+    }
+
+    /**
+     * Vérifie si des coordonnées sont dans les limites "hex" du plateau.
+     *
+     * @param x la coordonnée x.
+     * @param y la coordonnée y.
+     * @return true si les coordonnées désignent une case du plateau.
+     */
+    public boolean estDansGrille(int x, int y) {
+        return x >= 0 && x < taille && y >= x && y < x + taille;
+    }
+
+    /**
+     * Convertit des coordonnées (x, y) en numéro de cellule.
+     *
+     * @param x la coordonnée x.
+     * @param y la coordonnée y.
+     * @return le numéro de cellule.
+     */
+    public int cellule(int x, int y) {
+        return x * taille + (y - x);
+    }
+
+    /**
+     * Retourne la coordonnée x d'une cellule.
+     *
+     * @param cellule le numéro de cellule.
+     * @return la coordonnée x.
+     */
+    public int getX(int cellule) {
+        return xs[cellule];
+    }
+
+    /**
+     * Retourne la coordonnée y d'une cellule.
+     *
+     * @param cellule le numéro de cellule.
+     * @return la coordonnée y.
+     */
+    public int getY(int cellule) {
+        return ys[cellule];
+    }
+
+    /**
+     * Retourne la position d'une cellule, partagée et immuable : convertir un coup en
+     * position n'alloue rien.
+     *
+     * @param cellule le numéro de cellule.
+     * @return la position de la cellule.
+     */
+    public Position getPosition(int cellule) {
+        return positions[cellule];
+    }
+
+    /**
+     * Retourne la taille (côté) de la grille.
+     *
+     * @return la taille de la grille.
+     */
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * Retourne le nombre de cellules du plateau (taille × taille).
+     *
+     * @return le nombre de cellules.
+     */
+    public int getNombreCellules() {
+        return nombreCellules;
+    }
+
+    /**
+     * Retourne le nombre de mots de 64 bits nécessaires pour représenter un masque de cellules.
+     *
+     * @return la longueur des tableaux de masques.
+     */
+    public int getMots() {
+        return mots;
+    }
+
+    /**
+     * Retourne le masque des voisines d'une cellule (tableau partagé, à ne pas modifier).
+     *
+     * @param cellule le numéro de cellule.
+     * @return le masque des cellules voisines.
+     */
+    public long[] getVoisins(int cellule) {
+        return voisins[cellule];
+    }
+
+    /**
+     * Retourne les numéros des cellules voisines d'une cellule (tableau partagé, à ne pas modifier).
+     *
+     * @param cellule le numéro de cellule.
+     * @return les voisines, de deux à six selon la position de la cellule.
+     */
+    public int[] getListeVoisins(int cellule) {
+        return listesVoisins[cellule];
+    }
+
+    /**
+     * Retourne la voisine d'une cellule dans une direction.
+     *
+     * @param cellule le numéro de cellule.
+     * @param direction la direction.
+     * @return le numéro de la cellule voisine, ou -1 si elle est hors du plateau.
+     */
+    public int getVoisin(int cellule, Case.Direction direction) {
+        return voisinParDirection[cellule * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    /**
+     * Indique si une cellule appartient à un masque (par exemple un bord).
+     *
+     * @param masque le masque de cellules.
+     * @param cellule le numéro de cellule.
+     * @return true si le bit de la cellule est levé.
+     */
+    public static boolean contient(long[] masque, int cellule) {
+        return (masque[cellule >>> 6] & (1L << cellule)) != 0;
+    }
+
+    /**
+     * Retourne le masque du bord de départ d'une couleur (gauche pour BLEU, haut pour ROUGE).
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return le masque du bord de départ (tableau partagé, à ne pas modifier).
+     */
+    public long[] getBordDepart(Case.EtatCase couleur) {
+        return couleur == Case.EtatCase.BLEU ? bordBleuDepart : bordRougeDepart;
+    }
+
+    /**
+     * Retourne le masque du bord d'arrivée d'une couleur (droite pour BLEU, bas pour ROUGE).
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return le masque du bord d'arrivée (tableau partagé, à ne pas modifier).
+     */
+    public long[] getBordArrivee(Case.EtatCase couleur) {
+        return couleur == Case.EtatCase.BLEU ? bordBleuArrivee : bordRougeArrivee;
+    }
+
+    /**
+     * Retourne la clé de Zobrist d'une pierre.
+     *
+     * @param cellule le numéro de cellule.
+     * @param couleur la couleur de la pierre ; VIDE donne 0.
+     * @return la clé à combiner (ou exclusif) dans l'empreinte du plateau.
+     */
+    public long getCleZobrist(int cellule, Case.EtatCase couleur) {
+        if (couleur == Case.EtatCase.BLEU) return zobrist[2 * cellule];
+        if (couleur == Case.EtatCase.ROUGE) return zobrist[2 * cellule + 1];
+        return 0L;
+    }
+
+    /**
+     * Retourne la clé de Zobrist du trait, combinée à l'empreinte quand ROUGE doit jouer.
+     *
+     * @return la clé du trait.
+     */
+    public long getCleTrait() {
+        return cleTrait;
+    }
+}
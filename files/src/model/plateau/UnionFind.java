@@ -0,0 +1,213 @@
+package model.plateau;
+
+import java.util.Arrays;
+
+import model.Case.EtatCase;
+
+/**
+ * Structure d'ensembles disjoints (union-find) suivant la connexité des pierres d'un plateau.
+ *
+ * Les éléments 0 à {@code nombreCellules - 1} sont les cellules du plateau ; quatre éléments
+ * virtuels supplémentaires représentent les bords (départ et arrivée de chaque couleur).
+ * Une couleur a gagné dès que ses deux bords virtuels appartiennent au même ensemble,
+ * ce qui se vérifie en temps quasi constant.
+ *
+ * Les fusions peuvent être annulées : à partir d'une {@link #marque()}, chaque fusion est
+ * consignée dans un journal et {@link #revenirA(int)} les défait dans l'ordre inverse. Tant
+ * que le journal est actif, la recherche ne compresse pas les chemins (l'union par rang
+ * suffit à garder des arbres de hauteur logarithmique) : seules les fusions modifient la structure.
+ */
+public class UnionFind {
+
+    private final int nombreCellules;
+    private final int[] parent;
+    private final byte[] rang;
+    private int[] journal;       // par fusion : élément rattaché, racine dont le rang a augmenté (ou -1)
+    private int tailleJournal;
+    private boolean journalActif;
+
+    /**
+     * Crée une structure où chaque élément (cellules et bords virtuels) est isolé.
+     *
+     * @param nombreCellules le nombre de cellules du plateau.
+     */
+    public UnionFind(int nombreCellules) {
+        this.nombreCellules = nombreCellules;
+        this.parent = new int[nombreCellules + 4];
+        this.rang = new byte[nombreCellules + 4];
+        reinitialiser();
+    }
+
+    /**
+     * Constructeur de copie.
+     *
+     * @param autre la structure à copier.
+     */
+    private UnionFind(UnionFind autre) {
+        this.nombreCellules = autre.nombreCellules;
+        this.parent = autre.parent.clone();
+        this.rang = autre.rang.clone();
+    }
+
+    /**
+     * Isole de nouveau tous les éléments.
+     */
+    public void reinitialiser() {
+        arreterJournal();
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(rang, (byte) 0);
+    }
+
+    /**
+     * Retourne l'élément virtuel représentant le bord de départ d'une couleur.
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return l'indice du bord de départ (gauche pour BLEU, haut pour ROUGE).
+     */
+    public int bordDepart(EtatCase couleur) {
+        return couleur == EtatCase.BLEU ? nombreCellules : nombreCellules + 2;
+    }
+
+    /**
+     * Retourne l'élément virtuel représentant le bord d'arrivée d'une couleur.
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return l'indice du bord d'arrivée (droite pour BLEU, bas pour ROUGE).
+     */
+    public int bordArrivee(EtatCase couleur) {
+        return couleur == EtatCase.BLEU ? nombreCellules + 1 : nombreCellules + 3;
+    }
+
+    /**
+     * Retourne le représentant de l'ensemble contenant un élément (avec compression de chemin par moitié).
+     *
+     * @param element l'élément recherché.
+     * @return le représentant de son ensemble.
+     */
+    public int trouver(int element) {
+        if (journalActif) {
+            while (parent[element] != element) {
+                element = parent[element];
+            }
+            return element;
+        }
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Fusionne les ensembles de deux éléments (union par rang).
+     *
+     * @param a le premier élément.
+     * @param b le second élément.
+     */
+    public void unir(int a, int b) {
+        int ra = trouver(a);
+        int rb = trouver(b);
+        if (ra == rb) return;
+        int rattache;
+        int promue = -1;
+        if (rang[ra] < rang[rb]) {
+            parent[ra] = rb;
+            rattache = ra;
+        } else if (rang[ra] > rang[rb]) {
+            parent[rb] = ra;
+            rattache = rb;
+        } else {
+            parent[rb] = ra;
+            rang[ra]++;
+            rattache = rb;
+            promue = ra;
+        }
+        if (journalActif) {
+            if (tailleJournal == journal.length) {
+                journal = Arrays.copyOf(journal, 2 * journal.length);
+            }
+            journal[tailleJournal++] = rattache;
+            journal[tailleJournal++] = promue;
+        }
+    }
+
+    /**
+     * Active le journal des fusions (s'il ne l'est pas déjà) et retourne sa position actuelle.
+     *
+     * @return la marque à passer à {@link #revenirA(int)} pour annuler les fusions suivantes.
+     */
+    public int marque() {
+        if (!journalActif) {
+            if (journal == null) journal = new int[4 * parent.length];
+            tailleJournal = 0;
+            journalActif = true;
+        }
+        return tailleJournal;
+    }
+
+    /**
+     * Annule, dans l'ordre inverse, toutes les fusions faites depuis une marque.
+     * Revenir à la marque 0 désactive le journal.
+     *
+     * @param marque une marque obtenue par {@link #marque()}.
+     */
+    public void revenirA(int marque) {
+        if (!journalActif) return;
+        while (tailleJournal > marque) {
+            int promue = journal[--tailleJournal];
+            int rattache = journal[--tailleJournal];
+            parent[rattache] = rattache;
+            if (promue >= 0) rang[promue]--;
+        }
+        if (marque == 0) arreterJournal();
+    }
+
+    private void arreterJournal() {
+        journalActif = false;
+        tailleJournal = 0;
+    }
+
+    /**
+     * Indique si deux éléments appartiennent au même ensemble.
+     *
+     * @param a le premier élément.
+     * @param b le second élément.
+     * @return true s'ils sont connectés.
+     */
+    public boolean connectes(int a, int b) {
+        return trouver(a) == trouver(b);
+    }
+
+    /**
+     * Indique si une couleur relie ses deux bords.
+     *
+     * @param couleur BLEU ou ROUGE.
+     * @return true si la couleur a gagné.
+     */
+    public boolean aGagne(EtatCase couleur) {
+        return connectes(bordDepart(couleur), bordArrivee(couleur));
+    }
+
+    /**
+     * Recopie l'état d'une autre structure de même taille, sans allocation (le journal
+     * de cette structure est vidé, celui de la source n'est pas recopié).
+     *
+     * @param source la structure à recopier.
+     */
+    public void copierDepuis(UnionFind source) {
+        arreterJournal();
+        System.arraycopy(source.parent, 0, parent, 0, parent.length);
+        System.arraycopy(source.rang, 0, rang, 0, rang.length);
+    }
+
+    /**
+     * Crée une copie indépendante de la structure, sans journal.
+     *
+     * @return la copie.
+     */
+    public UnionFind copie() {
+        return new UnionFind(this);
+    }
+}
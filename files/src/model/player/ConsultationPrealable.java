@@ -0,0 +1,68 @@
+package model.player;
+
+import model.Case;
+import model.Grille;
+import model.Position;
+import model.mcts.SolveurExact;
+import model.ouvertures.LivreOuvertures;
+
+/**
+ * Consultation faite par les stratégies MCTS et RAVE avant de lancer leur recherche.
+ *
+ * Si un livre d'ouvertures connaît la position, son coup est retenu ; sinon, en fin de partie,
+ * un coup gagnant prouvé par le solveur exact est retenu de même. Toutes les stratégies de
+ * recherche passent par cette classe, pour jouer les mêmes coups quel que soit leur moteur.
+ */
+final class ConsultationPrealable {
+
+    private LivreOuvertures livre;
+    private SolveurExact solveur = new SolveurExact();
+    private boolean coupDuLivre;
+    private boolean coupDuSolveur;
+
+    void setLivreOuvertures(LivreOuvertures livre) {
+        this.livre = livre;
+    }
+
+    void setSolveurExact(SolveurExact solveur) {
+        this.solveur = solveur;
+    }
+
+    /**
+     * Propose un coup sans recherche : celui du livre, sinon celui du solveur exact.
+     *
+     * @param grille la grille de jeu actuelle
+     * @param couleur la couleur du joueur au trait
+     * @return le coup retenu, ou null si la recherche doit choisir
+     */
+    Position proposer(Grille grille, Case.EtatCase couleur) {
+        Position position = (livre != null) ? livre.proposer(grille, couleur) : null;
+        coupDuLivre = (position != null);
+        coupDuSolveur = false;
+        if (!coupDuLivre && solveur != null) {
+            position = solveur.proposer(grille, couleur);
+            coupDuSolveur = (position != null);
+        }
+        return position;
+    }
+
+    /**
+     * Indique si le dernier coup proposé vient du livre ou du solveur, donc sans recherche.
+     *
+     * @return true si aucune recherche n'a été faite pour le dernier coup
+     */
+    boolean sansRecherche() {
+        return coupDuLivre || coupDuSolveur;
+    }
+
+    /**
+     * Retourne la mention ajoutée au message du coup joué, selon son origine.
+     *
+     * @return " (livre d'ouvertures)", " (solveur exact)" ou une chaîne vide
+     */
+    String origine() {
+        if (coupDuLivre) return " (livre d'ouvertures)";
+        if (coupDuSolveur) return " (solveur exact)";
+        return "";
+    }
+}
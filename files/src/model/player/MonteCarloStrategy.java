@@ -1,7 +1,9 @@
 package model.player;
 
 import model.*;
+import model.aleatoire.Aleatoire;
 import model.mcts.*;
+import model.ouvertures.LivreOuvertures;
 import utils.strategyMessage.MessageHandler;
 
 /**
@@ -13,6 +15,7 @@ import utils.strategyMessage.MessageHandler;
 public class MonteCarloStrategy implements PlayerStrategy {
 
     private MCTS mcts = new MCTS();
+    private final ConsultationPrealable consultation = new ConsultationPrealable();
 
     /**
      * Constructeur de la stratégie Monte Carlo avec un budget d'itérations personnalisé.
@@ -23,6 +26,19 @@ public class MonteCarloStrategy implements PlayerStrategy {
         this.mcts = new MCTS(iterationBudget);
     }
 
+    /**
+     * Constructeur de la stratégie avec parallélisation aux feuilles : chaque feuille
+     * sélectionnée lance un lot de simulations dont le résultat est rétropropagé une seule fois.
+     * 
+     * @param iterationBudget le nombre d'itérations à effectuer pour la recherche
+     * @param playoutsParFeuille le nombre de simulations lancées depuis chaque feuille
+     * @param nombreThreads le nombre de threads entre lesquels répartir chaque lot
+     */
+    public MonteCarloStrategy(int iterationBudget, int playoutsParFeuille, int nombreThreads) {
+        this.mcts = new MCTS(iterationBudget);
+        this.mcts.setParallelismeFeuille(playoutsParFeuille, nombreThreads);
+    }
+
     /**
      * Constructeur par défaut utilisant le budget d'itérations défini dans les constantes du projet.
      */
@@ -31,8 +47,72 @@ public class MonteCarloStrategy implements PlayerStrategy {
     }
 
     
+    /**
+     * Limite chaque recherche à un temps fixe au lieu du budget d'itérations.
+     * 
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes (0 : budget d'itérations)
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        mcts.setTempsParCoup(tempsParCoupMs);
+    }
+
+    /**
+     * Attribue au joueur une pendule pour toute la partie, répartie entre ses coups restants.
+     * 
+     * @param tempsPartieMs le temps total de la partie en millisecondes
+     */
+    public void setTempsPartie(long tempsPartieMs) {
+        mcts.setHorloge(new GestionTemps(tempsPartieMs));
+    }
+
+    @Override
+    public double getIterationsMoyennesParCoup() {
+        return mcts.getIterationsMoyennesParCoup();
+    }
+
+    @Override
+    public double getVisitesConserveesMoyennesParCoup() {
+        return mcts.getVisitesConserveesMoyennesParCoup();
+    }
+
+    @Override
+    public int getIterationsDernierCoup() {
+        return consultation.sansRecherche() ? 0 : mcts.getIterationsDernierCoup();
+    }
+
+    @Override
+    public int getVisitesCoupChoisi() {
+        return consultation.sansRecherche() ? 0 : mcts.getVisitesCoupChoisi();
+    }
+
+    @Override
+    public void notifyMove(Position coup, Case.EtatCase couleur) {
+        mcts.notifyMove(coup, couleur);
+    }
+
+    @Override
+    public void setGraine(long graine) {
+        mcts.setRandom(Aleatoire.creer(graine));
+    }
+
+    @Override
+    public void setLivreOuvertures(LivreOuvertures livre) {
+        consultation.setLivreOuvertures(livre);
+    }
+
+    /**
+     * Remplace le solveur exact des fins de partie.
+     * 
+     * @param solveur le solveur, ou null pour toujours jouer le coup de la recherche
+     */
+    public void setSolveurExact(SolveurExact solveur) {
+        consultation.setSolveurExact(solveur);
+    }
+
     /**
      * Place un pion en utilisant l'algorithme Monte Carlo Tree Search pour déterminer la meilleure position.
+     * Si un livre d'ouvertures connaît la position, son coup est joué sans recherche ; en fin
+     * de partie, un coup gagnant prouvé par le solveur exact est joué de même.
      * 
      * @param grille la grille de jeu actuelle
      * @param couleur la couleur (état) du joueur
@@ -42,7 +122,10 @@ public class MonteCarloStrategy implements PlayerStrategy {
      */
     @Override
     public Position placerPion(Grille grille, Case.EtatCase couleur, MessageHandler messageHandler , boolean nonExperimentation) {
-        Position position = mcts.trouverMeilleurCoup(grille, couleur);
+        Position position = consultation.proposer(grille, couleur);
+        if (position == null) {
+            position = mcts.trouverMeilleurCoup(grille, couleur);
+        }
 
         if (position != null && grille.estDansGrille(position)) {
             Case cible = grille.getCase(position);
@@ -50,7 +133,7 @@ public class MonteCarloStrategy implements PlayerStrategy {
                 cible.setOccupe(couleur);
 
                 messageHandler.afficherMessage(
-                    "MonteCarloTreeSearch (" + couleur + ") a joué en " + position , nonExperimentation
+                    "MonteCarloTreeSearch (" + couleur + ") a joué en " + position + consultation.origine() , nonExperimentation
                 );
 
                 return position;
@@ -59,6 +59,18 @@ public class Player {
         return false;
     }
 
+    /**
+     * Informe la stratégie du joueur d'un coup joué par l'adversaire.
+     *
+     * @param coup la position jouée par l'adversaire.
+     * @param couleurAdversaire la couleur de l'adversaire.
+     */
+    public void notifierCoup(Position coup, Case.EtatCase couleurAdversaire) {
+        if (coup != null) {
+            strategy.notifyMove(coup, couleurAdversaire);
+        }
+    }
+
     /**
      * Retourne le nom du joueur.
      *
@@ -86,6 +98,15 @@ public class Player {
         return lastMove;
     }
 
+    /**
+     * Retourne la stratégie utilisée par le joueur.
+     *
+     * @return la stratégie du joueur.
+     */
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+
     /**
      * Retourne une représentation textuelle du joueur.
      *
@@ -3,16 +3,20 @@ package model.player;
 import config.*;
 import model.Case;
 import utils.strategyMessage.MessageHandler;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory pour créer des joueurs avec des stratégies spécifiques.
  */
 public class PlayerFactory {
 
-    // Stocke le budget d'itération pour chaque joueur MCTS indexé par le nom du joueur.
-    private static Map<String, Integer> iterationBudgets = new HashMap<>();
+    // Stocke le budget d'itération pour chaque joueur MCTS indexé par le nom du joueur
+    // (les expérimentations créent des joueurs depuis plusieurs threads).
+    private static Map<String, Integer> iterationBudgets = new ConcurrentHashMap<>();
+
+    // Suffixe des stratégies automatiques parallélisées dans un arbre partagé (mcts-partage, rave-partage)
+    private static final String SUFFIXE_PARTAGE = "-partage";
 
     /**
      * Retourne le budget d'itération associé à un joueur donné.
@@ -30,7 +34,8 @@ public class PlayerFactory {
      *
      * @param nom Le nom du joueur.
      * @param couleur La couleur du joueur.
-     * @param typeStrategy Le type de stratégie (random, mcts, rave, human).
+     * @param typeStrategy Le type de stratégie (random, mcts, rave, mcts-parallele, rave-parallele,
+     *                     mcts-partage, rave-partage, human).
      * @param messageHandler Le gestionnaire de messages pour l'interaction avec l'utilisateur.
      * @return Le joueur créé.
      * @throws IllegalArgumentException si la stratégie est inconnue.
@@ -54,6 +59,26 @@ public class PlayerFactory {
                 strategy = new RAVEStrategy(budget);
                 iterationBudgets.put(nom, budget);
                 break;
+            case "mcts-parallele":
+                budget = demandInput(nom, messageHandler);
+                strategy = new RootParallelStrategy("mcts", budget, Constants.NB_THREADS);
+                iterationBudgets.put(nom, budget);
+                break;
+            case "rave-parallele":
+                budget = demandInput(nom, messageHandler);
+                strategy = new RootParallelStrategy("rave", budget, Constants.NB_THREADS);
+                iterationBudgets.put(nom, budget);
+                break;
+            case "mcts-partage":
+                budget = demandInput(nom, messageHandler);
+                strategy = new TreeParallelStrategy("mcts", budget, Constants.NB_THREADS);
+                iterationBudgets.put(nom, budget);
+                break;
+            case "rave-partage":
+                budget = demandInput(nom, messageHandler);
+                strategy = new TreeParallelStrategy("rave", budget, Constants.NB_THREADS);
+                iterationBudgets.put(nom, budget);
+                break;
             case "human":
                 strategy = new HumanStrategy();
                 break;
@@ -76,14 +101,116 @@ public class PlayerFactory {
      * @throws IllegalArgumentException si le type de stratégie n'est pas mcts ou rave.
      */
     public static Player creerPlayerAutomatique(String nom, Case.EtatCase couleur, String typeStrategy, int budget, MessageHandler messageHandler) {
+        return creerPlayerAutomatique(nom, couleur, typeStrategy, budget, 1, messageHandler);
+    }
+
+
+    /**
+     * Crée un joueur MCTS/RAVE sans demande de saisie, en utilisant un budget prédéfini.
+     * Avec plus d'un thread, la recherche est parallélisée à la racine ({@link RootParallelStrategy}).
+     * 
+     * @param nom Le nom du joueur.
+     * @param couleur La couleur du joueur.
+     * @param typeStrategy Le type de stratégie (mcts ou rave).
+     * @param budget Le budget d'itération à utiliser.
+     * @param nbThreads Le nombre de threads (et d'arbres) de la recherche ; 1 ou moins pour une recherche séquentielle.
+     * @param messageHandler Le gestionnaire de messages.
+     * @return Le joueur créé.
+     * @throws IllegalArgumentException si le type de stratégie n'est pas mcts ou rave.
+     */
+    public static Player creerPlayerAutomatique(String nom, Case.EtatCase couleur, String typeStrategy, int budget, int nbThreads, MessageHandler messageHandler) {
+        return creerPlayerAutomatique(nom, couleur, typeStrategy, budget, nbThreads, 1, messageHandler);
+    }
+
+
+    /**
+     * Crée un joueur MCTS/RAVE sans demande de saisie, en utilisant un budget prédéfini.
+     * 
+     * Avec plus d'un playout par feuille, la recherche est parallélisée aux feuilles : les
+     * lots de simulations sont répartis sur {@code nbThreads} threads. Sinon, plus d'un thread
+     * donne une recherche parallélisée à la racine ({@link RootParallelStrategy}).
+     * 
+     * @param nom Le nom du joueur.
+     * @param couleur La couleur du joueur.
+     * @param typeStrategy Le type de stratégie (mcts ou rave).
+     * @param budget Le budget d'itération à utiliser.
+     * @param nbThreads Le nombre de threads de la recherche ; 1 ou moins pour une recherche séquentielle.
+     * @param playoutsParFeuille Le nombre de simulations lancées depuis chaque feuille (1 = séquentiel).
+     * @param messageHandler Le gestionnaire de messages.
+     * @return Le joueur créé.
+     * @throws IllegalArgumentException si le type de stratégie n'est pas mcts ou rave.
+     */
+    public static Player creerPlayerAutomatique(String nom, Case.EtatCase couleur, String typeStrategy, int budget,
+                                                int nbThreads, int playoutsParFeuille, MessageHandler messageHandler) {
+        return creerPlayerAutomatique(nom, couleur, typeStrategy, budget, nbThreads, playoutsParFeuille, 0, false, messageHandler);
+    }
+
+
+    /**
+     * Crée un joueur MCTS/RAVE sans demande de saisie, dont la recherche peut être limitée en temps.
+     * 
+     * Avec un temps strictement positif, chaque recherche s'arrête à l'échéance (ou plus tôt si
+     * le coup choisi ne peut plus changer) et le budget d'itérations est ignoré. Le temps est
+     * soit accordé à chaque coup, soit la pendule de toute la partie, répartie entre les cases
+     * encore libres. Le choix de la parallélisation est celui de
+     * {@link #creerPlayerAutomatique(String, Case.EtatCase, String, int, int, int, MessageHandler)},
+     * sauf pour mcts-partage et rave-partage : les {@code nbThreads} threads développent alors
+     * un seul arbre ({@link TreeParallelStrategy}).
+     * 
+     * @param nom Le nom du joueur.
+     * @param couleur La couleur du joueur.
+     * @param typeStrategy Le type de stratégie (mcts, rave, mcts-partage ou rave-partage).
+     * @param budget Le budget d'itération à utiliser sans limite de temps.
+     * @param nbThreads Le nombre de threads de la recherche ; 1 ou moins pour une recherche séquentielle.
+     * @param playoutsParFeuille Le nombre de simulations lancées depuis chaque feuille (1 = séquentiel).
+     * @param tempsMs Le temps de réflexion en millisecondes, 0 pour une recherche limitée en itérations.
+     * @param tempsPartie true si {@code tempsMs} est le temps de toute la partie, false s'il est accordé à chaque coup.
+     * @param messageHandler Le gestionnaire de messages.
+     * @return Le joueur créé.
+     * @throws IllegalArgumentException si le type de stratégie est inconnu, si le temps est négatif
+     *         ou si l'arbre partagé est demandé avec plus d'un playout par feuille.
+     */
+    public static Player creerPlayerAutomatique(String nom, Case.EtatCase couleur, String typeStrategy, int budget,
+                                                int nbThreads, int playoutsParFeuille, long tempsMs, boolean tempsPartie,
+                                                MessageHandler messageHandler) {
 
     		PlayerStrategy strategy;
-    	    if ("mcts".equalsIgnoreCase(typeStrategy)) {
-    	    	strategy = new MonteCarloStrategy(budget);
-    	    } else if ("rave".equalsIgnoreCase(typeStrategy)) {
-    	    	strategy = new RAVEStrategy(budget);
+    		int threads = Math.max(1, nbThreads);
+    	    boolean partage = typeStrategy.toLowerCase().endsWith(SUFFIXE_PARTAGE);
+    	    String algorithme = partage ? typeStrategy.substring(0, typeStrategy.length() - SUFFIXE_PARTAGE.length()) : typeStrategy;
+    	    if (!"mcts".equalsIgnoreCase(algorithme) && !"rave".equalsIgnoreCase(algorithme)) {
+    	    	throw new IllegalArgumentException("Stratégie inconnue (MCTS, RAVE, MCTS-PARTAGE ou RAVE-PARTAGE attendu) : " + typeStrategy);
+    	    }
+    	    if (tempsMs < 0) {
+    	    	throw new IllegalArgumentException("Le temps de réflexion ne peut pas être négatif : " + tempsMs);
+    	    }
+    	    if (partage && playoutsParFeuille > 1) {
+    	    	throw new IllegalArgumentException("Un seul playout par feuille avec l'arbre partagé : " + playoutsParFeuille);
+    	    }
+    	    boolean mcts = "mcts".equalsIgnoreCase(algorithme);
+    	    if (partage) {
+    	    	TreeParallelStrategy arbrePartage = new TreeParallelStrategy(algorithme, budget, threads);
+    	    	if (tempsMs > 0 && tempsPartie) arbrePartage.setTempsPartie(tempsMs);
+    	    	else arbrePartage.setTempsParCoup(tempsMs);
+    	    	strategy = arbrePartage;
+    	    } else if (playoutsParFeuille > 1 || threads == 1) {
+    	    	int playouts = Math.max(1, playoutsParFeuille);
+    	    	if (mcts) {
+    	    		MonteCarloStrategy monteCarlo = new MonteCarloStrategy(budget, playouts, threads);
+    	    		if (tempsMs > 0 && tempsPartie) monteCarlo.setTempsPartie(tempsMs);
+    	    		else monteCarlo.setTempsParCoup(tempsMs);
+    	    		strategy = monteCarlo;
+    	    	} else {
+    	    		RAVEStrategy rave = new RAVEStrategy(budget, playouts, threads);
+    	    		if (tempsMs > 0 && tempsPartie) rave.setTempsPartie(tempsMs);
+    	    		else rave.setTempsParCoup(tempsMs);
+    	    		strategy = rave;
+    	    	}
     	    } else {
-    	    	throw new IllegalArgumentException("Stratégie inconnue (seul MCTS ou RAVE attendu) : " + typeStrategy);
+    	    	RootParallelStrategy parallele = new RootParallelStrategy(typeStrategy, budget, threads);
+    	    	if (tempsMs > 0 && tempsPartie) parallele.setTempsPartie(tempsMs);
+    	    	else parallele.setTempsParCoup(tempsMs);
+    	    	strategy = parallele;
     	    }
 
     	    iterationBudgets.put(nom, budget);
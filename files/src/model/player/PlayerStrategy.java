@@ -3,6 +3,7 @@ package model.player;
 import model.Case;
 import model.Grille;
 import model.Position;
+import model.ouvertures.LivreOuvertures;
 import utils.strategyMessage.MessageHandler;
 
 /**
@@ -19,4 +20,68 @@ public interface PlayerStrategy {
      * @return la position (x,y) réellement jouée, ou null si échec
      */
     Position placerPion(Grille grille, Case.EtatCase couleur, MessageHandler messageHandler , boolean nonExperimentation);
+
+    /**
+     * Informe la stratégie d'un coup joué sur la grille (en pratique, celui de l'adversaire),
+     * pour qu'elle puisse réutiliser sa recherche. Par défaut, rien n'est fait.
+     *
+     * @param coup la position jouée.
+     * @param couleur la couleur qui a joué ce coup.
+     */
+    default void notifyMove(Position coup, Case.EtatCase couleur) {
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire de la stratégie, pour rendre ses choix
+     * reproductibles. Par défaut, rien n'est fait (stratégie déterministe ou non reproductible).
+     *
+     * @param graine la graine.
+     */
+    default void setGraine(long graine) {
+    }
+
+    /**
+     * Associe un livre d'ouvertures à la stratégie, consulté avant chaque recherche.
+     * Par défaut, rien n'est fait (stratégie qui ne consulte pas de livre).
+     *
+     * @param livre le livre d'ouvertures, ou null pour ne plus en consulter.
+     */
+    default void setLivreOuvertures(LivreOuvertures livre) {
+    }
+
+    /**
+     * Retourne le nombre moyen d'itérations de recherche effectivement réalisées par coup.
+     *
+     * @return la moyenne, 0 pour une stratégie sans recherche.
+     */
+    default double getIterationsMoyennesParCoup() {
+        return 0;
+    }
+
+    /**
+     * Retourne le nombre moyen de visites de l'arbre conservées d'un coup à l'autre.
+     *
+     * @return la moyenne, 0 pour une stratégie qui ne conserve pas d'arbre.
+     */
+    default double getVisitesConserveesMoyennesParCoup() {
+        return 0;
+    }
+
+    /**
+     * Retourne le nombre d'itérations de recherche réalisées pour le dernier coup joué.
+     *
+     * @return les itérations, 0 pour une stratégie sans recherche.
+     */
+    default int getIterationsDernierCoup() {
+        return 0;
+    }
+
+    /**
+     * Retourne le nombre de visites, en fin de recherche, du dernier coup joué.
+     *
+     * @return les visites, 0 pour une stratégie sans recherche.
+     */
+    default int getVisitesCoupChoisi() {
+        return 0;
+    }
 }
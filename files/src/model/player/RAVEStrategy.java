@@ -1,7 +1,9 @@
 package model.player;
 
 import model.*;
+import model.aleatoire.Aleatoire;
 import model.mcts.*;
+import model.ouvertures.LivreOuvertures;
 import utils.strategyMessage.MessageHandler;
 
 
@@ -15,6 +17,7 @@ import utils.strategyMessage.MessageHandler;
 public class RAVEStrategy implements PlayerStrategy {
 
     private RAVE rave = new RAVE();
+    private final ConsultationPrealable consultation = new ConsultationPrealable();
 
     /**
      * Constructeur de la stratégie RAVE avec un budget d'itérations personnalisé.
@@ -25,6 +28,19 @@ public class RAVEStrategy implements PlayerStrategy {
         this.rave = new RAVE(iterationBudget);
     }
 
+    /**
+     * Constructeur de la stratégie avec parallélisation aux feuilles : chaque feuille
+     * sélectionnée lance un lot de simulations dont le résultat est rétropropagé une seule fois.
+     * 
+     * @param iterationBudget le nombre d'itérations à effectuer pour la recherche
+     * @param playoutsParFeuille le nombre de simulations lancées depuis chaque feuille
+     * @param nombreThreads le nombre de threads entre lesquels répartir chaque lot
+     */
+    public RAVEStrategy(int iterationBudget, int playoutsParFeuille, int nombreThreads) {
+        this.rave = new RAVE(iterationBudget);
+        this.rave.setParallelismeFeuille(playoutsParFeuille, nombreThreads);
+    }
+
     /**
      * Constructeur par défaut utilisant le budget d'itérations défini dans les constantes du projet.
      */
@@ -32,8 +48,72 @@ public class RAVEStrategy implements PlayerStrategy {
         this.rave = new RAVE();
     }
 
+    /**
+     * Limite chaque recherche à un temps fixe au lieu du budget d'itérations.
+     * 
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes (0 : budget d'itérations)
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        rave.setTempsParCoup(tempsParCoupMs);
+    }
+
+    /**
+     * Attribue au joueur une pendule pour toute la partie, répartie entre ses coups restants.
+     * 
+     * @param tempsPartieMs le temps total de la partie en millisecondes
+     */
+    public void setTempsPartie(long tempsPartieMs) {
+        rave.setHorloge(new GestionTemps(tempsPartieMs));
+    }
+
+    @Override
+    public double getIterationsMoyennesParCoup() {
+        return rave.getIterationsMoyennesParCoup();
+    }
+
+    @Override
+    public double getVisitesConserveesMoyennesParCoup() {
+        return rave.getVisitesConserveesMoyennesParCoup();
+    }
+
+    @Override
+    public int getIterationsDernierCoup() {
+        return consultation.sansRecherche() ? 0 : rave.getIterationsDernierCoup();
+    }
+
+    @Override
+    public int getVisitesCoupChoisi() {
+        return consultation.sansRecherche() ? 0 : rave.getVisitesCoupChoisi();
+    }
+
+    @Override
+    public void notifyMove(Position coup, Case.EtatCase couleur) {
+        rave.notifyMove(coup, couleur);
+    }
+
+    @Override
+    public void setGraine(long graine) {
+        rave.setRandom(Aleatoire.creer(graine));
+    }
+
+    @Override
+    public void setLivreOuvertures(LivreOuvertures livre) {
+        consultation.setLivreOuvertures(livre);
+    }
+
+    /**
+     * Remplace le solveur exact des fins de partie.
+     * 
+     * @param solveur le solveur, ou null pour toujours jouer le coup de la recherche
+     */
+    public void setSolveurExact(SolveurExact solveur) {
+        consultation.setSolveurExact(solveur);
+    }
+
     /**
      * Place un pion en utilisant l'algorithme RAVE pour déterminer la meilleure position.
+     * Si un livre d'ouvertures connaît la position, son coup est joué sans recherche ; en fin
+     * de partie, un coup gagnant prouvé par le solveur exact est joué de même.
      * 
      * @param grille la grille de jeu actuelle
      * @param couleur la couleur de la case hexagonal(état) du joueur
@@ -43,7 +123,10 @@ public class RAVEStrategy implements PlayerStrategy {
      */
     @Override
     public Position placerPion(Grille grille, Case.EtatCase couleur, MessageHandler messageHandler , boolean nonExperimentation) {
-        Position position = rave.trouverMeilleurCoup(grille, couleur);
+        Position position = consultation.proposer(grille, couleur);
+        if (position == null) {
+            position = rave.trouverMeilleurCoup(grille, couleur);
+        }
 
         if (position != null && grille.estDansGrille(position)) {
             Case cible = grille.getCase(position);
@@ -51,7 +134,7 @@ public class RAVEStrategy implements PlayerStrategy {
                 cible.setOccupe(couleur);
 
                 messageHandler.afficherMessage(
-                    "RAVE (" + couleur + ") a joué en " + position , nonExperimentation
+                    "RAVE (" + couleur + ") a joué en " + position + consultation.origine() , nonExperimentation
                 );
 
                 return position;
@@ -1,8 +1,9 @@
 package model.player;
 
-import java.util.Random;
-import java.util.Map;
+import java.util.random.RandomGenerator;
 import model.*;
+import model.aleatoire.Aleatoire;
+import model.plateau.PlateauBitboard;
 import utils.strategyMessage.MessageHandler;
 
 /**
@@ -13,9 +14,12 @@ import utils.strategyMessage.MessageHandler;
  */
 public class RandomStrategy implements PlayerStrategy {
 
-    private final Random random = new Random();
+    private RandomGenerator random = Aleatoire.creer();
 
-    
+    @Override
+    public void setGraine(long graine) {
+        random = Aleatoire.creer(graine);
+    }
     
     /**
      * Place un pion sur une case choisie aléatoirement parmi les cases disponibles de la grille.
@@ -28,12 +32,12 @@ public class RandomStrategy implements PlayerStrategy {
      */
     @Override
     public Position placerPion(Grille grille, Case.EtatCase couleur, MessageHandler messageHandler , boolean nonExperimentation) {
-        Map<Integer, Position> disponibles = grille.genererCasesDisponibles();
-        if (disponibles.isEmpty()) {
+        PlateauBitboard plateau = grille.getPlateau();
+        int cellule = plateau.caseLibreAleatoire(random);
+        if (cellule < 0) {
             return null; 
         }
-        int choix = random.nextInt(disponibles.size()) + 1;
-        Position pos = disponibles.get(choix);
+        Position pos = plateau.getTopologie().getPosition(cellule);
 
         if (pos != null && grille.estDansGrille(pos)) {
             Case c = grille.getCase(pos);
@@ -0,0 +1,138 @@
+package model.player;
+
+import model.*;
+import model.mcts.*;
+import model.ouvertures.LivreOuvertures;
+import utils.strategyMessage.MessageHandler;
+
+/**
+ * Stratégie MCTS ou RAVE parallélisée à la racine.
+ *
+ * Plusieurs arbres indépendants sont développés simultanément (un par thread) puis leurs
+ * statistiques sont fusionnées pour choisir le coup : voir {@link MCTSParallele}.
+ */
+public class RootParallelStrategy implements PlayerStrategy {
+
+    private final MCTSParallele recherche;
+    private final String nomAlgorithme;
+    private final ConsultationPrealable consultation = new ConsultationPrealable();
+
+    /**
+     * Constructeur de la stratégie parallèle.
+     *
+     * @param typeStrategy "mcts" ou "rave" : l'algorithme développé par chaque arbre
+     * @param iterationBudget le nombre total d'itérations, réparti entre les arbres
+     * @param nombreThreads le nombre d'arbres développés en parallèle
+     * @throws IllegalArgumentException si l'algorithme est inconnu ou le nombre de threads invalide
+     */
+    public RootParallelStrategy(String typeStrategy, int iterationBudget, int nombreThreads) {
+        boolean rave;
+        if ("mcts".equalsIgnoreCase(typeStrategy)) {
+            rave = false;
+            this.nomAlgorithme = "MonteCarloTreeSearch";
+        } else if ("rave".equalsIgnoreCase(typeStrategy)) {
+            rave = true;
+            this.nomAlgorithme = "RAVE";
+        } else {
+            throw new IllegalArgumentException("Stratégie inconnue (seul MCTS ou RAVE attendu) : " + typeStrategy);
+        }
+        this.recherche = new MCTSParallele(iterationBudget, nombreThreads, rave, true);
+    }
+
+    /**
+     * Limite chaque recherche à un temps fixe au lieu du budget d'itérations.
+     * 
+     * @param tempsParCoupMs le temps accordé à chaque coup en millisecondes (0 : budget d'itérations)
+     */
+    public void setTempsParCoup(long tempsParCoupMs) {
+        recherche.setTempsParCoup(tempsParCoupMs);
+    }
+
+    /**
+     * Attribue au joueur une pendule pour toute la partie, répartie entre ses coups restants.
+     * 
+     * @param tempsPartieMs le temps total de la partie en millisecondes
+     */
+    public void setTempsPartie(long tempsPartieMs) {
+        recherche.setHorloge(new GestionTemps(tempsPartieMs));
+    }
+
+    @Override
+    public double getIterationsMoyennesParCoup() {
+        return recherche.getIterationsMoyennesParCoup();
+    }
+
+    @Override
+    public double getVisitesConserveesMoyennesParCoup() {
+        return recherche.getVisitesConserveesMoyennesParCoup();
+    }
+
+    @Override
+    public int getIterationsDernierCoup() {
+        return consultation.sansRecherche() ? 0 : recherche.getIterationsDernierCoup();
+    }
+
+    @Override
+    public int getVisitesCoupChoisi() {
+        return consultation.sansRecherche() ? 0 : recherche.getVisitesCoupChoisi();
+    }
+
+    @Override
+    public void notifyMove(Position coup, Case.EtatCase couleur) {
+        recherche.notifyMove(coup, couleur);
+    }
+
+    @Override
+    public void setGraine(long graine) {
+        recherche.setGraine(graine);
+    }
+
+    @Override
+    public void setLivreOuvertures(LivreOuvertures livre) {
+        consultation.setLivreOuvertures(livre);
+    }
+
+    /**
+     * Remplace le solveur exact des fins de partie.
+     * 
+     * @param solveur le solveur, ou null pour toujours jouer le coup de la recherche
+     */
+    public void setSolveurExact(SolveurExact solveur) {
+        consultation.setSolveurExact(solveur);
+    }
+
+    /**
+     * Place un pion en utilisant la recherche parallèle pour déterminer la meilleure position.
+     *
+     * Le livre d'ouvertures et le solveur exact sont consultés d'abord, comme pour les
+     * stratégies séquentielles.
+     *
+     * @param grille la grille de jeu actuelle
+     * @param couleur la couleur (état) du joueur
+     * @param messageHandler gestionnaire d'affichage des messages
+     * @param nonExperimentation indique si les messages doivent être affichés
+     * @return la position choisie, ou null si aucun coup valide n'est trouvé
+     */
+    @Override
+    public Position placerPion(Grille grille, Case.EtatCase couleur, MessageHandler messageHandler , boolean nonExperimentation) {
+        Position position = consultation.proposer(grille, couleur);
+        if (position == null) {
+            position = recherche.trouverMeilleurCoup(grille, couleur);
+        }
+
+        if (position != null && grille.estDansGrille(position)) {
+            Case cible = grille.getCase(position);
+            if (cible.estLibre()) {
+                cible.setOccupe(couleur);
+
+                messageHandler.afficherMessage(
+                    nomAlgorithme + " parallèle x" + recherche.getNombreArbres()
+                    + " (" + couleur + ") a joué en " + position + consultation.origine() , nonExperimentation
+                );
+
+                return position;
+            }
+        }
+        return null;
+    }
+}
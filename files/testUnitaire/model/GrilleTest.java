@@ -84,4 +84,43 @@ public class GrilleTest {
         Grille copie = grille.copy();
         assertEquals(grille, copie, "La copie de la grille doit être identique à l'originale");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCopieIndependante() {
+        grille.getCase(1, 2).setOccupe(Case.EtatCase.ROUGE);
+        Grille copie = grille.copy();
+        assertEquals(Case.EtatCase.ROUGE, copie.getCase(1, 2).getOccupe());
+
+        // Jouer dans la copie ne modifie ni les cases ni le plateau de l'originale
+        copie.getCase(0, 0).setOccupe(Case.EtatCase.BLEU);
+        assertTrue(grille.getCase(0, 0).estLibre());
+        assertNotEquals(grille, copie);
+        assertEquals(copie.getPlateau().getEmpreinte(), copie.copy().getPlateau().getEmpreinte());
+    }
+
+    @Test
+    void testVoisinsDesCases() {
+        Grille copie = grille.copy();
+        for (Grille g : new Grille[] { grille, copie }) {
+            Case centre = g.getCase(2, 4);
+            assertEquals(6, centre.getVoisins().size(), "Une case centrale a six voisins");
+            for (Map.Entry<Case.Direction, Case> voisin : centre.getVoisins().entrySet()) {
+                assertEquals(voisin.getKey().getPositionVoisine(centre.getPosition()), voisin.getValue().getPosition());
+                assertSame(voisin.getValue(), g.getCase(voisin.getValue().getPosition()),
+                           "Les voisins doivent être les cases de la même grille");
+            }
+            assertEquals(2, g.getCase(0, 0).getVoisins().size(), "Le coin aigu a deux voisins");
+        }
+    }
+
+    @Test
+    void testPositionsPartagees() {
+        Grille autre = new Grille(5, joueur1, joueur2);
+        // Même taille : les cases partagent les positions de la topologie, y compris dans une copie
+        assertSame(grille.getCase(2, 3).getPosition(), autre.getCase(2, 3).getPosition());
+        assertSame(grille.getCase(2, 3).getPosition(), grille.copy().getCase(2, 3).getPosition());
+        int cellule = grille.getPlateau().cellule(2, 3);
+        assertSame(grille.getCase(2, 3), grille.getCase(cellule));
+        assertThrows(IllegalArgumentException.class, () -> grille.getCase(1, 0));
+    }
+}
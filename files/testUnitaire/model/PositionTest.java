@@ -78,4 +78,16 @@ class PositionTest {
         assertEquals("(3, 4)", position1.toString(), "La représentation en chaîne doit être '(3, 4)'");
         assertEquals("(5, 7)", position3.toString(), "La représentation en chaîne doit être '(5, 7)'");
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie qu'une position partagée est égale à une position ordinaire mais non modifiable.
+     */
+    @Test
+    void testPositionImmuable() {
+        Position partagee = Position.immuable(3, 4);
+        assertEquals(position1, partagee, "Une position immuable doit être égale à la même position ordinaire");
+        assertEquals(position1.hashCode(), partagee.hashCode());
+        assertThrows(UnsupportedOperationException.class, () -> partagee.setX(1));
+        assertThrows(UnsupportedOperationException.class, () -> partagee.setY(1));
+    }
+}
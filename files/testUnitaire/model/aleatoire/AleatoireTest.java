@@ -0,0 +1,89 @@
+package livraison.testUnitaire.model.aleatoire;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.aleatoire.Aleatoire;
+import model.mcts.MCTS;
+import model.player.HumanStrategy;
+import model.player.Player;
+import utils.strategyMessage.ConsoleMessageHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la fabrique de générateurs aléatoires.
+ */
+public class AleatoireTest {
+
+    @AfterEach
+    void tearDown() {
+        Aleatoire.setAlgorithme(null);
+    }
+
+    @Test
+    void testAlgorithmeParDefaut() {
+        assertEquals(Aleatoire.ALGORITHME_PAR_DEFAUT, Aleatoire.getAlgorithme());
+    }
+
+    @Test
+    void testMemeGraineMemeSuite() {
+        for (String algorithme : new String[] { "SplittableRandom", "Xoroshiro128PlusPlus", "L64X128MixRandom" }) {
+            Aleatoire.setAlgorithme(algorithme);
+            assertEquals(algorithme, Aleatoire.getAlgorithme());
+            RandomGenerator a = Aleatoire.creer(2024);
+            RandomGenerator b = Aleatoire.creer(2024);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(a.nextLong(), b.nextLong(), algorithme + " : suites différentes pour la même graine");
+            }
+        }
+    }
+
+    @Test
+    void testAlgorithmesRefuses() {
+        assertThrows(IllegalArgumentException.class, () -> Aleatoire.setAlgorithme("Inconnu"));
+        assertThrows(IllegalArgumentException.class, () -> Aleatoire.setAlgorithme("Random"));
+        assertThrows(IllegalArgumentException.class, () -> Aleatoire.setAlgorithme("SecureRandom"));
+        assertEquals(Aleatoire.ALGORITHME_PAR_DEFAUT, Aleatoire.getAlgorithme(), "Un refus ne change pas l'algorithme");
+    }
+
+    @Test
+    void testEntierDansLesBornesEtUniforme() {
+        RandomGenerator random = Aleatoire.creer(5);
+        int[] comptes = new int[7];
+        for (int i = 0; i < 70000; i++) {
+            int tirage = Aleatoire.entier(random, 7);
+            assertTrue(tirage >= 0 && tirage < 7, "Tirage hors bornes : " + tirage);
+            comptes[tirage]++;
+        }
+        for (int compte : comptes) {
+            assertTrue(compte > 9000 && compte < 11000, "Répartition déséquilibrée : " + compte);
+        }
+        assertEquals(0, Aleatoire.entier(random, 1));
+        int grand = Aleatoire.entier(random, Integer.MAX_VALUE);
+        assertTrue(grand >= 0);
+    }
+
+    @Test
+    void testRechercheReproductibleAvecLaMemeGraine() {
+        Aleatoire.setAlgorithme("Xoroshiro128PlusPlus");
+        ConsoleMessageHandler handler = new ConsoleMessageHandler(true);
+        Player bleu = new Player("Bleu", EtatCase.BLEU, new HumanStrategy(), handler);
+        Player rouge = new Player("Rouge", EtatCase.ROUGE, new HumanStrategy(), handler);
+        Grille grille = new Grille(5, bleu, rouge);
+
+        MCTS premier = new MCTS(300, true);
+        premier.setRandom(Aleatoire.creer(99));
+        MCTS second = new MCTS(300, true);
+        second.setRandom(Aleatoire.creer(99));
+        Position a = premier.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        Position b = second.trouverMeilleurCoup(grille, EtatCase.BLEU);
+
+        assertEquals(a, b);
+        assertEquals(premier.getVisitesCoupChoisi(), second.getVisitesCoupChoisi());
+    }
+}
@@ -0,0 +1,183 @@
+package livraison.testUnitaire.model.enregistrement;
+
+import model.Case.EtatCase;
+import model.Orchestrateur;
+import model.enregistrement.EnregistreurParties;
+import model.enregistrement.ExportParties;
+import model.enregistrement.LecteurParties;
+import model.enregistrement.PartieEnregistree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'enregistrement binaire des parties.
+ */
+public class EnregistrementPartiesTest {
+
+    @TempDir
+    Path dossier;
+
+    private static PartieEnregistree partie(int taille, int coups, long graine) {
+        PartieEnregistree partie = new PartieEnregistree(taille, graine, "config-é");
+        for (int i = 0; i < coups; i++) {
+            partie.ajouterCoup(i % (taille * taille), i % 2 == 0 ? EtatCase.BLEU : EtatCase.ROUGE,
+                               100 + i, 1_000_000L * i, i / 2);
+        }
+        partie.setGagnant(2);
+        return partie;
+    }
+
+    @Test
+    void testRelectureIdentique() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(5, 12, 7));
+            // Plus grande que le tampon : écrite directement
+            enregistreur.enregistrer(partie(14, 5000, 8));
+        }
+        // Réouverture en ajout : pas de second en-tête
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(7, 3, 9));
+        }
+
+        List<PartieEnregistree> lues = new ArrayList<>();
+        assertEquals(3, LecteurParties.parcourir(fichier, lues::add));
+        PartieEnregistree premiere = lues.get(0);
+        assertEquals(5, premiere.getTaille());
+        assertEquals(7, premiere.getGraine());
+        assertEquals(2, premiere.getGagnant());
+        assertEquals("config-é", premiere.getEtiquette());
+        assertEquals(12, premiere.getNombreCoups());
+        assertEquals(EtatCase.ROUGE, premiere.getCouleur(3));
+        assertEquals(103, premiere.getIterations(3));
+        assertEquals(3_000_000L, premiere.getDureeNs(3));
+        assertEquals(1, premiere.getVisites(3));
+        assertEquals(5000, lues.get(1).getNombreCoups());
+        assertEquals(4999 % 196, lues.get(1).getCellule(4999));
+        assertEquals(9, lues.get(2).getGraine());
+    }
+
+    @Test
+    void testEnregistrementTronqueIgnore() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(5, 12, 1));
+            enregistreur.enregistrer(partie(5, 12, 2));
+        }
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 10);
+        }
+        List<PartieEnregistree> lues = new ArrayList<>();
+        assertEquals(1, LecteurParties.parcourir(fichier, lues::add));
+        assertEquals(1, lues.get(0).getGraine());
+    }
+
+    @Test
+    void testPartieEcriteAvantRetour() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(5, 12, 1));
+            // Sans vider ni fermer : la partie doit déjà être dans le fichier
+            assertEquals(1, LecteurParties.parcourir(fichier, p -> { }));
+        }
+    }
+
+    @Test
+    void testReouvertureApresEnregistrementTronque() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(5, 12, 1));
+            enregistreur.enregistrer(partie(5, 12, 2));
+        }
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 10);
+        }
+        // Le reste de l'enregistrement tronqué est retiré avant d'ajouter le suivant
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(7, 3, 3));
+        }
+        List<PartieEnregistree> lues = new ArrayList<>();
+        assertEquals(2, LecteurParties.parcourir(fichier, lues::add));
+        assertEquals(1, lues.get(0).getGraine());
+        assertEquals(3, lues.get(1).getGraine());
+        assertEquals(3, lues.get(1).getNombreCoups());
+    }
+
+    @Test
+    void testEnregistreurRefuseUnAutreFichier() throws IOException {
+        Path fichier = dossier.resolve("autre.bin");
+        Files.writeString(fichier, "pas des parties");
+        assertThrows(IOException.class, () -> new EnregistreurParties(fichier));
+        assertEquals("pas des parties", Files.readString(fichier));
+    }
+
+    @Test
+    void testFichierInvalide() throws IOException {
+        Path fichier = dossier.resolve("autre.bin");
+        Files.writeString(fichier, "pas des parties");
+        assertThrows(IOException.class, () -> new LecteurParties(fichier));
+    }
+
+    @Test
+    void testExports() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            enregistreur.enregistrer(partie(5, 4, 1));
+            enregistreur.enregistrer(partie(5, 6, 2));
+        }
+
+        Path csv = dossier.resolve("coups.csv");
+        assertEquals(2, ExportParties.exporterCSV(fichier, csv));
+        List<String> lignes = Files.readAllLines(csv);
+        assertEquals(1 + 10, lignes.size());
+        assertTrue(lignes.get(1).startsWith("0,0,5,0,0,0,BLEU,100,0,0,2,1,"));
+
+        Path colonnes = dossier.resolve("colonnes");
+        assertEquals(2, ExportParties.exporterColonnes(fichier, colonnes));
+        assertEquals(10 * 4, Files.size(colonnes.resolve("partie.bin")));
+        assertEquals(10 * 8, Files.size(colonnes.resolve("duree_ns.bin")));
+        assertEquals(10, Files.size(colonnes.resolve("couleur.bin")));
+        assertTrue(Files.readString(colonnes.resolve("schema.txt")).contains("lignes=10"));
+        assertEquals(3, Files.readAllLines(colonnes.resolve("parties.csv")).size());
+    }
+
+    @Test
+    void testPartieAutomatiqueEnregistree() throws IOException {
+        Path fichier = dossier.resolve("parties.hexr");
+        int gagnant;
+        try (EnregistreurParties enregistreur = new EnregistreurParties(fichier)) {
+            Orchestrateur orchestrateur = new Orchestrateur(4, 30, 30, "BLEU", "MCTS", "RAVE", 1, true);
+            orchestrateur.setGraine(5);
+            orchestrateur.setEnregistreur(enregistreur, "test");
+            gagnant = orchestrateur.jouerPartieAutomatique();
+        }
+
+        List<PartieEnregistree> lues = new ArrayList<>();
+        assertEquals(1, LecteurParties.parcourir(fichier, lues::add));
+        PartieEnregistree partie = lues.get(0);
+        assertEquals(gagnant, partie.getGagnant());
+        assertEquals(5, partie.getGraine());
+        assertEquals("test", partie.getEtiquette());
+        assertEquals(EtatCase.BLEU, partie.getCouleur(0));
+        Set<Integer> cellules = new HashSet<>();
+        for (int i = 0; i < partie.getNombreCoups(); i++) {
+            assertTrue(cellules.add(partie.getCellule(i)), "Chaque cellule n'est jouée qu'une fois");
+            assertTrue(partie.getIterations(i) <= 30, "Au plus le budget (moins si la position est prouvée)");
+            assertTrue(partie.getIterations(i) == 0 || partie.getVisites(i) > 0,
+                       "Un coup cherché a des visites (le solveur exact n'en compte aucune)");
+            assertTrue(partie.getDureeNs(i) > 0);
+        }
+    }
+}
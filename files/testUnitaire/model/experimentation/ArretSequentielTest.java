@@ -0,0 +1,56 @@
+package livraison.testUnitaire.model.experimentation;
+
+import model.experimentation.ArretSequentiel;
+import model.experimentation.ConfigurationExperience;
+import model.experimentation.ResultatConfiguration;
+import model.experimentation.ResultatPartie;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'arrêt séquentiel des configurations.
+ */
+public class ArretSequentielTest {
+
+    private static ResultatConfiguration resultat(int victoiresJ1, int victoiresJ2) {
+        ResultatConfiguration r = new ResultatConfiguration(
+            new ConfigurationExperience(5, 100, 100, "BLEU", "MCTS", "MCTS", 1, 1, 0, 0, false));
+        for (int i = 0; i < victoiresJ1; i++) r.ajouterPartie(new ResultatPartie(1, 0, 0, 0, 0, 0));
+        for (int i = 0; i < victoiresJ2; i++) r.ajouterPartie(new ResultatPartie(2, 0, 0, 0, 0, 0));
+        return r;
+    }
+
+    @Test
+    void testIntervalleDeWilson() {
+        // 5 victoires sur 10 à 95 % : [0.2366, 0.7634]
+        double[] intervalle = ArretSequentiel.intervalle(5, 10, 0.95);
+        assertEquals(0.2366, intervalle[0], 1e-4);
+        assertEquals(0.7634, intervalle[1], 1e-4);
+        // 10 victoires sur 10 : la borne haute reste 1
+        assertEquals(1.0, ArretSequentiel.intervalle(10, 10, 0.95)[1], 1e-12);
+    }
+
+    @Test
+    void testConfrontationDesequilibreeArreteeTot() {
+        ArretSequentiel arret = new ArretSequentiel(0.05, 0.95, 5);
+        assertFalse(arret.arreter(resultat(4, 0)), "Pas d'arrêt avant le minimum de parties");
+        assertTrue(arret.arreter(resultat(8, 0)), "Le joueur 1 est nettement plus fort");
+        assertTrue(arret.arreter(resultat(1, 9)), "Le joueur 2 est nettement plus fort");
+    }
+
+    @Test
+    void testConfrontationEquilibreeJusquALaPrecision() {
+        ArretSequentiel arret = new ArretSequentiel(0.1, 0.95, 5);
+        assertFalse(arret.arreter(resultat(15, 15)));
+        // Demi-largeur d'environ 0.098 pour 100 parties équilibrées
+        assertTrue(arret.arreter(resultat(50, 50)));
+    }
+
+    @Test
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new ArretSequentiel(0, 0.95, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ArretSequentiel(0.1, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ArretSequentiel(0.1, 0.95, 0));
+    }
+}
@@ -0,0 +1,78 @@
+package livraison.testUnitaire.model.experimentation;
+
+import model.experimentation.ConfigurationExperience;
+import model.experimentation.JournalCampagne;
+import model.experimentation.ResultatConfiguration;
+import model.experimentation.ResultatPartie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le journal de campagne.
+ */
+public class JournalCampagneTest {
+
+    private static final ConfigurationExperience CONFIG =
+        new ConfigurationExperience(5, 100, 200, "BLEU", "MCTS", "RAVE", 1, 1, 0, 0, false);
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    void testRelectureApresReouverture() throws Exception {
+        Path fichier = dossier.resolve("campagne.journal");
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            journal.enregistrer(CONFIG, 0, new ResultatPartie(1, 120, 100.5, 200.25, 10, 20));
+            journal.enregistrer(CONFIG, 1, new ResultatPartie(2, 80, 99.5, 199.75, 30, 40));
+            journal.enregistrer(CONFIG, 3, new ResultatPartie(2, 70, 99.5, 199.75, 30, 40));
+        }
+
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            assertEquals(3, journal.getNombreParties());
+            assertTrue(journal.contient(CONFIG, 0));
+            assertFalse(journal.contient(CONFIG, 2));
+            assertEquals(199.75, journal.getPartie(CONFIG, 1).getIterationsJ2());
+
+            ResultatConfiguration resultat = journal.resultat(CONFIG, 5, null);
+            assertEquals(1, resultat.getVictoiresJ1());
+            assertEquals(1, resultat.getVictoiresJ2());
+            assertEquals(200, resultat.getDureeMs());
+            assertEquals(100.0, resultat.getIterationsMoyennesJ1(), 1e-9);
+            assertEquals(2, resultat.getNbParties(), "Le cumul s'arrête à la première partie manquante");
+            assertEquals(1, journal.resultat(CONFIG, 1, null).getNbParties(), "Seules les parties sous la borne comptent");
+        }
+    }
+
+    @Test
+    void testLigneTronqueeIgnoree() throws Exception {
+        Path fichier = dossier.resolve("campagne.journal");
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            journal.enregistrer(CONFIG, 0, new ResultatPartie(1, 120, 100, 200, 0, 0));
+        }
+        // Arrêt brutal au milieu de l'écriture de la partie suivante
+        Files.writeString(fichier, CONFIG.getCle() + ";1;2;9", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            assertEquals(1, journal.getNombreParties());
+            journal.enregistrer(CONFIG, 1, new ResultatPartie(2, 90, 100, 200, 0, 0));
+        }
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            assertEquals(2, journal.getNombreParties());
+            assertEquals(90, journal.getPartie(CONFIG, 1).getDureeMs());
+        }
+    }
+
+    @Test
+    void testAutreGraineRefusee() throws Exception {
+        Path fichier = dossier.resolve("campagne.journal");
+        new JournalCampagne(fichier, 42).close();
+        assertThrows(IllegalArgumentException.class, () -> new JournalCampagne(fichier, 43));
+    }
+}
@@ -0,0 +1,143 @@
+package livraison.testUnitaire.model.experimentation;
+
+import model.experimentation.ArretSequentiel;
+import model.experimentation.ConfigurationExperience;
+import model.experimentation.JournalCampagne;
+import model.experimentation.PlanificateurExperiences;
+import model.experimentation.ResultatConfiguration;
+import model.experimentation.ResultatPartie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'exécution parallèle des campagnes d'expérimentation.
+ */
+public class PlanificateurExperiencesTest {
+
+    @TempDir
+    Path dossier;
+
+    /**
+     * Planificateur dont les parties sont simulées : le joueur 1 gagne les parties paires.
+     */
+    private static class PlanificateurSimule extends PlanificateurExperiences {
+        final AtomicInteger partiesJouees = new AtomicInteger();
+
+        PlanificateurSimule(int nbWorkers) {
+            super(nbWorkers, 42);
+        }
+
+        @Override
+        protected ResultatPartie jouerPartie(ConfigurationExperience configuration, long graineDePartie) {
+            partiesJouees.incrementAndGet();
+            return new ResultatPartie(graineDePartie % 2 == 0 ? 1 : 2, 1, 10, 20, 0, 0);
+        }
+    }
+
+    private static List<ConfigurationExperience> configurations() {
+        return List.of(
+            new ConfigurationExperience(4, 30, 60, "BLEU", "MCTS", "RAVE", 1, 1, 0, 0, false),
+            new ConfigurationExperience(4, 60, 30, "ROUGE", "RAVE", "MCTS", 1, 1, 0, 0, false));
+    }
+
+    @Test
+    void testGraineDePartieStableEtDistincte() {
+        ConfigurationExperience c = configurations().get(0);
+        ConfigurationExperience memeConfig = new ConfigurationExperience(4, 30, 60, "BLEU", "MCTS", "RAVE", 1, 1, 0, 0, false);
+        assertEquals(c.graine(7, 3), memeConfig.graine(7, 3));
+        assertNotEquals(c.graine(7, 3), c.graine(7, 4));
+        assertNotEquals(c.graine(7, 3), c.graine(8, 3));
+        assertNotEquals(c.graine(7, 3), configurations().get(1).graine(7, 3));
+    }
+
+    @Test
+    void testChaqueConfigurationEstPublieeUneFois() {
+        List<ResultatConfiguration> publies = new ArrayList<>();
+        List<ResultatConfiguration> resultats = new PlanificateurExperiences(3, 1)
+                .executer(configurations(), 4, publies::add);
+
+        assertEquals(2, resultats.size());
+        assertEquals(2, publies.size());
+        for (ResultatConfiguration r : resultats) {
+            assertTrue(publies.contains(r));
+            assertEquals(4, r.getNbParties());
+            assertEquals(4, r.getVictoiresJ1() + r.getVictoiresJ2(), "Pas de nul au Hex");
+        }
+    }
+
+    @Test
+    void testResultatsReproductiblesQuelQueSoitLeNombreDeWorkers() {
+        List<ResultatConfiguration> sequentiel = new PlanificateurExperiences(1, 42).executer(configurations(), 4, r -> {});
+        List<ResultatConfiguration> parallele = new PlanificateurExperiences(4, 42).executer(configurations(), 4, r -> {});
+        for (int i = 0; i < sequentiel.size(); i++) {
+            assertEquals(sequentiel.get(i).getVictoiresJ1(), parallele.get(i).getVictoiresJ1());
+            assertEquals(sequentiel.get(i).getIterationsMoyennesJ1(), parallele.get(i).getIterationsMoyennesJ1(), 1e-9);
+        }
+    }
+
+    @Test
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new PlanificateurExperiences(0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlanificateurExperiences(1, 1).executer(configurations(), 0, r -> {}));
+    }
+
+    @Test
+    void testRepriseDepuisLeJournal() throws Exception {
+        Path fichier = dossier.resolve("campagne.journal");
+        List<ConfigurationExperience> configurations = configurations();
+
+        // Première campagne interrompue : seules 3 parties de la première configuration sont jouées
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            for (int partie = 0; partie < 3; partie++) {
+                journal.enregistrer(configurations.get(0), partie, new ResultatPartie(1, 1, 10, 20, 0, 0));
+            }
+        }
+
+        PlanificateurSimule planificateur = new PlanificateurSimule(2);
+        List<ResultatConfiguration> publies = new ArrayList<>();
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            planificateur.setJournal(journal);
+            planificateur.executer(configurations, 5, publies::add);
+            assertEquals(10, journal.getNombreParties());
+        }
+        assertEquals(7, planificateur.partiesJouees.get(), "Les parties du journal ne sont pas rejouées");
+        assertEquals(2, publies.size());
+
+        // Campagne terminée : la relancer ne rejoue rien mais publie encore chaque configuration
+        PlanificateurSimule relance = new PlanificateurSimule(2);
+        publies.clear();
+        try (JournalCampagne journal = new JournalCampagne(fichier, 42)) {
+            relance.setJournal(journal);
+            List<ResultatConfiguration> resultats = relance.executer(configurations, 5, publies::add);
+            assertEquals(5, resultats.get(0).getNbParties());
+            assertTrue(resultats.get(0).getVictoiresJ1() >= 3);
+        }
+        assertEquals(0, relance.partiesJouees.get());
+        assertEquals(2, publies.size());
+    }
+
+    @Test
+    void testArretSequentielDesConfigurationsDesequilibrees() {
+        // Le joueur 1 gagne toujours : la règle s'arrête dès le minimum, bien avant le maximum
+        PlanificateurExperiences planificateur = new PlanificateurExperiences(1, 42) {
+            @Override
+            protected ResultatPartie jouerPartie(ConfigurationExperience configuration, long graineDePartie) {
+                return new ResultatPartie(1, 1, 10, 20, 0, 0);
+            }
+        };
+        planificateur.setArretSequentiel(new ArretSequentiel(0.05, 0.95, 6));
+        List<ResultatConfiguration> resultats = planificateur.executer(configurations(), 30, r -> {});
+        for (ResultatConfiguration r : resultats) {
+            assertEquals(6, r.getNbParties());
+            assertEquals(6, r.getVictoiresJ1());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.mcts.ArbreCompact;
+import model.player.HumanStrategy;
+import model.player.Player;
+import model.plateau.PlateauBitboard;
+import utils.strategyMessage.ConsoleMessageHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'arbre de recherche stocké en tableaux parallèles.
+ */
+public class ArbreCompactTest {
+
+    private Grille grille;
+    private ArbreCompact arbre;
+
+    @BeforeEach
+    void setUp() {
+        ConsoleMessageHandler handler = new ConsoleMessageHandler(true);
+        Player bleu = new Player("Bleu", EtatCase.BLEU, new HumanStrategy(), handler);
+        Player rouge = new Player("Rouge", EtatCase.ROUGE, new HumanStrategy(), handler);
+        grille = new Grille(5, bleu, rouge);
+        arbre = new ArbreCompact(grille, EtatCase.BLEU);
+    }
+
+    @Test
+    void testRacine() {
+        int racine = arbre.getRacine();
+        assertEquals(1, arbre.getNombreNoeuds());
+        assertEquals(ArbreCompact.AUCUN, arbre.getParent(racine));
+        assertEquals(EtatCase.BLEU, arbre.getJoueur(racine));
+        assertTrue(arbre.estFeuille(racine), "Une racine sans enfant est une feuille");
+        assertFalse(arbre.estTerminal(racine));
+    }
+
+    @Test
+    void testAjoutEnfants() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 3, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(racine, 7, EtatCase.ROUGE, false, 24);
+
+        assertEquals(2, arbre.getNombreEnfants(racine));
+        assertEquals(racine, arbre.getParent(a));
+        int compte = 0;
+        for (int e = arbre.getPremierEnfant(racine); e != ArbreCompact.AUCUN; e = arbre.getFrere(e)) {
+            assertTrue(e == a || e == b);
+            compte++;
+        }
+        assertEquals(2, compte);
+    }
+
+    @Test
+    void testRejouerReconstruitLEtat() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 3, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(a, 10, EtatCase.BLEU, false, 23);
+
+        PlateauBitboard plateau = arbre.rejouer(b);
+        assertEquals(EtatCase.BLEU, plateau.getEtat(3), "Le premier coup est joué par la couleur de la racine");
+        assertEquals(EtatCase.ROUGE, plateau.getEtat(10));
+        assertEquals(23, plateau.nombreCasesLibres());
+
+        Grille reconstruite = arbre.reconstruireGrille(b);
+        assertEquals(EtatCase.ROUGE, reconstruite.getCase(plateau.getX(10), plateau.getY(10)).getOccupe());
+    }
+
+    @Test
+    void testReenraciner() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 3, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(a, 10, EtatCase.BLEU, false, 23);
+
+        arbre.reenraciner(a);
+        assertEquals(a, arbre.getRacine());
+        assertEquals(ArbreCompact.AUCUN, arbre.getParent(a));
+        assertEquals(EtatCase.BLEU, arbre.getPlateauRacine().getEtat(3));
+        assertEquals(EtatCase.ROUGE, arbre.rejouer(b).getEtat(10));
+    }
+
+    @Test
+    void testCompacterNeGardeQueLeSousArbreDeLaRacine() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 3, EtatCase.ROUGE, false, 24);
+        arbre.ajouterEnfant(racine, 4, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(a, 10, EtatCase.BLEU, false, 23);
+        arbre.ajouterEnfant(a, 11, EtatCase.BLEU, false, 23);
+        arbre.ajouterVictoires(b, 5);
+
+        arbre.reenraciner(a);
+        assertEquals(3, arbre.compacter());
+        assertEquals(3, arbre.getNombreNoeuds());
+        assertEquals(0, arbre.getRacine());
+        assertEquals(ArbreCompact.AUCUN, arbre.getFrere(0));
+        assertEquals(2, arbre.getNombreEnfants(0));
+
+        int compte = 0;
+        for (int e = arbre.getPremierEnfant(0); e != ArbreCompact.AUCUN; e = arbre.getFrere(e)) {
+            assertEquals(0, arbre.getParent(e));
+            if (arbre.getCoup(e) == 10) {
+                assertEquals(5, arbre.getVictoires(e));
+                assertEquals(EtatCase.ROUGE, arbre.rejouer(e).getEtat(10));
+            }
+            compte++;
+        }
+        assertEquals(2, compte);
+    }
+
+    @Test
+    void testCroissanceDesTableaux() {
+        int racine = arbre.getRacine();
+        for (int i = 0; i < 5000; i++) {
+            int n = arbre.ajouterEnfant(racine, i % 25, EtatCase.ROUGE, false, 24);
+            arbre.incrementerVisites(n);
+        }
+        assertEquals(5001, arbre.getNombreNoeuds());
+        assertEquals(5000, arbre.getNombreEnfants(racine));
+        assertEquals(1, arbre.getVisites(4000));
+    }
+
+    @Test
+    void testStatistiques() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 0, EtatCase.ROUGE, false, 24);
+        assertEquals(Double.MAX_VALUE, arbre.uct(a), "Un nœud jamais visité est prioritaire");
+
+        arbre.incrementerVisites(racine);
+        arbre.incrementerVisites(a);
+        arbre.ajouterVictoires(a, 1);
+        assertTrue(arbre.uct(a) >= 1.0);
+        assertEquals(Double.POSITIVE_INFINITY, arbre.ratio(a));
+        arbre.ajouterDefaites(a, 2);
+        assertEquals(0.5, arbre.ratio(a));
+    }
+
+    @Test
+    void testTranspositionsPartagentLeursResultats() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 0, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(racine, 1, EtatCase.ROUGE, false, 24);
+        // Même position par deux ordres de coups : bleu 0 puis rouge 1, bleu 1 puis rouge 0
+        int a1 = arbre.ajouterEnfant(a, 1, EtatCase.BLEU, false, 23);
+        int b1 = arbre.ajouterEnfant(b, 0, EtatCase.BLEU, false, 23);
+        long cle = arbre.rejouer(a1).getCle(EtatCase.BLEU);
+        arbre.getTranspositions().enregistrer(cle, a1);
+        arbre.partagerStatistiques(b1, a1);
+
+        arbre.incrementerVisites(a1);
+        arbre.ajouterVictoires(a1, 1);
+        arbre.incrementerVisites(b1);
+        arbre.ajouterDefaites(b1, 1);
+        assertTrue(arbre.partagentStatistiques(a1, b1));
+        assertEquals(1, arbre.getVictoires(b1), "Le résultat passé par a1 profite à b1");
+        assertEquals(1, arbre.getDefaites(a1), "Et réciproquement");
+        assertEquals(1, arbre.getVisites(a1), "Les visites restent propres à chaque nœud");
+        assertEquals(1, arbre.getVisites(b1));
+
+        // Le représentant a1 disparaît : b1 reprend les résultats et l'entrée de la table
+        arbre.reenraciner(b);
+        arbre.compacter();
+        int nouveau = arbre.getPremierEnfant(arbre.getRacine());
+        assertEquals(1, arbre.getVictoires(nouveau));
+        assertEquals(1, arbre.getDefaites(nouveau));
+        assertEquals(nouveau, arbre.getTranspositions().chercher(cle));
+        arbre.ajouterVictoires(nouveau, 1);
+        assertEquals(2, arbre.getVictoires(nouveau));
+    }
+
+    @Test
+    void testPreuvesMCTSSolver() {
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 0, EtatCase.ROUGE, false, 2);
+        int b = arbre.ajouterEnfant(racine, 1, EtatCase.ROUGE, true, 1);
+        assertEquals(EtatCase.BLEU, arbre.getGagnantProuve(b), "Un nœud terminal est gagné par celui qui vient de jouer");
+        assertFalse(arbre.estProuve(a));
+        assertTrue(arbre.evaluerPreuve(racine), "Un enfant gagnant suffit à prouver le parent");
+        assertEquals(EtatCase.BLEU, arbre.getGagnantProuve(racine));
+
+        // Tous les coups du rouge en a mènent à une victoire du bleu
+        int a1 = arbre.ajouterEnfant(a, 2, EtatCase.BLEU, false, 1);
+        arbre.setGagnantProuve(a1, EtatCase.BLEU);
+        assertFalse(arbre.evaluerPreuve(a), "Tant qu'un coup reste inexploré, la défaite n'est pas prouvée");
+        int a2 = arbre.ajouterEnfant(a, 3, EtatCase.BLEU, false, 1);
+        assertFalse(arbre.evaluerPreuve(a), "Un enfant non prouvé empêche de prouver la défaite");
+        arbre.setGagnantProuve(a2, EtatCase.BLEU);
+        assertTrue(arbre.evaluerPreuve(a));
+        assertEquals(EtatCase.BLEU, arbre.getGagnantProuve(a));
+
+        arbre.reenraciner(a);
+        arbre.compacter();
+        assertEquals(EtatCase.BLEU, arbre.getGagnantProuve(arbre.getRacine()), "Les preuves survivent au compactage");
+    }
+}
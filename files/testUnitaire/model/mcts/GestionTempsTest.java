@@ -0,0 +1,39 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.mcts.GestionTemps;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la pendule de partie.
+ */
+public class GestionTempsTest {
+
+    @Test
+    void testAllocationSelonLesCasesLibres() {
+        GestionTemps horloge = new GestionTemps(10_000);
+        // 50 cases libres : environ 25 coups restants pour le joueur
+        assertEquals(400, horloge.allouer(50));
+        // En fin de partie, le temps restant n'est pas entièrement dépensé sur un coup
+        assertEquals(2500, horloge.allouer(1));
+    }
+
+    @Test
+    void testConsommation() {
+        GestionTemps horloge = new GestionTemps(1000);
+        horloge.consommer(300);
+        assertEquals(700, horloge.getTempsRestantMs());
+        horloge.consommer(5000);
+        assertEquals(0, horloge.getTempsRestantMs());
+        assertEquals(1, horloge.allouer(10), "Au moins une milliseconde est toujours accordée");
+
+        horloge.reinitialiser();
+        assertEquals(1000, horloge.getTempsRestantMs());
+    }
+
+    @Test
+    void testTempsInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new GestionTemps(0));
+    }
+}
@@ -0,0 +1,119 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.*;
+import model.mcts.ArbreConcurrent;
+import model.mcts.MCTSArbrePartage;
+import model.Case.EtatCase;
+import model.player.Player;
+import model.player.MonteCarloStrategy;
+import utils.strategyMessage.ConsoleMessageHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la recherche parallèle dans un arbre partagé.
+ */
+public class MCTSArbrePartageTest {
+
+    private Grille grille;
+
+    @BeforeEach
+    void setUp() {
+        Player joueurBleu = new Player("Joueur1", EtatCase.BLEU, new MonteCarloStrategy(), new ConsoleMessageHandler(true));
+        Player joueurRouge = new Player("Joueur2", EtatCase.ROUGE, new MonteCarloStrategy(), new ConsoleMessageHandler(true));
+        grille = new Grille(5, joueurBleu, joueurRouge);
+    }
+
+    @Test
+    void testTrouverMeilleurCoup() {
+        for (boolean rave : new boolean[] { false, true }) {
+            MCTSArbrePartage recherche = new MCTSArbrePartage(500, 4, rave, true);
+            Position coup = recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+            assertNotNull(coup, "Le meilleur coup ne doit pas être null");
+            assertTrue(grille.getCase(coup).estLibre(), "Le coup choisi doit être libre");
+        }
+    }
+
+    @Test
+    void testIterationsEtVisitesDuDernierCoup() {
+        MCTSArbrePartage recherche = new MCTSArbrePartage(300, 3, false, true);
+        recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertEquals(300, recherche.getIterationsDernierCoup(), "Le budget est consommé exactement");
+        assertTrue(recherche.getVisitesCoupChoisi() > 0, "Le coup choisi a été visité");
+        assertEquals(300, recherche.getIterationsMoyennesParCoup(), 1e-9);
+    }
+
+    @Test
+    void testRechercheLimiteeEnTemps() {
+        MCTSArbrePartage recherche = new MCTSArbrePartage(10, 2, true, true);
+        recherche.setTempsParCoup(100);
+        long debut = System.currentTimeMillis();
+        Position coup = recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        long duree = System.currentTimeMillis() - debut;
+        assertNotNull(coup);
+        assertTrue(duree >= 100, "La recherche dure le temps accordé");
+        assertTrue(recherche.getIterationsDernierCoup() > 10, "Le budget d'itérations est ignoré");
+        assertThrows(IllegalArgumentException.class, () -> recherche.setTempsParCoup(-1));
+    }
+
+    @Test
+    void testPublicationConcurrenteSansDoublon() throws InterruptedException {
+        int threads = 8;
+        int coupsPossibles = 25;
+        ArbreConcurrent arbre = new ArbreConcurrent(1000);
+        int racine = arbre.allouer(ArbreConcurrent.AUCUN, ArbreConcurrent.AUCUN, EtatCase.BLEU, false, coupsPossibles, 0);
+
+        CountDownLatch depart = new CountDownLatch(1);
+        Thread[] travailleurs = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            travailleurs[t] = new Thread(() -> {
+                try {
+                    depart.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int rang;
+                while ((rang = arbre.reserverCoup(racine)) != ArbreConcurrent.AUCUN) {
+                    int enfant = arbre.allouer(racine, rang, EtatCase.ROUGE, false, coupsPossibles - 1, 0);
+                    arbre.publier(racine, enfant);
+                    arbre.ajouterPerteVirtuelle(enfant);
+                    arbre.enregistrer(enfant, true, true);
+                    arbre.enregistrer(racine, true, false);
+                }
+            });
+            travailleurs[t].start();
+        }
+        depart.countDown();
+        for (Thread t : travailleurs) t.join();
+
+        assertTrue(arbre.estDeveloppe(racine));
+        assertEquals(coupsPossibles, arbre.getVisites(racine));
+        Set<Integer> coups = new HashSet<>();
+        for (int e = arbre.getPremierEnfant(racine); e != ArbreConcurrent.AUCUN; e = arbre.getFrere(e)) {
+            assertTrue(coups.add(arbre.getCoup(e)), "Chaque coup ne doit être développé qu'une fois");
+            assertEquals(0, arbre.getPertesVirtuelles(e), "Les pertes virtuelles doivent être retirées");
+            assertEquals(1, arbre.getVisites(e));
+        }
+        assertEquals(coupsPossibles, coups.size());
+    }
+
+    @Test
+    void testArbrePlein() {
+        ArbreConcurrent arbre = new ArbreConcurrent(1);
+        assertNotEquals(ArbreConcurrent.AUCUN, arbre.allouer(ArbreConcurrent.AUCUN, ArbreConcurrent.AUCUN, EtatCase.BLEU, false, 25, 0));
+        assertEquals(ArbreConcurrent.AUCUN, arbre.allouer(0, 3, EtatCase.ROUGE, false, 24, 0));
+        assertEquals(1, arbre.getNombreNoeuds());
+    }
+
+    @Test
+    void testNombreThreadsInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new MCTSArbrePartage(100, 0, false, true));
+    }
+}
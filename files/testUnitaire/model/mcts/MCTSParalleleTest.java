@@ -0,0 +1,72 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.*;
+import model.mcts.MCTSParallele;
+import model.Case.EtatCase;
+import model.player.Player;
+import model.player.MonteCarloStrategy;
+import utils.strategyMessage.ConsoleMessageHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la recherche parallélisée à la racine.
+ */
+public class MCTSParalleleTest {
+
+    private Grille grille;
+
+    @BeforeEach
+    void setUp() {
+        Player joueurBleu = new Player("Joueur1", EtatCase.BLEU, new MonteCarloStrategy(), new ConsoleMessageHandler(true));
+        Player joueurRouge = new Player("Joueur2", EtatCase.ROUGE, new MonteCarloStrategy(), new ConsoleMessageHandler(true));
+        grille = new Grille(5, joueurBleu, joueurRouge);
+    }
+
+    @Test
+    void testTrouverMeilleurCoupMCTS() {
+        MCTSParallele recherche = new MCTSParallele(400, 4, false, true);
+        Position coup = recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertNotNull(coup, "Le meilleur coup ne doit pas être null");
+        assertTrue(grille.estDansGrille(coup));
+        assertTrue(grille.getCase(coup).estLibre(), "Le coup choisi doit être libre");
+    }
+
+    @Test
+    void testTrouverMeilleurCoupRAVE() {
+        MCTSParallele recherche = new MCTSParallele(400, 3, true, true);
+        Position coup = recherche.trouverMeilleurCoup(grille, EtatCase.ROUGE);
+        assertNotNull(coup);
+        assertTrue(grille.getCase(coup).estLibre());
+    }
+
+    @Test
+    void testPartieComplete() {
+        MCTSParallele bleu = new MCTSParallele(200, 2, false, true);
+        MCTSParallele rouge = new MCTSParallele(200, 2, true, true);
+        EtatCase joueur = EtatCase.BLEU;
+        while (!grille.estTerminee()) {
+            MCTSParallele recherche = joueur == EtatCase.BLEU ? bleu : rouge;
+            Position coup = recherche.trouverMeilleurCoup(grille, joueur);
+            assertNotNull(coup);
+            assertTrue(grille.getCase(coup).estLibre(), "Les arbres conservés ne doivent pas proposer de case occupée");
+            grille.getCase(coup).setOccupe(joueur);
+            joueur = EtatCase.opposite(joueur);
+        }
+    }
+
+    @Test
+    void testBudgetRepartiExactement() {
+        MCTSParallele recherche = new MCTSParallele(100, 32, false, true);
+        recherche.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertEquals(100, recherche.getIterationsDernierCoup(), "Les arbres ne doivent pas dépasser le budget total");
+    }
+
+    @Test
+    void testNombreArbresInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new MCTSParallele(100, 0, false, true));
+    }
+}
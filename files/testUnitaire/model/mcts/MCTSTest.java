@@ -1,9 +1,11 @@
 package livraison.testUnitaire.model.mcts;
 
 import model.*;
+import model.mcts.ArbreCompact;
 import model.mcts.MCTS;
 import model.mcts.Noeud;
 import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
 import model.player.Player;
 import model.player.MonteCarloStrategy;
 import utils.strategyMessage.ConsoleMessageHandler;
@@ -68,6 +70,116 @@ public class MCTSTest {
         assertEquals(1, noeud.getVisits(), "Le nombre de visites doit être incrémenté");
     }
 
+    @Test
+    void testParallelismeFeuille() {
+        mcts.setParallelismeFeuille(8, 2);
+        assertEquals(8, mcts.getPlayoutsParFeuille());
+        Position meilleurCoup = mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertNotNull(meilleurCoup);
+        assertTrue(grille.getCase(meilleurCoup).estLibre());
+        // Chaque itération rétropropage un lot complet de simulations
+        int visites = mcts.getArbre().getVisites(mcts.getArbre().getRacine());
+        assertTrue(visites > 0 && visites % 8 == 0, "Les visites doivent compter des lots entiers");
+    }
+
+    @Test
+    void testParallelismeFeuilleInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> mcts.setParallelismeFeuille(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> mcts.setParallelismeFeuille(4, 0));
+    }
+
+    @Test
+    void testRechercheLimiteeEnTemps() {
+        mcts.setTempsParCoup(50);
+        long debut = System.currentTimeMillis();
+        Position coup = mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        long duree = System.currentTimeMillis() - debut;
+
+        assertNotNull(coup);
+        assertTrue(duree < 1000, "La recherche doit respecter approximativement le temps accordé : " + duree + " ms");
+        assertTrue(mcts.getIterationsDernierCoup() > 0, "Les itérations réalisées doivent être comptées");
+        assertEquals(mcts.getIterationsDernierCoup(), mcts.getIterationsMoyennesParCoup(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> mcts.setTempsParCoup(-1));
+    }
+
+    @Test
+    void testIterationsRealiseesSansLimiteDeTemps() {
+        mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertEquals(100, mcts.getIterationsDernierCoup(), "Sans limite de temps, tout le budget est utilisé");
+    }
+
+    @Test
+    void testRetrouveLaPositionParLaTableDeTransposition() {
+        Position coup = mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        grille.getCase(coup).setOccupe(EtatCase.BLEU);
+        ArbreCompact arbre = mcts.getArbre();
+        int racine = arbre.getRacine();
+
+        // La réponse de ROUGE figure parmi les enfants explorés de la nouvelle racine
+        int reponse = arbre.getPremierEnfant(racine);
+        assertNotEquals(ArbreCompact.AUCUN, reponse);
+        Position coupRouge = arbre.position(arbre.getCoup(reponse));
+        grille.getCase(coupRouge).setOccupe(EtatCase.ROUGE);
+
+        int trouve = mcts.findChild(arbre, racine, grille.getPlateau(), EtatCase.BLEU);
+        assertEquals(reponse, trouve);
+        assertEquals(reponse, arbre.getTranspositions().chercher(grille.getPlateau().getCle(EtatCase.BLEU)));
+    }
+
+    @Test
+    void testUnEnfantNAJamaisPlusDeVisitesQueSonParent() {
+        // Petite grille : l'arbre est assez profond pour contenir des transpositions
+        MCTSForTest recherche = new MCTSForTest(3000);
+        recherche.trouverMeilleurCoup(new Grille(3, joueurBleu, joueurRouge), EtatCase.BLEU);
+        ArbreCompact arbre = recherche.getArbre();
+        int transpositions = 0;
+        for (int n = 0; n < arbre.getNombreNoeuds(); n++) {
+            int parent = arbre.getParent(n);
+            if (parent == ArbreCompact.AUCUN || !arbre.estDescendant(n, arbre.getRacine())) continue;
+            assertTrue(arbre.getVisites(n) <= arbre.getVisites(parent), "Visites de l'enfant " + n);
+            for (int autre = 0; autre < n; autre++) {
+                if (arbre.partagentStatistiques(n, autre)) transpositions++;
+            }
+        }
+        assertTrue(transpositions > 0, "La recherche doit rencontrer des transpositions");
+    }
+
+    @Test
+    void testNotifyMoveDescendDirectementDansLArbre() {
+        Position coup = mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        grille.getCase(coup).setOccupe(EtatCase.BLEU);
+        ArbreCompact arbre = mcts.getArbre();
+        int reponse = arbre.getPremierEnfant(arbre.getRacine());
+        int visites = arbre.getVisites(reponse);
+        Position coupRouge = arbre.position(arbre.getCoup(reponse));
+        grille.getCase(coupRouge).setOccupe(EtatCase.ROUGE);
+
+        mcts.notifyMove(coupRouge, EtatCase.ROUGE);
+        assertEquals(0, arbre.getRacine(), "La nouvelle racine est renumérotée en tête de l'arbre");
+        assertEquals(visites, arbre.getVisites(arbre.getRacine()));
+        assertEquals(grille.getPlateau(), arbre.getPlateauRacine());
+
+        mcts.trouverMeilleurCoup(grille, EtatCase.BLEU);
+        assertSame(arbre, mcts.getArbre(), "L'arbre conservé est réutilisé");
+        assertEquals(visites, mcts.getVisitesConserveesDernierCoup());
+    }
+
+    @Test
+    void testVictoireProuveeArreteLaRecherche() {
+        // Il ne manque au bleu qu'une pierre pour relier ses deux bords
+        PlateauBitboard plateau = grille.getPlateau();
+        for (int y = 0; y < 4; y++) {
+            grille.getCase(plateau.cellule(0, y)).setOccupe(EtatCase.BLEU);
+        }
+        MCTS solveur = new MCTS(10000, true);
+        Position coup = solveur.trouverMeilleurCoup(grille, EtatCase.BLEU);
+
+        assertTrue(solveur.getIterationsDernierCoup() < 10000, "La recherche s'arrête dès que la racine est prouvée");
+        PlateauBitboard apres = grille.getPlateau().copie();
+        apres.poser(apres.cellule(coup.getX(), coup.getY()), EtatCase.BLEU);
+        assertTrue(apres.verifierVictoire(EtatCase.BLEU), "Le coup joué doit être le coup gagnant prouvé");
+    }
+
     // Sous-Classe fille pour exposer les méthodes protected
     static class MCTSForTest extends MCTS {
         public MCTSForTest(int budget) {
@@ -75,6 +187,9 @@ public class MCTSTest {
         }
 
         @Override public Noeud selectionner(Noeud n) { return super.selectionner(n); }
+        @Override public int findChild(ArbreCompact a, int n, PlateauBitboard cible, EtatCase couleur) {
+            return super.findChild(a, n, cible, couleur);
+        }
         @Override public void developper(Noeud n) { super.developper(n); }
         @Override public double simuler(Noeud n, EtatCase j) { return super.simuler(n, j); }
         @Override public void retropropager(Noeud n, double r) { super.retropropager(n, r); }
@@ -0,0 +1,85 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.Case.EtatCase;
+import model.mcts.MoteurSimulation;
+import model.plateau.PlateauBitboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le moteur de simulation aléatoire.
+ */
+public class MoteurSimulationTest {
+
+    private PlateauBitboard plateau;
+    private MoteurSimulation moteur;
+
+    @BeforeEach
+    void setUp() {
+        plateau = new PlateauBitboard(5);
+        moteur = MoteurSimulation.courant();
+    }
+
+    @Test
+    void testSimulationRetourneUnGagnant() {
+        EtatCase gagnant = moteur.simuler(plateau, EtatCase.BLEU, new SplittableRandom(1));
+        assertTrue(gagnant == EtatCase.BLEU || gagnant == EtatCase.ROUGE, "Il n'y a pas de match nul à Hex");
+    }
+
+    @Test
+    void testSimulationJoueToutesLesCasesLibres() {
+        plateau.poser(plateau.cellule(2, 2), EtatCase.ROUGE);
+        moteur.simuler(plateau, EtatCase.BLEU, new SplittableRandom(7));
+
+        assertEquals(24, moteur.getNombreCoups(), "Toutes les cases libres doivent être jouées");
+        int[] coups = Arrays.copyOf(moteur.getCoups(), moteur.getNombreCoups());
+        Arrays.sort(coups);
+        for (int i = 1; i < coups.length; i++) {
+            assertNotEquals(coups[i - 1], coups[i], "Une case ne doit être jouée qu'une fois");
+        }
+        assertEquals(24, plateau.nombreCasesLibres(), "Le plateau de départ ne doit pas être modifié");
+    }
+
+    @Test
+    void testSimulationReproductibleAvecLaMemeGraine() {
+        EtatCase premier = moteur.simuler(plateau, EtatCase.ROUGE, new SplittableRandom(123));
+        int[] coups = Arrays.copyOf(moteur.getCoups(), moteur.getNombreCoups());
+        EtatCase second = moteur.simuler(plateau, EtatCase.ROUGE, new SplittableRandom(123));
+
+        assertEquals(premier, second);
+        assertArrayEquals(coups, Arrays.copyOf(moteur.getCoups(), moteur.getNombreCoups()));
+    }
+
+    @Test
+    void testPierresDuPlateauRempliSuiventLOrdreDesCoups() {
+        int centre = plateau.cellule(2, 2);
+        plateau.poser(centre, EtatCase.ROUGE);
+        moteur.simuler(plateau, EtatCase.BLEU, new SplittableRandom(11));
+
+        long[] bleu = moteur.getPierres(EtatCase.BLEU);
+        long[] rouge = moteur.getPierres(EtatCase.ROUGE);
+        assertTrue((rouge[0] & (1L << centre)) != 0, "Les pierres de départ font partie du plateau rempli");
+        int[] coups = moteur.getCoups();
+        for (int i = 0; i < moteur.getNombreCoups(); i++) {
+            long[] attendu = (i % 2 == 0) ? bleu : rouge;
+            long[] autre = (i % 2 == 0) ? rouge : bleu;
+            assertTrue((attendu[0] & (1L << coups[i])) != 0, "Coup " + i + " absent de la bonne couleur");
+            assertEquals(0, autre[0] & (1L << coups[i]), "Coup " + i + " présent dans l'autre couleur");
+        }
+    }
+
+    @Test
+    void testPartieDejaGagneeResteGagnee() {
+        for (int y = 0; y < 5; y++) {
+            plateau.poser(plateau.cellule(0, y), EtatCase.BLEU);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(EtatCase.BLEU, moteur.simuler(plateau, EtatCase.ROUGE, new SplittableRandom(i)));
+        }
+    }
+}
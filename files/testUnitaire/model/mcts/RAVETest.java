@@ -1,11 +1,13 @@
 package livraison.testUnitaire.model.mcts;
 
 import model.*;
+import model.mcts.ArbreCompact;
 import model.mcts.RAVE;
 import model.mcts.Noeud;
 import model.Case.EtatCase;
 import model.player.Player;
 import model.player.MonteCarloStrategy;
+import model.plateau.PlateauBitboard;
 import utils.strategyMessage.ConsoleMessageHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +42,24 @@ public class RAVETest {
         assertTrue(grille.estDansGrille(best), "Le coup doit être valide");
     }
 
+    @Test
+    void testParallelismeFeuilleMetAJourLesStatistiquesRave() {
+        RAVETestable parallele = new RAVETestable(60);
+        parallele.setParallelismeFeuille(6, 3);
+        int racine = parallele.rechercherDepuis(grille, EtatCase.BLEU, 60);
+
+        ArbreCompact arbre = parallele.getArbre();
+        int visites = arbre.getVisites(racine);
+        assertTrue(visites > 0 && visites % 6 == 0, "Les visites doivent compter des lots entiers");
+        // Chaque simulation, sauf le premier lot lancé depuis la racine encore sans enfant,
+        // crédite au moins l'enfant de la racine par lequel elle est passée
+        float visitesRave = 0;
+        for (int enfant = arbre.getPremierEnfant(racine); enfant != ArbreCompact.AUCUN; enfant = arbre.getFrere(enfant)) {
+            visitesRave += arbre.getVisitesRave(enfant);
+        }
+        assertTrue(visitesRave >= visites - 6, "Chaque simulation du lot doit mettre à jour l'AMAF : " + visitesRave);
+    }
+
     @Test
     void testSimulationAvecRave() {
         Noeud noeud = new Noeud(grille, null, null, EtatCase.BLEU);
@@ -59,7 +79,28 @@ public class RAVETest {
         // On vérifie que les visites RAVE ont bien été modifiées
         assertTrue(noeud.getRaveVisits() >= 0, "Les visites RAVE doivent être mises à jour");
     }
-    
+
+    @Test
+    void testRaveNeMetAJourQueLeCheminSelectionne() {
+        ArbreCompact arbre = new ArbreCompact(grille, EtatCase.BLEU);
+        int racine = arbre.getRacine();
+        int a = arbre.ajouterEnfant(racine, 0, EtatCase.ROUGE, false, 24);
+        int b = arbre.ajouterEnfant(racine, 1, EtatCase.ROUGE, false, 24);
+        int a1 = arbre.ajouterEnfant(a, 2, EtatCase.BLEU, false, 23);
+        int b1 = arbre.ajouterEnfant(b, 3, EtatCase.BLEU, false, 23);
+
+        // Plateau de travail dans l'état de a1 : le bleu a joué 0, le rouge 2
+        PlateauBitboard plateau = grille.getPlateau().copie();
+        plateau.jouer(0, EtatCase.BLEU);
+        plateau.jouer(2, EtatCase.ROUGE);
+        rave.simulerDepuis(arbre, a1, plateau, EtatCase.BLEU);
+
+        assertEquals(1, arbre.getVisitesRave(a), "Le coup du chemin joué par le bleu doit être crédité");
+        assertEquals(1, arbre.getVisitesRave(a1), "Le coup du chemin joué par le rouge doit être crédité");
+        assertTrue(arbre.getVisitesRave(b) <= 1, "Un frère du chemin est crédité au plus une fois");
+        assertEquals(0, arbre.getVisitesRave(b1), "Un nœud hors du chemin ne doit pas être mis à jour");
+        assertEquals(0, arbre.getVisitesRave(racine));
+    }
 
     // Sous-classe dans pour exposer la méthode simuler
     static class RAVETestable extends RAVE {
@@ -71,5 +112,13 @@ public class RAVETest {
         public double simuler(Noeud noeud, EtatCase joueurOriginal) {
             return super.simuler(noeud, joueurOriginal);
         }
+
+        public int rechercherDepuis(Grille grille, EtatCase couleur, int iterations) {
+            return super.rechercher(grille, couleur, iterations);
+        }
+
+        public double simulerDepuis(ArbreCompact arbre, int noeud, PlateauBitboard plateau, EtatCase joueurOriginal) {
+            return super.simuler(arbre, noeud, plateau, joueurOriginal);
+        }
     }
 }
\ No newline at end of file
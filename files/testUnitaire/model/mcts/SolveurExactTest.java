@@ -0,0 +1,107 @@
+package livraison.testUnitaire.model.mcts;
+
+import config.Constants;
+import model.Case.EtatCase;
+import model.mcts.SolveurExact;
+import model.plateau.PlateauBitboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le solveur exact des fins de partie.
+ */
+public class SolveurExactTest {
+
+    @Test
+    void testTrouveLeCoupGagnantImmediat() {
+        // Il ne manque au bleu qu'une pierre pour relier ses deux bords
+        PlateauBitboard plateau = new PlateauBitboard(5);
+        for (int y = 0; y < 4; y++) {
+            plateau.poser(plateau.cellule(0, y), EtatCase.BLEU);
+        }
+        int coup = new SolveurExact().resoudre(plateau, EtatCase.BLEU);
+
+        assertTrue(coup >= 0, "La position doit être prouvée gagnante");
+        plateau.poser(coup, EtatCase.BLEU);
+        assertTrue(plateau.verifierVictoire(EtatCase.BLEU));
+    }
+
+    @Test
+    void testResultatsConformesALaRechercheExhaustive() {
+        SplittableRandom random = new SplittableRandom(11);
+        SolveurExact solveur = new SolveurExact();
+        int pertes = 0;
+        for (int k = 0; k < 40; k++) {
+            PlateauBitboard plateau = positionAleatoire(4, 8, random);
+            EtatCase trait = (plateau.nombreCasesLibres() % 2 == 0) ? EtatCase.BLEU : EtatCase.ROUGE;
+            int resultat = solveur.resoudre(plateau, trait);
+
+            if (gagne(plateau, trait)) {
+                assertTrue(resultat >= 0, "Une position gagnante doit donner un coup gagnant");
+                plateau.jouer(resultat, trait);
+                assertTrue(plateau.verifierVictoire(trait) || !gagne(plateau, EtatCase.opposite(trait)),
+                           "Le coup proposé doit gagner contre toute défense");
+            } else {
+                assertEquals(SolveurExact.PERDU, resultat);
+                pertes++;
+            }
+        }
+        assertTrue(pertes > 0, "L'échantillon doit contenir des positions perdues");
+    }
+
+    @Test
+    void testBudgetEpuiseDonneInconnu() {
+        SolveurExact solveur = new SolveurExact(1);
+        assertEquals(SolveurExact.INCONNU, solveur.resoudre(new PlateauBitboard(5), EtatCase.BLEU));
+        assertEquals(2, solveur.getPositionsDerniereResolution());
+    }
+
+    @Test
+    void testApplicabilite() {
+        SolveurExact solveur = new SolveurExact();
+        assertFalse(solveur.estApplicable(new PlateauBitboard(5)), "Une grille vide n'est pas résolue");
+        assertTrue(solveur.estApplicable(positionAleatoire(5, Constants.SEUIL_SOLVEUR_PETITES_GRILLES, new SplittableRandom(3))));
+        assertFalse(solveur.estApplicable(positionAleatoire(11, Constants.SEUIL_SOLVEUR_PETITES_GRILLES, new SplittableRandom(3))));
+        assertTrue(solveur.estApplicable(positionAleatoire(11, solveur.getSeuilCasesLibres(), new SplittableRandom(3))));
+    }
+
+    @Test
+    void testArgumentsInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new SolveurExact(0));
+        assertThrows(IllegalArgumentException.class, () -> new SolveurExact().setSeuilCasesLibres(-1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new SolveurExact().resoudre(new PlateauBitboard(3), EtatCase.VIDE));
+    }
+
+    // position non terminée obtenue en alternant des pierres aléatoires jusqu'à laisser libres cases
+    private static PlateauBitboard positionAleatoire(int taille, int libres, SplittableRandom random) {
+        PlateauBitboard plateau;
+        do {
+            plateau = new PlateauBitboard(taille);
+            EtatCase couleur = EtatCase.BLEU;
+            int[] cases = new int[plateau.getNombreCellules()];
+            while (plateau.nombreCasesLibres() > libres) {
+                int n = plateau.casesLibres(cases);
+                plateau.poser(cases[random.nextInt(n)], couleur);
+                couleur = EtatCase.opposite(couleur);
+            }
+        } while (plateau.estTerminee());
+        return plateau;
+    }
+
+    // recherche exhaustive sans table ni coupe : le joueur au trait a-t-il un coup gagnant ?
+    private static boolean gagne(PlateauBitboard plateau, EtatCase trait) {
+        int[] cases = new int[plateau.nombreCasesLibres()];
+        int n = plateau.casesLibres(cases);
+        for (int i = 0; i < n; i++) {
+            plateau.jouer(cases[i], trait);
+            boolean victoire = plateau.verifierVictoire(trait) || !gagne(plateau, EtatCase.opposite(trait));
+            plateau.annuler();
+            if (victoire) return true;
+        }
+        return false;
+    }
+}
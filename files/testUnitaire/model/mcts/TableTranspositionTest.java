@@ -0,0 +1,49 @@
+package livraison.testUnitaire.model.mcts;
+
+import model.mcts.ArbreCompact;
+import model.mcts.TableTransposition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la table de transposition à adressage ouvert.
+ */
+public class TableTranspositionTest {
+
+    @Test
+    void testEnregistrerEtChercher() {
+        TableTransposition table = new TableTransposition(100);
+        assertEquals(128, table.getCapacite(), "La capacité est arrondie à une puissance de deux");
+        assertEquals(ArbreCompact.AUCUN, table.chercher(42L));
+
+        table.enregistrer(42L, 7);
+        table.enregistrer(42L + 128, 9); // même case d'origine : sondage linéaire
+        assertEquals(7, table.chercher(42L));
+        assertEquals(9, table.chercher(42L + 128));
+        assertEquals(2, table.getNombreEntrees());
+
+        table.enregistrer(42L, 11);
+        assertEquals(11, table.chercher(42L), "Une clé déjà présente est mise à jour");
+        assertEquals(2, table.getNombreEntrees());
+    }
+
+    @Test
+    void testTailleBornee() {
+        TableTransposition table = new TableTransposition(16);
+        for (int i = 0; i < 1000; i++) {
+            table.enregistrer(i * 16L, i);
+        }
+        assertTrue(table.getNombreEntrees() <= table.getCapacite(), "La table ne grossit jamais");
+        assertEquals(999, table.chercher(999 * 16L), "La dernière position enregistrée reste accessible");
+
+        table.vider();
+        assertEquals(0, table.getNombreEntrees());
+        assertEquals(ArbreCompact.AUCUN, table.chercher(999 * 16L));
+    }
+
+    @Test
+    void testCapaciteInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new TableTransposition(0));
+    }
+}
@@ -0,0 +1,140 @@
+package livraison.testUnitaire.model.ouvertures;
+
+import model.Case.EtatCase;
+import model.Grille;
+import model.Position;
+import model.enregistrement.EnregistreurParties;
+import model.enregistrement.PartieEnregistree;
+import model.ouvertures.ConstructeurLivre;
+import model.ouvertures.LivreOuvertures;
+import model.player.MonteCarloStrategy;
+import model.player.Player;
+import model.plateau.PlateauBitboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.strategyMessage.ConsoleMessageHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le livre d'ouvertures.
+ */
+public class LivreOuverturesTest {
+
+    @TempDir
+    Path dossier;
+
+    private Path livre;
+
+    private static PartieEnregistree partie(int taille, int gagnant, int... cellules) {
+        PartieEnregistree partie = new PartieEnregistree(taille, 0, "test");
+        for (int i = 0; i < cellules.length; i++) {
+            partie.ajouterCoup(cellules[i], i % 2 == 0 ? EtatCase.BLEU : EtatCase.ROUGE, 10, 1000, 5);
+        }
+        partie.setGagnant(gagnant);
+        return partie;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path parties = dossier.resolve("parties.hexr");
+        try (EnregistreurParties enregistreur = new EnregistreurParties(parties)) {
+            // Au centre, BLEU gagne 3 parties sur 3 ; dans le coin, il en perd 4 sur 4
+            for (int i = 0; i < 3; i++) enregistreur.enregistrer(partie(5, 1, 12, 6, 7));
+            for (int i = 0; i < 4; i++) enregistreur.enregistrer(partie(5, 2, 0, 12, 1));
+            // Autre taille : ignorée
+            enregistreur.enregistrer(partie(7, 1, 3, 4));
+        }
+        livre = dossier.resolve("livre_5.hexb");
+        // Profondeur 2 : le troisième coup n'est pas retenu
+        assertEquals(4, ConstructeurLivre.construire(parties, 5, 2, livre));
+    }
+
+    @Test
+    void testStatistiquesEtRecherche() throws IOException {
+        LivreOuvertures ouvert = LivreOuvertures.ouvrir(livre);
+        assertEquals(5, ouvert.getTaille());
+        assertEquals(4, ouvert.getNombreEntrees());
+
+        // Entrées triées par clé puis par cellule
+        for (int i = 1; i < ouvert.getNombreEntrees(); i++) {
+            assertTrue(ouvert.getCle(i - 1) < ouvert.getCle(i)
+                    || (ouvert.getCle(i - 1) == ouvert.getCle(i) && ouvert.getCellule(i - 1) < ouvert.getCellule(i)));
+        }
+
+        PlateauBitboard plateau = new PlateauBitboard(5);
+        int entree = ouvert.chercher(plateau.getCle(EtatCase.BLEU));
+        assertTrue(entree >= 0);
+        assertEquals(0, ouvert.getCellule(entree));
+        assertEquals(4, ouvert.getParties(entree));
+        assertEquals(0, ouvert.getVictoires(entree));
+        assertEquals(12, ouvert.getCellule(entree + 1));
+        assertEquals(3, ouvert.getParties(entree + 1));
+        assertEquals(3, ouvert.getVictoires(entree + 1));
+
+        // Réponse de ROUGE après le coin : comptée comme gagnante pour ROUGE
+        plateau.poser(0, EtatCase.BLEU);
+        entree = ouvert.chercher(plateau.getCle(EtatCase.ROUGE));
+        assertEquals(12, ouvert.getCellule(entree));
+        assertEquals(4, ouvert.getVictoires(entree));
+
+        // Même pierres, mauvais trait : absente du livre
+        assertEquals(-1, ouvert.chercher(plateau.getCle(EtatCase.BLEU)));
+    }
+
+    @Test
+    void testMeilleurCoup() throws IOException {
+        LivreOuvertures ouvert = LivreOuvertures.ouvrir(livre);
+        PlateauBitboard plateau = new PlateauBitboard(5);
+        assertEquals(12, ouvert.meilleurCoup(plateau, EtatCase.BLEU));
+
+        // Sous le seuil de parties, seul le coup le plus joué reste proposable
+        ouvert.setPartiesMin(4);
+        assertEquals(0, ouvert.meilleurCoup(plateau, EtatCase.BLEU));
+        ouvert.setPartiesMin(5);
+        assertEquals(-1, ouvert.meilleurCoup(plateau, EtatCase.BLEU));
+        assertThrows(IllegalArgumentException.class, () -> ouvert.setPartiesMin(0));
+
+        // Autre taille de plateau : pas de coup
+        ouvert.setPartiesMin(1);
+        assertEquals(-1, ouvert.meilleurCoup(new PlateauBitboard(7), EtatCase.BLEU));
+    }
+
+    @Test
+    void testProposerEtStrategie() throws IOException {
+        LivreOuvertures ouvert = LivreOuvertures.ouvrir(livre);
+        ConsoleMessageHandler messages = new ConsoleMessageHandler(false);
+        MonteCarloStrategy strategie = new MonteCarloStrategy(50);
+        Player bleu = new Player("Joueur1", EtatCase.BLEU, strategie, messages);
+        Player rouge = new Player("Joueur2", EtatCase.ROUGE, new MonteCarloStrategy(50), messages);
+        Grille grille = new Grille(5, bleu, rouge);
+
+        PlateauBitboard plateau = grille.getPlateau();
+        Position attendue = new Position(plateau.getX(12), plateau.getY(12));
+        assertEquals(attendue, ouvert.proposer(grille, EtatCase.BLEU));
+
+        // La stratégie joue le coup du livre sans recherche
+        strategie.setLivreOuvertures(ouvert);
+        assertEquals(attendue, strategie.placerPion(grille, EtatCase.BLEU, messages, false));
+        assertEquals(0, strategie.getIterationsDernierCoup());
+
+        // Hors du livre, elle recherche normalement
+        Position reponse = rouge.getStrategy().placerPion(grille, EtatCase.ROUGE, messages, false);
+        assertNotNull(reponse);
+        assertNull(ouvert.proposer(grille, EtatCase.BLEU));
+        assertNotNull(strategie.placerPion(grille, EtatCase.BLEU, messages, false));
+        assertTrue(strategie.getIterationsDernierCoup() > 0);
+    }
+
+    @Test
+    void testFichierInvalide() throws IOException {
+        Path autre = dossier.resolve("autre.bin");
+        Files.write(autre, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertThrows(IOException.class, () -> LivreOuvertures.ouvrir(autre));
+    }
+}
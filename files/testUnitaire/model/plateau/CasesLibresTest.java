@@ -0,0 +1,87 @@
+package livraison.testUnitaire.model.plateau;
+
+import model.Case.EtatCase;
+import model.plateau.CasesLibres;
+import model.plateau.PlateauBitboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'ensemble indexé des cellules libres.
+ */
+public class CasesLibresTest {
+
+    @Test
+    void testRetirerEtAjouter() {
+        CasesLibres libres = new CasesLibres(9);
+        assertEquals(9, libres.taille());
+        libres.retirer(4);
+        libres.retirer(4);
+        libres.retirer(0);
+        assertEquals(7, libres.taille());
+        assertFalse(libres.contient(4));
+        assertFalse(libres.contient(0));
+        for (int i = 0; i < libres.taille(); i++) {
+            assertTrue(libres.contient(libres.get(i)));
+        }
+
+        libres.retirer(7);
+        libres.ajouter(7);
+        libres.ajouter(7);
+        libres.ajouter(0);
+        assertEquals(8, libres.taille());
+        int[] cellules = new int[9];
+        libres.copierVers(cellules);
+        int[] trie = Arrays.copyOf(cellules, 8);
+        Arrays.sort(trie);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 5, 6, 7, 8 }, trie);
+    }
+
+    @Test
+    void testTirageAleatoire() {
+        CasesLibres libres = new CasesLibres(3);
+        libres.retirer(0);
+        libres.retirer(2);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, libres.aleatoire(random));
+        }
+        libres.retirer(1);
+        assertEquals(-1, libres.aleatoire(random));
+    }
+
+    @Test
+    void testCoherentAvecLePlateau() {
+        PlateauBitboard plateau = new PlateauBitboard(7);
+        Random random = new Random(7);
+        int[] croissant = new int[plateau.getNombreCellules()];
+        int[] ensemble = new int[plateau.getNombreCellules()];
+        for (int coup = 0; coup < 200; coup++) {
+            int cellule = random.nextInt(plateau.getNombreCellules());
+            EtatCase etat = EtatCase.values()[random.nextInt(3)];
+            plateau.poser(cellule, etat);
+
+            int n = plateau.casesLibres(croissant);
+            assertEquals(n, plateau.nombreCasesLibres());
+            assertEquals(n, plateau.getCasesLibres().copierVers(ensemble));
+            int[] trie = Arrays.copyOf(ensemble, n);
+            Arrays.sort(trie);
+            assertArrayEquals(Arrays.copyOf(croissant, n), trie);
+        }
+
+        // Les copies ont leur propre ensemble
+        PlateauBitboard copie = plateau.copie();
+        int libre = copie.caseLibreAleatoire(random);
+        copie.poser(libre, EtatCase.BLEU);
+        assertTrue(plateau.getCasesLibres().contient(libre));
+        assertFalse(copie.getCasesLibres().contient(libre));
+        plateau.copierDepuis(copie);
+        assertFalse(plateau.getCasesLibres().contient(libre));
+    }
+}
@@ -0,0 +1,232 @@
+package livraison.testUnitaire.model.plateau;
+
+import model.Case;
+import model.Case.EtatCase;
+import model.Grille;
+import model.plateau.PlateauBitboard;
+import model.plateau.Topologie;
+import model.player.HumanStrategy;
+import model.player.Player;
+import utils.strategyMessage.ConsoleMessageHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le plateau compact à base de masques de bits.
+ */
+public class PlateauBitboardTest {
+
+    private PlateauBitboard plateau;
+
+    @BeforeEach
+    void setUp() {
+        plateau = new PlateauBitboard(5);
+    }
+
+    @Test
+    void testPlateauVide() {
+        assertEquals(25, plateau.nombreCasesLibres(), "Un plateau vide 5x5 doit avoir 25 cases libres");
+        assertFalse(plateau.verifierVictoire(EtatCase.BLEU));
+        assertFalse(plateau.verifierVictoire(EtatCase.ROUGE));
+        assertFalse(plateau.estTerminee());
+    }
+
+    @Test
+    void testCorrespondanceCoordonnees() {
+        for (int x = 0; x < 5; x++) {
+            for (int y = x; y < x + 5; y++) {
+                int cellule = plateau.cellule(x, y);
+                assertEquals(x, plateau.getX(cellule));
+                assertEquals(y, plateau.getY(cellule));
+            }
+        }
+    }
+
+    @Test
+    void testPoserEtLiberer() {
+        int cellule = plateau.cellule(2, 3);
+        plateau.poser(cellule, EtatCase.ROUGE);
+        assertEquals(EtatCase.ROUGE, plateau.getEtat(cellule));
+        assertFalse(plateau.estLibre(cellule));
+        assertEquals(24, plateau.nombreCasesLibres());
+
+        plateau.poser(cellule, EtatCase.VIDE);
+        assertTrue(plateau.estLibre(cellule));
+        assertEquals(25, plateau.nombreCasesLibres());
+    }
+
+    @Test
+    void testVictoireRouge() {
+        // Colonne (x, 2) pour x = 0..4 : relie le haut et le bas
+        for (int x = 0; x < 5; x++) {
+            plateau.poser(plateau.cellule(x, x + 2), EtatCase.ROUGE);
+        }
+        assertTrue(plateau.verifierVictoire(EtatCase.ROUGE));
+        assertFalse(plateau.verifierVictoire(EtatCase.BLEU));
+        assertTrue(plateau.estTerminee());
+    }
+
+    @Test
+    void testVictoireBleu() {
+        // Ligne x = 0 : relie la gauche et la droite
+        for (int y = 0; y < 5; y++) {
+            plateau.poser(plateau.cellule(0, y), EtatCase.BLEU);
+        }
+        assertTrue(plateau.verifierVictoire(EtatCase.BLEU));
+        assertFalse(plateau.verifierVictoire(EtatCase.ROUGE));
+    }
+
+    @Test
+    void testRetraitPierreRompLaConnexion() {
+        for (int x = 0; x < 5; x++) {
+            plateau.poser(plateau.cellule(x, x + 2), EtatCase.ROUGE);
+        }
+        assertTrue(plateau.verifierVictoire(EtatCase.ROUGE));
+
+        plateau.poser(plateau.cellule(2, 4), EtatCase.VIDE);
+        assertFalse(plateau.verifierVictoire(EtatCase.ROUGE), "Retirer une pierre doit couper le chemin");
+
+        plateau.poser(plateau.cellule(2, 4), EtatCase.BLEU);
+        assertFalse(plateau.verifierVictoire(EtatCase.ROUGE));
+        plateau.poser(plateau.cellule(2, 4), EtatCase.ROUGE);
+        assertTrue(plateau.verifierVictoire(EtatCase.ROUGE));
+    }
+
+    @Test
+    void testConnexiteIncrementaleCoherenteAvecParcours() {
+        Random random = new Random(42);
+        int[] libres = new int[plateau.getNombreCellules()];
+        EtatCase joueur = EtatCase.BLEU;
+        while (plateau.nombreCasesLibres() > 0) {
+            int n = plateau.casesLibres(libres);
+            plateau.poser(libres[random.nextInt(n)], joueur);
+            for (EtatCase couleur : new EtatCase[] { EtatCase.BLEU, EtatCase.ROUGE }) {
+                assertEquals(
+                    PlateauBitboard.relie(plateau.getTopologie(), plateau.getPierres(couleur), couleur,
+                                          new long[1], new long[1]),
+                    plateau.verifierVictoire(couleur));
+            }
+            joueur = EtatCase.opposite(joueur);
+        }
+    }
+
+    @Test
+    void testEmpreinteZobristIndependanteDeLOrdre() {
+        PlateauBitboard autre = new PlateauBitboard(5);
+        plateau.poser(3, EtatCase.BLEU);
+        plateau.poser(7, EtatCase.ROUGE);
+        plateau.poser(12, EtatCase.BLEU);
+        autre.poser(12, EtatCase.BLEU);
+        autre.poser(7, EtatCase.ROUGE);
+        autre.poser(3, EtatCase.BLEU);
+        assertEquals(plateau.getEmpreinte(), autre.getEmpreinte(), "La même position doit avoir la même empreinte");
+        assertNotEquals(plateau.getCle(EtatCase.BLEU), plateau.getCle(EtatCase.ROUGE), "Le trait fait partie de la clé");
+
+        // Retirer puis remettre une pierre restaure l'empreinte
+        long avant = plateau.getEmpreinte();
+        plateau.poser(7, EtatCase.VIDE);
+        assertNotEquals(avant, plateau.getEmpreinte());
+        plateau.poser(7, EtatCase.ROUGE);
+        assertEquals(avant, plateau.getEmpreinte());
+        assertEquals(avant, plateau.copie().getEmpreinte());
+    }
+
+    @Test
+    void testCopieIndependante() {
+        PlateauBitboard copie = plateau.copie();
+        assertEquals(plateau, copie);
+        copie.poser(0, EtatCase.BLEU);
+        assertTrue(plateau.estLibre(0), "Modifier la copie ne doit pas modifier l'original");
+        assertNotEquals(plateau, copie);
+    }
+
+    @Test
+    void testSynchronisationAvecGrille() {
+        ConsoleMessageHandler handler = new ConsoleMessageHandler(true);
+        Player bleu = new Player("Bleu", EtatCase.BLEU, new HumanStrategy(), handler);
+        Player rouge = new Player("Rouge", EtatCase.ROUGE, new HumanStrategy(), handler);
+        Grille grille = new Grille(5, bleu, rouge);
+
+        grille.getCase(1, 3).setOccupe(EtatCase.BLEU);
+        PlateauBitboard p = grille.getPlateau();
+        assertEquals(EtatCase.BLEU, p.getEtat(p.cellule(1, 3)), "Le plateau doit suivre les cases de la grille");
+        assertEquals(24, grille.genererCasesDisponibles().size());
+    }
+
+    @Test
+    void testTopologieVoisins() {
+        Topologie topologie = plateau.getTopologie();
+        assertSame(topologie, Topologie.pour(5), "La topologie doit être partagée par taille");
+        for (int cellule = 0; cellule < topologie.getNombreCellules(); cellule++) {
+            int[] liste = topologie.getListeVoisins(cellule);
+            long[] masque = topologie.getVoisins(cellule);
+            int nombre = 0;
+            for (long mot : masque) nombre += Long.bitCount(mot);
+            assertEquals(nombre, liste.length, "Liste et masque des voisines doivent concorder");
+            for (int voisin : liste) {
+                assertTrue(Topologie.contient(masque, voisin));
+            }
+            for (Case.Direction direction : Case.Direction.values()) {
+                int voisin = topologie.getVoisin(cellule, direction);
+                int vx = topologie.getX(cellule) + direction.getDx();
+                int vy = topologie.getY(cellule) + direction.getDy();
+                assertEquals(topologie.estDansGrille(vx, vy) ? topologie.cellule(vx, vy) : -1, voisin);
+            }
+        }
+    }
+
+    @Test
+    void testJouerAnnulerRestaureLePlateau() {
+        Random random = new Random(3);
+        for (int partie = 0; partie < 20; partie++) {
+            // Position de départ quelconque, posée normalement
+            PlateauBitboard reference = new PlateauBitboard(7);
+            int pierres = random.nextInt(10);
+            for (int i = 0; i < pierres; i++) {
+                int libre = reference.caseLibreAleatoire(random);
+                reference.poser(libre, i % 2 == 0 ? EtatCase.BLEU : EtatCase.ROUGE);
+            }
+            PlateauBitboard travail = reference.copie();
+            PlateauBitboard[] etats = new PlateauBitboard[reference.getNombreCellules() + 1];
+            int profondeur = 0;
+            EtatCase joueur = EtatCase.BLEU;
+            while (travail.nombreCasesLibres() > 0) {
+                etats[profondeur++] = travail.copie();
+                travail.jouer(travail.caseLibreAleatoire(random), joueur);
+                joueur = EtatCase.opposite(joueur);
+                // Chaque position jouée a la même connexité qu'un plateau posé coup par coup
+                assertEquals(PlateauBitboard.relie(travail.getTopologie(), travail.getPierres(EtatCase.BLEU), EtatCase.BLEU,
+                                                   new long[travail.getTopologie().getMots()], new long[travail.getTopologie().getMots()]),
+                             travail.verifierVictoire(EtatCase.BLEU));
+            }
+            assertEquals(profondeur, travail.getProfondeur());
+            while (profondeur > 0) {
+                travail.annuler();
+                PlateauBitboard attendu = etats[--profondeur];
+                assertEquals(attendu, travail);
+                assertEquals(attendu.getEmpreinte(), travail.getEmpreinte());
+                assertEquals(attendu.nombreCasesLibres(), travail.nombreCasesLibres());
+                assertEquals(attendu.verifierVictoire(EtatCase.BLEU), travail.verifierVictoire(EtatCase.BLEU));
+                assertEquals(attendu.verifierVictoire(EtatCase.ROUGE), travail.verifierVictoire(EtatCase.ROUGE));
+            }
+            assertEquals(reference, travail);
+        }
+    }
+
+    @Test
+    void testJouerAnnulerErreurs() {
+        plateau.jouer(0, EtatCase.BLEU);
+        assertThrows(IllegalArgumentException.class, () -> plateau.jouer(0, EtatCase.ROUGE));
+        assertThrows(IllegalArgumentException.class, () -> plateau.jouer(1, EtatCase.VIDE));
+        assertThrows(IllegalStateException.class, () -> plateau.poser(1, EtatCase.ROUGE));
+        assertEquals(0, plateau.annuler());
+        assertThrows(IllegalStateException.class, () -> plateau.annuler());
+        plateau.poser(1, EtatCase.ROUGE);
+        assertEquals(EtatCase.ROUGE, plateau.getEtat(1));
+    }
+}
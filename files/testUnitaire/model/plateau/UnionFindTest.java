@@ -0,0 +1,74 @@
+package livraison.testUnitaire.model.plateau;
+
+import model.Case.EtatCase;
+import model.plateau.UnionFind;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la structure union-find à bords virtuels.
+ */
+public class UnionFindTest {
+
+    private UnionFind unionFind;
+
+    @BeforeEach
+    void setUp() {
+        unionFind = new UnionFind(9);
+    }
+
+    @Test
+    void testElementsInitialementIsoles() {
+        assertFalse(unionFind.connectes(0, 1));
+        assertFalse(unionFind.aGagne(EtatCase.BLEU));
+        assertFalse(unionFind.aGagne(EtatCase.ROUGE));
+    }
+
+    @Test
+    void testUnionTransitive() {
+        unionFind.unir(0, 1);
+        unionFind.unir(1, 2);
+        assertTrue(unionFind.connectes(0, 2));
+        assertFalse(unionFind.connectes(0, 3));
+    }
+
+    @Test
+    void testVictoireParLesBordsVirtuels() {
+        unionFind.unir(unionFind.bordDepart(EtatCase.ROUGE), 4);
+        assertFalse(unionFind.aGagne(EtatCase.ROUGE));
+        unionFind.unir(4, unionFind.bordArrivee(EtatCase.ROUGE));
+        assertTrue(unionFind.aGagne(EtatCase.ROUGE));
+        assertFalse(unionFind.aGagne(EtatCase.BLEU), "Les bords BLEU ne doivent pas être affectés");
+    }
+
+    @Test
+    void testCopieEtReinitialisation() {
+        unionFind.unir(0, 1);
+        UnionFind copie = unionFind.copie();
+        unionFind.reinitialiser();
+        assertFalse(unionFind.connectes(0, 1));
+        assertTrue(copie.connectes(0, 1), "La copie doit être indépendante");
+    }
+
+    @Test
+    void testRevenirAUneMarque() {
+        unionFind.unir(0, 1);
+        int debut = unionFind.marque();
+        unionFind.unir(1, 2);
+        int milieu = unionFind.marque();
+        unionFind.unir(2, unionFind.bordDepart(EtatCase.BLEU));
+        unionFind.unir(0, unionFind.bordArrivee(EtatCase.BLEU));
+        assertTrue(unionFind.aGagne(EtatCase.BLEU));
+
+        unionFind.revenirA(milieu);
+        assertFalse(unionFind.aGagne(EtatCase.BLEU));
+        assertTrue(unionFind.connectes(0, 2));
+
+        unionFind.revenirA(debut);
+        assertFalse(unionFind.connectes(0, 2));
+        assertTrue(unionFind.connectes(0, 1), "Les fusions antérieures à la marque sont conservées");
+    }
+}
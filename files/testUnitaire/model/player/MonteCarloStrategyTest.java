@@ -2,6 +2,7 @@ package livraison.testUnitaire.model.player;
 
 import model.*;
 import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
 import model.player.MonteCarloStrategy;
 import model.player.Player;
 import utils.strategyMessage.ConsoleMessageHandler;
@@ -46,4 +47,25 @@ public class MonteCarloStrategyTest {
         Position pos = strategy.placerPion(grille, EtatCase.BLEU, handler, true);
         assertNull(pos, "La stratégie doit retourner null si aucune case libre");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMonteCarloJoueLeCoupProuveParLeSolveurExact() {
+        MessageHandler handler = new ConsoleMessageHandler(true);
+        MonteCarloStrategy strategy = new MonteCarloStrategy(50);
+        Player p1 = new Player("MCTS_Player", EtatCase.BLEU, strategy, handler);
+        Player p2 = new Player("Adversaire", EtatCase.ROUGE, strategy, handler);
+
+        Grille grille = new Grille(5, p1, p2);
+        // Le bleu relie ses bords en jouant la dernière case de la première ligne ; le rouge
+        // occupe la dernière ligne, assez pour que le solveur exact soit essayé
+        PlateauBitboard plateau = grille.getPlateau();
+        for (int i = 0; i < 5; i++) {
+            if (i < 4) grille.getCase(plateau.cellule(0, i)).setOccupe(EtatCase.BLEU);
+            grille.getCase(plateau.cellule(4, 4 + i)).setOccupe(EtatCase.ROUGE);
+        }
+        Position pos = strategy.placerPion(grille, EtatCase.BLEU, handler, true);
+
+        assertEquals(plateau.getTopologie().getPosition(plateau.cellule(0, 4)), pos, "Le coup gagnant prouvé doit être joué");
+        assertEquals(0, strategy.getIterationsDernierCoup(), "Le coup du solveur n'utilise aucune itération");
+    }
+}
@@ -43,6 +43,31 @@ public class PlayerFactoryTest {
         assertEquals(70, PlayerFactory.getIterationBudget("AutoRAVE"));
     }
 
+    @Test
+    void testCreerPlayerAutomatiqueParallele() {
+        Player p = PlayerFactory.creerPlayerAutomatique("AutoPar", Case.EtatCase.BLEU, "mcts", 80, 4, messageHandler);
+        assertNotNull(p);
+        assertEquals(80, PlayerFactory.getIterationBudget("AutoPar"));
+    }
+
+    @Test
+    void testCreerPlayerAutomatiqueLimiteEnTemps() {
+        Player p = PlayerFactory.creerPlayerAutomatique("AutoTemps", Case.EtatCase.BLEU, "rave", 80, 1, 1, 200, true, messageHandler);
+        assertNotNull(p);
+        assertEquals(0, p.getStrategy().getIterationsMoyennesParCoup(), "Aucune recherche n'a encore eu lieu");
+        assertThrows(IllegalArgumentException.class, () ->
+            PlayerFactory.creerPlayerAutomatique("AutoTemps", Case.EtatCase.BLEU, "mcts", 80, 1, 1, -5, false, messageHandler));
+    }
+
+    @Test
+    void testCreerPlayerAutomatiqueArbrePartage() {
+        Player p = PlayerFactory.creerPlayerAutomatique("AutoPartage", Case.EtatCase.BLEU, "RAVE-PARTAGE", 60, 2, 1, 0, false, messageHandler);
+        assertTrue(p.getStrategy() instanceof TreeParallelStrategy);
+        assertEquals(60, PlayerFactory.getIterationBudget("AutoPartage"));
+        assertThrows(IllegalArgumentException.class, () ->
+            PlayerFactory.creerPlayerAutomatique("AutoPartage", Case.EtatCase.BLEU, "mcts-partage", 60, 2, 4, 0, false, messageHandler));
+    }
+
     @Test
     void testCreerPlayerInvalidStrategy() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
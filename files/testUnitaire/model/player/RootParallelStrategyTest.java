@@ -0,0 +1,50 @@
+package livraison.testUnitaire.model.player;
+
+import model.*;
+import model.Case.EtatCase;
+import model.plateau.PlateauBitboard;
+import model.player.Player;
+import model.player.RootParallelStrategy;
+import utils.strategyMessage.ConsoleMessageHandler;
+import utils.strategyMessage.MessageHandler;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RootParallelStrategyTest {
+
+    @Test
+    void testRechercheParalleleJoueLeCoupProuveParLeSolveurExact() {
+        MessageHandler handler = new ConsoleMessageHandler(true);
+        RootParallelStrategy strategy = new RootParallelStrategy("rave", 50, 2);
+        Player p1 = new Player("Parallele", EtatCase.BLEU, strategy, handler);
+        Player p2 = new Player("Adversaire", EtatCase.ROUGE, strategy, handler);
+
+        Grille grille = new Grille(5, p1, p2);
+        // Même position que pour la stratégie séquentielle : le coup doit être le même
+        PlateauBitboard plateau = grille.getPlateau();
+        for (int i = 0; i < 5; i++) {
+            if (i < 4) grille.getCase(plateau.cellule(0, i)).setOccupe(EtatCase.BLEU);
+            grille.getCase(plateau.cellule(4, 4 + i)).setOccupe(EtatCase.ROUGE);
+        }
+        Position pos = strategy.placerPion(grille, EtatCase.BLEU, handler, true);
+
+        assertEquals(plateau.getTopologie().getPosition(plateau.cellule(0, 4)), pos, "Le coup gagnant prouvé doit être joué");
+        assertEquals(0, strategy.getIterationsDernierCoup(), "Le coup du solveur n'utilise aucune itération");
+    }
+
+    @Test
+    void testRechercheParalleleSansSolveur() {
+        MessageHandler handler = new ConsoleMessageHandler(true);
+        RootParallelStrategy strategy = new RootParallelStrategy("mcts", 50, 2);
+        strategy.setSolveurExact(null);
+        Player p1 = new Player("Parallele", EtatCase.BLEU, strategy, handler);
+        Player p2 = new Player("Adversaire", EtatCase.ROUGE, strategy, handler);
+
+        Grille grille = new Grille(3, p1, p2);
+        Position pos = strategy.placerPion(grille, EtatCase.BLEU, handler, true);
+
+        assertNotNull(pos, "La recherche doit retourner une position");
+        assertTrue(strategy.getIterationsDernierCoup() > 0, "Sans solveur, le coup vient de la recherche");
+    }
+}